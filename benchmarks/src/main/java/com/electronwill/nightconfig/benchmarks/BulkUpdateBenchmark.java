@@ -0,0 +1,69 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.file.FileConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the bulk updates of an autosaved FileConfig in JSON, with and without
+ * {@link FileConfig#batch}. Without batch, each modification saves the whole file.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkUpdateBenchmark {
+	@Param({"10", "100", "1000"})
+	public int updates;
+
+	private Path dir;
+	private FileConfig fileConfig;
+	private String[] keys;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("nightconfig-benchmark");
+		fileConfig = FileConfig.builder(dir.resolve("config.json"), Formats.JSON.format())
+							   .sync()
+							   .autosave()
+							   .build();
+		keys = new String[updates];
+		for (int i = 0; i < updates; i++) {
+			keys[i] = "key" + i;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		fileConfig.close();
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public void individualSaves() {
+		for (int i = 0; i < updates; i++) {
+			fileConfig.set(keys[i], i);
+		}
+	}
+
+	@Benchmark
+	public void batch() {
+		fileConfig.batch(config -> {
+			for (int i = 0; i < updates; i++) {
+				config.set(keys[i], i);
+			}
+		});
+	}
+}
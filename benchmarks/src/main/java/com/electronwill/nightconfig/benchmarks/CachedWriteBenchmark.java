@@ -0,0 +1,55 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.io.CachingConfigWriter;
+import com.electronwill.nightconfig.core.io.ConfigWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the repeated writing of a config that rarely changes, with and without a
+ * {@link CachingConfigWriter}. {@code writeUnchanged} always writes the same version of the
+ * config, {@code writeModified} modifies one value before each write, which is the worst case
+ * of the cache.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CachedWriteBenchmark {
+	@Param({"JSON", "TOML"})
+	public Formats format;
+
+	@Param({"SMALL", "MEDIUM"})
+	public Documents.Size size;
+
+	@Param({"false", "true"})
+	public boolean cached;
+
+	private ConfigWriter writer;
+	private Config document;
+	private int counter;
+
+	@Setup
+	public void setup() {
+		ConfigWriter formatWriter = format.format().writer();
+		writer = cached ? new CachingConfigWriter(formatWriter) : formatWriter;
+		document = Documents.generate(size);
+	}
+
+	@Benchmark
+	public String writeUnchanged() {
+		return writer.writeToString(document);
+	}
+
+	@Benchmark
+	public String writeModified() {
+		document.set("benchmarkCounter", counter++);
+		return writer.writeToString(document);
+	}
+}
@@ -0,0 +1,72 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.impl.ByteInput;
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+import com.electronwill.nightconfig.core.impl.ReaderInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading one character from an encoded document, with the Reader-based
+ * input that {@code ConfigParser.parse(InputStream)} used to create, and with {@link ByteInput}.
+ * The document contains {@value #CHARS} characters, ASCII only or with some non-ASCII text.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CharacterInputBenchmark.CHARS)
+public class CharacterInputBenchmark {
+	static final int CHARS = 1 << 20;
+
+	@Param({"ascii", "mixed"})
+	public String text;
+
+	private byte[] bytes;
+
+	@Setup
+	public void setup() {
+		String line = text.equals("ascii") ? "key = \"some ascii value\" # comment\n"
+										   : "clé = \"valeur accentuée, 日本語\" # été\n";
+		StringBuilder sb = new StringBuilder(CHARS);
+		while (sb.length() < CHARS) {
+			sb.append(line);
+		}
+		sb.setLength(CHARS);
+		bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int readAll(CharacterInput input) {
+		int sum = 0, c;
+		while ((c = input.read()) != -1) {
+			sum += c;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int readerInput() {
+		ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+		return readAll(new ReaderInput(
+			new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))));
+	}
+
+	@Benchmark
+	public int byteInputFromStream() {
+		return readAll(new ByteInput(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public int byteInputFromArray() {
+		return readAll(new ByteInput(bytes, StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,73 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.ConcurrentConfig;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigPath;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link ConcurrentConfig} against a MemoryConfig protected by a
+ * {@link SynchronizedConfig} wrapper, with 3 threads that read values and 1 thread that modifies
+ * them.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentConfigBenchmark {
+	private static final int SUB_CONFIGS = 16, VALUES_PER_SUB = 16;
+
+	@Param({"concurrent", "synchronized"})
+	public String implementation;
+
+	private Config config;
+	private ConfigPath[] paths;
+
+	@Setup
+	public void setup() {
+		config = implementation.equals("concurrent")
+				 ? new ConcurrentConfig()
+				 : new SynchronizedConfig(new MemoryConfig());
+		paths = new ConfigPath[SUB_CONFIGS * VALUES_PER_SUB];
+		for (int s = 0; s < SUB_CONFIGS; s++) {
+			for (int v = 0; v < VALUES_PER_SUB; v++) {
+				ConfigPath path = ConfigPath.of("section" + s, "value" + v);
+				paths[s * VALUES_PER_SUB + v] = path;
+				config.set(path, v);
+			}
+		}
+	}
+
+	private ConfigPath randomPath() {
+		return paths[ThreadLocalRandom.current().nextInt(paths.length)];
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(3)
+	public Object read() {
+		return config.get(randomPath());
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(1)
+	public Object write() {
+		return config.set(randomPath(), ThreadLocalRandom.current().nextInt());
+	}
+
+	@Benchmark
+	@Group("readOnly")
+	@GroupThreads(4)
+	public Object readOnly() {
+		return config.get(randomPath());
+	}
+}
@@ -0,0 +1,83 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigPath;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.utils.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of reading values from a config: String paths (split at each call before
+ * {@link ConfigPath} existed, cached now), String arrays and precompiled ConfigPaths.
+ * Run it with {@code -prof gc} to see the allocations.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigPathBenchmark {
+	private static final String[] STRING_PATHS = {
+		"server.port", "server.host", "server.tls.enabled", "database.url", "database.pool.size",
+		"database.pool.timeout", "cache.ttl", "cache.size", "logging.level", "logging.file.path",
+		"features.beta", "features.experimental.flags"
+	};
+
+	private Config config;
+	private String[][] arrayPaths;
+	private ConfigPath[] compiledPaths;
+
+	@Setup
+	public void setup() {
+		config = new MemoryConfig();
+		arrayPaths = new String[STRING_PATHS.length][];
+		compiledPaths = new ConfigPath[STRING_PATHS.length];
+		for (int i = 0; i < STRING_PATHS.length; i++) {
+			config.set(STRING_PATHS[i], i);
+			arrayPaths[i] = StringUtils.splitPath(STRING_PATHS[i]);
+			compiledPaths[i] = ConfigPath.of(STRING_PATHS[i]);
+		}
+	}
+
+	/** What get(String) used to do: split the path at each call. */
+	@Benchmark
+	public void splitEachTime(Blackhole bh) {
+		for (String path : STRING_PATHS) {
+			bh.consume(config.<Object>get(StringUtils.splitPath(path)));
+		}
+	}
+
+	@Benchmark
+	public void stringPath(Blackhole bh) {
+		for (String path : STRING_PATHS) {
+			bh.consume(config.<Object>get(path));
+		}
+	}
+
+	@Benchmark
+	public void arrayPath(Blackhole bh) {
+		for (String[] path : arrayPaths) {
+			bh.consume(config.<Object>get(path));
+		}
+	}
+
+	@Benchmark
+	public void compiledPath(Blackhole bh) {
+		for (ConfigPath path : compiledPaths) {
+			bh.consume(config.<Object>get(path));
+		}
+	}
+
+	@Benchmark
+	public void compiledPathGetInt(Blackhole bh) {
+		for (ConfigPath path : compiledPaths) {
+			bh.consume(config.getInt(path));
+		}
+	}
+}
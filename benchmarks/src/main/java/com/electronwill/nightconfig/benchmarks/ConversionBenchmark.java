@@ -0,0 +1,78 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.conversion.ObjectConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversions of {@link ObjectConverter}, between a config and an object with a
+ * few nested objects, which is what an application typically does at startup.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConversionBenchmark {
+	private ObjectConverter converter;
+	private Settings object;
+	private Config config;
+
+	@Setup
+	public void setup() {
+		converter = new ObjectConverter();
+		object = new Settings();
+		config = converter.toConfig(object, MemoryConfig::new);
+	}
+
+	@Benchmark
+	public Config toConfig() {
+		return converter.toConfig(object, MemoryConfig::new);
+	}
+
+	@Benchmark
+	public Settings toObject() {
+		return converter.toObject(config, Settings::new);
+	}
+
+	public static class Settings {
+		String name = "benchmark";
+		int version = 3;
+		boolean debug = false;
+		List<String> plugins = new ArrayList<>(Arrays.asList("a", "b", "c", "d"));
+		Server server = new Server();
+		Database database = new Database();
+		Cache cache = new Cache();
+	}
+
+	public static class Server {
+		String host = "localhost";
+		int port = 8080;
+		boolean tls = true;
+		long timeoutMillis = 30_000L;
+		double loadFactor = 0.75;
+	}
+
+	public static class Database {
+		String url = "jdbc:postgresql://localhost/benchmark";
+		String user = "user";
+		int poolSize = 16;
+		long idleTimeout = 600_000L;
+	}
+
+	public static class Cache {
+		int size = 10_000;
+		int ttlSeconds = 3600;
+		double evictionRatio = 0.1;
+		String policy = "LRU";
+	}
+}
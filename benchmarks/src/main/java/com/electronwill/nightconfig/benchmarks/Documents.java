@@ -0,0 +1,105 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the synthetic documents used by the benchmarks. The documents only contain values
+ * that all the formats support (strings, numbers, booleans, lists of primitives and tables), so
+ * that the same document can be written and parsed with every format.
+ * <p>
+ * The generation is deterministic: a given size always produces the same document.
+ *
+ * @author TheElectronWill
+ */
+public final class Documents {
+	private Documents() {}
+
+	/** The sizes of the documents. */
+	public enum Size {
+		/** About 20 values, like a small application's settings. */
+		SMALL(2, 10),
+		/** About 1000 values, like a modpack's or a server's configuration. */
+		MEDIUM(20, 50),
+		/** About 100 000 values, like a generated data file. */
+		HUGE(200, 500);
+
+		final int sections, valuesPerSection;
+
+		Size(int sections, int valuesPerSection) {
+			this.sections = sections;
+			this.valuesPerSection = valuesPerSection;
+		}
+	}
+
+	/**
+	 * Generates a document of the given size. Each section contains some values and a nested
+	 * table with a few more values.
+	 *
+	 * @param size the size of the document
+	 * @return a new MemoryConfig
+	 */
+	public static Config generate(Size size) {
+		Random random = new Random(size.ordinal());
+		Config config = new MemoryConfig();
+		for (int s = 0; s < size.sections; s++) {
+			Config section = config.createSubConfig();
+			for (int v = 0; v < size.valuesPerSection; v++) {
+				section.set(new String[] {"key" + v}, randomValue(random, v));
+			}
+			Config nested = section.createSubConfig();
+			nested.set(new String[] {"enabled"}, random.nextBoolean());
+			nested.set(new String[] {"name"}, "nested table of section " + s);
+			nested.set(new String[] {"weight"}, random.nextDouble());
+			section.set(new String[] {"nested"}, nested);
+			config.set(new String[] {"section" + s}, section);
+		}
+		return config;
+	}
+
+	/**
+	 * Returns the paths of the values of a document generated by {@link #generate(Size)}, in a
+	 * pseudo-random order.
+	 *
+	 * @param size  the size of the document
+	 * @param count the number of paths
+	 * @return the paths, joined with dots
+	 */
+	public static String[] paths(Size size, int count) {
+		Random random = new Random(-size.ordinal());
+		String[] paths = new String[count];
+		for (int i = 0; i < count; i++) {
+			int s = random.nextInt(size.sections);
+			if (random.nextInt(4) == 0) {
+				paths[i] = "section" + s + ".nested.name";
+			} else {
+				paths[i] = "section" + s + ".key" + random.nextInt(size.valuesPerSection);
+			}
+		}
+		return paths;
+	}
+
+	private static Object randomValue(Random random, int index) {
+		switch (index % 6) {
+			case 0:
+				return random.nextInt();
+			case 1:
+				return "string value number " + random.nextInt(10000) + " with \"quotes\"";
+			case 2:
+				return random.nextDouble() * 1000;
+			case 3:
+				return random.nextBoolean();
+			case 4:
+				return random.nextLong();
+			default:
+				List<Object> list = new ArrayList<>(Arrays.asList("a", "b", "c"));
+				list.add("element " + random.nextInt(100));
+				return list;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.file.FileWatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the blocking {@link FileWatcher} to the old busy-polling loop.
+ * <ul>
+ * <li>{@code changeToCallback}: time between a write to the watched file and the call of its
+ * change handler.</li>
+ * <li>{@code idle}: CPU time used by the whole JVM while the watched file doesn't change. The
+ * {@code cpuNanos} counter is reported per second: 1e9 means that one core is fully busy.</li>
+ * </ul>
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FileWatcherBenchmark {
+	private static final long IDLE_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Param({"blocking", "polling"})
+	public String engine;
+
+	private Path dir, file;
+	private FileWatcher fileWatcher;
+	private PollingFileWatcher pollingWatcher;
+	private final Semaphore changes = new Semaphore(0);
+	private byte counter;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("nightconfig-benchmark");
+		file = dir.resolve("watched.txt");
+		Files.write(file, new byte[] {counter});
+		if (engine.equals("blocking")) {
+			fileWatcher = new FileWatcher();
+			fileWatcher.addWatch(file, changes::release);
+		} else {
+			pollingWatcher = new PollingFileWatcher();
+			pollingWatcher.addWatch(file, changes::release);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		if (fileWatcher != null) {
+			fileWatcher.stop();
+		} else {
+			pollingWatcher.stop();
+		}
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(dir);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public boolean changeToCallback() throws Exception {
+		changes.drainPermits();
+		Files.write(file, new byte[] {++counter});
+		return changes.tryAcquire(5, TimeUnit.SECONDS);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public void idle(CpuCounter counter) {
+		long before = processCpuTime();
+		LockSupport.parkNanos(IDLE_PERIOD_NANOS);
+		counter.cpuNanos += processCpuTime() - before;
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class CpuCounter {
+		public long cpuNanos;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			cpuNanos = 0;
+		}
+	}
+
+	private static long processCpuTime() {
+		return ((com.sun.management.OperatingSystemMXBean)ManagementFactory
+			.getOperatingSystemMXBean()).getProcessCpuTime();
+	}
+}
@@ -0,0 +1,57 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.core.io.ConfigParser;
+import com.electronwill.nightconfig.core.io.ConfigWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the parser and of the writer of each format, with the synthetic
+ * documents of {@link Documents}. The text to parse is produced by the format's writer during
+ * the setup, so the parser always reads a valid and comparable document.
+ * <p>
+ * The huge documents take a while: select the sizes with {@code -p size=SMALL,MEDIUM} to get
+ * quicker results.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FormatBenchmark {
+	@Param({"JSON", "JSON_MINIMAL", "TOML", "HOCON", "YAML"})
+	public Formats format;
+
+	@Param({"SMALL", "MEDIUM", "HUGE"})
+	public Documents.Size size;
+
+	private ConfigParser parser;
+	private ConfigWriter writer;
+	private Config document;
+	private String text;
+
+	@Setup
+	public void setup() {
+		ConfigFormat configFormat = format.format();
+		parser = configFormat.parser();
+		writer = configFormat.writer();
+		document = Documents.generate(size);
+		text = writer.writeToString(document);
+	}
+
+	@Benchmark
+	public Config parse() {
+		return parser.parse(text);
+	}
+
+	@Benchmark
+	public String write() {
+		return writer.writeToString(document);
+	}
+}
@@ -0,0 +1,32 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.hocon.HoconFormat;
+import com.electronwill.nightconfig.json.JsonFormat;
+import com.electronwill.nightconfig.toml.TomlFormat;
+import com.electronwill.nightconfig.yaml.YamlFormat;
+
+import java.util.function.Supplier;
+
+/**
+ * The formats measured by the benchmarks. Use their names as the values of a JMH {@code @Param}.
+ *
+ * @author TheElectronWill
+ */
+public enum Formats {
+	JSON(JsonFormat::fancyInstance),
+	JSON_MINIMAL(JsonFormat::minimalInstance),
+	TOML(TomlFormat::instance),
+	HOCON(HoconFormat::instance),
+	YAML(YamlFormat::defaultInstance);
+
+	private final Supplier<? extends ConfigFormat> formatSupplier;
+
+	Formats(Supplier<? extends ConfigFormat> formatSupplier) {
+		this.formatSupplier = formatSupplier;
+	}
+
+	public ConfigFormat format() {
+		return formatSupplier.get();
+	}
+}
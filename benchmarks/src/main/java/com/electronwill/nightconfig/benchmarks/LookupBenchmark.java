@@ -0,0 +1,55 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.utils.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code get(String)} and {@code get(String[])} on the synthetic documents of
+ * {@link Documents}. Each invocation reads the same 64 values, in a pseudo-random order.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LookupBenchmark {
+	private static final int PATHS = 64;
+
+	@Param({"SMALL", "MEDIUM", "HUGE"})
+	public Documents.Size size;
+
+	private Config config;
+	private String[] stringPaths;
+	private String[][] arrayPaths;
+
+	@Setup
+	public void setup() {
+		config = Documents.generate(size);
+		stringPaths = Documents.paths(size, PATHS);
+		arrayPaths = new String[PATHS][];
+		for (int i = 0; i < PATHS; i++) {
+			arrayPaths[i] = StringUtils.splitPath(stringPaths[i]);
+		}
+	}
+
+	@Benchmark
+	public void stringPath(Blackhole bh) {
+		for (String path : stringPaths) {
+			bh.consume(config.<Object>get(path));
+		}
+	}
+
+	@Benchmark
+	public void arrayPath(Blackhole bh) {
+		for (String[] path : arrayPaths) {
+			bh.consume(config.<Object>get(path));
+		}
+	}
+}
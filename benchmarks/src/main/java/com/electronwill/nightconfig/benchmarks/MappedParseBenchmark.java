@@ -0,0 +1,56 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.file.FileNotFoundAction;
+import com.electronwill.nightconfig.core.io.ConfigParser;
+import com.electronwill.nightconfig.core.io.WritingMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the parsing of a big file with {@code parse(Path)}, which reads it with an
+ * InputStream, and with {@code parseMapped(Path)}, which maps it in memory.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MappedParseBenchmark {
+	@Param({"JSON", "TOML"})
+	public Formats format;
+
+	private ConfigParser parser;
+	private Path file;
+
+	@Setup
+	public void setup() throws IOException {
+		parser = format.format().parser();
+		file = Files.createTempFile("nightconfig-benchmark", ".conf");
+		format.format().writer().write(Documents.generate(Documents.Size.HUGE), file,
+									   WritingMode.REPLACE);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public Config stream() {
+		return parser.parse(file, StandardCharsets.UTF_8, FileNotFoundAction.THROW_ERROR);
+	}
+
+	@Benchmark
+	public Config mapped() {
+		return parser.parseMapped(file, StandardCharsets.UTF_8, FileNotFoundAction.THROW_ERROR);
+	}
+}
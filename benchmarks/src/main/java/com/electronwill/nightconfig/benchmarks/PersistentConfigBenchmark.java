@@ -0,0 +1,67 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.PersistentConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates a version of a big config with a few overrides, by copying a MemoryConfig or by
+ * deriving a new PersistentConfig. Run it with {@code -prof gc} to see the allocations.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistentConfigBenchmark {
+	@Param({"40000"})
+	private int entries;
+
+	private MemoryConfig memoryConfig;
+	private PersistentConfig persistentConfig;
+
+	@Setup
+	public void setup() {
+		memoryConfig = new MemoryConfig();
+		for (int i = 0; i < entries; i++) {
+			memoryConfig.set(new String[]{"section" + (i % 100), "key" + i}, i);
+		}
+		persistentConfig = PersistentConfig.copyOf(memoryConfig);
+	}
+
+	@Benchmark
+	public Config memoryOverrides() {
+		Config copy = new MemoryConfig(memoryConfig);
+		for (int s = 0; s < 100; s++) {// deep copy of the sections
+			String[] path = {"section" + s};
+			copy.set(path, new MemoryConfig(copy.<Config>get(path)));
+		}
+		copy.set("section1.key1", -1);
+		copy.set("section2.key2", -2);
+		copy.set("section3.key3", -3);
+		return copy;
+	}
+
+	@Benchmark
+	public PersistentConfig persistentOverrides() {
+		return persistentConfig.with("section1.key1", -1)
+							   .with("section2.key2", -2)
+							   .with("section3.key3", -3);
+	}
+
+	@Benchmark
+	public PersistentConfig copyOfMemoryConfig() {
+		return PersistentConfig.copyOf(memoryConfig);
+	}
+
+	@Benchmark
+	public MemoryConfig toMemoryConfig() {
+		return persistentConfig.toMemoryConfig();
+	}
+}
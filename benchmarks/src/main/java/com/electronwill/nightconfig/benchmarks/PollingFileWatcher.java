@@ -0,0 +1,77 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The busy-polling loop that FileWatcher used before it switched to blocking WatchServices.
+ * It's kept here as a baseline for {@link FileWatcherBenchmark}.
+ *
+ * @author TheElectronWill
+ */
+final class PollingFileWatcher {
+	private static final long SLEEP_TIME_NANOS = 1000;
+
+	private final Map<Path, WatchService> watchedDirs = new ConcurrentHashMap<>();
+	private final Map<Path, Runnable> watchedFiles = new ConcurrentHashMap<>();
+	private volatile boolean run = true;
+
+	PollingFileWatcher() {
+		Thread thread = new Thread(this::loop, "Polling FileWatcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	void addWatch(Path file, Runnable changeHandler) throws IOException {
+		file = file.toAbsolutePath();
+		Path dir = file.getParent();
+		WatchService watchService = watchedDirs.get(dir);
+		if (watchService == null) {
+			watchService = dir.getFileSystem().newWatchService();
+			watchedDirs.put(dir, watchService);
+		}
+		dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY);
+		watchedFiles.put(file, changeHandler);
+	}
+
+	void stop() throws IOException {
+		run = false;
+	}
+
+	private void loop() {
+		while (run) {
+			boolean allNull = true;
+			for (Map.Entry<Path, WatchService> dirEntry : watchedDirs.entrySet()) {
+				WatchKey key = dirEntry.getValue().poll();
+				if (key == null) {
+					continue;
+				}
+				allNull = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY || event.count() > 1) {
+						continue;
+					}
+					Path filePath = dirEntry.getKey().resolve((Path)event.context());
+					Runnable handler = watchedFiles.get(filePath);
+					if (handler != null) {
+						handler.run();
+					}
+				}
+				key.reset();
+			}
+			if (allNull) {
+				LockSupport.parkNanos(SLEEP_TIME_NANOS);
+			}
+		}
+		for (WatchService watchService : watchedDirs.values()) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.file.FileConfig;
+import com.electronwill.nightconfig.core.file.FileConfigBuilder;
+import com.electronwill.nightconfig.core.file.FsyncPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost of the durability of {@link FileConfig#save()}, with a synchronous
+ * FileConfig in JSON: in-place or atomic write, and each {@link FsyncPolicy}.
+ * <ul>
+ * <li>{@code saveLatency}: the distribution of the duration of one save.</li>
+ * <li>{@code saveThroughput}: the number of saves per second.</li>
+ * </ul>
+ * The fsync results depend a lot on the storage device and on the file system of the
+ * temporary directory. Use {@code -jvmArgs -Djava.io.tmpdir=...} to measure another disk.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SaveBenchmark {
+	@Param({"false", "true"})
+	public boolean atomic;
+
+	@Param({"NONE", "DATA", "DATA_AND_METADATA"})
+	public FsyncPolicy fsync;
+
+	@Param({"SMALL", "MEDIUM"})
+	public Documents.Size size;
+
+	private Path dir;
+	private FileConfig fileConfig;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("nightconfig-benchmark");
+		FileConfigBuilder builder = FileConfig.builder(dir.resolve("config.json"),
+													   Formats.JSON.format());
+		builder.sync().fsync(fsync);
+		if (atomic) {
+			builder.atomicWrite();
+		}
+		fileConfig = builder.build();
+		Config document = Documents.generate(size);
+		fileConfig.putAll(document);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		fileConfig.close();
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void saveLatency() {
+		fileConfig.save();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public void saveThroughput() {
+		fileConfig.save();
+	}
+}
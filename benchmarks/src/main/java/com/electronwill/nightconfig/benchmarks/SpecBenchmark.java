@@ -0,0 +1,76 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.check.ValueChecker;
+import com.electronwill.nightconfig.core.spec.ConfigSpec;
+import com.electronwill.nightconfig.core.spec.ValueCorrecter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConfigSpec#correct(Config)} on the synthetic documents of {@link Documents},
+ * with a spec that defines all their values. {@code correctValid} checks a correct document,
+ * which is the usual case at startup; {@code correctInvalid} fixes a document where some values
+ * have the wrong type. The invalid document is regenerated before each invocation, outside of
+ * the measurement.
+ *
+ * @author TheElectronWill
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecBenchmark {
+	@Param({"SMALL", "MEDIUM", "HUGE"})
+	public Documents.Size size;
+
+	private ConfigSpec spec;
+	private Config valid;
+	private Config invalid;
+
+	@Setup
+	public void setup() {
+		valid = Documents.generate(size);
+		spec = new ConfigSpec();
+		define(spec, valid, new ArrayList<>());
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvalid() {
+		invalid = Documents.generate(size);
+		for (String path : Documents.paths(size, 16)) {
+			invalid.set(path, new Object());// not assignable to any of the expected types
+		}
+		invalid.set("unspecified.value", 0);
+	}
+
+	private static void define(ConfigSpec spec, Config config, List<String> path) {
+		for (Config.Entry entry : config.entries()) {
+			Object value = entry.getValue();
+			path.add(entry.getKey());
+			if (value instanceof Config) {
+				define(spec, (Config)value, path);
+			} else {
+				ValueChecker checker = ValueChecker.assignableTo(value.getClass());
+				ValueCorrecter<Object> correcter = ValueCorrecter.replaceIfNot(value, checker);
+				spec.define(path.toArray(new String[0]), correcter);
+			}
+			path.remove(path.size() - 1);
+		}
+	}
+
+	@Benchmark
+	public int correctValid() {
+		return spec.correct(valid);
+	}
+
+	@Benchmark
+	public int correctInvalid() {
+		return spec.correct(invalid);
+	}
+}
@@ -0,0 +1,47 @@
+package com.electronwill.nightconfig.benchmarks;
+
+import com.electronwill.nightconfig.core.AttributeType;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.utils.ConfigWrapper;
+
+/**
+ * Makes a config thread-safe by synchronizing all its accesses. It's the baseline of
+ * {@link ConcurrentConfigBenchmark}.
+ *
+ * @author TheElectronWill
+ */
+final class SynchronizedConfig extends ConfigWrapper<Config> {
+	SynchronizedConfig(Config config) {
+		super(config);
+	}
+
+	@Override
+	public synchronized Config.Entry getEntry(String[] path) {
+		return config.getEntry(path);
+	}
+
+	@Override
+	public synchronized <T> T get(String[] path) {
+		return config.get(path);
+	}
+
+	@Override
+	public synchronized <T> T set(AttributeType<T> attribute, String[] path, T value) {
+		return config.set(attribute, path, value);
+	}
+
+	@Override
+	public synchronized <T> T add(AttributeType<T> attribute, String[] path, T value) {
+		return config.add(attribute, path, value);
+	}
+
+	@Override
+	public synchronized <T> T remove(AttributeType<T> attribute, String[] path) {
+		return config.remove(attribute, path);
+	}
+
+	@Override
+	public synchronized int size() {
+		return config.size();
+	}
+}
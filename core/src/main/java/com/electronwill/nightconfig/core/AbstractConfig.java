@@ -1,10 +1,16 @@
 package com.electronwill.nightconfig.core;
 
+import com.electronwill.nightconfig.core.impl.LazyString;
 import com.electronwill.nightconfig.core.utils.MapSupplier;
+import com.electronwill.nightconfig.core.utils.ObservedMap;
+import com.electronwill.nightconfig.core.utils.ObservedSet;
 import com.electronwill.nightconfig.core.utils.TransformingMap;
 import com.electronwill.nightconfig.core.utils.TransformingSet;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -13,6 +19,11 @@ import static com.electronwill.nightconfig.core.utils.StringUtils.single;
 
 /**
  * Base class for configurations. It uses a {@link java.util.Map} to store the config entries.
+ * <p>
+ * Each modification of the config, or of one of its sub-configs (including the configs stored in
+ * lists), increments its {@link #modificationCount()}. The values that are modified in place,
+ * like a list obtained with {@link #get(String[])} and then modified, aren't detected: set the
+ * list again to make the config track its new elements.
  *
  * @author TheElectronWill
  */
@@ -24,10 +35,95 @@ public abstract class AbstractConfig implements Config, Cloneable {
 	protected final Map<String, Entry> storage;
 	protected final MapSupplier mapSupplier;
 
+	private static final AtomicLongFieldUpdater<AbstractConfig> MODIFICATIONS =
+		AtomicLongFieldUpdater.newUpdater(AbstractConfig.class, "modifications");
+	private volatile long modifications;
+	/**
+	 * The entries that contain this config, directly or in a list, copy-on-write. An entry is
+	 * removed when its value changes, or when it's found to not contain this config anymore.
+	 */
+	private volatile Entry[] owners;
+	private static final AtomicReferenceFieldUpdater<AbstractConfig, Entry[]> OWNERS =
+		AtomicReferenceFieldUpdater.newUpdater(AbstractConfig.class, Entry[].class, "owners");
+
 	public AbstractConfig(MapSupplier mapSupplier) {
 		this.mapSupplier = mapSupplier;
 		this.storage = mapSupplier.get();
-		this.root = new Entry(null, this);
+		this.root = new Entry(this, null, this);
+	}
+
+	/**
+	 * Returns the number of modifications of this config and of its sub-configs, including the
+	 * configs stored in lists (see the class documentation for the limits). It's cheap to
+	 * read, and can be compared to a previous value to know whether the config has changed, for
+	 * instance to skip an unnecessary save.
+	 *
+	 * @return the modification count
+	 */
+	public long modificationCount() {
+		return modifications;
+	}
+
+	/**
+	 * Increments the modification count of this config and of the configs that contain it. Must
+	 * be called by the subclasses that modify the storage directly.
+	 */
+	protected final void modified() {
+		MODIFICATIONS.incrementAndGet(this);
+		Entry[] o = owners;
+		if (o != null) {
+			for (Entry entry : o) {
+				if (entry.holds(this)) {
+					entry.owner.modified();
+				} else {
+					// Removed from the owner's storage by a view, or by clear()
+					removeOwner(entry);
+				}
+			}
+		}
+	}
+
+	/** Registers an entry that contains this config. */
+	private void addOwner(Entry entry) {
+		Entry[] o, newOwners;
+		do {
+			o = owners;
+			if (o == null) {
+				newOwners = new Entry[] {entry};
+			} else {
+				for (Entry existing : o) {
+					if (existing == entry) {
+						return;
+					}
+				}
+				newOwners = Arrays.copyOf(o, o.length + 1);
+				newOwners[o.length] = entry;
+			}
+		} while (!OWNERS.compareAndSet(this, o, newOwners));
+	}
+
+	/** Unregisters an entry that doesn't contain this config anymore. */
+	private void removeOwner(Entry entry) {
+		Entry[] o, newOwners;
+		do {
+			o = owners;
+			int idx = -1;
+			for (int i = 0; o != null && i < o.length; i++) {
+				if (o[i] == entry) {
+					idx = i;
+					break;
+				}
+			}
+			if (idx == -1) {
+				return;
+			} else if (o.length == 1) {
+				newOwners = null;
+			} else {
+				newOwners = new Entry[o.length - 1];
+				System.arraycopy(o, 0, newOwners, 0, idx);
+				System.arraycopy(o, idx + 1, newOwners, idx, o.length - idx - 1);
+			}
+		} while (!OWNERS.compareAndSet(this, o, newOwners));
 	}
 
 	protected Entry findEntry(String[] path, int mode) {
@@ -38,6 +134,7 @@ public abstract class AbstractConfig implements Config, Cloneable {
 		if (path == null || len <= 0) return root;
 
 		// Finds the map that contains the last entry of the path (the leaf)
+		AbstractConfig currentConfig = this;
 		Map<String, Entry> current = storage;
 		final int leafIdx = len-1;
 		for (int i = 0; i < leafIdx; i++) {
@@ -45,26 +142,26 @@ public abstract class AbstractConfig implements Config, Cloneable {
 			Entry entry = current.get(key);
 			if (entry == null) {
 				if (mode == CREATE) {
-					// The entry doesn't exist, we can create it
-					AbstractConfig sub = createSubConfig();
-					entry = new Entry(key, sub);
-					current.put(key, entry);
-					current = sub.storage;
+					// The entry doesn't exist, we can create it. computeIfAbsent makes the
+					// creation atomic if the map is concurrent (see ConcurrentConfig).
+					final AbstractConfig owner = currentConfig;
+					entry = current.computeIfAbsent(key,
+						k -> new Entry(owner, k, owner.createSubConfig()));
 				} else if (mode == OPTIONAL) {
 					return null;
 				} else {
 					throw new WrongPathException(path, len, i, null);
 				}
+			}
+			final Object v = entry.getValue();
+			if (v instanceof AbstractConfig) {
+				currentConfig = (AbstractConfig)v;
+				current = currentConfig.storage;
+			} else if (mode == OPTIONAL) {
+				return null;
 			} else {
-				final Object v = entry.getValue();
-				if (v instanceof AbstractConfig) {
-					current = ((AbstractConfig)v).storage;
-				} else if (mode == OPTIONAL) {
-					return null;
-				} else {
-					// If the entry has a null or incompatible value, throw an error
-					throw new WrongPathException(path, len, i, NullObject.or(v));
-				}
+				// If the entry has a null or incompatible value, throw an error
+				throw new WrongPathException(path, len, i, NullObject.or(v));
 			}
 		}
 		// Checks that the leaf is valid
@@ -72,8 +169,8 @@ public abstract class AbstractConfig implements Config, Cloneable {
 		Entry leaf = current.get(leafKey);
 		if (leaf == null) {
 			if (mode == CREATE) {
-				leaf = new Entry(leafKey, null);
-				current.put(leafKey, leaf);
+				final AbstractConfig owner = currentConfig;
+				leaf = current.computeIfAbsent(leafKey, k -> new Entry(owner, k, null));
 			} else if (mode == REQUIRE) {
 				throw new WrongPathException(path, len, leafIdx, NullObject.instance());
 			}
@@ -88,7 +185,11 @@ public abstract class AbstractConfig implements Config, Cloneable {
 
 	@Override
 	public void clear() {
+		for (Entry entry : storage.values()) {
+			entry.detach(entry.value);
+		}
 		storage.clear();
+		modified();
 	}
 
 	@Override
@@ -115,7 +216,7 @@ public abstract class AbstractConfig implements Config, Cloneable {
 
 	@Override
 	public Object add(String[] path, Object value) {
-		return findEntry(path, CREATE).setValue(value);
+		return findEntry(path, CREATE).addValue(value);
 	}
 
 	@Override
@@ -124,6 +225,56 @@ public abstract class AbstractConfig implements Config, Cloneable {
 		return entry == null ? null : entry.getValue();
 	}
 
+	// --- PRIMITIVE VALUES (without boxing) ---
+
+	@Override
+	public void setInt(String[] path, int value) {
+		findEntry(path, CREATE).setInt(value);
+	}
+
+	@Override
+	public int getInt(String[] path) {
+		return findEntry(path, OPTIONAL).getInt();// NullPointerException if there's no value
+	}
+
+	@Override
+	public int getIntOrElse(String[] path, int defaultValue) {
+		Entry entry = findEntry(path, OPTIONAL);
+		return entry == null ? defaultValue : entry.getIntOrElse(defaultValue);
+	}
+
+	@Override
+	public void setLong(String[] path, long value) {
+		findEntry(path, CREATE).setLong(value);
+	}
+
+	@Override
+	public long getLong(String[] path) {
+		return findEntry(path, OPTIONAL).getLong();// NullPointerException if there's no value
+	}
+
+	@Override
+	public long getLongOrElse(String[] path, long defaultValue) {
+		Entry entry = findEntry(path, OPTIONAL);
+		return entry == null ? defaultValue : entry.getLongOrElse(defaultValue);
+	}
+
+	@Override
+	public void setDouble(String[] path, double value) {
+		findEntry(path, CREATE).setDouble(value);
+	}
+
+	@Override
+	public double getDouble(String[] path) {
+		return findEntry(path, OPTIONAL).getDouble();// NullPointerException if there's no value
+	}
+
+	@Override
+	public double getDoubleOrElse(String[] path, double defaultValue) {
+		Entry entry = findEntry(path, OPTIONAL);
+		return entry == null ? defaultValue : entry.getDoubleOrElse(defaultValue);
+	}
+
 	// --- OTHER ATTRIBUTES ---
 
 	@Override
@@ -152,10 +303,11 @@ public abstract class AbstractConfig implements Config, Cloneable {
 
 	@Override
 	public Map<String, Object> valueMap() {
-		BiFunction<String, Entry, Object> read = (k, e) -> e.getValue();
-		BiFunction<String, Object, Entry> write = Entry::new;
+		BiFunction<String, Entry, Object> read = (k, e) -> e == null ? null : e.getValue();
+		BiFunction<String, Object, Entry> write = (k, v) -> new Entry(this, k, v);
 		Function<Object, Entry> search = o -> o instanceof Entry ? (Entry)o : null;
-		return new TransformingMap<>(storage, read, write, search);
+		return new TransformingMap<>(new ObservedMap<>(storage, this::modified), read, write,
+									 search);
 	}
 
 	@Override
@@ -163,7 +315,7 @@ public abstract class AbstractConfig implements Config, Cloneable {
 		Function<Map.Entry<String, Entry>, Config.Entry> read = Map.Entry::getValue;
 
 		Function<Config.Entry, Map.Entry<String, Entry>> write =
-			e -> new Entry(e.getKey(), e.getValue()).toMapEntry();
+			e -> new Entry(this, e.getKey(), e.getValue()).toMapEntry();
 
 		Function<Object, Map.Entry<String, Entry>> search = o -> {
 			if (o instanceof Map.Entry) {
@@ -181,7 +333,8 @@ public abstract class AbstractConfig implements Config, Cloneable {
 				return null;
 			}
 		};
-		Set<Map.Entry<String, Entry>> storageEntries = storage.entrySet();
+		Set<Map.Entry<String, Entry>> storageEntries =
+			new ObservedSet<>(storage.entrySet(), this::modified);
 		return new TransformingSet<>(storageEntries, read, write, search);
 	}
 
@@ -209,21 +362,126 @@ public abstract class AbstractConfig implements Config, Cloneable {
 		return getClass().getSimpleName() + ": " + storage;
 	}
 
+	/**
+	 * A config entry. Its value can be read without locking from any thread, the modifications
+	 * are synchronized. The other attributes are stored in a compact array (see
+	 * {@link PackedAttributes}) that is copied on each modification, so that they can be read
+	 * without locking too.
+	 * <p>
+	 * The ints, longs and doubles set with {@link #setInt(int)}, {@link #setLong(long)} and
+	 * {@link #setDouble(double)} are stored without boxing, and the primitive getters like
+	 * {@link #getInt()} read them without boxing. They are only boxed when the value is read as
+	 * an Object, for instance with {@link #getValue()}. Their state is in a
+	 * {@link PrimitiveValue} that is allocated by the first primitive write, and reused by the
+	 * next ones, so that the other entries don't pay for it.
+	 * <p>
+	 * A {@link LazyString} value is decoded the first time it's read, and replaced by the
+	 * String. Only {@link #getRawValue()} returns it as it is.
+	 * <p>
+	 * The modifications of an entry that belongs to a config increment its modification count.
+	 * The entry is registered as an owner of the configs that it contains, directly or in a
+	 * list, so that their modifications are propagated to its config. The lists and their
+	 * elements that are modified in place aren't tracked. The only per-entry tracking state is
+	 * the reference to the config: the entries are handles given to the users, which must
+	 * notify their config without any lookup.
+	 */
 	@SuppressWarnings("unchecked")
 	protected static final class Entry implements Config.Entry, Cloneable {
+		/** The type of a {@link PrimitiveValue}. */
+		private enum Primitive { INT, LONG, DOUBLE }
+
+		private final AbstractConfig owner;// the config that contains the entry, may be null
 		private final String key;
-		private Object value;
-		private Map<AttributeType<?>, Object> extra = null;
+		private volatile Object value;// the value, or a PrimitiveValue
+		private volatile Object[] extra = null;// copy-on-write, see PackedAttributes
 
 		public Entry(String key, Object value) {
+			this(null, key, value);
+		}
+
+		Entry(AbstractConfig owner, String key, Object value) {
+			this.owner = owner;
 			this.key = key;
 			this.value = value;
+			attach(value);
+		}
+
+		/** @return true if this entry belongs to a config, and can own sub-configs */
+		private boolean tracked() {
+			return owner != null && key != null;// the root entry has no key
 		}
 
-		private Map<AttributeType<?>, Object> extraAttributesMap() {
-			if (extra == null) {
-				extra = new HashMap<>();
+		/** Registers this entry as an owner of the configs contained by a value. */
+		private void attach(Object v) {
+			if (!tracked()) {
+				return;
 			}
+			if (v instanceof AbstractConfig) {
+				if (v != owner) {
+					((AbstractConfig)v).addOwner(this);
+				}
+			} else if (v instanceof List) {
+				for (Object element : (List<?>)v) {
+					attach(element);
+				}
+			}
+		}
+
+		/** Unregisters this entry from the configs contained by a value. */
+		private void detach(Object v) {
+			if (!tracked()) {
+				return;
+			}
+			if (v instanceof AbstractConfig) {
+				((AbstractConfig)v).removeOwner(this);
+			} else if (v instanceof List) {
+				for (Object element : (List<?>)v) {
+					detach(element);
+				}
+			}
+		}
+
+		/** @return true if this entry is still in its config and contains the given config */
+		private boolean holds(AbstractConfig config) {
+			return owner.storage.get(key) == this && contains(value, config);
+		}
+
+		private static boolean contains(Object v, AbstractConfig config) {
+			if (v == config) {
+				return true;
+			} else if (v instanceof List) {
+				for (Object element : (List<?>)v) {
+					if (contains(element, config)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		/** Updates the owners of the old and new values, and notifies the config. */
+		private void valueChanged(Object oldValue, Object newValue) {
+			if (owner != null) {
+				if (oldValue != newValue) {
+					detach(oldValue);
+				}
+				attach(newValue);
+				owner.modified();
+			}
+		}
+
+		/** Notifies the config of a modification that doesn't change the value. */
+		private void modified() {
+			if (owner != null) {
+				owner.modified();
+			}
+		}
+
+		/**
+		 * @return the current extra attributes, or null if there is none. The returned array is
+		 * never modified, it can be shared with other entries.
+		 */
+		Object[] extraAttributes() {
 			return extra;
 		}
 
@@ -234,23 +492,148 @@ public abstract class AbstractConfig implements Config, Cloneable {
 
 		@Override
 		public <T> T getValue() {
-			return (T)value;
+			Object v = value;
+			if (v instanceof PrimitiveValue) {
+				return (T)((PrimitiveValue)v).boxed();
+			}
+			return (v instanceof LazyString) ? (T)decode((LazyString)v) : (T)v;
 		}
 
 		@Override
-		public <T> T addValue(Object value) {
-			T old = (T)this.value;
+		public <T> T getRawValue() {
+			Object v = value;
+			return (v instanceof PrimitiveValue) ? (T)((PrimitiveValue)v).boxed() : (T)v;
+		}
+
+		/** Decodes a lazy string and replaces it by the String, unless the value has changed. */
+		private String decode(LazyString lazy) {
+			String s = lazy.toString();
+			synchronized (this) {
+				if (value == lazy) {
+					value = s;
+				}
+			}
+			return s;
+		}
+
+		/** @return the value boxed if needed, must be called while holding the entry's lock */
+		private Object lockedValue() {
+			Object v = value;
+			if (v instanceof PrimitiveValue) {
+				return ((PrimitiveValue)v).boxed();
+			}
+			return (v instanceof LazyString) ? v.toString() : v;
+		}
+
+		@Override
+		public synchronized <T> T addValue(Object value) {
+			Object old = lockedValue();
 			if (old == null) {
+				Object raw = this.value;
 				this.value = value;
+				valueChanged(raw, value);
 			}
-			return old;
+			return (T)old;
 		}
 
 		@Override
-		public <T> T setValue(Object value) {
-			T old = (T)this.value;
+		public synchronized <T> T setValue(Object value) {
+			Object old = lockedValue();
+			Object raw = this.value;
 			this.value = value;
-			return old;
+			valueChanged(raw, value);
+			return (T)old;
+		}
+
+		@Override
+		public void setInt(int value) {
+			setPrimitive(Primitive.INT, value);
+		}
+
+		@Override
+		public void setLong(long value) {
+			setPrimitive(Primitive.LONG, value);
+		}
+
+		@Override
+		public void setDouble(double value) {
+			setPrimitive(Primitive.DOUBLE, Double.doubleToRawLongBits(value));
+		}
+
+		private synchronized void setPrimitive(Primitive kind, long bits) {
+			Object raw = value;
+			if (raw instanceof PrimitiveValue) {
+				((PrimitiveValue)raw).set(kind, bits);// no allocation
+				modified();
+			} else {
+				PrimitiveValue primitive = new PrimitiveValue();
+				primitive.set(kind, bits);
+				value = primitive;
+				valueChanged(raw, primitive);
+			}
+		}
+
+		@Override
+		public int getInt() {
+			return intValue(0, true);
+		}
+
+		@Override
+		public long getLong() {
+			return longValue(0, true);
+		}
+
+		@Override
+		public double getDouble() {
+			return doubleValue(0, true);
+		}
+
+		/** @return the value as an int, or the default value if it's null */
+		int getIntOrElse(int defaultValue) {
+			return intValue(defaultValue, false);
+		}
+
+		/** @return the value as a long, or the default value if it's null */
+		long getLongOrElse(long defaultValue) {
+			return longValue(defaultValue, false);
+		}
+
+		/** @return the value as a double, or the default value if it's null */
+		double getDoubleOrElse(double defaultValue) {
+			return doubleValue(defaultValue, false);
+		}
+
+		private int intValue(int defaultValue, boolean required) {
+			Object v = value;
+			if (v instanceof PrimitiveValue) {
+				return ((PrimitiveValue)v).intValue();
+			}
+			if (v == null && !required) {
+				return defaultValue;
+			}
+			return ((Number)v).intValue();
+		}
+
+		private long longValue(long defaultValue, boolean required) {
+			Object v = value;
+			if (v instanceof PrimitiveValue) {
+				return ((PrimitiveValue)v).longValue();
+			}
+			if (v == null && !required) {
+				return defaultValue;
+			}
+			return ((Number)v).longValue();
+		}
+
+		private double doubleValue(double defaultValue, boolean required) {
+			Object v = value;
+			if (v instanceof PrimitiveValue) {
+				return ((PrimitiveValue)v).doubleValue();
+			}
+			if (v == null && !required) {
+				return defaultValue;
+			}
+			return ((Number)v).doubleValue();
 		}
 
 		@Override
@@ -263,7 +646,13 @@ public abstract class AbstractConfig implements Config, Cloneable {
 			if (attribute == VALUE) {
 				return setValue(value);
 			}
-			return (T)extraAttributesMap().put(attribute, value);
+			synchronized (this) {
+				Object[] current = extra;
+				T old = (T)PackedAttributes.get(current, attribute);
+				extra = PackedAttributes.with(current, attribute, value);
+				modified();
+				return old;
+			}
 		}
 
 		@Override
@@ -271,36 +660,51 @@ public abstract class AbstractConfig implements Config, Cloneable {
 			if (attribute == VALUE) {
 				return addValue(value);
 			}
-			return (T)extraAttributesMap().putIfAbsent(attribute, value);
+			synchronized (this) {
+				Object[] current = extra;
+				T old = (T)PackedAttributes.get(current, attribute);
+				if (old == null) {
+					extra = PackedAttributes.with(current, attribute, value);
+					modified();
+				}
+				return old;
+			}
 		}
 
 		@Override
 		public <T> T remove(AttributeType<T> attribute) {
 			if (attribute == VALUE) {
 				return removeValue();
-			} else if (extra == null) {
-				return null;
-			} else {
-				return (T)extra.remove(attribute);
+			}
+			synchronized (this) {
+				Object[] current = extra;
+				T old = (T)PackedAttributes.get(current, attribute);
+				extra = PackedAttributes.without(current, attribute);
+				modified();
+				return old;
 			}
 		}
 
 		@Override
 		public boolean has(AttributeType<?> attribute) {
-			return attribute == VALUE || (extra != null && extra.containsKey(attribute));
+			if (attribute == VALUE) {
+				return true;
+			}
+			return PackedAttributes.has(extra, attribute);
 		}
 
 		@Override
 		public <T> T get(AttributeType<T> attribute) {
 			if (attribute == VALUE) {
-				return (T)value;
+				return getValue();
 			}
-			return extra == null ? null : (T)extra.get(attribute);
+			return (T)PackedAttributes.get(extra, attribute);
 		}
 
 		@Override
 		public void clearExtraAttributes() {
 			extra = null;
+			modified();
 		}
 
 		@Override
@@ -308,12 +712,19 @@ public abstract class AbstractConfig implements Config, Cloneable {
 			return AttributesIterator::new;
 		}
 
+		@Override
+		public void forEachExtraAttribute(BiConsumer<? super AttributeType<?>, Object> action) {
+			PackedAttributes.forEach(extra, action);
+		}
+
 		@Override
 		public String toString() {
-			if (extra == null) {
-				return String.valueOf(value);
+			Object v = getValue();
+			Object[] current = extra;
+			if (current == null) {
+				return String.valueOf(v);
 			}
-			return String.format("%s {attributes: %s}", value, extra);
+			return String.format("%s {attributes: %s}", v, PackedAttributes.toString(current));
 		}
 
 		@Override
@@ -321,13 +732,13 @@ public abstract class AbstractConfig implements Config, Cloneable {
 			if (!(o instanceof Entry)) return false;
 			Entry entry = (Entry)o;
 			return Objects.equals(key, entry.key) &&
-				   Objects.equals(value, entry.value) &&
-				   Objects.equals(extra, entry.extra);
+				   Objects.equals(getValue(), entry.getValue()) &&
+				   Arrays.equals(extra, entry.extra);
 		}
 
 		@Override
 		public int hashCode() {
-			return Objects.hash(key, value, extra);
+			return Objects.hash(key, getValue()) * 31 + Arrays.hashCode(extra);
 		}
 
 		@Override
@@ -350,35 +761,109 @@ public abstract class AbstractConfig implements Config, Cloneable {
 			};
 		}
 
+		/**
+		 * An int, long or double stored without boxing. The entry allocates it on its first
+		 * primitive write, and then updates it in place, with the entry's lock.
+		 */
+		private static final class PrimitiveValue {
+			/**
+			 * Sequence number of the writes, odd while a write is in progress. A reader that
+			 * gets the same even number before and after reading the type and the bits is sure
+			 * that they belong together.
+			 */
+			private volatile int seq;
+			private volatile Primitive type;
+			private volatile long bits;
+
+			void set(Primitive type, long bits) {
+				seq++;
+				this.type = type;
+				this.bits = bits;
+				seq++;
+			}
+
+			Object boxed() {
+				while (true) {
+					int s = seq;
+					Primitive t = type;
+					long b = bits;
+					if ((s & 1) == 0 && seq == s) {
+						if (t == Primitive.INT) {
+							return (int)b;
+						} else if (t == Primitive.LONG) {
+							return b;
+						}
+						return Double.longBitsToDouble(b);
+					}
+				}
+			}
+
+			int intValue() {
+				while (true) {
+					int s = seq;
+					Primitive t = type;
+					long b = bits;
+					if ((s & 1) == 0 && seq == s) {
+						return (t == Primitive.DOUBLE) ? (int)Double.longBitsToDouble(b) : (int)b;
+					}
+				}
+			}
+
+			long longValue() {
+				while (true) {
+					int s = seq;
+					Primitive t = type;
+					long b = bits;
+					if ((s & 1) == 0 && seq == s) {
+						return (t == Primitive.DOUBLE) ? (long)Double.longBitsToDouble(b) : b;
+					}
+				}
+			}
+
+			double doubleValue() {
+				while (true) {
+					int s = seq;
+					Primitive t = type;
+					long b = bits;
+					if ((s & 1) == 0 && seq == s) {
+						return (t == Primitive.DOUBLE) ? Double.longBitsToDouble(b) : (double)b;
+					}
+				}
+			}
+		}
+
 		private final class AttributesIterator implements Iterator<Attribute<?>> {
 			private boolean passedValue = false;
-			private final Iterator<Map.Entry<AttributeType<?>, Object>> extraIterator =
-				extra == null ? null : extra.entrySet().iterator();
+			private final Object[] extraSnapshot = extra;
+			private int extraIdx = 0;
 
 			@Override
 			public boolean hasNext() {
-				return !passedValue || (extraIterator != null && extraIterator.hasNext());
+				return !passedValue || (extraSnapshot != null && extraIdx < extraSnapshot.length);
 			}
 
 			@Override
 			public Config.Attribute<?> next() {
 				if (passedValue) {
-					if (extraIterator == null) throw new NoSuchElementException();
-					final Map.Entry<AttributeType<?>, Object> entry = extraIterator.next();
+					if (!hasNext()) throw new NoSuchElementException();
+					final AttributeType<Object> type =
+						(AttributeType<Object>)extraSnapshot[extraIdx];
+					final Object value = extraSnapshot[extraIdx + 1];
+					extraIdx += 2;
 					return new Config.Attribute<Object>() {
 						@Override
 						public Object setValue(Object value) {
-							return entry.setValue(value);
+							return Entry.this.set(type, value);
 						}
 
 						@Override
 						public AttributeType<Object> getType() {
-							return (AttributeType<Object>)entry.getKey();
+							return type;
 						}
 
 						@Override
 						public Object getValue() {
-							return entry.getValue();
+							return value;
 						}
 					};
 				} else {
@@ -461,17 +946,24 @@ public abstract class AbstractConfig implements Config, Cloneable {
 
 		@Override
 		public boolean addAll(Collection<? extends Entry> c) {
-			return storage.values().addAll(c);
+			return changed(storage.values().addAll(c));
 		}
 
 		@Override
 		public boolean retainAll(Collection<?> c) {
-			return storage.values().retainAll(c);
+			return changed(storage.values().retainAll(c));
 		}
 
 		@Override
 		public boolean removeAll(Collection<?> c) {
-			return storage.values().removeAll(c);
+			return changed(storage.values().removeAll(c));
+		}
+
+		private boolean changed(boolean result) {
+			if (result) {
+				modified();
+			}
+			return result;
 		}
 
 		@Override
@@ -1,18 +1,39 @@
 package com.electronwill.nightconfig.core;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents a type of attribute attached to a configuration entry.
+ * <p>
+ * Each AttributeType gets a unique index when it's created. The indexes are dense (0, 1, 2...),
+ * therefore they can be used to store the attributes compactly.
  *
  * @param <T> the type of the attribute's value
  */
 public class AttributeType<T> {
+	private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
 	private final String name;
+	private final int index;
 
 	public AttributeType(String name) {
 		this.name = name;
+		this.index = NEXT_INDEX.getAndIncrement();
 	}
 
 	public String getName() {
 		return this.name;
 	}
+
+	/**
+	 * @return the unique index of this type of attribute
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
 }
@@ -0,0 +1,67 @@
+package com.electronwill.nightconfig.core;
+
+import com.electronwill.nightconfig.core.utils.MapSupplier;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe in-memory configuration.
+ * <p>
+ * Each level of the configuration is stored in a concurrent map. The intermediate
+ * sub-configurations are created atomically, therefore several threads can set values in the
+ * same, non-existing sub-configuration without losing any write. Reading values doesn't lock
+ * anything.
+ * <p>
+ * The sub-configurations must be created with {@link #createSubConfig()}: if another type of
+ * config is put in a ConcurrentConfig, its content isn't thread-safe.
+ *
+ * @author TheElectronWill
+ */
+public final class ConcurrentConfig extends AbstractConfig {
+
+	public ConcurrentConfig() {
+		this(ConcurrentHashMap::new);
+	}
+
+	/**
+	 * Creates a new ConcurrentConfig.
+	 *
+	 * @param mapSupplier supplies the maps that store the values, must return thread-safe maps
+	 *                    with atomic {@code computeIfAbsent}, like {@link ConcurrentHashMap}
+	 */
+	public ConcurrentConfig(MapSupplier mapSupplier) {
+		super(mapSupplier);
+	}
+
+	/**
+	 * Creates a ConcurrentConfig by copying a config. The sub-configurations are copied too, to
+	 * ConcurrentConfigs.
+	 */
+	public ConcurrentConfig(UnmodifiableConfig config) {
+		this(config, ConcurrentHashMap::new);
+	}
+
+	@SuppressWarnings("unchecked")
+	private ConcurrentConfig(UnmodifiableConfig config, MapSupplier mapSupplier) {
+		super(mapSupplier);
+		for (UnmodifiableConfig.Entry entry : config.entries()) {
+			Object value = entry.getValue();
+			if (value instanceof UnmodifiableConfig) {
+				value = new ConcurrentConfig((UnmodifiableConfig)value, mapSupplier);
+			}
+			Config.Entry copy = findEntry(new String[]{entry.getKey()}, CREATE);
+			copy.setValue(value);
+			entry.forEachExtraAttribute((type, v) -> copy.set((AttributeType<Object>)type, v));
+		}
+	}
+
+	@Override
+	public ConcurrentConfig createSubConfig() {
+		return new ConcurrentConfig(mapSupplier);
+	}
+
+	@Override
+	public ConcurrentConfig clone() {
+		return new ConcurrentConfig(this, mapSupplier);
+	}
+}
@@ -6,8 +6,6 @@ import com.electronwill.nightconfig.core.utils.MapSupplier;
 
 import java.util.*;
 
-import static com.electronwill.nightconfig.core.utils.StringUtils.splitPath;
-
 /**
  * A (modifiable) configuration that contains key/value mappings. Configurations are generally
  * <b>not</b> thread-safe.
@@ -59,7 +57,11 @@ public interface Config extends UnmodifiableConfig {
 
 	// --- DEFAULT METHODS ---
 	default Entry getEntry(String path) {
-		return getEntry(splitPath(path));
+		return getEntry(ConfigPath.of(path));
+	}
+
+	default Entry getEntry(ConfigPath path) {
+		return getEntry(path.parts);
 	}
 
 	// --- SETTERS FOR VALUES ---
@@ -72,7 +74,19 @@ public interface Config extends UnmodifiableConfig {
 	 * @return the old value if any, or {@code null}
 	 */
 	default <T> T set(String path, Object value) {
-		return set(splitPath(path), value);
+		return set(ConfigPath.of(path), value);
+	}
+
+	/**
+	 * Adds or modifies a value.
+	 *
+	 * @param path the value's path
+	 * @param value the value to set
+	 * @param <T> the type of the old value
+	 * @return the old value if any, or {@code null}
+	 */
+	default <T> T set(ConfigPath path, Object value) {
+		return set(path.parts, value);
 	}
 
 	/**
@@ -87,6 +101,66 @@ public interface Config extends UnmodifiableConfig {
 		return (T)set(StandardAttributes.VALUE, path, value);
 	}
 
+	/**
+	 * Sets a primitive int value. Unlike {@link #set(String, Object)}, this method doesn't
+	 * return the old value, so that the configs that support it can store the int without
+	 * boxing it.
+	 *
+	 * @param path  the value's path, each part separated by a dot. Example "a.b.c"
+	 * @param value the value to set
+	 */
+	default void setInt(String path, int value) {
+		setInt(ConfigPath.of(path), value);
+	}
+
+	default void setInt(ConfigPath path, int value) {
+		setInt(path.parts, value);
+	}
+
+	default void setInt(String[] path, int value) {
+		set(path, value);
+	}
+
+	/**
+	 * Sets a primitive long value. Unlike {@link #set(String, Object)}, this method doesn't
+	 * return the old value, so that the configs that support it can store the long without
+	 * boxing it.
+	 *
+	 * @param path  the value's path, each part separated by a dot. Example "a.b.c"
+	 * @param value the value to set
+	 */
+	default void setLong(String path, long value) {
+		setLong(ConfigPath.of(path), value);
+	}
+
+	default void setLong(ConfigPath path, long value) {
+		setLong(path.parts, value);
+	}
+
+	default void setLong(String[] path, long value) {
+		set(path, value);
+	}
+
+	/**
+	 * Sets a primitive double value. Unlike {@link #set(String, Object)}, this method doesn't
+	 * return the old value, so that the configs that support it can store the double without
+	 * boxing it.
+	 *
+	 * @param path  the value's path, each part separated by a dot. Example "a.b.c"
+	 * @param value the value to set
+	 */
+	default void setDouble(String path, double value) {
+		setDouble(ConfigPath.of(path), value);
+	}
+
+	default void setDouble(ConfigPath path, double value) {
+		setDouble(path.parts, value);
+	}
+
+	default void setDouble(String[] path, double value) {
+		set(path, value);
+	}
+
 	/**
 	 * Adds a value to the config. The value is set iff there is no value associated with the given path.
 	 *
@@ -95,7 +169,18 @@ public interface Config extends UnmodifiableConfig {
 	 * @return the existing value if any, or {@code null}
 	 */
 	default Object add(String path, Object value) {
-		return add(splitPath(path), value);
+		return add(ConfigPath.of(path), value);
+	}
+
+	/**
+	 * Adds a value to the config. The value is set iff there is no value associated with the given path.
+	 *
+	 * @param path  the value's path
+	 * @param value the value to set
+	 * @return the existing value if any, or {@code null}
+	 */
+	default Object add(ConfigPath path, Object value) {
+		return add(path.parts, value);
 	}
 
 	/**
@@ -142,7 +227,18 @@ public interface Config extends UnmodifiableConfig {
 	 * @return the old value if any, or {@code null}
 	 */
 	default <T> T remove(String path) {
-		return remove(splitPath(path));
+		return remove(ConfigPath.of(path));
+	}
+
+	/**
+	 * Removes an entry from the config.
+	 *
+	 * @param path the entry's path
+	 * @param <T>  the type of the old value
+	 * @return the old value if any, or {@code null}
+	 */
+	default <T> T remove(ConfigPath path) {
+		return remove(path.parts);
 	}
 
 	/**
@@ -169,17 +265,29 @@ public interface Config extends UnmodifiableConfig {
 
 	// --- SETTERS FOR ATTRIBUTES ---
 	default <T> T set(AttributeType<T> attribute, String path, T value) {
-		return set(attribute, splitPath(path), value);
+		return set(attribute, ConfigPath.of(path), value);
+	}
+
+	default <T> T set(AttributeType<T> attribute, ConfigPath path, T value) {
+		return set(attribute, path.parts, value);
 	}
 
 
 	default <T> T add(AttributeType<T> attribute, String path, T value) {
-		return add(attribute, splitPath(path), value);
+		return add(attribute, ConfigPath.of(path), value);
+	}
+
+	default <T> T add(AttributeType<T> attribute, ConfigPath path, T value) {
+		return add(attribute, path.parts, value);
 	}
 
 
 	default <T> T remove(AttributeType<T> attribute, String path) {
-		return remove(attribute, splitPath(path));
+		return remove(attribute, ConfigPath.of(path));
+	}
+
+	default <T> T remove(AttributeType<T> attribute, ConfigPath path) {
+		return remove(attribute, path.parts);
 	}
 
 
@@ -193,7 +301,18 @@ public interface Config extends UnmodifiableConfig {
 	 * @return the old comment if any, or {@code null}
 	 */
 	default String setComment(String path, String comment) {
-		return setComment(splitPath(path), comment);
+		return setComment(ConfigPath.of(path), comment);
+	}
+
+	/**
+	 * Sets a config comment.
+	 *
+	 * @param path    the comment's path
+	 * @param comment the comment to set
+	 * @return the old comment if any, or {@code null}
+	 */
+	default String setComment(ConfigPath path, String comment) {
+		return setComment(path.parts, comment);
 	}
 
 	/**
@@ -214,7 +333,17 @@ public interface Config extends UnmodifiableConfig {
 	 * @return the old comment if any, or {@code null}
 	 */
 	default String removeComment(String path) {
-		return removeComment(splitPath(path));
+		return removeComment(ConfigPath.of(path));
+	}
+
+	/**
+	 * Removes a comment from the config.
+	 *
+	 * @param path the comment's path
+	 * @return the old comment if any, or {@code null}
+	 */
+	default String removeComment(ConfigPath path) {
+		return removeComment(path.parts);
 	}
 
 	/**
@@ -271,6 +400,36 @@ public interface Config extends UnmodifiableConfig {
 		 */
 		<T> T setValue(Object value);
 
+		/**
+		 * Sets the entry's value to a primitive int. Contrary to {@link #setValue(Object)}, the
+		 * old value isn't returned, so that the implementations can avoid boxing.
+		 *
+		 * @param value the new value
+		 */
+		default void setInt(int value) {
+			setValue(value);
+		}
+
+		/**
+		 * Sets the entry's value to a primitive long.
+		 *
+		 * @param value the new value
+		 * @see #setInt(int)
+		 */
+		default void setLong(long value) {
+			setValue(value);
+		}
+
+		/**
+		 * Sets the entry's value to a primitive double.
+		 *
+		 * @param value the new value
+		 * @see #setInt(int)
+		 */
+		default void setDouble(double value) {
+			setValue(value);
+		}
+
 		/**
 		 * Removes the entry's value but keep its other attributes.
 		 *
@@ -0,0 +1,111 @@
+package com.electronwill.nightconfig.core;
+
+import com.electronwill.nightconfig.core.utils.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * A precompiled config path. It's split once, when it's created, instead of at each access. The
+ * hash codes of its parts are computed at the same time, therefore the map lookups made with a
+ * ConfigPath never need to hash the keys.
+ * <p>
+ * The paths obtained with {@link #of(String)} are kept in a small bounded cache, which is also
+ * used by the config methods that take a String path. Paths that are used very often should
+ * however be stored in a field:
+ * <pre>
+ * static final ConfigPath PORT = ConfigPath.of("server.port");
+ * ...
+ * int port = config.getInt(PORT);
+ * </pre>
+ * ConfigPaths are immutable and thread-safe.
+ *
+ * @author TheElectronWill
+ */
+public final class ConfigPath {
+	private static final int CACHE_SIZE = 512;// must be a power of two
+	/**
+	 * Direct-mapped cache of the paths compiled by {@link #of(String)}. The races are benign
+	 * because ConfigPath is immutable (its fields are final).
+	 */
+	private static final ConfigPath[] CACHE = new ConfigPath[CACHE_SIZE];
+
+	/** The parts of the path, must not be modified. */
+	final String[] parts;
+	/** The dot-separated path, or null if the path hasn't been created from a String. */
+	private final String dotted;
+	private final int hashCode;
+
+	private ConfigPath(String dotted, String[] parts) {
+		this.dotted = dotted;
+		this.parts = parts;
+		for (String part : parts) {
+			part.hashCode();// String caches its hash code
+		}
+		this.hashCode = Arrays.hashCode(parts);
+	}
+
+	/**
+	 * Gets the ConfigPath that corresponds to a String, each part separated by a dot.
+	 * Example: "a.b.c".
+	 *
+	 * @param path the path, each part separated by a dot
+	 * @return the compiled path
+	 */
+	public static ConfigPath of(String path) {
+		int h = path.hashCode();
+		int idx = (h ^ (h >>> 16)) & (CACHE_SIZE - 1);
+		ConfigPath cached = CACHE[idx];
+		if (cached != null && path.equals(cached.dotted)) {
+			return cached;
+		}
+		ConfigPath compiled = new ConfigPath(path, StringUtils.splitPath(path));
+		CACHE[idx] = compiled;
+		return compiled;
+	}
+
+	/**
+	 * Creates a ConfigPath from its parts. A part may contain dots, it's not split.
+	 *
+	 * @param parts the parts of the path
+	 * @return the compiled path
+	 */
+	public static ConfigPath of(String... parts) {
+		return new ConfigPath(null, parts.clone());
+	}
+
+	/** @return the number of parts of the path */
+	public int length() {
+		return parts.length;
+	}
+
+	/**
+	 * @param index the part's index
+	 * @return a part of the path
+	 */
+	public String get(int index) {
+		return parts[index];
+	}
+
+	/** @return a new array containing the parts of the path */
+	public String[] toArray() {
+		return parts.clone();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof ConfigPath)) return false;
+		ConfigPath other = (ConfigPath)obj;
+		return hashCode == other.hashCode && Arrays.equals(parts, other.parts);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return (dotted != null) ? dotted : String.join(".", parts);
+	}
+}
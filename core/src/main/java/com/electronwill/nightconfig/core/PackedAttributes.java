@@ -0,0 +1,111 @@
+package com.electronwill.nightconfig.core;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Handles the extra attributes of the entries, stored in compact arrays of the form
+ * {@code [type0, value0, type1, value1, ...]}, sorted by {@link AttributeType#getIndex()}. An
+ * entry without extra attributes has a null array.
+ * <p>
+ * The arrays are never modified after their creation: the methods that add or remove an
+ * attribute return a new array. Thus, an array can be read without locking, and shared by
+ * several entries.
+ *
+ * @author TheElectronWill
+ */
+final class PackedAttributes {
+	private PackedAttributes() {}
+
+	/** @return the index of the attribute's type in the array, or -1 if it's absent */
+	private static int find(Object[] packed, AttributeType<?> type) {
+		if (packed != null) {
+			final int index = type.getIndex();
+			for (int i = 0; i < packed.length; i += 2) {
+				AttributeType<?> t = (AttributeType<?>)packed[i];
+				if (t == type) {
+					return i;
+				}
+				if (t.getIndex() > index) {
+					break;// sorted array: the type can't be after this point
+				}
+			}
+		}
+		return -1;
+	}
+
+	static boolean has(Object[] packed, AttributeType<?> type) {
+		return find(packed, type) >= 0;
+	}
+
+	static Object get(Object[] packed, AttributeType<?> type) {
+		int i = find(packed, type);
+		return (i < 0) ? null : packed[i + 1];
+	}
+
+	/** @return the number of attributes in the array */
+	static int size(Object[] packed) {
+		return (packed == null) ? 0 : packed.length / 2;
+	}
+
+	/** @return an array with the given attribute, or the same array if it's already there */
+	static Object[] with(Object[] packed, AttributeType<?> type, Object value) {
+		if (packed == null) {
+			return new Object[] {type, value};
+		}
+		int i = find(packed, type);
+		if (i >= 0) {
+			if (packed[i + 1] == value) {
+				return packed;
+			}
+			Object[] copy = packed.clone();
+			copy[i + 1] = value;
+			return copy;
+		}
+		// Inserts the attribute at its place in the sorted array
+		final int index = type.getIndex();
+		int pos = 0;
+		while (pos < packed.length && ((AttributeType<?>)packed[pos]).getIndex() < index) {
+			pos += 2;
+		}
+		Object[] copy = new Object[packed.length + 2];
+		System.arraycopy(packed, 0, copy, 0, pos);
+		copy[pos] = type;
+		copy[pos + 1] = value;
+		System.arraycopy(packed, pos, copy, pos + 2, packed.length - pos);
+		return copy;
+	}
+
+	/** @return an array without the given attribute, null if it's empty */
+	static Object[] without(Object[] packed, AttributeType<?> type) {
+		int i = find(packed, type);
+		if (i < 0) {
+			return packed;
+		}
+		if (packed.length == 2) {
+			return null;
+		}
+		Object[] copy = new Object[packed.length - 2];
+		System.arraycopy(packed, 0, copy, 0, i);
+		System.arraycopy(packed, i + 2, copy, i, packed.length - i - 2);
+		return copy;
+	}
+
+	static void forEach(Object[] packed, BiConsumer<? super AttributeType<?>, Object> action) {
+		if (packed != null) {
+			for (int i = 0; i < packed.length; i += 2) {
+				action.accept((AttributeType<?>)packed[i], packed[i + 1]);
+			}
+		}
+	}
+
+	static String toString(Object[] packed) {
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < packed.length; i += 2) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(packed[i]).append('=').append(packed[i + 1]);
+		}
+		return sb.append('}').toString();
+	}
+}
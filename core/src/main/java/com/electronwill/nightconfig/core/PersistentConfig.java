@@ -0,0 +1,720 @@
+package com.electronwill.nightconfig.core;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static com.electronwill.nightconfig.core.StandardAttributes.VALUE;
+
+/**
+ * An immutable configuration that can be "modified" efficiently: {@link #with(String, Object)}
+ * and {@link #without(String)} return a new version of the config, which shares all the
+ * unmodified parts with the original one.
+ * <p>
+ * Each level of the config is stored in a persistent hash trie (HAMT). Modifying a value copies
+ * the trie nodes on the way to its entry, that is, a few small arrays per level of the path,
+ * whatever the size of the config. For example, the versions of a big config that only differ
+ * by a few overrides take almost no memory:
+ * <pre>
+ * PersistentConfig base = PersistentConfig.copyOf(bigConfig);// one full copy
+ * PersistentConfig tenant = base.with("server.port", 8081).with("db.name", "tenant1");
+ * </pre>
+ * The sub-configurations of a PersistentConfig are PersistentConfigs too. The configs given to
+ * {@code with} are converted with {@link #copyOf(UnmodifiableConfig)}, so that the whole tree
+ * is immutable and thread-safe.
+ *
+ * @author TheElectronWill
+ */
+@SuppressWarnings("unchecked")
+public final class PersistentConfig implements UnmodifiableConfig {
+	private static final PersistentConfig EMPTY = new PersistentConfig(Node.EMPTY, 0);
+
+	private final Node root;
+	private final int size;
+	private int hashCode;// cached, 0 if not computed yet
+
+	private PersistentConfig(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/** @return an empty PersistentConfig */
+	public static PersistentConfig empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Creates a PersistentConfig that contains the same data as the given config. The
+	 * sub-configurations are converted too. If the config is already a PersistentConfig, it's
+	 * returned as it is, since it's immutable.
+	 * <p>
+	 * The tries are built in one pass, without any intermediate version, therefore the copy
+	 * takes a time proportional to the number of entries.
+	 *
+	 * @param config the config to copy
+	 * @return a PersistentConfig with the config's data
+	 */
+	public static PersistentConfig copyOf(UnmodifiableConfig config) {
+		if (config instanceof PersistentConfig) {
+			return (PersistentConfig)config;
+		}
+		int size = config.size();
+		if (size == 0) {
+			return EMPTY;
+		}
+		List<Entry> entries = new ArrayList<>(size);
+		if (config instanceof AbstractConfig) {
+			// Reads the storage directly, to avoid the views' allocations
+			for (AbstractConfig.Entry entry : ((AbstractConfig)config).storage.values()) {
+				// The attributes array is copy-on-write, thus it can be shared
+				entries.add(new Entry(entry.getKey(), copyValue(entry.getValue()),
+									  entry.extraAttributes()));
+			}
+		} else {
+			for (UnmodifiableConfig.Entry entry : config.entries()) {
+				entries.add(Entry.copyOf(entry));
+			}
+		}
+		Entry[] array = entries.toArray(new Entry[0]);
+		Node root = Node.build(array, 0, array.length, 0, new Entry[array.length]);
+		return new PersistentConfig(root, array.length);
+	}
+
+	/**
+	 * Copies this config to a modifiable config. The sub-configurations are created with
+	 * {@link Config#createSubConfig()}.
+	 *
+	 * @param configSupplier supplies the (empty) config to fill
+	 * @param <C>            the config's type
+	 * @return the filled config
+	 */
+	public <C extends Config> C toConfig(Supplier<C> configSupplier) {
+		C config = configSupplier.get();
+		copyTo(config);
+		return config;
+	}
+
+	/** @return a new MemoryConfig that contains the same data as this config */
+	public MemoryConfig toMemoryConfig() {
+		return toConfig(MemoryConfig::new);
+	}
+
+	private void copyTo(Config dst) {
+		for (Entry entry : entries()) {
+			String[] key = {entry.key};
+			Object value = entry.value;
+			if (value instanceof PersistentConfig) {
+				Config sub = dst.createSubConfig();
+				((PersistentConfig)value).copyTo(sub);
+				value = sub;
+			}
+			dst.set(key, value);
+			PackedAttributes.forEach(entry.extra,
+									 (type, v) -> dst.set((AttributeType<Object>)type, key, v));
+		}
+	}
+
+	// --- READS ---
+
+	@Override
+	public Entry getEntry(String[] path) {
+		if (path.length == 0) {
+			return null;
+		}
+		PersistentConfig level = this;
+		final int leafIdx = path.length - 1;
+		for (int i = 0; i < leafIdx; i++) {
+			Entry entry = level.root.find(path[i], hash(path[i]), 0);
+			if (entry == null || !(entry.value instanceof PersistentConfig)) {
+				return null;
+			}
+			level = (PersistentConfig)entry.value;
+		}
+		return level.root.find(path[leafIdx], hash(path[leafIdx]), 0);
+	}
+
+	@Override
+	public Iterable<Entry> entries() {
+		return () -> new EntryIterator(root);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Map<String, Object> valueMap() {
+		return new ValueMap();
+	}
+
+	// --- NEW VERSIONS ---
+
+	/**
+	 * Returns a config that contains all the data of this config, plus the given value. The
+	 * missing intermediate levels are created. The attributes of an existing entry are kept.
+	 *
+	 * @param path  the value's path, each part separated by a dot. Example "a.b.c"
+	 * @param value the value to set
+	 * @return the new version of the config
+	 */
+	public PersistentConfig with(String path, Object value) {
+		return with(ConfigPath.of(path), value);
+	}
+
+	public PersistentConfig with(ConfigPath path, Object value) {
+		return with(VALUE, path.parts, value);
+	}
+
+	public PersistentConfig with(String[] path, Object value) {
+		return with(VALUE, path, value);
+	}
+
+	/**
+	 * Returns a config that contains all the data of this config, plus the given attribute.
+	 *
+	 * @param attribute the attribute's type
+	 * @param path      the attribute's path, each element is a different part of the path
+	 * @param value     the attribute's value
+	 * @return the new version of the config
+	 */
+	public <T> PersistentConfig with(AttributeType<T> attribute, String[] path, T value) {
+		if (path.length == 0) {
+			throw new IllegalArgumentException("Empty path");
+		}
+		return with(attribute, path, 0, value);
+	}
+
+	public <T> PersistentConfig with(AttributeType<T> attribute, ConfigPath path, T value) {
+		return with(attribute, path.parts, value);
+	}
+
+	public <T> PersistentConfig with(AttributeType<T> attribute, String path, T value) {
+		return with(attribute, ConfigPath.of(path).parts, value);
+	}
+
+	private PersistentConfig with(AttributeType<?> attribute, String[] path, int idx,
+								  Object value) {
+		final String key = path[idx];
+		final int hash = hash(key);
+		final Entry old = root.find(key, hash, 0);
+		final Entry entry;
+		if (idx == path.length - 1) {
+			if (attribute == VALUE && value instanceof UnmodifiableConfig) {
+				value = copyOf((UnmodifiableConfig)value);
+			}
+			entry = (old == null) ? new Entry(key, null, null).with(attribute, value)
+								  : old.with(attribute, value);
+		} else {
+			Object current = (old == null) ? null : old.value;
+			PersistentConfig level;
+			if (current == null) {
+				level = EMPTY;
+			} else if (current instanceof PersistentConfig) {
+				level = (PersistentConfig)current;
+			} else {
+				throw new WrongPathException(path, path.length, idx, current);
+			}
+			Object newLevel = level.with(attribute, path, idx + 1, value);
+			entry = (old == null) ? new Entry(key, newLevel, null) : old.with(VALUE, newLevel);
+		}
+		if (entry == old) {
+			return this;
+		}
+		return new PersistentConfig(root.put(entry, hash, 0), (old == null) ? size + 1 : size);
+	}
+
+	/**
+	 * Returns a config that contains all the data of this config, except the entry at the given
+	 * path (and its attributes).
+	 *
+	 * @param path the entry's path, each part separated by a dot. Example "a.b.c"
+	 * @return the new version of the config, or this config if there is no such entry
+	 */
+	public PersistentConfig without(String path) {
+		return without(ConfigPath.of(path));
+	}
+
+	public PersistentConfig without(ConfigPath path) {
+		return without(VALUE, path.parts);
+	}
+
+	public PersistentConfig without(String[] path) {
+		return without(VALUE, path);
+	}
+
+	/**
+	 * Returns a config that contains all the data of this config, except the given attribute.
+	 * Removing the {@link StandardAttributes#VALUE} removes the whole entry.
+	 *
+	 * @param attribute the attribute's type
+	 * @param path      the attribute's path, each element is a different part of the path
+	 * @return the new version of the config, or this config if there is no such attribute
+	 */
+	public PersistentConfig without(AttributeType<?> attribute, String[] path) {
+		return (path.length == 0) ? this : without(attribute, path, 0);
+	}
+
+	public PersistentConfig without(AttributeType<?> attribute, ConfigPath path) {
+		return without(attribute, path.parts);
+	}
+
+	public PersistentConfig without(AttributeType<?> attribute, String path) {
+		return without(attribute, ConfigPath.of(path).parts);
+	}
+
+	private PersistentConfig without(AttributeType<?> attribute, String[] path, int idx) {
+		final String key = path[idx];
+		final int hash = hash(key);
+		final Entry old = root.find(key, hash, 0);
+		if (old == null) {
+			return this;
+		}
+		if (idx == path.length - 1) {
+			if (attribute == VALUE) {
+				return new PersistentConfig(root.remove(key, hash, 0), size - 1);
+			}
+			Entry entry = old.without(attribute);
+			return (entry == old) ? this : new PersistentConfig(root.put(entry, hash, 0), size);
+		}
+		if (!(old.value instanceof PersistentConfig)) {
+			return this;
+		}
+		PersistentConfig level = (PersistentConfig)old.value;
+		PersistentConfig newLevel = level.without(attribute, path, idx + 1);
+		if (newLevel == level) {
+			return this;
+		}
+		return new PersistentConfig(root.put(old.with(VALUE, newLevel), hash, 0), size);
+	}
+
+	// --- OBJECT METHODS ---
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof PersistentConfig)) return false;
+		PersistentConfig other = (PersistentConfig)obj;
+		if (size != other.size || hashCode() != other.hashCode()) {
+			return false;
+		}
+		for (Entry entry : entries()) {
+			if (!entry.equals(other.root.find(entry.key, hash(entry.key), 0))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hashCode;
+		if (h == 0) {
+			for (Entry entry : entries()) {
+				h += entry.hashCode();// independent of the iteration order
+			}
+			hashCode = h;
+		}
+		return h;
+	}
+
+	@Override
+	public String toString() {
+		return "PersistentConfig: " + valueMap();
+	}
+
+	private static Object copyValue(Object value) {
+		return (value instanceof UnmodifiableConfig) ? copyOf((UnmodifiableConfig)value) : value;
+	}
+
+	private static int hash(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	// --- ENTRIES ---
+
+	/**
+	 * An immutable entry. The extra attributes are stored in a packed array that is never modified
+	 * after its creation, see {@link PackedAttributes}.
+	 */
+	public static final class Entry implements UnmodifiableConfig.Entry {
+		private final String key;
+		private final Object value;
+		private final Object[] extra;// null if there's no extra attribute
+
+		private Entry(String key, Object value, Object[] extra) {
+			this.key = key;
+			this.value = value;
+			this.extra = extra;
+		}
+
+		static Entry copyOf(UnmodifiableConfig.Entry entry) {
+			Object value = copyValue(entry.getValue());
+			Object[][] extra = {null};
+			entry.forEachExtraAttribute(
+				(type, v) -> extra[0] = PackedAttributes.with(extra[0], type, v));
+			return new Entry(entry.getKey(), value, extra[0]);
+		}
+
+		Entry with(AttributeType<?> attribute, Object newValue) {
+			if (attribute == VALUE) {
+				return (newValue == value) ? this : new Entry(key, newValue, extra);
+			}
+			Object[] newExtra = PackedAttributes.with(extra, attribute, newValue);
+			return (newExtra == extra) ? this : new Entry(key, value, newExtra);
+		}
+
+		Entry without(AttributeType<?> attribute) {
+			Object[] newExtra = PackedAttributes.without(extra, attribute);
+			return (newExtra == extra) ? this : new Entry(key, value, newExtra);
+		}
+
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		@Override
+		public <T> T getValue() {
+			return (T)value;
+		}
+
+		@Override
+		public Iterable<? extends Attribute<?>> attributes() {
+			List<Attribute<?>> attributes = new ArrayList<>(PackedAttributes.size(extra) + 1);
+			attributes.add(new ImmutableAttribute(VALUE, value));
+			PackedAttributes.forEach(extra,
+									 (type, v) -> attributes.add(new ImmutableAttribute(type, v)));
+			return attributes;
+		}
+
+		@Override
+		public void forEachExtraAttribute(BiConsumer<? super AttributeType<?>, Object> action) {
+			PackedAttributes.forEach(extra, action);
+		}
+
+		@Override
+		public boolean has(AttributeType<?> attribute) {
+			return attribute == VALUE || PackedAttributes.has(extra, attribute);
+		}
+
+		@Override
+		public <T> T get(AttributeType<T> attribute) {
+			if (attribute == VALUE) {
+				return (T)value;
+			}
+			return (T)PackedAttributes.get(extra, attribute);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Entry)) return false;
+			Entry entry = (Entry)o;
+			return key.equals(entry.key)
+				   && Objects.equals(value, entry.value)
+				   && Arrays.equals(extra, entry.extra);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(key, value) * 31 + Arrays.hashCode(extra);
+		}
+
+		@Override
+		public String toString() {
+			if (extra == null) {
+				return String.valueOf(value);
+			}
+			return String.format("%s {attributes: %s}", value, PackedAttributes.toString(extra));
+		}
+	}
+
+	private static final class ImmutableAttribute implements Attribute<Object> {
+		private final AttributeType<?> type;
+		private final Object value;
+
+		ImmutableAttribute(AttributeType<?> type, Object value) {
+			this.type = type;
+			this.value = value;
+		}
+
+		@Override
+		public AttributeType<Object> getType() {
+			return (AttributeType<Object>)type;
+		}
+
+		@Override
+		public Object getValue() {
+			return value;
+		}
+	}
+
+	// --- TRIE ---
+
+	/**
+	 * A node of the hash trie. Each slot contains either an Entry or a sub-node. The bitmap
+	 * indicates which of the 32 possible slots are present, the slots array is compact. At the
+	 * bottom of the trie, when all the bits of the hash have been used, the node contains the
+	 * colliding entries in any order, and its bitmap is unused.
+	 */
+	private static final class Node {
+		static final int BITS = 5, MASK = (1 << BITS) - 1, MAX_SHIFT = 30;
+		static final Node EMPTY = new Node(0, new Object[0]);
+
+		final int bitmap;
+		final Object[] slots;
+
+		Node(int bitmap, Object[] slots) {
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+
+		Entry find(String key, int hash, int shift) {
+			Node node = this;
+			while (shift <= MAX_SHIFT) {
+				int bit = 1 << ((hash >>> shift) & MASK);
+				if ((node.bitmap & bit) == 0) {
+					return null;
+				}
+				Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+				if (slot instanceof Entry) {
+					Entry entry = (Entry)slot;
+					return key.equals(entry.key) ? entry : null;
+				}
+				node = (Node)slot;
+				shift += BITS;
+			}
+			for (Object slot : node.slots) {// collisions
+				if (key.equals(((Entry)slot).key)) {
+					return (Entry)slot;
+				}
+			}
+			return null;
+		}
+
+		/** @return a node that contains the entry, replacing the one with the same key if any */
+		Node put(Entry entry, int hash, int shift) {
+			if (shift > MAX_SHIFT) {
+				for (int i = 0; i < slots.length; i++) {
+					if (entry.key.equals(((Entry)slots[i]).key)) {
+						return new Node(0, replace(slots, i, entry));
+					}
+				}
+				return new Node(0, insert(slots, slots.length, entry));
+			}
+			int bit = 1 << ((hash >>> shift) & MASK);
+			int idx = Integer.bitCount(bitmap & (bit - 1));
+			if ((bitmap & bit) == 0) {
+				return new Node(bitmap | bit, insert(slots, idx, entry));
+			}
+			Object slot = slots[idx];
+			Object newSlot;
+			if (slot instanceof Node) {
+				newSlot = ((Node)slot).put(entry, hash, shift + BITS);
+			} else if (entry.key.equals(((Entry)slot).key)) {
+				newSlot = entry;
+			} else {
+				// Two different keys in the same slot: pushes them down in a new node
+				Entry existing = (Entry)slot;
+				newSlot = EMPTY.put(existing, hash(existing.key), shift + BITS)
+							   .put(entry, hash, shift + BITS);
+			}
+			return new Node(bitmap, replace(slots, idx, newSlot));
+		}
+
+		/** @return a node without the entry, which must exist */
+		Node remove(String key, int hash, int shift) {
+			if (shift > MAX_SHIFT) {
+				for (int i = 0; i < slots.length; i++) {
+					if (key.equals(((Entry)slots[i]).key)) {
+						return (slots.length == 1) ? EMPTY : new Node(0, delete(slots, i));
+					}
+				}
+				return this;
+			}
+			int bit = 1 << ((hash >>> shift) & MASK);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			int idx = Integer.bitCount(bitmap & (bit - 1));
+			Object slot = slots[idx];
+			if (slot instanceof Entry) {
+				if (!key.equals(((Entry)slot).key)) {
+					return this;
+				}
+				return (slots.length == 1) ? EMPTY : new Node(bitmap ^ bit, delete(slots, idx));
+			}
+			Node newNode = ((Node)slot).remove(key, hash, shift + BITS);
+			if (newNode == slot) {
+				return this;
+			}
+			if (newNode == EMPTY) {
+				return (slots.length == 1) ? EMPTY : new Node(bitmap ^ bit, delete(slots, idx));
+			}
+			if (newNode.slots.length == 1 && newNode.slots[0] instanceof Entry) {
+				// Keeps the trie compact: a lone entry goes up in the trie
+				return new Node(bitmap, replace(slots, idx, newNode.slots[0]));
+			}
+			return new Node(bitmap, replace(slots, idx, newNode));
+		}
+
+		/**
+		 * Builds a node from distinct entries, in one pass. The entries are sorted in place by
+		 * their hash bits.
+		 */
+		static Node build(Entry[] entries, int from, int to, int shift, Entry[] tmp) {
+			if (shift > MAX_SHIFT) {
+				return new Node(0, Arrays.copyOfRange(entries, from, to, Object[].class));
+			}
+			// Counting sort on the hash bits used at this level
+			int[] counts = new int[MASK + 2];
+			for (int i = from; i < to; i++) {
+				counts[((hash(entries[i].key) >>> shift) & MASK) + 1]++;
+			}
+			int bitmap = 0, slotCount = 0;
+			for (int b = 0; b <= MASK; b++) {
+				if (counts[b + 1] != 0) {
+					bitmap |= 1 << b;
+					slotCount++;
+				}
+				counts[b + 1] += counts[b];// counts[b] is now the start of the bucket b
+			}
+			int[] starts = counts.clone();
+			for (int i = from; i < to; i++) {
+				tmp[from + counts[(hash(entries[i].key) >>> shift) & MASK]++] = entries[i];
+			}
+			System.arraycopy(tmp, from, entries, from, to - from);
+			// Creates the slots
+			Object[] slots = new Object[slotCount];
+			int slot = 0;
+			for (int b = 0; b <= MASK; b++) {
+				int start = from + starts[b], end = from + starts[b + 1];
+				if (end - start == 1) {
+					slots[slot++] = entries[start];
+				} else if (end - start > 1) {
+					slots[slot++] = build(entries, start, end, shift + BITS, tmp);
+				}
+			}
+			return new Node(bitmap, slots);
+		}
+
+		private static Object[] insert(Object[] array, int idx, Object element) {
+			Object[] copy = new Object[array.length + 1];
+			System.arraycopy(array, 0, copy, 0, idx);
+			copy[idx] = element;
+			System.arraycopy(array, idx, copy, idx + 1, array.length - idx);
+			return copy;
+		}
+
+		private static Object[] replace(Object[] array, int idx, Object element) {
+			Object[] copy = array.clone();
+			copy[idx] = element;
+			return copy;
+		}
+
+		private static Object[] delete(Object[] array, int idx) {
+			Object[] copy = new Object[array.length - 1];
+			System.arraycopy(array, 0, copy, 0, idx);
+			System.arraycopy(array, idx + 1, copy, idx, array.length - idx - 1);
+			return copy;
+		}
+	}
+
+	/** Iterates over the entries of a trie, depth-first. */
+	private static final class EntryIterator implements Iterator<Entry> {
+		private final Node[] nodes = new Node[Node.MAX_SHIFT / Node.BITS + 2];
+		private final int[] indexes = new int[nodes.length];
+		private int depth = 0;
+		private Entry next;
+
+		EntryIterator(Node root) {
+			nodes[0] = root;
+			advance();
+		}
+
+		private void advance() {
+			while (depth >= 0) {
+				Node node = nodes[depth];
+				if (indexes[depth] == node.slots.length) {
+					depth--;
+					continue;
+				}
+				Object slot = node.slots[indexes[depth]++];
+				if (slot instanceof Entry) {
+					next = (Entry)slot;
+					return;
+				}
+				depth++;
+				nodes[depth] = (Node)slot;
+				indexes[depth] = 0;
+			}
+			next = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry next() {
+			Entry entry = next;
+			if (entry == null) {
+				throw new NoSuchElementException();
+			}
+			advance();
+			return entry;
+		}
+	}
+
+	/** An unmodifiable Map view of the values, backed by the trie. */
+	private final class ValueMap extends AbstractMap<String, Object> {
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String && root.find((String)key, hash((String)key), 0) != null;
+		}
+
+		@Override
+		public Object get(Object key) {
+			if (!(key instanceof String)) {
+				return null;
+			}
+			PersistentConfig.Entry entry = root.find((String)key, hash((String)key), 0);
+			return (entry == null) ? null : entry.value;
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return new AbstractSet<Map.Entry<String, Object>>() {
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					EntryIterator it = new EntryIterator(root);
+					return new Iterator<Map.Entry<String, Object>>() {
+						@Override
+						public boolean hasNext() {
+							return it.hasNext();
+						}
+
+						@Override
+						public Map.Entry<String, Object> next() {
+							PersistentConfig.Entry entry = it.next();
+							return new SimpleImmutableEntry<>(entry.key, entry.value);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+	}
+}
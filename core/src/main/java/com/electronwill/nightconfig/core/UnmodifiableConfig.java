@@ -1,12 +1,13 @@
 package com.electronwill.nightconfig.core;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleSupplier;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import static com.electronwill.nightconfig.core.NullObject.NULL_OBJECT;
-import static com.electronwill.nightconfig.core.utils.StringUtils.splitPath;
 
 /**
  * An unmodifiable (read-only) configuration that contains key/value mappings.
@@ -37,11 +38,19 @@ public interface UnmodifiableConfig {
 	// --- ENTRIES GETTERS ---
 	/** @return a config entry */
 	default Entry getEntry(String path) {
-		return getEntry(splitPath(path));
+		return getEntry(ConfigPath.of(path));
+	}
+
+	default Entry getEntry(ConfigPath path) {
+		return getEntry(path.parts);
 	}
 
 	default Optional<Entry> getOptionalEntry(String path) {
-		return getOptionalEntry(splitPath(path));
+		return getOptionalEntry(ConfigPath.of(path));
+	}
+
+	default Optional<Entry> getOptionalEntry(ConfigPath path) {
+		return getOptionalEntry(path.parts);
 	}
 
 	default Optional<Entry> getOptionalEntry(String[] path) {
@@ -57,7 +66,18 @@ public interface UnmodifiableConfig {
 	 * @return the value at the given path, or {@code null} if there is no such value.
 	 */
 	default <T> T get(String path) {
-		return get(splitPath(path));
+		return get(ConfigPath.of(path));
+	}
+
+	/**
+	 * Gets a value from the config.
+	 *
+	 * @param path the value's path
+	 * @param <T>  the value's type
+	 * @return the value at the given path, or {@code null} if there is no such value.
+	 */
+	default <T> T get(ConfigPath path) {
+		return get(path.parts);
 	}
 
 	/**
@@ -81,7 +101,19 @@ public interface UnmodifiableConfig {
 	 * there is no such value.
 	 */
 	default <T> Optional<T> getOptional(String path) {
-		return getOptional(splitPath(path));
+		return getOptional(ConfigPath.of(path));
+	}
+
+	/**
+	 * Gets an optional value from the config.
+	 *
+	 * @param path the value's path
+	 * @param <T>  the value's type
+	 * @return an Optional containing the value at the given path, or {@code Optional.empty()} if
+	 * there is no such value.
+	 */
+	default <T> Optional<T> getOptional(ConfigPath path) {
+		return getOptional(path.parts);
 	}
 
 	/**
@@ -105,7 +137,19 @@ public interface UnmodifiableConfig {
 	 * @return the value at the given path, or the default value if not found.
 	 */
 	default <T> T getOrElse(String path, T defaultValue) {
-		return getOrElse(splitPath(path), defaultValue);
+		return getOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	/**
+	 * Gets a value from the config. If the value doesn't exist, returns the default value.
+	 *
+	 * @param path         the value's path
+	 * @param defaultValue the default value to return if not found
+	 * @param <T>          the value's type
+	 * @return the value at the given path, or the default value if not found.
+	 */
+	default <T> T getOrElse(ConfigPath path, T defaultValue) {
+		return getOrElse(path.parts, defaultValue);
 	}
 
 	/**
@@ -143,12 +187,28 @@ public interface UnmodifiableConfig {
 	 * @return the value at the given path, or the default value if not found.
 	 */
 	default <T> T getOrElse(String path, Supplier<T> defaultValueSupplier) {
-		return getOrElse(splitPath(path), defaultValueSupplier);
+		return getOrElse(ConfigPath.of(path), defaultValueSupplier);
+	}
+
+	/**
+	 * Gets a value from the config. If the value doesn't exist, returns the default value.
+	 *
+	 * @param path                 the value's path
+	 * @param defaultValueSupplier the Supplier of the default value
+	 * @param <T>                  the value's type
+	 * @return the value at the given path, or the default value if not found.
+	 */
+	default <T> T getOrElse(ConfigPath path, Supplier<T> defaultValueSupplier) {
+		return getOrElse(path.parts, defaultValueSupplier);
 	}
 
 	// --- GETTERS FOR ATTRIBUTES ---
 	default <T> T get(AttributeType<T> attribute, String path) {
-		return get(attribute, splitPath(path));
+		return get(attribute, ConfigPath.of(path));
+	}
+
+	default <T> T get(AttributeType<T> attribute, ConfigPath path) {
+		return get(attribute, path.parts);
 	}
 
 	default <T> T get(AttributeType<T> attribute, String[] path) {
@@ -157,7 +217,11 @@ public interface UnmodifiableConfig {
 	}
 
 	default <T> Optional<T> getOptional(AttributeType<T> attribute, String path) {
-		return getOptional(attribute, splitPath(path));
+		return getOptional(attribute, ConfigPath.of(path));
+	}
+
+	default <T> Optional<T> getOptional(AttributeType<T> attribute, ConfigPath path) {
+		return getOptional(attribute, path.parts);
 	}
 
 	default <T> Optional<T> getOptional(AttributeType<T> attribute, String[] path) {
@@ -166,7 +230,11 @@ public interface UnmodifiableConfig {
 	}
 
 	default <T> T getOrElse(AttributeType<T> attribute, String path, T defaultValue) {
-		return getOrElse(attribute, splitPath(path), defaultValue);
+		return getOrElse(attribute, ConfigPath.of(path), defaultValue);
+	}
+
+	default <T> T getOrElse(AttributeType<T> attribute, ConfigPath path, T defaultValue) {
+		return getOrElse(attribute, path.parts, defaultValue);
 	}
 
 	default <T> T getOrElse(AttributeType<T> attribute, String[] path, T defaultValue) {
@@ -175,7 +243,11 @@ public interface UnmodifiableConfig {
 	}
 
 	default <T> T getOrElse(AttributeType<T> attribute, String path, Supplier<T> defaultValueSupplier) {
-		return getOrElse(attribute, splitPath(path), defaultValueSupplier);
+		return getOrElse(attribute, ConfigPath.of(path), defaultValueSupplier);
+	}
+
+	default <T> T getOrElse(AttributeType<T> attribute, ConfigPath path, Supplier<T> defaultValueSupplier) {
+		return getOrElse(attribute, path.parts, defaultValueSupplier);
 	}
 
 	default <T> T getOrElse(AttributeType<T> attribute, String[] path, Supplier<T> defaultValueSupplier) {
@@ -194,6 +266,16 @@ public interface UnmodifiableConfig {
 		return get(StandardAttributes.COMMENT, path);
 	}
 
+	/**
+	 * Gets a comment from the config.
+	 *
+	 * @param path the comment's path
+	 * @return the comment at the given path, or {@code null} if there is none.
+	 */
+	default String getComment(ConfigPath path) {
+		return get(StandardAttributes.COMMENT, path);
+	}
+
 	/**
 	 * Gets a comment from the config.
 	 *
@@ -215,6 +297,17 @@ public interface UnmodifiableConfig {
 		return getOptional(StandardAttributes.COMMENT, path);
 	}
 
+	/**
+	 * Gets an optional comment from the config.
+	 *
+	 * @param path the comment's path
+	 * @return an Optional containing the comment at the given path, or {@code Optional.empty()} if
+	 * there is no such comment.
+	 */
+	default Optional<String> getOptionalComment(ConfigPath path) {
+		return getOptional(StandardAttributes.COMMENT, path);
+	}
+
 	/**
 	 * Gets an optional comment from the config.
 	 *
@@ -241,7 +334,24 @@ public interface UnmodifiableConfig {
 	 *                                  an enum constant, like a List
 	 */
 	default <T extends Enum<T>> T getEnum(String path, Class<T> enumType, EnumGetMethod method) {
-		return getEnum(splitPath(path), enumType, method);
+		return getEnum(ConfigPath.of(path), enumType, method);
+	}
+
+	/**
+	 * Gets an Enum value from the config. If the value doesn't exist, returns null.
+	 *
+	 * @param path     the value's path
+	 * @param enumType the class of the Enum
+	 * @param method   the method to use when converting a non-enum value like a String or an int
+	 * @param <T>      the value's type
+	 * @return the value at the given path as an enum, or null value if not found.
+	 * @throws IllegalArgumentException if the config contains a String that doesn't match any of
+	 *                                  the enum constants, with regards to the given method
+	 * @throws ClassCastException       if the config contains a value that cannot be converted to
+	 *                                  an enum constant, like a List
+	 */
+	default <T extends Enum<T>> T getEnum(ConfigPath path, Class<T> enumType, EnumGetMethod method) {
+		return getEnum(path.parts, enumType, method);
 	}
 
 	/**
@@ -249,7 +359,15 @@ public interface UnmodifiableConfig {
 	 * {@link EnumGetMethod#NAME_IGNORECASE}.
 	 */
 	default <T extends Enum<T>> T getEnum(String path, Class<T> enumType) {
-		return getEnum(splitPath(path), enumType, EnumGetMethod.NAME_IGNORECASE);
+		return getEnum(ConfigPath.of(path), enumType, EnumGetMethod.NAME_IGNORECASE);
+	}
+
+	/**
+	 * Calls {@link #getEnum(String, Class, EnumGetMethod)} with method
+	 * {@link EnumGetMethod#NAME_IGNORECASE}.
+	 */
+	default <T extends Enum<T>> T getEnum(ConfigPath path, Class<T> enumType) {
+		return getEnum(path.parts, enumType, EnumGetMethod.NAME_IGNORECASE);
 	}
 
 	/**
@@ -292,7 +410,24 @@ public interface UnmodifiableConfig {
 	 *                                  an enum constant, like a List
 	 */
 	default <T extends Enum<T>> Optional<T> getOptionalEnum(String path, Class<T> enumType, EnumGetMethod method) {
-		return getOptionalEnum(splitPath(path), enumType, method);
+		return getOptionalEnum(ConfigPath.of(path), enumType, method);
+	}
+
+	/**
+	 * Gets an optional Enum value from the config.
+	 *
+	 * @param path     the value's path
+	 * @param enumType the class of the Enum
+	 * @param method   the method to use when converting a non-enum value like a String or an int
+	 * @param <T>      the value's type
+	 * @return the value at the given path as an enum, or null value if not found.
+	 * @throws IllegalArgumentException if the config contains a String that doesn't match any of
+	 *                                  the enum constants, with regards to the given method
+	 * @throws ClassCastException       if the config contains a value that cannot be converted to
+	 *                                  an enum constant, like a List
+	 */
+	default <T extends Enum<T>> Optional<T> getOptionalEnum(ConfigPath path, Class<T> enumType, EnumGetMethod method) {
+		return getOptionalEnum(path.parts, enumType, method);
 	}
 
 	/**
@@ -303,6 +438,14 @@ public interface UnmodifiableConfig {
 		return getOptionalEnum(path, enumType, EnumGetMethod.NAME_IGNORECASE);
 	}
 
+	/**
+	 * Calls {@link #getOptionalEnum(String, Class, EnumGetMethod)} with method
+	 * {@link EnumGetMethod#NAME_IGNORECASE}.
+	 */
+	default <T extends Enum<T>> Optional<T> getOptionalEnum(ConfigPath path, Class<T> enumType) {
+		return getOptionalEnum(path, enumType, EnumGetMethod.NAME_IGNORECASE);
+	}
+
 	/**
 	 * Gets an optional Enum value from the config.
 	 *
@@ -342,7 +485,24 @@ public interface UnmodifiableConfig {
 	 *                                  an enum constant, like a List
 	 */
 	default <T extends Enum<T>> T getEnumOrElse(String path, T defaultValue, EnumGetMethod method) {
-		return getEnumOrElse(splitPath(path), defaultValue, method);
+		return getEnumOrElse(ConfigPath.of(path), defaultValue, method);
+	}
+
+	/**
+	 * Gets an Enum value from the config. If the value doesn't exist, returns the default value.
+	 *
+	 * @param path         the value's path
+	 * @param defaultValue the default value
+	 * @param method       the method to use when converting a non-enum value like a String or an int
+	 * @param <T>          the value's type
+	 * @return the value at the given path as an enum, or null value if not found.
+	 * @throws IllegalArgumentException if the config contains a String that doesn't match any of
+	 *                                  the enum constants, with regards to the given method
+	 * @throws ClassCastException       if the config contains a value that cannot be converted to
+	 *                                  an enum constant, like a List
+	 */
+	default <T extends Enum<T>> T getEnumOrElse(ConfigPath path, T defaultValue, EnumGetMethod method) {
+		return getEnumOrElse(path.parts, defaultValue, method);
 	}
 
 	/**
@@ -353,6 +513,14 @@ public interface UnmodifiableConfig {
 		return getEnumOrElse(path, defaultValue, EnumGetMethod.NAME_IGNORECASE);
 	}
 
+	/**
+	 * Calls {@link #getEnumOrElse(String, Enum, EnumGetMethod)} with method
+	 * {@link EnumGetMethod#NAME_IGNORECASE}.
+	 */
+	default <T extends Enum<T>> T getEnumOrElse(ConfigPath path, T defaultValue) {
+		return getEnumOrElse(path, defaultValue, EnumGetMethod.NAME_IGNORECASE);
+	}
+
 	/**
 	 * Gets an Enum value from the config. If the value doesn't exist, returns the default value.
 	 *
@@ -396,7 +564,27 @@ public interface UnmodifiableConfig {
 												Class<T> enumType,
 												EnumGetMethod method,
 												Supplier<T> defaultValueSupplier) {
-		return getEnumOrElse(splitPath(path), enumType, method, defaultValueSupplier);
+		return getEnumOrElse(ConfigPath.of(path), enumType, method, defaultValueSupplier);
+	}
+
+	/**
+	 * Gets an Enum value from the config. If the value doesn't exist, returns the default value.
+	 *
+	 * @param path                 the value's path, each element is a different part of the path.
+	 * @param defaultValueSupplier Supplier of the default value, only used if needed
+	 * @param method               the method to use when converting a non-enum value like a String or an int
+	 * @param <T>                  the value's type
+	 * @return the value at the given path as an enum, or null value if not found.
+	 * @throws IllegalArgumentException if the config contains a String that doesn't match any of
+	 *                                  the enum constants, with regards to the given method
+	 * @throws ClassCastException       if the config contains a value that cannot be converted to
+	 *                                  an enum constant, like a List
+	 */
+	default <T extends Enum<T>> T getEnumOrElse(ConfigPath path,
+												Class<T> enumType,
+												EnumGetMethod method,
+												Supplier<T> defaultValueSupplier) {
+		return getEnumOrElse(path.parts, enumType, method, defaultValueSupplier);
 	}
 
 	/**
@@ -409,6 +597,16 @@ public interface UnmodifiableConfig {
 		return getEnumOrElse(path, enumType, EnumGetMethod.NAME_IGNORECASE, defaultValueSupplier);
 	}
 
+	/**
+	 * Calls {@link #getEnumOrElse(String, Class, EnumGetMethod, Supplier)} with method
+	 * {@link EnumGetMethod#NAME_IGNORECASE}.
+	 */
+	default <T extends Enum<T>> T getEnumOrElse(ConfigPath path,
+												Class<T> enumType,
+												Supplier<T> defaultValueSupplier) {
+		return getEnumOrElse(path, enumType, EnumGetMethod.NAME_IGNORECASE, defaultValueSupplier);
+	}
+
 	/**
 	 * Gets an Enum value from the config. If the value doesn't exist, returns the default value.
 	 *
@@ -447,7 +645,15 @@ public interface UnmodifiableConfig {
 	 * {@link Number}.
 	 */
 	default int getInt(String path) {
-		return this.<Number>get(path).intValue();
+		return getInt(ConfigPath.of(path));
+	}
+
+	/**
+	 * Like {@link #get(ConfigPath)} but returns a primitive int. The config's value must be a
+	 * {@link Number}.
+	 */
+	default int getInt(ConfigPath path) {
+		return getInt(path.parts);
 	}
 
 	/**
@@ -463,7 +669,15 @@ public interface UnmodifiableConfig {
 	 * {@link Number} or null or nonexistant.
 	 */
 	default OptionalInt getOptionalInt(String path) {
-		return getOptionalInt(splitPath(path));
+		return getOptionalInt(ConfigPath.of(path));
+	}
+
+	/**
+	 * Like {@link #getOptional(ConfigPath)} but returns a primitive int. The config's value must
+	 * be a {@link Number} or null or nonexistant.
+	 */
+	default OptionalInt getOptionalInt(ConfigPath path) {
+		return getOptionalInt(path.parts);
 	}
 
 	/**
@@ -480,7 +694,15 @@ public interface UnmodifiableConfig {
 	 * The config's value must be a {@link Number} or null or nonexistant.
 	 */
 	default int getIntOrElse(String path, int defaultValue) {
-		return getIntOrElse(splitPath(path), defaultValue);
+		return getIntOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Object)} but returns a primitive int.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default int getIntOrElse(ConfigPath path, int defaultValue) {
+		return getIntOrElse(path.parts, defaultValue);
 	}
 
 	/**
@@ -497,7 +719,15 @@ public interface UnmodifiableConfig {
 	 * The config's value must be a {@link Number} or null or nonexistant.
 	 */
 	default int getIntOrElse(String path, IntSupplier defaultValueSupplier) {
-		return getIntOrElse(splitPath(path), defaultValueSupplier);
+		return getIntOrElse(ConfigPath.of(path), defaultValueSupplier);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Supplier)} but returns a primitive int.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default int getIntOrElse(ConfigPath path, IntSupplier defaultValueSupplier) {
+		return getIntOrElse(path.parts, defaultValueSupplier);
 	}
 
 	/**
@@ -515,7 +745,15 @@ public interface UnmodifiableConfig {
 	 * {@link Number}.
 	 */
 	default long getLong(String path) {
-		return this.<Number>get(path).longValue();
+		return getLong(ConfigPath.of(path));
+	}
+
+	/**
+	 * Like {@link #get(ConfigPath)} but returns a primitive long. The config's value must be a
+	 * {@link Number}.
+	 */
+	default long getLong(ConfigPath path) {
+		return getLong(path.parts);
 	}
 
 	/**
@@ -531,7 +769,15 @@ public interface UnmodifiableConfig {
 	 * {@link Number} or null or nonexistant.
 	 */
 	default OptionalLong getOptionalLong(String path) {
-		return getOptionalLong(splitPath(path));
+		return getOptionalLong(ConfigPath.of(path));
+	}
+
+	/**
+	 * Like {@link #getOptional(ConfigPath)} but returns a primitive long. The config's value must
+	 * be a {@link Number} or null or nonexistant.
+	 */
+	default OptionalLong getOptionalLong(ConfigPath path) {
+		return getOptionalLong(path.parts);
 	}
 
 	/**
@@ -548,7 +794,15 @@ public interface UnmodifiableConfig {
 	 * The config's value must be a {@link Number} or null or nonexistant.
 	 */
 	default long getLongOrElse(String path, long defaultValue) {
-		return getLongOrElse(splitPath(path), defaultValue);
+		return getLongOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Object)} but returns a primitive long.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default long getLongOrElse(ConfigPath path, long defaultValue) {
+		return getLongOrElse(path.parts, defaultValue);
 	}
 
 	/**
@@ -565,7 +819,15 @@ public interface UnmodifiableConfig {
 	 * The config's value must be a {@link Number} or null or nonexistant.
 	 */
 	default long getLongOrElse(String path, LongSupplier defaultValueSupplier) {
-		return getLongOrElse(splitPath(path), defaultValueSupplier);
+		return getLongOrElse(ConfigPath.of(path), defaultValueSupplier);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Supplier)} but returns a primitive long.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default long getLongOrElse(ConfigPath path, LongSupplier defaultValueSupplier) {
+		return getLongOrElse(path.parts, defaultValueSupplier);
 	}
 
 	/**
@@ -577,17 +839,125 @@ public interface UnmodifiableConfig {
 		return (n == null) ? defaultValueSupplier.getAsLong() : n.longValue();
 	}
 
+	// --- Primitive getters: double ---
+	/**
+	 * Like {@link #get(String)} but returns a primitive double. The config's value must be a
+	 * {@link Number}.
+	 */
+	default double getDouble(String path) {
+		return getDouble(ConfigPath.of(path));
+	}
+
+	/**
+	 * Like {@link #get(ConfigPath)} but returns a primitive double. The config's value must be a
+	 * {@link Number}.
+	 */
+	default double getDouble(ConfigPath path) {
+		return getDouble(path.parts);
+	}
+
+	/**
+	 * Like {@link #get(String[])} but returns a primitive double. The config's value must be a
+	 * {@link Number}.
+	 */
+	default double getDouble(String[] path) {
+		return this.<Number>get(path).doubleValue();
+	}
+
+	/**
+	 * Like {@link #getOptional(String)} but returns a primitive double. The config's value must
+	 * be a {@link Number} or null or nonexistant.
+	 */
+	default OptionalDouble getOptionalDouble(String path) {
+		return getOptionalDouble(ConfigPath.of(path));
+	}
+
+	/**
+	 * Like {@link #getOptional(ConfigPath)} but returns a primitive double. The config's value must
+	 * be a {@link Number} or null or nonexistant.
+	 */
+	default OptionalDouble getOptionalDouble(ConfigPath path) {
+		return getOptionalDouble(path.parts);
+	}
+
+	/**
+	 * Like {@link #getOptional(String[])} but returns a primitive double. The config's value must
+	 * be a {@link Number} or null or nonexistant.
+	 */
+	default OptionalDouble getOptionalDouble(String[] path) {
+		Number n = get(path);
+		return (n == null) ? OptionalDouble.empty() : OptionalDouble.of(n.doubleValue());
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Object)} but returns a primitive double.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default double getDoubleOrElse(String path, double defaultValue) {
+		return getDoubleOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Object)} but returns a primitive double.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default double getDoubleOrElse(ConfigPath path, double defaultValue) {
+		return getDoubleOrElse(path.parts, defaultValue);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String[], Object)} but returns a primitive double.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default double getDoubleOrElse(String[] path, double defaultValue) {
+		Number n = get(path);
+		return (n == null) ? defaultValue : n.doubleValue();
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Supplier)} but returns a primitive double.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default double getDoubleOrElse(String path, DoubleSupplier defaultValueSupplier) {
+		return getDoubleOrElse(ConfigPath.of(path), defaultValueSupplier);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String, Supplier)} but returns a primitive double.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default double getDoubleOrElse(ConfigPath path, DoubleSupplier defaultValueSupplier) {
+		return getDoubleOrElse(path.parts, defaultValueSupplier);
+	}
+
+	/**
+	 * Like {@link #getOrElse(String[], Supplier)} but returns a primitive double.
+	 * The config's value must be a {@link Number} or null or nonexistant.
+	 */
+	default double getDoubleOrElse(String[] path, DoubleSupplier defaultValueSupplier) {
+		Number n = get(path);
+		return (n == null) ? defaultValueSupplier.getAsDouble() : n.doubleValue();
+	}
+
 	// --- Primitive getters: byte ---
 	default byte getByte(String path) {
 		return this.<Number>get(path).byteValue();
 	}
 
+	default byte getByte(ConfigPath path) {
+		return this.<Number>get(path).byteValue();
+	}
+
 	default byte getByte(String[] path) {
 		return this.<Number>get(path).byteValue();
 	}
 
 	default byte getByteOrElse(String path, byte defaultValue) {
-		return getByteOrElse(splitPath(path), defaultValue);
+		return getByteOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	default byte getByteOrElse(ConfigPath path, byte defaultValue) {
+		return getByteOrElse(path.parts, defaultValue);
 	}
 
 	default byte getByteOrElse(String[] path, byte defaultValue) {
@@ -600,12 +970,20 @@ public interface UnmodifiableConfig {
 		return this.<Number>get(path).shortValue();
 	}
 
+	default short getShort(ConfigPath path) {
+		return this.<Number>get(path).shortValue();
+	}
+
 	default short getShort(String[] path) {
 		return this.<Number>get(path).shortValue();
 	}
 
 	default short getShortOrElse(String path, short defaultValue) {
-		return getShortOrElse(splitPath(path), defaultValue);
+		return getShortOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	default short getShortOrElse(ConfigPath path, short defaultValue) {
+		return getShortOrElse(path.parts, defaultValue);
 	}
 
 	default short getShortOrElse(String[] path, short defaultValue) {
@@ -629,6 +1007,20 @@ public interface UnmodifiableConfig {
 		return (char)getInt(path);
 	}
 
+	/**
+	 * Returns a char value from the configuration.
+	 * <p>
+	 * If the value is a Number, returns {@link Number#intValue()}, cast to char.
+	 * If the value is a CharSequence, returns its first character.
+	 * Otherwise, attempts to cast the value to a char.
+	 *
+	 * @param path the value's path
+	 * @return the value, as a single char
+	 */
+	default char getChar(ConfigPath path) {
+		return getChar(path.parts);
+	}
+
 	/**
 	 * Returns a char value from the configuration.
 	 * <p>
@@ -663,7 +1055,23 @@ public interface UnmodifiableConfig {
 	 * @return the value, as a single char
 	 */
 	default char getCharOrElse(String path, char defaultValue) {
-		return getCharOrElse(splitPath(path), defaultValue);
+		return getCharOrElse(ConfigPath.of(path), defaultValue);
+	}
+
+	/**
+	 * Returns a char value from the configuration.
+	 * <p>
+	 * If the value is nonexistant, returns defaultValue.
+	 * If the value is a Number, returns {@link Number#intValue()}, cast to char.
+	 * If the value is a CharSequence, returns its first character.
+	 * Otherwise, attempts to cast the value to a char.
+	 *
+	 * @param path the value's path
+	 * @param defaultValue the char to return if the value doesn't exist in the config
+	 * @return the value, as a single char
+	 */
+	default char getCharOrElse(ConfigPath path, char defaultValue) {
+		return getCharOrElse(path.parts, defaultValue);
 	}
 
 	/**
@@ -701,7 +1109,17 @@ public interface UnmodifiableConfig {
 	 * @return {@code true} if the path is associated with a value, {@code false} if it's not.
 	 */
 	default boolean contains(String path) {
-		return contains(splitPath(path));
+		return contains(ConfigPath.of(path));
+	}
+
+	/**
+	 * Checks if the config contains a value at some path.
+	 *
+	 * @param path the path to check
+	 * @return {@code true} if the path is associated with a value, {@code false} if it's not.
+	 */
+	default boolean contains(ConfigPath path) {
+		return contains(path.parts);
 	}
 
 	/**
@@ -721,7 +1139,17 @@ public interface UnmodifiableConfig {
 	 * @return {@code true} if the path is associated with a value, {@code false} if it's not.
 	 */
 	default boolean has(AttributeType<?> attribute, String path) {
-		return has(attribute, splitPath(path));
+		return has(attribute, ConfigPath.of(path));
+	}
+
+	/**
+	 * Checks if an attribute is present at some path.
+	 *
+	 * @param path the path to check
+	 * @return {@code true} if the path is associated with a value, {@code false} if it's not.
+	 */
+	default boolean has(AttributeType<?> attribute, ConfigPath path) {
+		return has(attribute, path.parts);
 	}
 
 	/**
@@ -743,7 +1171,18 @@ public interface UnmodifiableConfig {
 	 * {@code false} if it's associated with another value or with no value.
 	 */
 	default boolean isNull(String path) {
-		return isNull(splitPath(path));
+		return isNull(ConfigPath.of(path));
+	}
+
+	/**
+	 * Checks if the config contains a null value at some path.
+	 *
+	 * @param path the path to check
+	 * @return {@code true} if the path is associated with null.
+	 * {@code false} if it's associated with another value or with no value.
+	 */
+	default boolean isNull(ConfigPath path) {
+		return isNull(path.parts);
 	}
 
 	/**
@@ -775,6 +1214,17 @@ public interface UnmodifiableConfig {
 		// --- VALUE GETTERS ---
 		<T> T getValue();
 
+		/**
+		 * Returns the value as it's stored. Contrary to {@link #getValue()}, a
+		 * {@link com.electronwill.nightconfig.core.impl.LazyString} that hasn't been read yet
+		 * is returned as it is, without being decoded. This is intended for the writers.
+		 *
+		 * @return the stored value
+		 */
+		default <T> T getRawValue() {
+			return getValue();
+		}
+
 		default <T> Optional<T> getOptionalValue() {
 			return Optional.ofNullable(getValue());
 		}
@@ -791,6 +1241,20 @@ public interface UnmodifiableConfig {
 
 		<T> T get(AttributeType<T> attribute);
 
+		/**
+		 * Performs an action for each attribute of this entry, except its value. Contrary to
+		 * {@link #attributes()}, the implementations may do it without allocating anything.
+		 *
+		 * @param action the action to perform with the type and value of each attribute
+		 */
+		default void forEachExtraAttribute(BiConsumer<? super AttributeType<?>, Object> action) {
+			for (Attribute<?> attribute : attributes()) {
+				if (attribute.getType() != StandardAttributes.VALUE) {
+					action.accept(attribute.getType(), attribute.getValue());
+				}
+			}
+		}
+
 		default <T> Optional<T> getOptional(AttributeType<T> attribute) {
 			return Optional.ofNullable(get(attribute));
 		}
@@ -192,7 +192,8 @@ public final class ConversionTable implements Cloneable {
 
 					@Override
 					public <T> T getRawValue() {
-						return (T)convert(entry.getRawValue());
+						// getValue() decodes the LazyStrings, so that the String conversions apply
+						return (T)convert(entry.getValue());
 					}
 				};
 				return new TransformingSet<>(config.entrySet(), readTransfo, o -> null, e -> e);
@@ -4,9 +4,11 @@ import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.ConfigFormat;
 import com.electronwill.nightconfig.core.EnumGetMethod;
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -115,6 +117,21 @@ public final class ObjectConverter {
 		return destination;
 	}
 
+	/**
+	 * Creates an EntriesWalker that walks through the fields of an object, so that a
+	 * {@link com.electronwill.nightconfig.core.io.ConfigWriter} can write the object without
+	 * converting it to a Config. The {@link #bypassTransient} setting applies.
+	 *
+	 * @param o            the object to walk through
+	 * @param supportsType tests if the values of a type can be written directly, usually
+	 *                     {@code format::supportsType}
+	 * @return a new EntriesWalker
+	 */
+	public EntriesWalker toEntriesWalker(Object o, Predicate<Class<?>> supportsType) {
+		Objects.requireNonNull(o, "The object must not be null.");
+		return new ObjectEntriesWalker(o, supportsType, bypassTransient);
+	}
+
 	/**
 	 * Converts an Object to a Config. The {@link #bypassTransient} setting applies.
 	 */
@@ -0,0 +1,196 @@
+package com.electronwill.nightconfig.core.conversion;
+
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Walks through the fields of a Java object, like {@link ObjectConverter#toConfig} does, but
+ * without building a config. The values are read when they are needed, and the objects that
+ * must be converted are broken down into other ObjectEntriesWalkers. Therefore a
+ * {@link com.electronwill.nightconfig.core.io.ConfigWriter} can write the object in one pass.
+ * <p>
+ * The fields of each class are determined once and cached. The annotations {@link Conversion},
+ * {@link ForceBreakdown} and the Spec annotations are applied like with the ObjectConverter.
+ * The fields with a {@link Path} of several parts aren't supported, because the entries of an
+ * object are walked in only one level.
+ *
+ * @author TheElectronWill
+ */
+public final class ObjectEntriesWalker implements EntriesWalker {
+	private static final ClassValue<FieldInfo[]> FIELDS = new FieldsCache(false);
+	private static final ClassValue<FieldInfo[]> FIELDS_WITH_TRANSIENT = new FieldsCache(true);
+
+	private final Object object;
+	private final FieldInfo[] fields;
+	private final Predicate<Class<?>> supportsType;
+	private final boolean bypassTransient;
+	private int index = -1;
+
+	/** The value of the current field, and whether it has been read */
+	private Object value;
+	private boolean valueRead, breakdown;
+
+	/**
+	 * Creates a new ObjectEntriesWalker.
+	 *
+	 * @param object          the object to walk through
+	 * @param supportsType    tests if the values of a type can be written directly, usually
+	 *                        {@code format::supportsType}. The other values are broken down.
+	 * @param bypassTransient {@code true} to use the transient fields
+	 */
+	public ObjectEntriesWalker(Object object, Predicate<Class<?>> supportsType,
+							   boolean bypassTransient) {
+		this.object = object;
+		this.supportsType = supportsType;
+		this.bypassTransient = bypassTransient;
+		this.fields = (bypassTransient ? FIELDS_WITH_TRANSIENT : FIELDS).get(object.getClass());
+	}
+
+	@Override
+	public boolean hasNext() {
+		return index + 1 < fields.length;
+	}
+
+	@Override
+	public String nextKey() {
+		valueRead = false;
+		value = null;
+		return fields[++index].key;
+	}
+
+	@Override
+	public Object nextValue() {
+		readValue();
+		return value;
+	}
+
+	@Override
+	public Class<?> nextClass() {
+		readValue();
+		return (value == null) ? null : value.getClass();
+	}
+
+	@Override
+	public EntriesWalker breakdown() {
+		readValue();
+		return breakdown ? new ObjectEntriesWalker(value, supportsType, bypassTransient) : null;
+	}
+
+	private void readValue() {
+		if (valueRead) {
+			return;
+		}
+		final FieldInfo info = fields[index];
+		Object v;
+		try {
+			v = info.field.get(object);
+		} catch (IllegalAccessException e) {// Unexpected: setAccessible is called if needed
+			throw new ReflectionException("Unable to parse the field " + info.field, e);
+		}
+		AnnotationUtils.checkField(info.field, v);
+		if (info.converter != null) {
+			v = info.converter.convertFromField(v);
+		}
+		breakdown = false;
+		if (v != null) {
+			final Class<?> valueType = v.getClass();
+			if (Enum.class.isAssignableFrom(valueType)) {
+				// Enums must not be treated as objects to break down
+				if (!supportsType.test(Enum.class)) {
+					v = v.toString();
+				}
+			} else if (info.forceBreakdown || !supportsType.test(valueType)) {
+				breakdown = true;
+			} else if (v instanceof Collection) {
+				v = new WalkedList((Collection<?>)v);
+			}
+		}
+		value = v;
+		valueRead = true;
+	}
+
+	/**
+	 * A view of a collection, that replaces the unsupported objects by walkers.
+	 */
+	private final class WalkedList extends AbstractList<Object> implements RandomAccess {
+		private final List<?> elements;
+
+		WalkedList(Collection<?> collection) {
+			if (collection instanceof List && collection instanceof RandomAccess) {
+				this.elements = (List<?>)collection;
+			} else {
+				this.elements = new ArrayList<>(collection);
+			}
+		}
+
+		@Override
+		public Object get(int index) {
+			Object element = elements.get(index);
+			if (element == null || supportsType.test(element.getClass())) {
+				if (element instanceof Collection) {
+					return new WalkedList((Collection<?>)element);
+				}
+				return element;
+			}
+			return new ObjectEntriesWalker(element, supportsType, bypassTransient);
+		}
+
+		@Override
+		public int size() {
+			return elements.size();
+		}
+	}
+
+	private static final class FieldInfo {
+		final Field field;
+		final String key;
+		final Converter<Object, Object> converter;
+		final boolean forceBreakdown;
+
+		FieldInfo(Field field) {
+			String[] path = AnnotationUtils.getPath(field);
+			if (path.length != 1) {
+				throw new ReflectionException("Unsupported path of several parts for the field "
+											  + field);
+			}
+			if (!field.isAccessible()) {
+				field.setAccessible(true);// Enforces field access if needed
+			}
+			this.field = field;
+			this.key = path[0];
+			this.converter = AnnotationUtils.getConverter(field);
+			this.forceBreakdown = field.isAnnotationPresent(ForceBreakdown.class);
+		}
+	}
+
+	private static final class FieldsCache extends ClassValue<FieldInfo[]> {
+		private final boolean bypassTransient;
+
+		FieldsCache(boolean bypassTransient) {
+			this.bypassTransient = bypassTransient;
+		}
+
+		@Override
+		protected FieldInfo[] computeValue(Class<?> type) {
+			List<FieldInfo> infos = new ArrayList<>();
+			// Walks through the class hierarchy, in the same order as the ObjectConverter
+			for (Class<?> clazz = type; clazz != Object.class; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					if (!bypassTransient && Modifier.isTransient(field.getModifiers())) {
+						continue;// Don't process transient fields if configured so
+					}
+					infos.add(new FieldInfo(field));
+				}
+			}
+			return infos.toArray(new FieldInfo[0]);
+		}
+	}
+}
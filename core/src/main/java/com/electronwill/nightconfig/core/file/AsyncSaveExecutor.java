@@ -0,0 +1,58 @@
+package com.electronwill.nightconfig.core.file;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor shared by the asynchronous FileConfigs (those that aren't built with
+ * {@link FileConfigBuilder#sync()}). It runs their file I/O and their delayed saves, with a
+ * bounded number of daemon threads, instead of the JVM's default pool of the asynchronous
+ * channels. Another executor can be given to {@link FileConfigBuilder#saveExecutor}.
+ * <p>
+ * Only the threads are shared: each write still opens and closes its own file channel. To write
+ * less often, use {@link FileConfigBuilder#saveDelay}.
+ *
+ * @author TheElectronWill
+ */
+public final class AsyncSaveExecutor {
+	private static volatile ScheduledExecutorService DEFAULT_INSTANCE;
+
+	private AsyncSaveExecutor() {}
+
+	/**
+	 * Gets the default executor, shared by all the asynchronous FileConfigs. It has between 1 and
+	 * 4 threads, depending on the number of processors.
+	 *
+	 * @return the default executor
+	 */
+	public static synchronized ScheduledExecutorService defaultInstance() {
+		if (DEFAULT_INSTANCE == null || DEFAULT_INSTANCE.isShutdown()) {
+			DEFAULT_INSTANCE = create(Math.min(4, Math.max(1, availableProcessors() / 2)));
+		}
+		return DEFAULT_INSTANCE;
+	}
+
+	/**
+	 * Creates a new executor suitable for the asynchronous FileConfigs. Its threads are daemon
+	 * threads, therefore they don't prevent the JVM from exiting: the FileConfigs must be closed
+	 * to ensure that their last saves are written.
+	 *
+	 * @param threads the number of threads
+	 * @return a new executor
+	 */
+	public static ScheduledExecutorService create(int threads) {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, r -> {
+			Thread t = new Thread(r, "NightConfig save " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+
+	private static int availableProcessors() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+}
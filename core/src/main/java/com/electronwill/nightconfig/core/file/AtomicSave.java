@@ -0,0 +1,100 @@
+package com.electronwill.nightconfig.core.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Saves files atomically: the data is written to a new temporary file in the same directory,
+ * which then replaces the target file with an atomic move. The readers of the target see either
+ * the old content or the new one, never a truncated file, even if the program crashes.
+ *
+ * @author TheElectronWill
+ */
+final class AtomicSave {
+	private AtomicSave() {}
+
+	/**
+	 * Creates a new temporary file to save the target, in the same directory. Its name is
+	 * unique, like {@code <file name>.<random number>.tmp}, so that it can't overwrite a file of
+	 * the user, nor the temporary file of another save of the same target. It gets the POSIX
+	 * permissions of the target, if any, which it will replace.
+	 *
+	 * @return the new empty temporary file
+	 */
+	static Path createTempFile(Path target) throws IOException {
+		Path dir = target.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(dir, target.getFileName() + ".", ".tmp");
+		try {
+			Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+		} catch (UnsupportedOperationException | IOException e) {
+			// Not a POSIX file system, or no target yet: keeps the default permissions
+		}
+		return temp;
+	}
+
+	/**
+	 * Writes the data to the target file, atomically.
+	 *
+	 * @param target the file to write
+	 * @param data   the data to write, from its position to its limit
+	 * @param fsync  what to force before and after replacing the target
+	 */
+	static void write(Path target, ByteBuffer data, FsyncPolicy fsync) throws IOException {
+		Path temp = createTempFile(target);
+		try {
+			try (FileChannel channel = FileChannel.open(temp, WRITE)) {
+				while (data.hasRemaining()) {
+					channel.write(data);
+				}
+				fsync.force(channel);
+			}
+			commit(temp, target, fsync);
+		} catch (IOException | RuntimeException e) {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException de) {
+				e.addSuppressed(de);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Replaces the target by the temporary file, which must be complete and closed.
+	 *
+	 * @param temp   the temporary file, see {@link #createTempFile(Path)}
+	 * @param target the file to replace
+	 * @param fsync  the policy, with DATA_AND_METADATA the directory is forced after the move
+	 */
+	static void commit(Path temp, Path target, FsyncPolicy fsync) throws IOException {
+		try {
+			Files.move(temp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			// The file system can't do it: the target is replaced in a non-atomic way
+			Files.move(temp, target, REPLACE_EXISTING);
+		}
+		if (fsync == FsyncPolicy.DATA_AND_METADATA) {
+			forceDirectory(target.toAbsolutePath().getParent());
+		}
+	}
+
+	/** Forces the entries of a directory, which isn't supported on every system (e.g. Windows) */
+	private static void forceDirectory(Path dir) {
+		if (dir == null) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(dir, READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// Not supported: the file itself has been forced, it's the best we can do
+		}
+	}
+}
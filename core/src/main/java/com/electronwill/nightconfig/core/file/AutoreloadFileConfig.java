@@ -1,6 +1,7 @@
 package com.electronwill.nightconfig.core.file;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author TheElectronWill
@@ -8,10 +9,18 @@ import java.io.IOException;
 final class AutoreloadFileConfig extends FileConfigWrapper {
 	private final FileWatcher watcher = FileWatcher.defaultInstance();
 
-	AutoreloadFileConfig(FileConfig config) {
+	/**
+	 * Creates a new AutoreloadFileConfig. If quietPeriod isn't zero, the reloads are debounced.
+	 *
+	 * @param quietPeriod the quiet period of the watch, in nanoseconds
+	 * @param maxDelay    the maximum reload delay, in nanoseconds
+	 * @see FileWatcher#addWatch(java.nio.file.Path, Runnable, long, long, TimeUnit)
+	 */
+	AutoreloadFileConfig(FileConfig config, long quietPeriod, long maxDelay) {
 		super(config);
 		try {
-			watcher.addWatch(config.getFile(), config::load);
+			watcher.addWatch(config.getFile(), config::load, quietPeriod, maxDelay,
+							 TimeUnit.NANOSECONDS);
 		} catch (IOException e) {
 			throw new RuntimeException("Unable to create the autoreloaded config", e);
 		}
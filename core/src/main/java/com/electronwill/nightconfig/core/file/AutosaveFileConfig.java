@@ -7,18 +7,38 @@ import com.electronwill.nightconfig.core.utils.ObservedMap;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author TheElectronWill
  */
 final class AutosaveFileConfig extends FileConfigWrapper {
+	/** The number of batches in progress, the autosave is suspended if it's positive */
+	private final AtomicInteger batchDepth = new AtomicInteger();
+	/** True if the config has been modified during the current batch, and not saved yet */
+	private final AtomicBoolean modified = new AtomicBoolean();
+
 	AutosaveFileConfig(FileConfig config) {
 		super(config);
 	}
 
+	@Override
+	public void batch(Consumer<? super FileConfig> action) {
+		batchDepth.incrementAndGet();
+		try {
+			action.accept(this);
+		} finally {
+			batchDepth.decrementAndGet();
+			saveIfModified();
+		}
+	}
+
 	@Override
 	public Config.Entry getEntry(String[] path) {
-		return new AutosaveEntry(config.getEntry(path));
+		Config.Entry entry = config.getEntry(path);
+		return entry == null ? null : new AutosaveEntry(entry);
 	}
 
 	@Override
@@ -53,14 +73,34 @@ final class AutosaveFileConfig extends FileConfigWrapper {
 
 	@Override
 	public Map<String, Object> valueMap() {
-		return new ObservedMap<>(config.valueMap(), this::save);
+		return new ObservedMap<>(config.valueMap(), this::autosave);
 	}
 
 	private <T> T saved(T value) {
-		save();
+		autosave();
 		return value;
 	}
 
+	/** Called after each modification: saves the config, or remembers to save it later */
+	private void autosave() {
+		if (batchDepth.get() == 0) {
+			save();
+		} else {
+			modified.set(true);
+			// The last batch may have ended between the check and the set, without seeing the
+			// modification: it's then saved here. The compareAndSet ensures that it's saved
+			// once, by this thread or by the batch.
+			saveIfModified();
+		}
+	}
+
+	/** Saves the config if it has been modified during the batches, and no batch remains */
+	private void saveIfModified() {
+		if (batchDepth.get() == 0 && modified.compareAndSet(true, false)) {
+			save();
+		}
+	}
+
 	private class AutosaveEntry implements Config.Entry {
 		private final Config.Entry entry;
 
@@ -111,7 +151,7 @@ final class AutosaveFileConfig extends FileConfigWrapper {
 		@Override
 		public void clearExtraAttributes() {
 			entry.clearExtraAttributes();
-			save();
+			autosave();
 		}
 
 		@Override
@@ -121,7 +161,7 @@ final class AutosaveFileConfig extends FileConfigWrapper {
 
 		@Override
 		public <T> Map.Entry<String, T> toMapEntry() {
-			return new ObservedEntry<>(entry.toMapEntry(), AutosaveFileConfig.this::save);
+			return new ObservedEntry<>(entry.toMapEntry(), AutosaveFileConfig.this::autosave);
 		}
 
 		@Override
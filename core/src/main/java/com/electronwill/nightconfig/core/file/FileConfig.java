@@ -2,10 +2,12 @@ package com.electronwill.nightconfig.core.file;
 
 import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.function.Consumer;
 
 /**
  * @author TheElectronWill
@@ -24,14 +26,52 @@ public interface FileConfig extends Config, AutoCloseable {
 	/**
 	 * Saves this config as soon as possible. This method may return quickly and perform the IO
 	 * operations in background, or it may block until the operations are done.
+	 * <p>
+	 * If the config has been built with {@link FileConfigBuilder#skipUnmodifiedSaves()} and
+	 * hasn't been modified since the last save, nothing is done.
 	 */
 	void save();
 
 	/**
 	 * (Re)loads this config from the file. This method blocks until the read operation completes.
+	 * <p>
+	 * If the file hasn't changed since the last load or save (same size, modification time and
+	 * content), and the config hasn't been modified since then, the file isn't parsed again and
+	 * the config is left as it is. If the config has been modified, or if its modifications
+	 * aren't counted (it isn't an AbstractConfig), the file is always parsed.
 	 */
 	void load();
 
+	/**
+	 * Returns an immutable snapshot of the content of this config.
+	 * <p>
+	 * If the config has been built with {@link FileConfigBuilder#atomicReload()}, this method
+	 * doesn't copy anything and never blocks: it returns the last published snapshot, which
+	 * contains either all the data of a reload, or none of it. Otherwise, this method copies
+	 * the config, and the copy is consistent only if the config isn't modified in the meantime.
+	 *
+	 * @return an immutable snapshot of this config
+	 */
+	default UnmodifiableConfig snapshot() {
+		return SnapshotConfig.snapshotOf(this);
+	}
+
+	/**
+	 * Performs several modifications at once. If the config has been built with
+	 * {@link FileConfigBuilder#autosave()}, the modifications made by the action don't save the
+	 * config: it is saved only once, after the action, and only if it has been modified.
+	 * Otherwise, this method simply runs the action.
+	 * <p>
+	 * The autosave is suspended for all the modifications made during the batch, even those made
+	 * by other threads. The batches can be nested, the config is saved at the end of the
+	 * outermost one.
+	 *
+	 * @param action the action that modifies the config
+	 */
+	default void batch(Consumer<? super FileConfig> action) {
+		action.accept(this);
+	}
+
 	/**
 	 * Closes this FileConfig, releases its associated resources (if any), and ensure that the
 	 * ongoing saving operations complete.
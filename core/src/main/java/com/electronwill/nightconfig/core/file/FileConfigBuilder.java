@@ -1,5 +1,6 @@
 package com.electronwill.nightconfig.core.file;
 
+import com.electronwill.nightconfig.core.ConcurrentConfig;
 import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.ConfigFormat;
 import com.electronwill.nightconfig.core.MemoryConfig;
@@ -14,6 +15,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
@@ -21,10 +24,17 @@ import java.util.function.Supplier;
  * <ul>
  * <li>Charset: UTF-8 - change it with {@link #charset(Charset)}</li>
  * <li>WritingMode: REPLACE - change it with {@link #writingMode(WritingMode)}</li>
+ * <li>Writes in place, without fsync - change it with {@link #atomicWrite()} and
+ * {@link #fsync(FsyncPolicy)}</li>
+ * <li>Saves even if the config hasn't been modified - change it with
+ * {@link #skipUnmodifiedSaves()}</li>
+ * <li>Parses with position tracking - change it with {@link #disablePositionTracking()}</li>
  * <li>ParsingMode: REPLACE - change it with {@link #parsingMode(ParsingMode)}</li>
  * <li>FileNotFoundAction: CREATE_EMPTY - change it with {@link #onFileNotFound(FileNotFoundAction)}</li>
  * <li>Asynchronous writing, ie config.save() returns quickly and operates in the background -
  * change it with {@link #sync()}</li>
+ * <li>Asynchronous writes on the shared {@link AsyncSaveExecutor}, without delay - change it with
+ * {@link #saveExecutor(ScheduledExecutorService)} and {@link #saveDelay(long, TimeUnit)}</li>
  * <li>Not autosaved - change it with {@link #autosave()}</li>
  * <li>Not autoreloaded - change it with {@link #autoreload()}</li>
  * <li>Not thread-safe - change it with {@link #concurrent()}</li>
@@ -45,7 +55,18 @@ public class FileConfigBuilder {
 	protected ParsingMode parsingMode = ParsingMode.REPLACE;
 	protected FileNotFoundAction nefAction = FileNotFoundAction.CREATE_EMPTY;
 	protected boolean sync = false, autosave = false, autoreload = false, concurrent = false;
+	protected boolean atomicReload = false, atomicWrite = false;
+	protected FsyncPolicy fsync = FsyncPolicy.NONE;
+	protected boolean skipUnmodifiedSaves = false;
+	protected boolean trackPosition = true;
+	protected long reloadQuietPeriod = 0, reloadMaxDelay = 0;// in nanoseconds
+	protected ScheduledExecutorService saveExecutor = null;// null for the default one
+	protected long saveDelay = 0;// in nanoseconds
 	protected Supplier<Config> baseSupplier = MemoryConfig::new;
+	/** True if the baseSupplier has been chosen by the user, it's then never replaced. */
+	private boolean customSupplier = false;
+	/** True if the baseSupplier has been set by {@link #preserveInsertionOrder()}. */
+	private boolean insertionOrder = false;
 
 	public FileConfigBuilder(Path file, ConfigFormat format) {
 		this.file = file;
@@ -74,6 +95,67 @@ public class FileConfigBuilder {
 		return this;
 	}
 
+	/**
+	 * Makes the saves atomic: the config is written to a new temporary file in the same
+	 * directory ({@code <file name>.<random number>.tmp}), which then replaces the config's file
+	 * with an atomic move. If the program crashes during a save, the file keeps its previous
+	 * content, and the temporary file may remain. The other
+	 * programs that read the file, and the autoreloads, never see a half-written file.
+	 * <p>
+	 * This can't be used with {@link WritingMode#APPEND}.
+	 *
+	 * @return this builder
+	 */
+	public FileConfigBuilder atomicWrite() {
+		atomicWrite = true;
+		return this;
+	}
+
+	/**
+	 * Sets what is forced to the storage device by {@link FileConfig#save()}, before the save
+	 * is considered complete. The default is {@link FsyncPolicy#NONE}. Forcing protects the
+	 * saved data against power failures, but it's much slower.
+	 *
+	 * @param policy the fsync policy
+	 * @return this builder
+	 */
+	public FileConfigBuilder fsync(FsyncPolicy policy) {
+		this.fsync = policy;
+		return this;
+	}
+
+	/**
+	 * Makes {@link FileConfig#save()} do nothing if the config hasn't been modified since the
+	 * last save, which is much faster than writing the same content again. The modifications are
+	 * detected with {@link com.electronwill.nightconfig.core.AbstractConfig#modificationCount()},
+	 * which covers the config, its sub-configs and the configs in its lists, but not the values
+	 * that are modified in place, like a list obtained from the config and then modified. Don't
+	 * call this method if the config contains such values.
+	 * <p>
+	 * The saves are never skipped with {@link WritingMode#APPEND}, nor with a base config that
+	 * isn't an {@link com.electronwill.nightconfig.core.AbstractConfig} or a wrapper of one
+	 * (except the configs built with {@link #atomicReload()}, which count their modifications
+	 * too).
+	 *
+	 * @return this builder
+	 */
+	public FileConfigBuilder skipUnmodifiedSaves() {
+		skipUnmodifiedSaves = true;
+		return this;
+	}
+
+	/**
+	 * Makes {@link FileConfig#load()} parse the file without tracking the position of the input,
+	 * with an {@link UntrackedConfigParser}. This is a bit faster for big machine-generated
+	 * files. The line and column of a parsing error are then found by reading the file again.
+	 *
+	 * @return this builder
+	 */
+	public FileConfigBuilder disablePositionTracking() {
+		trackPosition = false;
+		return this;
+	}
+
 	/**
 	 * Sets the ParsingMode used for {@link FileConfig#load()}
 	 *
@@ -149,6 +231,42 @@ public class FileConfigBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the executor used by the asynchronous saves, to write the file and to run the delayed
+	 * saves. By default, all the asynchronous FileConfigs share the executor returned by
+	 * {@link AsyncSaveExecutor#defaultInstance()}. The executor isn't shut down when the config
+	 * is closed.
+	 * <p>
+	 * This setting has no effect if {@link #sync()} is called.
+	 *
+	 * @param executor the executor to use
+	 * @return this builder
+	 */
+	public FileConfigBuilder saveExecutor(ScheduledExecutorService executor) {
+		this.saveExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Delays the asynchronous saves: {@link FileConfig#save()} schedules a save that starts after
+	 * the delay, and the calls made in the meantime don't schedule anything more. Therefore, many
+	 * modifications made in a short time (for instance with {@link #autosave()}) produce only one
+	 * serialization and one write. Closing the config performs the pending save immediately.
+	 * <p>
+	 * This setting has no effect if {@link #sync()} is called.
+	 *
+	 * @param delay the delay, 0 to save without delay
+	 * @param unit  the unit of the delay
+	 * @return this builder
+	 */
+	public FileConfigBuilder saveDelay(long delay, TimeUnit unit) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("Invalid save delay: " + delay);
+		}
+		this.saveDelay = unit.toNanos(delay);
+		return this;
+	}
+
 	/**
 	 * Makes the configuration "autosaved", that is, its {@link FileConfig#save()} method is
 	 * automatically called when it is modified.
@@ -172,39 +290,93 @@ public class FileConfigBuilder {
 	}
 
 	/**
-	 * Makes the configuration concurrent, that is, thread-safe.
+	 * Makes the configuration "autoreloaded", with debounced reloads: the config is reloaded once
+	 * the file hasn't been modified for {@code quietPeriod}, but no later than {@code maxDelay}
+	 * after the first modification. Thus, a burst of modifications (like the several events
+	 * produced by an editor that saves the file) causes only one reload.
+	 *
+	 * @param quietPeriod how long to wait without modification before reloading the config
+	 * @param maxDelay    the maximum delay between a modification and the reload, must be
+	 *                    greater than or equal to the quiet period
+	 * @param unit        the unit of quietPeriod and maxDelay
+	 * @return this builder
+	 *
+	 * @see FileWatcher#addWatch(Path, Runnable, long, long, TimeUnit)
+	 */
+	public FileConfigBuilder autoreload(long quietPeriod, long maxDelay, TimeUnit unit) {
+		if (quietPeriod < 0 || maxDelay < quietPeriod) {
+			throw new IllegalArgumentException("Invalid reload delays: quietPeriod=" + quietPeriod
+											   + ", maxDelay=" + maxDelay);
+		}
+		autoreload = true;
+		reloadQuietPeriod = unit.toNanos(quietPeriod);
+		reloadMaxDelay = unit.toNanos(maxDelay);
+		return this;
+	}
+
+	/**
+	 * Makes the reloads atomic: the file is parsed into a fresh config, which then replaces the
+	 * current content in one step. The readers never see a half-parsed config, and never block.
+	 * <p>
+	 * The config also becomes thread-safe: each modification creates a new version of the
+	 * modified levels, and publishes it atomically. The current content can be obtained as an
+	 * immutable snapshot with {@link FileConfig#snapshot()}, without any copy. This is a good
+	 * choice for configs that are often read, and rarely modified outside of the reloads.
+	 *
+	 * @return this builder
+	 */
+	public FileConfigBuilder atomicReload() {
+		atomicReload = true;
+		return this;
+	}
+
+	/**
+	 * Makes the configuration concurrent, that is, thread-safe. The base configs are
+	 * {@link ConcurrentConfig}s, which don't preserve the insertion order, unless a supplier
+	 * has been chosen with {@link #baseSupplier(Supplier)}: that supplier is kept, and must return
+	 * thread-safe configs. It can't be combined with {@link #preserveInsertionOrder()}, except
+	 * with {@link #atomicReload()}.
 	 *
 	 * @return this builder
 	 */
 	public FileConfigBuilder concurrent() {
-		// TODO implement
+		concurrent = true;
 		return this;
 	}
 
 	/**
 	 * Modifies the `baseSupplier` so that the configuration preserves the insertion order
-	 * of its values.
+	 * of its values. Like a custom supplier, this choice isn't overridden by
+	 * {@link #concurrent()} nor by {@link #autoreload()}.
+	 * <p>
+	 * The ordered configs aren't thread-safe by themselves: to autoreload them, or to use them
+	 * from several threads, call {@link #atomicReload()} too. Without it, {@link #build()} throws
+	 * an IllegalArgumentException if {@link #concurrent()} or {@link #autoreload()} is called.
 	 *
 	 * @see #baseSupplier(Supplier)
 	 * @return this builder
 	 */
 	public FileConfigBuilder preserveInsertionOrder() {
 		baseSupplier = () -> new MemoryConfig(LinkedHashMap::new);
+		customSupplier = true;
+		insertionOrder = true;
 		return this;
 	}
 
 	/**
 	 * Defines how the base configuration is obtained.
 	 * <p>
-  	 * <b>Warning :</b> if {@link #autoreload()} is called, the config supplier
-  	 * must return thread-safe configurations, because the autoreloading system will modify
-  	 * the FileConfig from another thread.
+  	 * <b>Warning :</b> if {@link #autoreload()} or {@link #concurrent()} is called, the config
+  	 * supplier must return thread-safe configurations, because the autoreloading system will
+  	 * modify the FileConfig from another thread. The supplier is never replaced.
 	 * </p>
 	 * @param supplier supplies the config that will stores the FileConfig's data
 	 * @return this builder
 	 */
 	public FileConfigBuilder baseSupplier(Supplier<Config> supplier) {
 		baseSupplier = supplier;
+		customSupplier = true;
+		insertionOrder = false;
 		return this;
 	}
 
@@ -214,18 +386,27 @@ public class FileConfigBuilder {
 	 * @return the config
 	 */
 	public FileConfig build() {
+		if (atomicWrite && writingMode == WritingMode.APPEND) {
+			throw new IllegalStateException("An atomic write can't append to the file");
+		}
+		ConfigParser parser = trackPosition ? this.parser : new UntrackedConfigParser(this.parser);
 		FileConfig fileConfig;
 		if (sync) {
 			fileConfig = new WriteSyncFileConfig<>(getConfig(), file, charset, writer, writingMode,
-				parser, parsingMode, nefAction);
+				atomicWrite, fsync, skipUnmodifiedSaves, parser, parsingMode, nefAction);
 		} else {
-			if (autoreload) {
-				concurrent();
+			if (autoreload && !atomicReload) {
+				concurrent = true;
 				// Autoreloading is done from a background thread, therefore we need thread-safety
 				// This isn't needed with WriteSyncFileConfig because it synchronizes loads and writes.
+				// A supplier chosen by the user is kept, see baseSupplier(Supplier).
+				// With atomicReload(), the SnapshotConfig is thread-safe by itself.
 			}
+			ScheduledExecutorService executor = (saveExecutor == null)
+				? AsyncSaveExecutor.defaultInstance() : saveExecutor;
 			fileConfig = new WriteAsyncFileConfig<>(getConfig(), file, charset, writer, writingMode,
-				parser, parsingMode, nefAction);
+				atomicWrite, fsync, skipUnmodifiedSaves, executor, saveDelay, parser, parsingMode,
+				nefAction);
 		}
 		if (autoreload) {
 			if (Files.notExists(file)) {
@@ -238,7 +419,7 @@ public class FileConfigBuilder {
 					);
 				}
 			}
-			fileConfig = new AutoreloadFileConfig(fileConfig);
+			fileConfig = new AutoreloadFileConfig(fileConfig, reloadQuietPeriod, reloadMaxDelay);
 		}
 		if (autosave) {
 			return buildAutosave(fileConfig);
@@ -256,7 +437,14 @@ public class FileConfigBuilder {
 
 	protected final Config getConfig() {
 		if (config == null) {
-			config = baseSupplier.get();
+			if (concurrent && insertionOrder && !atomicReload) {
+				throw new IllegalArgumentException("The configs that preserve the insertion order "
+					+ "aren't thread-safe: call atomicReload() to use them concurrently");
+			}
+			config = (concurrent && !customSupplier) ? new ConcurrentConfig() : baseSupplier.get();
+			if (atomicReload) {
+				config = new SnapshotConfig(config);
+			}
 		}
 		return config;
 	}
@@ -1,9 +1,11 @@
 package com.electronwill.nightconfig.core.file;
 
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.utils.ConfigWrapper;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 public abstract class FileConfigWrapper extends ConfigWrapper<FileConfig> implements FileConfig {
 
@@ -26,6 +28,32 @@ public abstract class FileConfigWrapper extends ConfigWrapper<FileConfig> implem
 		config.save();
 	}
 
+	// Forwards the primitive getters, so that they don't box the values
+	@Override
+	public int getInt(String[] path) {
+		return config.getInt(path);
+	}
+
+	@Override
+	public long getLong(String[] path) {
+		return config.getLong(path);
+	}
+
+	@Override
+	public double getDouble(String[] path) {
+		return config.getDouble(path);
+	}
+
+	@Override
+	public UnmodifiableConfig snapshot() {
+		return config.snapshot();
+	}
+
+	@Override
+	public void batch(Consumer<? super FileConfig> action) {
+		config.batch(c -> action.accept(this));
+	}
+
 	@Override
 	public void load() {
 		config.load();
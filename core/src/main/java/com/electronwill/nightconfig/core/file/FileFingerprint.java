@@ -0,0 +1,167 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.AbstractConfig;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.io.ConfigParser;
+import com.electronwill.nightconfig.core.io.ParsingException;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import com.electronwill.nightconfig.core.utils.UnmodifiableConfigWrapper;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The size, modification time and content digest of a file, as it was when a FileConfig last
+ * loaded or saved it, and the modification count of the config at that time. It allows the
+ * FileConfig to skip the loads that wouldn't change anything, for instance when the file is
+ * touched, or when the FileWatcher reports the config's own save. A load is only skipped if
+ * neither the file nor the config has changed, and if the config's modifications are counted
+ * (see {@link #modificationCount(UnmodifiableConfig)}).
+ * <p>
+ * The modification time is only trusted if it was observed long enough after the modification,
+ * because the file could otherwise be modified again without any visible change of its
+ * modification time (the resolution of the timestamps is 2 seconds on some filesystems). When the
+ * modification time can't be trusted, the content digest is compared.
+ *
+ * @author TheElectronWill
+ */
+final class FileFingerprint {
+	/** Minimum delay between a modification and its observation for the mtime to be trusted. */
+	private static final long RACY_DELAY_MILLIS = 2000;
+
+	private final long size, lastModified, digest;
+	private final boolean racy;
+	/** The modification count of the config when it matched the file, -1 if unknown. */
+	private final long modifications;
+
+	private FileFingerprint(long size, long lastModified, long digest, long observationTime,
+							long modifications) {
+		this.size = size;
+		this.lastModified = lastModified;
+		this.digest = digest;
+		this.racy = observationTime - lastModified < RACY_DELAY_MILLIS;
+		this.modifications = modifications;
+	}
+
+	/**
+	 * Returns the modification count of a config, or -1 if its modifications aren't counted.
+	 * The counted configs are the AbstractConfigs, the SnapshotConfigs, and their wrappers.
+	 *
+	 * @param config the config
+	 * @return its modification count, or -1
+	 */
+	static long modificationCount(UnmodifiableConfig config) {
+		if (config instanceof SnapshotConfig) {
+			return ((SnapshotConfig)config).modificationCount();
+		} else if (config instanceof AbstractConfig) {
+			return ((AbstractConfig)config).modificationCount();
+		} else if (config instanceof UnmodifiableConfigWrapper) {
+			return ((UnmodifiableConfigWrapper<?>)config).modificationCount();
+		}
+		return -1;
+	}
+
+	/**
+	 * Creates the fingerprint of data that has just been written to a file.
+	 *
+	 * @param file   the file
+	 * @param data   the data that has been written to the file
+	 * @param offset the index of the first byte
+	 * @param length the number of bytes
+	 * @param modifications the modification count of the config when the data was generated
+	 * @return the fingerprint of the file
+	 */
+	static FileFingerprint ofWritten(Path file, byte[] data, int offset, int length,
+									 long modifications) throws IOException {
+		BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		return new FileFingerprint(length, attributes.lastModifiedTime().toMillis(),
+								   digest(data, offset, length), System.currentTimeMillis(),
+								   modifications);
+	}
+
+	/**
+	 * Parses a file into a config, unless neither the file nor the config has changed since the
+	 * last fingerprint.
+	 *
+	 * @param last   the last fingerprint of the file, may be null
+	 * @param file   the file to parse
+	 * @param parser the parser to use
+	 * @param cs     the file's charset
+	 * @param dst    the config where to put the parsed data. If it's a SnapshotConfig, the data
+	 *               is parsed into a fresh config which then replaces the current snapshot.
+	 * @param mode   the parsing mode
+	 * @param nefAction what to do if the file doesn't exist
+	 * @return the new fingerprint of the file, or null if it doesn't exist
+	 */
+	static FileFingerprint parseIfChanged(FileFingerprint last, Path file, ConfigParser parser,
+										  Charset cs, Config dst, ParsingMode mode,
+										  FileNotFoundAction nefAction) {
+		try {
+			// If the config has been modified since the last load or save, it doesn't match the
+			// file anymore: the file must be parsed even if it hasn't changed.
+			final boolean sameConfig = last != null && last.modifications != -1
+									   && last.modifications == modificationCount(dst);
+			BasicFileAttributes attributes;
+			try {
+				// Reads the attributes before the content, so that a modification made in between
+				// is detected by the next load.
+				attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			} catch (NoSuchFileException e) {
+				SnapshotConfig.parseInto(dst, mode, c -> parser.parse(file, cs, c, mode, nefAction));
+				return null;
+			}
+			long lastModified = attributes.lastModifiedTime().toMillis();
+			if (sameConfig && !last.racy && last.size == attributes.size()
+				&& last.lastModified == lastModified) {
+				return last;// unchanged, no need to read the file
+			}
+			byte[] data = Files.readAllBytes(file);
+			long digest = digest(data, 0, data.length);
+			long now = System.currentTimeMillis();
+			if (!sameConfig || last.size != data.length || last.digest != digest) {
+				SnapshotConfig.parseInto(dst, mode, c -> parser.parse(data, cs, c, mode));
+			}
+			return new FileFingerprint(data.length, lastModified, digest, now,
+									   modificationCount(dst));
+		} catch (IOException e) {
+			throw new ParsingException("An I/O error occured", e);
+		}
+	}
+
+	/**
+	 * Computes a fast, non-cryptographic 64-bits digest of some bytes.
+	 */
+	static long digest(byte[] data, int offset, int length) {
+		final long m = 0xc6a4a7935bd1e995L;
+		long h = 0x9e3779b97f4a7c15L ^ (length * m);
+		int i = offset, end = offset + length, end8 = offset + (length & ~7);
+		for (; i < end8; i += 8) {
+			long k = (data[i] & 0xFFL)
+					 | (data[i + 1] & 0xFFL) << 8
+					 | (data[i + 2] & 0xFFL) << 16
+					 | (data[i + 3] & 0xFFL) << 24
+					 | (data[i + 4] & 0xFFL) << 32
+					 | (data[i + 5] & 0xFFL) << 40
+					 | (data[i + 6] & 0xFFL) << 48
+					 | (data[i + 7] & 0xFFL) << 56;
+			k *= m;
+			k ^= k >>> 47;
+			k *= m;
+			h ^= k;
+			h *= m;
+		}
+		for (int shift = 0; i < end; i++, shift += 8) {
+			h ^= (data[i] & 0xFFL) << shift;
+		}
+		h *= m;
+		h ^= h >>> 47;
+		h *= m;
+		h ^= h >>> 47;
+		return h;
+	}
+}
@@ -3,25 +3,38 @@ package com.electronwill.nightconfig.core.file;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
  * A FileWatcher can watch several files asynchronously.
  * <p>
  * New watches are added with the {@link #addWatch(Path, Runnable)} method, which specifies the
- * task to execute when the file is modified.
+ * task to execute when the file is modified. A file that is replaced, for instance by an atomic
+ * save that renames a temporary file, is reported as a creation, which is handled like a
+ * modification.
+ * <p>
+ * The FileWatcher uses one {@link WatchService} per {@link FileSystem}, and all the watched
+ * directories of a FileSystem are registered to the same WatchService. Each WatchService is
+ * handled by a background thread that blocks until an event is available, therefore a
+ * FileWatcher uses no CPU time when the watched files don't change.
+ * <p>
+ * Saving a file often produces several modification events in a row. To run the handler only
+ * once per burst of events, a watch can be "debounced" with a quiet period: the handler is
+ * called when no event has been received for the quiet period, or when the maximum delay has
+ * elapsed since the first event of the burst, whichever comes first.
  * <p>
  * This class is thread-safe.
  *
  * @author TheElectronWill
  */
 public final class FileWatcher {
-	private static final long SLEEP_TIME_NANOS = 1000;
 	private static volatile FileWatcher DEFAULT_INSTANCE;
 
 	/**
@@ -36,9 +49,10 @@ public final class FileWatcher {
 		return DEFAULT_INSTANCE;
 	}
 
-	private final Map<Path, WatchedDir> watchedDirs = new ConcurrentHashMap<>();//dir -> watchService & infos
-	private final Map<Path, WatchedFile> watchedFiles = new ConcurrentHashMap<>();//file -> watchKey & handler
-	private final Thread thread = new WatcherThread();
+	private final Map<Path, WatchedFile> watchedFiles = new ConcurrentHashMap<>();//file -> handler
+	private final Map<Path, WatchedDir> watchedDirs = new HashMap<>();//dir -> watchKey & infos
+	private final Map<FileSystem, WatcherThread> watcherThreads = new HashMap<>();//fs -> service
+	private final Object lock = new Object();// guards watchedDirs, watcherThreads and the counts
 	private final Consumer<Exception> exceptionHandler;
 	private volatile boolean run = true;
 
@@ -56,7 +70,6 @@ public final class FileWatcher {
 	 */
 	public FileWatcher(Consumer<Exception> exceptionHandler) {
 		this.exceptionHandler = exceptionHandler;
-		thread.start();
 	}
 
 	/**
@@ -76,13 +89,65 @@ public final class FileWatcher {
 	 * @param changeHandler the handler to call when the file is modified
 	 */
 	public void addWatch(Path file, Runnable changeHandler) throws IOException {
+		addWatch(file, changeHandler, 0, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Watches a file, if not already watched by this FileWatcher. The modification events are
+	 * debounced: the handler is called once the file hasn't been modified for {@code quietPeriod},
+	 * but no later than {@code maxDelay} after the first modification.
+	 *
+	 * @param file          the file to watch
+	 * @param changeHandler the handler to call when the file is modified
+	 * @param quietPeriod   how long to wait without modification before calling the handler,
+	 *                      0 to call it immediately
+	 * @param maxDelay      the maximum delay between a modification and the call of the handler,
+	 *                      must be greater than or equal to the quiet period
+	 * @param unit          the unit of quietPeriod and maxDelay
+	 */
+	public void addWatch(File file, Runnable changeHandler, long quietPeriod, long maxDelay,
+						 TimeUnit unit) throws IOException {
+		addWatch(file.toPath(), changeHandler, quietPeriod, maxDelay, unit);
+	}
+
+	/**
+	 * Watches a file, if not already watched by this FileWatcher. The modification events are
+	 * debounced: the handler is called once the file hasn't been modified for {@code quietPeriod},
+	 * but no later than {@code maxDelay} after the first modification.
+	 *
+	 * @param file          the file to watch
+	 * @param changeHandler the handler to call when the file is modified
+	 * @param quietPeriod   how long to wait without modification before calling the handler,
+	 *                      0 to call it immediately
+	 * @param maxDelay      the maximum delay between a modification and the call of the handler,
+	 *                      must be greater than or equal to the quiet period
+	 * @param unit          the unit of quietPeriod and maxDelay
+	 */
+	public void addWatch(Path file, Runnable changeHandler, long quietPeriod, long maxDelay,
+						 TimeUnit unit) throws IOException {
+		checkDelays(quietPeriod, maxDelay);
 		file = file.toAbsolutePath();// Ensures that the Path is absolute
 		Path dir = file.getParent();
-		WatchedDir watchedDir = watchedDirs.computeIfAbsent(dir, k -> new WatchedDir(dir));
-		WatchKey watchKey = dir.register(watchedDir.watchService,
-										 StandardWatchEventKinds.ENTRY_MODIFY);
-		watchedFiles.computeIfAbsent(file,
-									 k -> new WatchedFile(watchedDir, watchKey, changeHandler));
+		synchronized (lock) {
+			if (!run) {
+				throw new IllegalStateException("Cannot add a watch to a stopped FileWatcher");
+			}
+			if (watchedFiles.containsKey(file)) {
+				return;
+			}
+			WatchedDir watchedDir = watchedDirs.get(dir);
+			if (watchedDir == null) {
+				WatcherThread watcherThread = getWatcherThread(dir.getFileSystem());
+				WatchKey watchKey = dir.register(watcherThread.watchService,
+												 StandardWatchEventKinds.ENTRY_MODIFY,
+												 StandardWatchEventKinds.ENTRY_CREATE);
+				watchedDir = new WatchedDir(watchKey);
+				watchedDirs.put(dir, watchedDir);
+			}
+			watchedDir.watchedFileCount++;
+			watchedFiles.put(file, new WatchedFile(file, changeHandler, unit.toNanos(quietPeriod),
+												   unit.toNanos(maxDelay)));
+		}
 	}
 
 	/**
@@ -104,12 +169,52 @@ public final class FileWatcher {
 	 * @param changeHandler the handler to call when the file is modified
 	 */
 	public void setWatch(Path file, Runnable changeHandler) throws IOException {
+		setWatch(file, changeHandler, 0, 0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Watches a file. If the file is already watched by this FileWatcher, its changeHandler and
+	 * its debouncing delays are replaced.
+	 *
+	 * @param file          the file to watch
+	 * @param changeHandler the handler to call when the file is modified
+	 * @param quietPeriod   how long to wait without modification before calling the handler,
+	 *                      0 to call it immediately
+	 * @param maxDelay      the maximum delay between a modification and the call of the handler,
+	 *                      must be greater than or equal to the quiet period
+	 * @param unit          the unit of quietPeriod and maxDelay
+	 * @see #addWatch(Path, Runnable, long, long, TimeUnit)
+	 */
+	public void setWatch(File file, Runnable changeHandler, long quietPeriod, long maxDelay,
+						 TimeUnit unit) throws IOException {
+		setWatch(file.toPath(), changeHandler, quietPeriod, maxDelay, unit);
+	}
+
+	/**
+	 * Watches a file. If the file is already watched by this FileWatcher, its changeHandler and
+	 * its debouncing delays are replaced.
+	 *
+	 * @param file          the file to watch
+	 * @param changeHandler the handler to call when the file is modified
+	 * @param quietPeriod   how long to wait without modification before calling the handler,
+	 *                      0 to call it immediately
+	 * @param maxDelay      the maximum delay between a modification and the call of the handler,
+	 *                      must be greater than or equal to the quiet period
+	 * @param unit          the unit of quietPeriod and maxDelay
+	 * @see #addWatch(Path, Runnable, long, long, TimeUnit)
+	 */
+	public void setWatch(Path file, Runnable changeHandler, long quietPeriod, long maxDelay,
+						 TimeUnit unit) throws IOException {
+		checkDelays(quietPeriod, maxDelay);
 		file = file.toAbsolutePath();// Ensures that the Path is absolute
-		WatchedFile watchedFile = watchedFiles.get(file);
-		if (watchedFile == null) {
-			addWatch(file, changeHandler);
-		} else {
-			watchedFile.changeHandler = changeHandler;
+		synchronized (lock) {
+			WatchedFile watchedFile = watchedFiles.get(file);
+			if (watchedFile == null) {
+				addWatch(file, changeHandler, quietPeriod, maxDelay, unit);
+			} else {
+				watchedFile.changeHandler = changeHandler;
+				watchedFile.setDelays(unit.toNanos(quietPeriod), unit.toNanos(maxDelay));
+			}
 		}
 	}
 
@@ -130,14 +235,16 @@ public final class FileWatcher {
 	public void removeWatch(Path file) {
 		file = file.toAbsolutePath();// Ensures that the Path is absolute
 		Path dir = file.getParent();
-		WatchedDir watchedDir = watchedDirs.get(dir);
-		int remainingChildCount = watchedDir.watchedFileCount.decrementAndGet();
-		if (remainingChildCount == 0) {
-			watchedDirs.remove(dir);
-		}
-		WatchedFile watchedFile = watchedFiles.remove(file);
-		if (watchedFile != null) {
-			watchedFile.watchKey.cancel();
+		synchronized (lock) {
+			if (watchedFiles.remove(file) == null) {
+				return;// not watched
+			}
+			WatchedDir watchedDir = watchedDirs.get(dir);
+			if (watchedDir != null && --watchedDir.watchedFileCount == 0) {
+				// No more files to watch in this directory
+				watchedDirs.remove(dir);
+				watchedDir.watchKey.cancel();
+			}
 		}
 	}
 
@@ -146,61 +253,151 @@ public final class FileWatcher {
 	 * the file modification handlers won't be called anymore.
 	 */
 	public void stop() throws IOException {
-		run = false;
+		synchronized (lock) {
+			run = false;
+			IOException exception = null;
+			for (WatcherThread watcherThread : watcherThreads.values()) {
+				try {
+					// Wakes the thread up: take() throws a ClosedWatchServiceException
+					watcherThread.watchService.close();
+				} catch (IOException e) {
+					exception = e;
+				}
+			}
+			watcherThreads.clear();
+			watchedDirs.clear();
+			watchedFiles.clear();
+			if (exception != null) {
+				throw exception;
+			}
+		}
 	}
 
+	private static void checkDelays(long quietPeriod, long maxDelay) {
+		if (quietPeriod < 0) {
+			throw new IllegalArgumentException("Invalid negative quiet period: " + quietPeriod);
+		}
+		if (maxDelay < quietPeriod) {
+			throw new IllegalArgumentException("The maximum delay (" + maxDelay + ") must be "
+											   + "greater than or equal to the quiet period ("
+											   + quietPeriod + ")");
+		}
+	}
+
+	/**
+	 * Gets the WatcherThread associated to the given FileSystem, creates and starts it if needed.
+	 * Must be called while holding the lock.
+	 */
+	private WatcherThread getWatcherThread(FileSystem fileSystem) throws IOException {
+		WatcherThread watcherThread = watcherThreads.get(fileSystem);
+		if (watcherThread == null) {
+			watcherThread = new WatcherThread(fileSystem.newWatchService());
+			watcherThreads.put(fileSystem, watcherThread);
+			watcherThread.start();
+		}
+		return watcherThread;
+	}
+
+	/**
+	 * Waits for the events of one WatchService and dispatches them to the file handlers.
+	 */
 	private final class WatcherThread extends Thread {
-		{
+		final WatchService watchService;
+		/** The debounced files that have been modified but whose handler hasn't run yet. */
+		private final List<WatchedFile> pendingFiles = new ArrayList<>();
+
+		WatcherThread(WatchService watchService) {
+			super("NightConfig FileWatcher");
+			this.watchService = watchService;
 			setDaemon(true);
 		}
 
 		@Override
 		public void run() {
 			while (run) {
-				boolean allNull = true;
-				dirsIter:
-				for (Iterator<WatchedDir> it = watchedDirs.values().iterator(); it.hasNext() && run; ) {
-					WatchedDir watchedDir = it.next();
-					WatchKey key = watchedDir.watchService.poll();
-					if (key == null) {
-						continue;
-					}
-					allNull = false;
-					for (WatchEvent<?> event : key.pollEvents()) {
-						if (!run) {
-							break dirsIter;
-						}
-						if (event.kind() != StandardWatchEventKinds.ENTRY_MODIFY || event.count() > 1) {
-							continue;
-						}
-						Path childPath = ((WatchEvent<Path>)event).context();
-						Path filePath = watchedDir.dir.resolve(childPath);
-						WatchedFile watchedFile = watchedFiles.get(filePath);
-						if (watchedFile != null) {
-							try {
-								watchedFile.changeHandler.run();
-							} catch (Exception e) {
-								exceptionHandler.accept(e);
-							}
-						}
+				WatchKey key;
+				try {
+					if (pendingFiles.isEmpty()) {
+						key = watchService.take();// blocks until something happens
+					} else {
+						// waits until something happens or a pending handler must run
+						long timeout = nextDeadline() - System.nanoTime();
+						key = watchService.poll(timeout, TimeUnit.NANOSECONDS);
 					}
-					key.reset();
+				} catch (InterruptedException e) {
+					continue;// checks if the FileWatcher is still running
+				} catch (ClosedWatchServiceException e) {
+					break;// the FileWatcher has been stopped
 				}
-				if (allNull) {
-					LockSupport.parkNanos(SLEEP_TIME_NANOS);
+				if (key != null) {
+					handleEvents(key);
 				}
+				runPendingHandlers();
 			}
-			// Closes the WatchServices
-			for (WatchedDir watchedDir : watchedDirs.values()) {
-				try {
-					watchedDir.watchService.close();
-				} catch (IOException e) {
-					exceptionHandler.accept(e);
+		}
+
+		private void handleEvents(WatchKey key) {
+			Path dir = (Path)key.watchable();
+			long now = System.nanoTime();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (!run) {
+					return;
+				}
+				// Repeated modifications are reported as one event with count() > 1.
+				// A file replaced by a rename (e.g. an atomic save) is reported as created.
+				WatchEvent.Kind<?> kind = event.kind();
+				if (kind != StandardWatchEventKinds.ENTRY_MODIFY
+					&& kind != StandardWatchEventKinds.ENTRY_CREATE) {
+					continue;
+				}
+				Path childPath = ((WatchEvent<Path>)event).context();
+				Path filePath = dir.resolve(childPath);
+				WatchedFile watchedFile = watchedFiles.get(filePath);
+				if (watchedFile == null) {
+					continue;
+				}
+				if (watchedFile.quietPeriod == 0) {
+					runHandler(watchedFile);
+				} else {
+					if (!watchedFile.pending) {
+						watchedFile.pending = true;
+						watchedFile.firstEventTime = now;
+						pendingFiles.add(watchedFile);
+					}
+					watchedFile.lastEventTime = now;
 				}
 			}
-			// Clears the maps
-			watchedDirs.clear();
-			watchedFiles.clear();
+			key.reset();
+		}
+
+		private long nextDeadline() {
+			long next = Long.MAX_VALUE;
+			for (WatchedFile watchedFile : pendingFiles) {
+				next = Math.min(next, watchedFile.deadline());
+			}
+			return next;
+		}
+
+		private void runPendingHandlers() {
+			long now = System.nanoTime();
+			for (Iterator<WatchedFile> it = pendingFiles.iterator(); it.hasNext() && run; ) {
+				WatchedFile watchedFile = it.next();
+				if (watchedFile.deadline() - now <= 0) {
+					it.remove();
+					watchedFile.pending = false;
+					if (watchedFiles.get(watchedFile.file) == watchedFile) {// still watched
+						runHandler(watchedFile);
+					}
+				}
+			}
+		}
+
+		private void runHandler(WatchedFile watchedFile) {
+			try {
+				watchedFile.changeHandler.run();
+			} catch (Exception e) {
+				exceptionHandler.accept(e);
+			}
 		}
 	}
 
@@ -208,17 +405,11 @@ public final class FileWatcher {
 	 * Informations about a watched directory, ie a directory that contains watched files.
 	 */
 	private static final class WatchedDir {
-		final Path dir;
-		final WatchService watchService;
-		final AtomicInteger watchedFileCount = new AtomicInteger();
+		final WatchKey watchKey;
+		int watchedFileCount;// guarded by the FileWatcher's lock
 
-		private WatchedDir(Path dir) {
-			this.dir = dir;
-			try {
-				this.watchService = dir.getFileSystem().newWatchService();
-			} catch (IOException e) {
-				throw new RuntimeException(e);
-			}
+		private WatchedDir(WatchKey watchKey) {
+			this.watchKey = watchKey;
 		}
 	}
 
@@ -226,13 +417,30 @@ public final class FileWatcher {
 	 * Informations about a watched file, with an associated handler.
 	 */
 	private static final class WatchedFile {
-		final WatchKey watchKey;
+		final Path file;
 		volatile Runnable changeHandler;
+		volatile long quietPeriod, maxDelay;// in nanoseconds
 
-		private WatchedFile(WatchedDir watchedDir, WatchKey watchKey, Runnable changeHandler) {
-			this.watchKey = watchKey;
+		// Used by the WatcherThread only:
+		boolean pending;
+		long firstEventTime, lastEventTime;
+
+		private WatchedFile(Path file, Runnable changeHandler, long quietPeriod, long maxDelay) {
+			this.file = file;
 			this.changeHandler = changeHandler;
-			watchedDir.watchedFileCount.getAndIncrement();
+			setDelays(quietPeriod, maxDelay);
+		}
+
+		void setDelays(long quietPeriod, long maxDelay) {
+			this.quietPeriod = quietPeriod;
+			this.maxDelay = maxDelay;
+		}
+
+		/** @return the time at which the handler of a pending file must run */
+		long deadline() {
+			long quietEnd = lastEventTime + quietPeriod;
+			long maxEnd = firstEventTime + maxDelay;
+			return (quietEnd - maxEnd < 0) ? quietEnd : maxEnd;
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.electronwill.nightconfig.core.file;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+
+/**
+ * Determines what is forced to the storage device when a {@link FileConfig} is saved, see
+ * {@link FileConfigBuilder#fsync(FsyncPolicy)}.
+ *
+ * @author TheElectronWill
+ */
+public enum FsyncPolicy {
+	/**
+	 * Nothing is forced: the operating system writes the data when it wants to. A crash of the
+	 * program doesn't lose anything, but a power failure can lose the last saves.
+	 */
+	NONE,
+
+	/**
+	 * Forces the content of the file, like {@code fdatasync}. The metadata that isn't needed to
+	 * read the content, like the modification time, may still be lost.
+	 */
+	DATA,
+
+	/**
+	 * Forces the content and the metadata of the file, like {@code fsync}. With an atomic write,
+	 * the directory is also forced after the renaming, if the system allows it, so that the
+	 * new file is durable.
+	 */
+	DATA_AND_METADATA;
+
+	void force(FileChannel channel) throws IOException {
+		if (this != NONE) {
+			channel.force(this == DATA_AND_METADATA);
+		}
+	}
+
+	void force(AsynchronousFileChannel channel) throws IOException {
+		if (this != NONE) {
+			channel.force(this == DATA_AND_METADATA);
+		}
+	}
+}
@@ -0,0 +1,950 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.AbstractConfig;
+import com.electronwill.nightconfig.core.AttributeType;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.StandardAttributes;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A config that publishes its content as immutable snapshots. Each modification creates a new
+ * snapshot (only the levels along the modified path are copied, the rest is shared), and
+ * publishes it with one volatile write. A reload parses the file into a fresh config and then
+ * publishes it in the same way. Therefore the readers never lock anything and never see a
+ * half-parsed config.
+ * <p>
+ * The sub-configurations returned by this config are views that resolve their path in the
+ * current snapshot, and forward their modifications to the root. The maps and sets returned
+ * by {@link #valueMap()} and {@link #entries()} are views too: they read the current snapshot,
+ * and their modifications create new snapshots.
+ * <p>
+ * Each modification copies the entries of the root level and of the levels along the modified
+ * path (but not their sub-levels), which takes a time proportional to the size of these
+ * levels: setting one value in a root level of n entries is O(n), even if the value is deep
+ * in a small sub-level. The bulk operations of the views ({@code putAll}, {@code removeAll},
+ * {@code clear}) copy them only once, for all the entries. Therefore this class is intended for
+ * configs that are much more often read than modified. For frequent modifications of big
+ * configs, {@link com.electronwill.nightconfig.core.PersistentConfig} copies only a few small
+ * nodes per modification.
+ * <p>
+ * The configs and lists put in a SnapshotConfig are copied, recursively, so that their later
+ * modifications don't affect the snapshots. The copied lists are unmodifiable.
+ *
+ * @author TheElectronWill
+ */
+@SuppressWarnings("unchecked")
+final class SnapshotConfig implements Config {
+	private static final String[] ROOT = {};
+
+	private final Holder holder;
+	/** The path of this view in the root config, empty for the root. */
+	private final String[] prefix;
+
+	/**
+	 * Creates a new SnapshotConfig.
+	 *
+	 * @param initial the initial content, also used to create the other configs with
+	 *                {@link Config#createSubConfig()}. It must not be modified afterwards.
+	 */
+	SnapshotConfig(Config initial) {
+		this(new Holder(initial), ROOT);
+	}
+
+	private SnapshotConfig(Holder holder, String[] prefix) {
+		this.holder = holder;
+		this.prefix = prefix;
+	}
+
+	// --- SNAPSHOTS & RELOADS ---
+
+	/** @return the number of snapshots published by this config and its views */
+	long modificationCount() {
+		return holder.publications;
+	}
+
+	/** @return the current content of this config, as an immutable snapshot */
+	UnmodifiableConfig snapshot() {
+		Config level = level();
+		return (level == null) ? new ReadOnlyView(holder.current.createSubConfig())
+							   : new ReadOnlyView(level);
+	}
+
+	/**
+	 * Returns an immutable snapshot of any config. The SnapshotConfigs return their current
+	 * snapshot, the other configs are copied.
+	 */
+	static UnmodifiableConfig snapshotOf(UnmodifiableConfig config) {
+		if (config instanceof SnapshotConfig) {
+			return ((SnapshotConfig)config).snapshot();
+		}
+		return new ReadOnlyView(deepCopy(config, new MemoryConfig(), true));
+	}
+
+	/**
+	 * Returns a view of a config that doesn't change while it's being written. The
+	 * SnapshotConfigs return their current snapshot, the other configs are returned as they are.
+	 */
+	static UnmodifiableConfig stable(UnmodifiableConfig config) {
+		if (config instanceof SnapshotConfig) {
+			return ((SnapshotConfig)config).snapshot();
+		}
+		return config;
+	}
+
+	/**
+	 * Applies a parsing action to the config. If the config is a SnapshotConfig, the data is
+	 * parsed into a fresh config, which is then published atomically.
+	 *
+	 * @param dst         the config to parse into
+	 * @param mode        the parsing mode
+	 * @param parseAction parses the data into the given config
+	 */
+	static void parseInto(Config dst, ParsingMode mode, Consumer<Config> parseAction) {
+		if (dst instanceof SnapshotConfig && ((SnapshotConfig)dst).prefix.length == 0) {
+			((SnapshotConfig)dst).holder.reload(mode, parseAction);
+		} else {
+			parseAction.accept(dst);
+		}
+	}
+
+	// --- READS ---
+
+	/** @return the config at the prefix in the current snapshot, or null if there is none */
+	private Config level() {
+		Config root = holder.current;
+		if (prefix.length == 0) {
+			return root;
+		}
+		Object level = root.get(prefix);
+		return (level instanceof Config) ? (Config)level : null;
+	}
+
+	private String[] fullPath(String[] path) {
+		if (prefix.length == 0) {
+			return path;
+		}
+		String[] full = Arrays.copyOf(prefix, prefix.length + path.length);
+		System.arraycopy(path, 0, full, prefix.length, path.length);
+		return full;
+	}
+
+	private Object view(String[] path, Object value) {
+		if (value instanceof Config) {
+			return new SnapshotConfig(holder, fullPath(path));
+		}
+		return value;
+	}
+
+	@Override
+	public Config.Entry getEntry(String[] path) {
+		Config level = level();
+		UnmodifiableConfig.Entry entry = (level == null) ? null : level.getEntry(path);
+		return (entry == null) ? null : new SnapshotEntry(fullPath(path), entry);
+	}
+
+	@Override
+	public <T> T get(String[] path) {
+		Config level = level();
+		return (level == null) ? null : (T)view(path, level.get(path));
+	}
+
+	@Override
+	public <T> T get(AttributeType<T> attribute, String[] path) {
+		if (attribute == StandardAttributes.VALUE) {
+			return get(path);
+		}
+		Config level = level();
+		return (level == null) ? null : level.get(attribute, path);
+	}
+
+	@Override
+	public int getInt(String[] path) {
+		Config level = level();
+		if (level == null) {
+			throw new NullPointerException("No value at " + Arrays.toString(path));
+		}
+		return level.getInt(path);
+	}
+
+	@Override
+	public long getLong(String[] path) {
+		Config level = level();
+		if (level == null) {
+			throw new NullPointerException("No value at " + Arrays.toString(path));
+		}
+		return level.getLong(path);
+	}
+
+	@Override
+	public double getDouble(String[] path) {
+		Config level = level();
+		if (level == null) {
+			throw new NullPointerException("No value at " + Arrays.toString(path));
+		}
+		return level.getDouble(path);
+	}
+
+	@Override
+	public boolean contains(String[] path) {
+		Config level = level();
+		return level != null && level.contains(path);
+	}
+
+	@Override
+	public boolean has(AttributeType<?> attribute, String[] path) {
+		Config level = level();
+		return level != null && level.has(attribute, path);
+	}
+
+	@Override
+	public int size() {
+		Config level = level();
+		return (level == null) ? 0 : level.size();
+	}
+
+	@Override
+	public Set<Config.Entry> entries() {
+		return new EntrySetView();
+	}
+
+	@Override
+	public Map<String, Object> valueMap() {
+		return new ValueMapView();
+	}
+
+	/** @return an iterator over the entries of the current snapshot of this level */
+	private Iterator<Config.Entry> entryIterator() {
+		Config level = level();
+		Iterator<? extends UnmodifiableConfig.Entry> it = (level == null)
+			? Collections.emptyIterator() : level.entries().iterator();
+		return new Iterator<Config.Entry>() {
+			private Config.Entry last;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Config.Entry next() {
+				UnmodifiableConfig.Entry entry = it.next();
+				last = new SnapshotEntry(fullPath(new String[]{entry.getKey()}), entry);
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				SnapshotConfig.this.remove(new String[]{last.getKey()});
+				last = null;
+			}
+		};
+	}
+
+	// --- WRITES ---
+
+	@Override
+	public <T> T set(AttributeType<T> attribute, String[] path, T value) {
+		Object stored = isolate(value);
+		String[] full = fullPath(path);
+		return holder.modify(full, full.length - 1,
+							 root -> root.set(attribute, full, (T)stored));
+	}
+
+	@Override
+	public <T> T add(AttributeType<T> attribute, String[] path, T value) {
+		Object stored = isolate(value);
+		String[] full = fullPath(path);
+		return holder.modify(full, full.length - 1,
+							 root -> root.add(attribute, full, (T)stored));
+	}
+
+	@Override
+	public <T> T remove(AttributeType<T> attribute, String[] path) {
+		String[] full = fullPath(path);
+		return holder.modify(full, full.length - 1, root -> root.remove(attribute, full));
+	}
+
+	@Override
+	public void clear() {
+		modifyLevel(Config::clear);
+	}
+
+	@Override
+	public void clearComments() {
+		modifyLevel(level -> deepClear(level, true));
+	}
+
+	@Override
+	public void clearExtraAttributes() {
+		modifyLevel(level -> deepClear(level, false));
+	}
+
+	@Override
+	public Config createSubConfig() {
+		return holder.current.createSubConfig();
+	}
+
+	/** Sets several values of this level, with only one new snapshot. */
+	private void setAll(Map<? extends String, ?> values) {
+		holder.modify(prefix, prefix.length, root -> {
+			values.forEach((key, value) -> root.set(fullPath(new String[]{key}), isolate(value)));
+			return null;
+		});
+	}
+
+	/** Removes several values of this level, with only one new snapshot. */
+	private boolean removeAll(Collection<?> keys) {
+		return holder.modify(prefix, prefix.length, root -> {
+			boolean changed = false;
+			for (Object key : keys) {
+				if (!(key instanceof String)) {
+					continue;
+				}
+				String[] full = fullPath(new String[]{(String)key});
+				if (root.contains(full)) {
+					root.remove(full);
+					changed = true;
+				}
+			}
+			return changed;
+		});
+	}
+
+	private void modifyLevel(Consumer<Config> action) {
+		holder.modify(prefix, prefix.length, root -> {
+			Object level = (prefix.length == 0) ? root : root.get(prefix);
+			if (level instanceof Config) {
+				action.accept((Config)level);
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * Copies the configs and lists that are put in this config, so that their later
+	 * modifications don't affect the snapshots. The copied lists are unmodifiable.
+	 */
+	private Object isolate(Object value) {
+		if (value instanceof SnapshotConfig) {
+			Config level = ((SnapshotConfig)value).level();
+			return (level == null) ? createSubConfig() : deepCopy(level, createSubConfig(), true);
+		}
+		return deepCopyValue(value, holder.current, true);
+	}
+
+	/** Removes the comments (or all the extra attributes) of a level, copying its sub-levels. */
+	private static void deepClear(Config level, boolean commentsOnly) {
+		for (Config.Entry entry : level.entries()) {
+			Object value = entry.getValue();
+			if (value instanceof Config) {
+				Config copy = deepCopy((Config)value, ((Config)value).createSubConfig(), true);
+				deepClear(copy, commentsOnly);
+				entry.setValue(copy);
+			}
+		}
+		if (commentsOnly) {
+			level.clearComments();
+		} else {
+			level.clearExtraAttributes();
+		}
+	}
+
+	// --- COPIES ---
+
+	/** Copies the entries and attributes of one level of a config, sharing its sub-configs. */
+	private static Config shallowCopy(UnmodifiableConfig src, Config dst) {
+		if (src instanceof AbstractConfig) {// copies the "global" attributes
+			copyAttributes(src.getEntry(ROOT), dst, ROOT);
+		}
+		for (UnmodifiableConfig.Entry entry : src.entries()) {
+			String[] key = {entry.getKey()};
+			dst.set(key, entry.getValue());
+			copyAttributes(entry, dst, key);
+		}
+		return dst;
+	}
+
+	/**
+	 * Copies a config and all its sub-configs and lists.
+	 *
+	 * @param frozen true to make the copied lists unmodifiable
+	 */
+	private static Config deepCopy(UnmodifiableConfig src, Config dst, boolean frozen) {
+		shallowCopy(src, dst);
+		for (Config.Entry entry : dst.entries()) {
+			Object value = entry.getValue();
+			if (value instanceof UnmodifiableConfig || value instanceof List) {
+				entry.setValue(deepCopyValue(value, dst, frozen));
+			}
+		}
+		return dst;
+	}
+
+	/**
+	 * Copies a value if it's a config or a list, recursively.
+	 *
+	 * @param parent the config that creates the copied sub-configs
+	 * @param frozen true to make the copied lists unmodifiable
+	 */
+	private static Object deepCopyValue(Object value, Config parent, boolean frozen) {
+		if (value instanceof UnmodifiableConfig) {
+			return deepCopy((UnmodifiableConfig)value, parent.createSubConfig(), frozen);
+		}
+		if (value instanceof List) {
+			List<?> list = (List<?>)value;
+			List<Object> copy = new ArrayList<>(list.size());
+			for (Object element : list) {
+				copy.add(deepCopyValue(element, parent, frozen));
+			}
+			return frozen ? Collections.unmodifiableList(copy) : copy;
+		}
+		return value;
+	}
+
+	private static void copyAttributes(UnmodifiableConfig.Entry src, Config dst, String[] key) {
+		if (src == null) {
+			return;
+		}
+		src.forEachExtraAttribute((type, v) -> dst.set((AttributeType<Object>)type, key, v));
+	}
+
+	// --- STATE ---
+
+	/**
+	 * Holds the current snapshot, shared by the root SnapshotConfig and all its views.
+	 */
+	private static final class Holder {
+		volatile Config current;
+		/** The number of publications, written with the lock. */
+		volatile long publications;
+		/** Serializes the publications, so that no modification is lost. */
+		final Object writeLock = new Object();
+
+		Holder(Config initial) {
+			this.current = initial;
+		}
+
+		/**
+		 * Copies the root and the first {@code copiedLevels} levels along a path, applies an
+		 * action to the new root, and publishes it. The copies are shallow, but they take a time
+		 * proportional to the number of entries of the copied levels, root included.
+		 */
+		<T> T modify(String[] path, int copiedLevels, Function<Config, T> action) {
+			synchronized (writeLock) {
+				Config root = current;
+				Config newRoot = shallowCopy(root, root.createSubConfig());
+				Config level = newRoot;
+				for (int i = 0; i < copiedLevels; i++) {
+					String[] key = {path[i]};
+					Object value = level.get(key);
+					if (!(value instanceof Config)) {
+						break;// missing levels are created by the action
+					}
+					Config copy = shallowCopy((Config)value, ((Config)value).createSubConfig());
+					level.set(key, copy);
+					level = copy;
+				}
+				T result = action.apply(newRoot);// may throw, then nothing is published
+				publish(newRoot);
+				return result;
+			}
+		}
+
+		void reload(ParsingMode mode, Consumer<Config> parseAction) {
+			if (mode == ParsingMode.REPLACE) {
+				// Parses without blocking the writers, they will be overwritten anyway
+				Config fresh = current.createSubConfig();
+				parseAction.accept(fresh);
+				synchronized (writeLock) {
+					publish(fresh);
+				}
+			} else {
+				// The parsed data is merged with the current data: blocks the writers
+				synchronized (writeLock) {
+					Config root = current;
+					// The lists are copied too, and stay modifiable for the parser
+					Config fresh = deepCopy(root, root.createSubConfig(), false);
+					parseAction.accept(fresh);
+					publish(fresh);
+				}
+			}
+		}
+
+		private void publish(Config newRoot) {
+			current = newRoot;
+			publications++;// only called with the lock
+		}
+	}
+
+	/**
+	 * An entry of a SnapshotConfig, whose modifications create new snapshots.
+	 */
+	private final class SnapshotEntry implements Config.Entry {
+		private final String[] path;// full path from the root
+		private final UnmodifiableConfig.Entry entry;
+
+		SnapshotEntry(String[] path, UnmodifiableConfig.Entry entry) {
+			this.path = path;
+			this.entry = entry;
+		}
+
+		private SnapshotConfig root() {
+			return (prefix.length == 0) ? SnapshotConfig.this : new SnapshotConfig(holder, ROOT);
+		}
+
+		@Override
+		public String getKey() {
+			return entry.getKey();
+		}
+
+		@Override
+		public <T> T getValue() {
+			Object value = entry.getValue();
+			return (value instanceof Config) ? (T)new SnapshotConfig(holder, path) : (T)value;
+		}
+
+		@Override
+		public Iterable<? extends Config.Attribute<?>> attributes() {
+			List<Config.Attribute<?>> attributes = new ArrayList<>();
+			for (UnmodifiableConfig.Attribute<?> attribute : entry.attributes()) {
+				AttributeType<Object> type = (AttributeType<Object>)attribute.getType();
+				Object value = (type == StandardAttributes.VALUE) ? getValue()
+																  : attribute.getValue();
+				attributes.add(new Config.Attribute<Object>() {
+					@Override
+					public Object setValue(Object value) {
+						return set(type, value);
+					}
+
+					@Override
+					public AttributeType<Object> getType() {
+						return type;
+					}
+
+					@Override
+					public Object getValue() {
+						return value;
+					}
+				});
+			}
+			return attributes;
+		}
+
+		@Override
+		public boolean has(AttributeType<?> attribute) {
+			return entry.has(attribute);
+		}
+
+		@Override
+		public <T> T get(AttributeType<T> attribute) {
+			return (attribute == StandardAttributes.VALUE) ? getValue() : entry.get(attribute);
+		}
+
+		@Override
+		public void forEachExtraAttribute(BiConsumer<? super AttributeType<?>, Object> action) {
+			entry.forEachExtraAttribute(action);
+		}
+
+		@Override
+		public void clearExtraAttributes() {
+			for (UnmodifiableConfig.Attribute<?> attribute : entry.attributes()) {
+				if (attribute.getType() != StandardAttributes.VALUE) {
+					remove(attribute.getType());
+				}
+			}
+		}
+
+		@Override
+		public <T> Map.Entry<String, T> toMapEntry() {
+			return new AbstractMap.SimpleImmutableEntry<>(getKey(), getValue());
+		}
+
+		@Override
+		public <T> T addValue(Object value) {
+			return (T)add(StandardAttributes.VALUE, value);
+		}
+
+		@Override
+		public <T> T setValue(Object value) {
+			return (T)set(StandardAttributes.VALUE, value);
+		}
+
+		@Override
+		public <T> T removeValue() {
+			return (T)remove(StandardAttributes.VALUE);
+		}
+
+		@Override
+		public <T> T set(AttributeType<T> attribute, T value) {
+			return root().set(attribute, path, value);
+		}
+
+		@Override
+		public <T> T add(AttributeType<T> attribute, T value) {
+			return root().add(attribute, path, value);
+		}
+
+		@Override
+		public <T> T remove(AttributeType<T> attribute) {
+			return root().remove(attribute, path);
+		}
+
+		@Override
+		public String toString() {
+			return entry.toString();
+		}
+	}
+
+	/**
+	 * The values of a SnapshotConfig, whose modifications create new snapshots.
+	 */
+	private final class ValueMapView extends AbstractMap<String, Object> {
+		@Override
+		public int size() {
+			return SnapshotConfig.this.size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String && contains(new String[]{(String)key});
+		}
+
+		@Override
+		public Object get(Object key) {
+			return (key instanceof String) ? SnapshotConfig.this.get(new String[]{(String)key})
+										   : null;
+		}
+
+		@Override
+		public Object put(String key, Object value) {
+			return set(new String[]{key}, value);
+		}
+
+		@Override
+		public Object remove(Object key) {
+			return containsKey(key) ? SnapshotConfig.this.remove(new String[]{(String)key}) : null;
+		}
+
+		@Override
+		public void putAll(Map<? extends String, ?> m) {
+			setAll(m);
+		}
+
+		@Override
+		public void clear() {
+			SnapshotConfig.this.clear();
+		}
+
+		@Override
+		public Set<String> keySet() {
+			return new AbstractSet<String>() {
+				@Override
+				public Iterator<String> iterator() {
+					Iterator<Map.Entry<String, Object>> it = entrySet().iterator();
+					return new Iterator<String>() {
+						@Override
+						public boolean hasNext() {
+							return it.hasNext();
+						}
+
+						@Override
+						public String next() {
+							return it.next().getKey();
+						}
+
+						@Override
+						public void remove() {
+							it.remove();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return SnapshotConfig.this.size();
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey(o);
+				}
+
+				@Override
+				public boolean remove(Object o) {
+					return removeAll(Collections.singleton(o));
+				}
+
+				@Override
+				public boolean removeAll(Collection<?> c) {
+					return SnapshotConfig.this.removeAll(c);
+				}
+
+				@Override
+				public void clear() {
+					SnapshotConfig.this.clear();
+				}
+			};
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			return new AbstractSet<Map.Entry<String, Object>>() {
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator() {
+					Iterator<Config.Entry> it = entryIterator();
+					return new Iterator<Map.Entry<String, Object>>() {
+						@Override
+						public boolean hasNext() {
+							return it.hasNext();
+						}
+
+						@Override
+						public Map.Entry<String, Object> next() {
+							return new MapEntryView(it.next());
+						}
+
+						@Override
+						public void remove() {
+							it.remove();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return SnapshotConfig.this.size();
+				}
+
+				@Override
+				public void clear() {
+					SnapshotConfig.this.clear();
+				}
+			};
+		}
+	}
+
+	/**
+	 * An entry of {@link ValueMapView}, whose modifications create new snapshots.
+	 */
+	private static final class MapEntryView implements Map.Entry<String, Object> {
+		private final Config.Entry entry;
+		private Object value;
+
+		MapEntryView(Config.Entry entry) {
+			this.entry = entry;
+			this.value = entry.getValue();
+		}
+
+		@Override
+		public String getKey() {
+			return entry.getKey();
+		}
+
+		@Override
+		public Object getValue() {
+			return value;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			this.value = value;
+			return entry.setValue(value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>)obj;
+			return getKey().equals(other.getKey()) && Objects.equals(value, other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ Objects.hashCode(value);
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + value;
+		}
+	}
+
+	/**
+	 * The entries of a SnapshotConfig, whose modifications create new snapshots.
+	 */
+	private final class EntrySetView extends AbstractSet<Config.Entry> {
+		@Override
+		public Iterator<Config.Entry> iterator() {
+			return entryIterator();
+		}
+
+		@Override
+		public int size() {
+			return SnapshotConfig.this.size();
+		}
+
+		@Override
+		public boolean add(Config.Entry entry) {
+			set(new String[]{entry.getKey()}, entry.getValue());
+			return true;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return removeAll(Collections.singleton(o));
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			List<String> keys = new ArrayList<>(c.size());
+			for (Object o : c) {
+				if (o instanceof UnmodifiableConfig.Entry) {
+					keys.add(((UnmodifiableConfig.Entry)o).getKey());
+				}
+			}
+			return SnapshotConfig.this.removeAll(keys);
+		}
+
+		@Override
+		public void clear() {
+			SnapshotConfig.this.clear();
+		}
+	}
+
+	/**
+	 * A read-only view of a snapshot. Since the snapshots are never modified, it's immutable.
+	 */
+	private static final class ReadOnlyView implements UnmodifiableConfig {
+		private final UnmodifiableConfig config;
+
+		ReadOnlyView(UnmodifiableConfig config) {
+			this.config = config;
+		}
+
+		private static Object view(Object value) {
+			return (value instanceof UnmodifiableConfig)
+				   ? new ReadOnlyView((UnmodifiableConfig)value) : value;
+		}
+
+		@Override
+		public Entry getEntry(String[] path) {
+			Entry entry = config.getEntry(path);
+			return (entry == null) ? null : new ReadOnlyEntry(entry);
+		}
+
+		@Override
+		public <T> T get(String[] path) {
+			return (T)view(config.get(path));
+		}
+
+		@Override
+		public <T> T get(AttributeType<T> attribute, String[] path) {
+			return (T)view(config.get(attribute, path));
+		}
+
+		@Override
+		public boolean contains(String[] path) {
+			return config.contains(path);
+		}
+
+		@Override
+		public Iterable<? extends Entry> entries() {
+			List<Entry> entries = new ArrayList<>(config.size());
+			for (Entry entry : config.entries()) {
+				entries.add(new ReadOnlyEntry(entry));
+			}
+			return Collections.unmodifiableList(entries);
+		}
+
+		@Override
+		public int size() {
+			return config.size();
+		}
+
+		@Override
+		public Map<String, Object> valueMap() {
+			Map<String, Object> map = new LinkedHashMap<>();
+			for (Entry entry : config.entries()) {
+				map.put(entry.getKey(), view(entry.getValue()));
+			}
+			return Collections.unmodifiableMap(map);
+		}
+
+		@Override
+		public String toString() {
+			return "Snapshot: " + config;
+		}
+	}
+
+	private static final class ReadOnlyEntry implements UnmodifiableConfig.Entry {
+		private final UnmodifiableConfig.Entry entry;
+
+		ReadOnlyEntry(UnmodifiableConfig.Entry entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public String getKey() {
+			return entry.getKey();
+		}
+
+		@Override
+		public <T> T getValue() {
+			return (T)ReadOnlyView.view(entry.getValue());
+		}
+
+		@Override
+		public Iterable<? extends UnmodifiableConfig.Attribute<?>> attributes() {
+			List<UnmodifiableConfig.Attribute<?>> attributes = new ArrayList<>();
+			for (UnmodifiableConfig.Attribute<?> attribute : entry.attributes()) {
+				AttributeType<Object> type = (AttributeType<Object>)attribute.getType();
+				Object value = (type == StandardAttributes.VALUE) ? getValue()
+																  : attribute.getValue();
+				attributes.add(new UnmodifiableConfig.Attribute<Object>() {
+					@Override
+					public AttributeType<Object> getType() {
+						return type;
+					}
+
+					@Override
+					public Object getValue() {
+						return value;
+					}
+				});
+			}
+			return attributes;
+		}
+
+		@Override
+		public boolean has(AttributeType<?> attribute) {
+			return entry.has(attribute);
+		}
+
+		@Override
+		public <T> T get(AttributeType<T> attribute) {
+			return (attribute == StandardAttributes.VALUE) ? getValue() : entry.get(attribute);
+		}
+
+		@Override
+		public void forEachExtraAttribute(BiConsumer<? super AttributeType<?>, Object> action) {
+			entry.forEachExtraAttribute(action);
+		}
+
+		@Override
+		public String toString() {
+			return entry.toString();
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package com.electronwill.nightconfig.core.file;
 
 import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.Utf8Output;
 import com.electronwill.nightconfig.core.io.*;
 import com.electronwill.nightconfig.core.utils.ConfigWrapper;
 
@@ -12,9 +14,17 @@ import java.nio.CharBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.CompletionHandler;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.nio.file.StandardOpenOption.*;
 
@@ -32,6 +42,10 @@ final class WriteAsyncFileConfig<C extends Config> extends ConfigWrapper<C> impl
 	 * The channel used to write asynchronously to the nioPath.
 	 */
 	private AsynchronousFileChannel channel;
+	/**
+	 * The position in the file of the next bytes to write.
+	 */
+	private long writePosition;
 	/**
 	 * Guards the channel to prevent it from being used and closed at the same time.
 	 */
@@ -44,29 +58,86 @@ final class WriteAsyncFileConfig<C extends Config> extends ConfigWrapper<C> impl
 	 * True if the config has changed during the write operation, and thus must be written again.
 	 */
 	private final AtomicBoolean mustWriteAgain = new AtomicBoolean();
+	/**
+	 * The error of the last failed write, thrown by the next call to save() or close(), because
+	 * the I/O threads can't report it.
+	 */
+	private final AtomicReference<Throwable> writeError = new AtomicReference<>();
+	/**
+	 * True if a delayed save has been scheduled, and hasn't started yet.
+	 */
+	private final AtomicBoolean savePending = new AtomicBoolean();
+	/**
+	 * Runs the I/O operations of the channel, and the delayed saves. Sharing it doesn't make
+	 * the writes cheaper: each write still opens its own channel (and an atomic save its own
+	 * temporary file). What it saves is the threads, since the FileConfigs don't each get a pool
+	 * from the JVM. The writes themselves are made rarer by the {@link #saveDelay}, which merges
+	 * a burst of saves into one serialization, one opening and one write.
+	 */
+	private final ScheduledExecutorService executor;
+	/**
+	 * How long to wait, in nanoseconds, between a call of save() and the actual save. The
+	 * calls made in the meantime are merged into that save.
+	 */
+	private final long saveDelay;
 
 	private final ConfigWriter writer;
+	/**
+	 * The output that encodes the data in UTF-8, reused by each save. Null if the charset isn't
+	 * UTF-8.
+	 */
+	private final Utf8Output utf8Output;
 	private final WriteCompletedHandler writeCompletedHandler;
-	private final OpenOption[] openOptions;
+	private final Set<OpenOption> openOptions;
+	private final boolean append;
+	private final boolean atomicWrite;
+	/**
+	 * The temporary file of the current atomic save, null if there is none. Each atomic save
+	 * creates its own temporary file. Guarded by channelGuard.
+	 */
+	private Path tempPath;
+	private final FsyncPolicy fsync;
+	private final boolean skipUnmodified;
+	/**
+	 * The state of the file after the last load or save, null if unknown.
+	 */
+	private volatile FileFingerprint fingerprint;
+	/**
+	 * The modification count of the config when it was last saved, -1 if unknown.
+	 */
+	private volatile long savedModifications = -1;
+	/**
+	 * The modification count of the config when the current write has started.
+	 */
+	private volatile long writtenModifications;
 
 	private final ConfigParser parser;
 	private final FileNotFoundAction nefAction;
 	private final ParsingMode parsingMode;
 
 	WriteAsyncFileConfig(C config, Path nioPath, Charset charset, ConfigWriter writer,
-						 WritingMode writingMode, ConfigParser parser,
-						 ParsingMode parsingMode, FileNotFoundAction nefAction) {
+						 WritingMode writingMode, boolean atomicWrite, FsyncPolicy fsync,
+						 boolean skipUnmodified, ScheduledExecutorService executor, long saveDelay,
+						 ConfigParser parser, ParsingMode parsingMode,
+						 FileNotFoundAction nefAction) {
 		super(config);
 		this.nioPath = nioPath;
 		this.charset = charset;
 		this.writer = writer;
+		this.utf8Output = StandardCharsets.UTF_8.equals(charset) ? new Utf8Output() : null;
 		this.parser = parser;
 		this.parsingMode = parsingMode;
 		this.nefAction = nefAction;
-		if (writingMode == WritingMode.APPEND) {
-			this.openOptions = new OpenOption[]{WRITE, CREATE};
+		this.append = (writingMode == WritingMode.APPEND);
+		this.atomicWrite = atomicWrite;
+		this.fsync = fsync;
+		this.skipUnmodified = skipUnmodified;
+		this.executor = executor;
+		this.saveDelay = saveDelay;
+		if (append) {
+			this.openOptions = new HashSet<>(Arrays.asList(WRITE, CREATE));
 		} else {
-			this.openOptions = new OpenOption[]{WRITE, CREATE, TRUNCATE_EXISTING};
+			this.openOptions = new HashSet<>(Arrays.asList(WRITE, CREATE, TRUNCATE_EXISTING));
 		}
 		this.writeCompletedHandler = new WriteCompletedHandler();
 	}
@@ -86,12 +157,29 @@ final class WriteAsyncFileConfig<C extends Config> extends ConfigWrapper<C> impl
 		if (closed.get()) {
 			throw new IllegalStateException("Cannot save a closed FileConfig");
 		}
-		save(true);
+		throwWriteError();
+		if (saveDelay == 0) {
+			save(true);
+			throwWriteError();// if the write has failed immediately
+		} else if (savePending.compareAndSet(false, true)) {
+			// The next calls are merged into this save, until it starts
+			executor.schedule(this::delayedSave, saveDelay, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Performs the pending save, if it hasn't been done yet.
+	 */
+	private void delayedSave() {
+		if (savePending.compareAndSet(true, false)) {
+			save(true);
+		}
 	}
 
 	@Override
 	public void close() {
 		if (closed.compareAndSet(false, true)) {// The content of this block is called only once
+			delayedSave();// Doesn't wait for the end of the delay
 			synchronized (channelGuard) {
 				while (currentlyWriting.get()) {// Writing in progres
 					// Waits for the operation to complete, to ensure that the data is written:
@@ -103,26 +191,81 @@ final class WriteAsyncFileConfig<C extends Config> extends ConfigWrapper<C> impl
 					}
 				}
 			}
+			throwWriteError();
 		}
 	}
 
+	/**
+	 * Throws the error of the last failed write, if any.
+	 */
+	private void throwWriteError() {
+		Throwable error = writeError.getAndSet(null);
+		if (error != null) {
+			throw new WritingException("Error while saving the FileConfig to " + nioPath, error);
+		}
+	}
+
+	/**
+	 * Records the error of the current write, and ends it. Never throws, because it may be
+	 * called by an I/O thread.
+	 */
+	private void writeFailed(Throwable error) {
+		synchronized (channelGuard) {
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException e) {
+					error.addSuppressed(e);
+				}
+				channel = null;
+			}
+			if (tempPath != null) {// doesn't leave the temporary file of a failed atomic save
+				try {
+					Files.deleteIfExists(tempPath);
+				} catch (IOException e) {
+					error.addSuppressed(e);
+				}
+				tempPath = null;
+			}
+		}
+		fingerprint = null;// the content of the file isn't known
+		writeError.set(error);
+		writeDone();
+	}
+
 	private void save(boolean saveLaterIfWriting) {
 		// atomically sets to true if false:
 		boolean canSaveNow = currentlyWriting.compareAndSet(false, true);
 		if (canSaveNow) {// no writing is in progress: start one immediately
+			long modifications = FileFingerprint.modificationCount(config);
+			if (canSkip(modifications)) {
+				writeDone();// nothing has changed since the last save
+				return;
+			}
+			writtenModifications = modifications;
 			// Writes the config data to a ByteBuffer
-			Charray builder = new Charray(512);
-			writer.write(config, builder.asOutput());
-			CharBuffer chars = CharBuffer.wrap(builder);
-			ByteBuffer buffer = charset.encode(chars);
+			ByteBuffer buffer;
+			try {
+				buffer = encode(SnapshotConfig.stable(config));
+			} catch (RuntimeException e) {
+				writeFailed(e);// releases currentlyWriting, so that close() doesn't wait
+				return;
+			}
 
-			// Writes the ByteBuffer to the nioPath, asynchronously
+			// Writes the ByteBuffer to the nioPath, asynchronously. The channel is opened for
+			// each write, and closed when it completes: only its threads are shared.
 			synchronized (channelGuard) {
 				try {
-					channel = AsynchronousFileChannel.open(nioPath, openOptions);
-					channel.write(buffer, channel.size(), null, writeCompletedHandler);
-				} catch (IOException e) {
-					writeCompletedHandler.failed(e, null);
+					Path writtenPath = nioPath;
+					if (atomicWrite) {
+						tempPath = AtomicSave.createTempFile(nioPath);
+						writtenPath = tempPath;
+					}
+					channel = AsynchronousFileChannel.open(writtenPath, openOptions, executor);
+					writePosition = channel.size();
+					channel.write(buffer, writePosition, buffer, writeCompletedHandler);
+				} catch (IOException | RuntimeException e) {
+					writeFailed(e);
 				}
 			}
 		} else if (saveLaterIfWriting) {// there is a writing in progress: start one later
@@ -130,41 +273,126 @@ final class WriteAsyncFileConfig<C extends Config> extends ConfigWrapper<C> impl
 		}
 	}
 
+	/**
+	 * @return true if the config hasn't been modified since it was last saved
+	 */
+	private boolean canSkip(long modifications) {
+		return skipUnmodified && !append && modifications != -1
+			   && modifications == savedModifications;
+	}
+
+	/**
+	 * Ends the current write, and starts the next one if the config has been saved in the
+	 * meantime.
+	 */
+	private void writeDone() {
+		currentlyWriting.set(false);
+		if (mustWriteAgain.getAndSet(false)) {
+			save(false);// Saves the config without setting mustWriteAgain to true if canSaveNow is false
+		} else {
+			// All operations have completed and we don't need to start a new one
+			synchronized (channelGuard) {
+				channelGuard.notify();// Notifies the waiter (if any). See method close()
+			}
+		}
+	}
+
+	/**
+	 * Writes the config to a ByteBuffer. In UTF-8, the chars are encoded directly into the
+	 * reusable array of {@link #utf8Output}, so the returned buffer is only valid until the next
+	 * save.
+	 */
+	private ByteBuffer encode(UnmodifiableConfig data) {
+		if (utf8Output != null) {
+			utf8Output.reset();
+			writer.write(data, utf8Output);
+			return utf8Output.toByteBuffer();
+		}
+		Charray builder = new Charray(512);
+		writer.write(data, builder.asOutput());
+		return charset.encode(CharBuffer.wrap(builder));
+	}
+
+	// Forwards the primitive getters, so that they don't box the values
+	@Override
+	public int getInt(String[] path) {
+		return config.getInt(path);
+	}
+
+	@Override
+	public long getLong(String[] path) {
+		return config.getLong(path);
+	}
+
+	@Override
+	public double getDouble(String[] path) {
+		return config.getDouble(path);
+	}
+
+	@Override
+	public UnmodifiableConfig snapshot() {
+		return SnapshotConfig.snapshotOf(config);
+	}
+
 	@Override
 	public void load() {
 		if (closed.get()) {
 			throw new IllegalStateException("Cannot (re)load a closed FileConfig");
 		}
 		if (!currentlyWriting.get()) { // Skips load when writing
-			parser.parse(nioPath, config, parsingMode, nefAction);//blocking read, not async
+			//blocking read, not async. Skipped if the file hasn't changed since the last load/save
+			fingerprint = FileFingerprint.parseIfChanged(fingerprint, nioPath, parser, charset,
+														 config, parsingMode, nefAction);
 		}
 	}
 
-	private final class WriteCompletedHandler implements CompletionHandler<Integer, Object> {
+	private final class WriteCompletedHandler implements CompletionHandler<Integer, ByteBuffer> {
 		@Override
-		public void completed(Integer result, Object attachment) {
-			currentlyWriting.set(false);// Resets currentlyWriting
-			if (mustWriteAgain.getAndSet(false)) {// Gets and resets mustWriteAgain
-				save(false);// Saves the config without setting mustWriteAgain to true if canSaveNow is false
-			} else {
-				/* All operations have completed and we don't need to start a new one. Therefore
-				the channel may be closed. */
+		public void completed(Integer result, ByteBuffer buffer) {
+			if (buffer.hasRemaining()) {// Partial write: writes the rest
 				synchronized (channelGuard) {
-					try {
-						channel.close();
-						channel = null;
-					} catch (IOException e) {
-						failed(e, null);
-					} finally {
-						channelGuard.notify();// Notifies the waiter (if any). See method close()
+					writePosition += result;
+					channel.write(buffer, writePosition, buffer, this);
+				}
+				return;
+			}
+			// Completes the write: forces the data if needed, and replaces the config's file by
+			// the temporary one in case of an atomic save. Each save has its own channel.
+			try {
+				synchronized (channelGuard) {
+					fsync.force(channel);
+					channel.close();
+					channel = null;
+					if (tempPath != null) {
+						AtomicSave.commit(tempPath, nioPath, fsync);
+						tempPath = null;
 					}
 				}
+			} catch (IOException | RuntimeException e) {
+				writeFailed(e);
+				return;
+			}
+			// Remembers what has been written, so that load() doesn't parse it again
+			fingerprint = computeFingerprint(buffer);
+			savedModifications = writtenModifications;
+			writeDone();
+		}
+
+		private FileFingerprint computeFingerprint(ByteBuffer buffer) {
+			if (append || buffer.hasRemaining() || !buffer.hasArray()) {
+				return null;// the content of the file isn't exactly the buffer
+			}
+			try {
+				return FileFingerprint.ofWritten(nioPath, buffer.array(), buffer.arrayOffset(),
+												 buffer.limit(), writtenModifications);
+			} catch (IOException e) {
+				return null;
 			}
 		}
 
 		@Override
-		public void failed(Throwable exc, Object attachment) {
-			throw new WritingException("Error while saving the FileConfig to " + nioPath, exc);
+		public void failed(Throwable exc, ByteBuffer attachment) {
+			writeFailed(exc);
 		}
 	}
 }
\ No newline at end of file
@@ -1,15 +1,23 @@
 package com.electronwill.nightconfig.core.file;
 
 import com.electronwill.nightconfig.core.Config;
-import com.electronwill.nightconfig.core.io.ConfigParser;
-import com.electronwill.nightconfig.core.io.ConfigWriter;
-import com.electronwill.nightconfig.core.io.ParsingMode;
-import com.electronwill.nightconfig.core.io.WritingMode;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.Utf8Output;
+import com.electronwill.nightconfig.core.io.*;
 import com.electronwill.nightconfig.core.utils.ConfigWrapper;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.nio.file.StandardOpenOption.*;
 
 /**
  * @author TheElectronWill
@@ -20,25 +28,42 @@ final class WriteSyncFileConfig<C extends Config> extends ConfigWrapper<C> imple
 	private boolean closed;
 
 	private final ConfigWriter writer;
+	private final Utf8Output utf8Output;// null if the charset isn't UTF-8
 	private final WritingMode writingMode;
+	private final boolean atomicWrite;
+	private final FsyncPolicy fsync;
+	private final boolean skipUnmodified;
 
 	private final ConfigParser parser;
 	private final FileNotFoundAction nefAction;
 	private final ParsingMode parsingMode;
 
 	private volatile boolean currentlyWriting = false;
+	/**
+	 * The state of the file after the last load or save, null if unknown.
+	 */
+	private FileFingerprint fingerprint;
+	/**
+	 * The modification count of the config when it was last saved, -1 if unknown.
+	 */
+	private long savedModifications = -1;
 
 	WriteSyncFileConfig(C config, Path nioPath, Charset charset, ConfigWriter writer,
-						 WritingMode writingMode, ConfigParser parser,
-						 ParsingMode parsingMode, FileNotFoundAction nefAction) {
+						 WritingMode writingMode, boolean atomicWrite, FsyncPolicy fsync,
+						 boolean skipUnmodified, ConfigParser parser, ParsingMode parsingMode,
+						 FileNotFoundAction nefAction) {
 		super(config);
 		this.nioPath = nioPath;
 		this.charset = charset;
 		this.writer = writer;
+		this.utf8Output = StandardCharsets.UTF_8.equals(charset) ? new Utf8Output() : null;
 		this.parser = parser;
 		this.parsingMode = parsingMode;
 		this.nefAction = nefAction;
 		this.writingMode = writingMode;
+		this.atomicWrite = atomicWrite;
+		this.fsync = fsync;
+		this.skipUnmodified = skipUnmodified;
 	}
 
 	@Override
@@ -57,10 +82,88 @@ final class WriteSyncFileConfig<C extends Config> extends ConfigWrapper<C> imple
 			if (closed) {
 				throw new IllegalStateException("Cannot save a closed FileConfig");
 			}
+			long modifications = FileFingerprint.modificationCount(config);
+			if (canSkip(modifications)) {
+				return;// nothing has changed since the last save
+			}
 			currentlyWriting = true;
-			writer.write(config, nioPath, charset, writingMode);
-			currentlyWriting = false;
+			try {
+				ByteBuffer buffer = encode(SnapshotConfig.stable(config));
+				fingerprint = null;
+				if (writingMode == WritingMode.APPEND) {
+					writeInPlace(buffer, APPEND);// the file content isn't known afterwards
+				} else {
+					// Remembers what is written, so that load() doesn't parse it again
+					byte[] data = buffer.array();
+					int offset = buffer.arrayOffset(), length = buffer.limit();
+					if (atomicWrite) {
+						AtomicSave.write(nioPath, buffer, fsync);
+					} else {
+						writeInPlace(buffer, TRUNCATE_EXISTING);
+					}
+					fingerprint = FileFingerprint.ofWritten(nioPath, data, offset, length,
+															modifications);
+				}
+				savedModifications = modifications;
+			} catch (IOException e) {
+				throw new WritingException("An I/O error occured", e);
+			} finally {
+				currentlyWriting = false;
+			}
+		}
+	}
+
+	/**
+	 * @return true if the config hasn't been modified since it was last saved
+	 */
+	private boolean canSkip(long modifications) {
+		return skipUnmodified && writingMode != WritingMode.APPEND && modifications != -1
+			   && modifications == savedModifications;
+	}
+
+	private void writeInPlace(ByteBuffer buffer, StandardOpenOption mode) throws IOException {
+		try (FileChannel channel = FileChannel.open(nioPath, WRITE, CREATE, mode)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			fsync.force(channel);
+		}
+	}
+
+	/**
+	 * Encodes the config with the file's charset. The buffer of utf8Output is reused by the next
+	 * save, which is fine because save() is synchronized.
+	 */
+	private ByteBuffer encode(UnmodifiableConfig data) {
+		if (utf8Output != null) {
+			utf8Output.reset();
+			writer.write(data, utf8Output);
+			return utf8Output.toByteBuffer();
 		}
+		Charray builder = new Charray(512);
+		writer.write(data, builder.asOutput());
+		return charset.encode(CharBuffer.wrap(builder));
+	}
+
+	// Forwards the primitive getters, so that they don't box the values
+	@Override
+	public int getInt(String[] path) {
+		return config.getInt(path);
+	}
+
+	@Override
+	public long getLong(String[] path) {
+		return config.getLong(path);
+	}
+
+	@Override
+	public double getDouble(String[] path) {
+		return config.getDouble(path);
+	}
+
+	@Override
+	public UnmodifiableConfig snapshot() {
+		return SnapshotConfig.snapshotOf(config);
 	}
 
 	@Override
@@ -70,7 +173,9 @@ final class WriteSyncFileConfig<C extends Config> extends ConfigWrapper<C> imple
 				if (closed) {
 					throw new IllegalStateException("Cannot (re)load a closed FileConfig");
 				}
-				parser.parse(nioPath, config, parsingMode, nefAction);
+				// Skipped if the file hasn't changed since the last load/save
+				fingerprint = FileFingerprint.parseIfChanged(fingerprint, nioPath, parser, charset,
+															 config, parsingMode, nefAction);
 			}
 		}
 	}
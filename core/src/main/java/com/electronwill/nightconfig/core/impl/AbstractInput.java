@@ -1,7 +1,16 @@
 package com.electronwill.nightconfig.core.impl;
 
+import com.electronwill.nightconfig.core.io.ParsingException;
+
 /**
- * Abstract base class for CharacterInputs.
+ * Abstract base class for CharacterInputs. The characters are read from a buffer, which is
+ * refilled by the subclasses in {@link #fillBuffer()}. This allows the bulk operations like
+ * {@link #scanUntil(char, char)} to work directly on the buffer.
+ * <p>
+ * The position isn't updated for each character. Only the {@link #offset()} is known, and the
+ * line and column are computed from it when they are asked, usually to report an error. To do
+ * so, the lines of each buffer are counted before the buffer is refilled. This can be disabled
+ * with {@link #disablePositionTracking()}, for instance for the machine-generated data.
  *
  * @author TheElectronWill
  */
@@ -12,55 +21,235 @@ public abstract class AbstractInput implements CharacterInput {
 	protected final CharDeque deque = new CharDeque();
 
 	/**
-	 * Tracks the current position.
+	 * Contains the characters to read, at indexes [bufferPos, bufferEnd). The buffer's data
+	 * begins at bufferStart.
+	 */
+	protected char[] buffer;
+	protected int bufferStart, bufferPos, bufferEnd;
+
+	/** True to count the lines of each buffer before refilling it */
+	private boolean trackPosition = true;
+	/** The offset of the buffer's data, and the offset of the last line that begins before it */
+	private long bufferOffset, lineStartOffset;
+	/** The number of line breaks before the buffer's data */
+	private int linesBefore;
+	/** True if the buffer contains the whole data, and is never refilled */
+	private final boolean wholeData;
+
+	protected AbstractInput() {
+		this(false);
+	}
+
+	AbstractInput(boolean wholeData) {
+		this.wholeData = wholeData;
+	}
+
+	/**
+	 * Replaces the content of the buffer by the next characters, and sets bufferPos and
+	 * bufferEnd accordingly. This method is called when all the characters of the buffer have
+	 * been read.
+	 *
+	 * @return the number of characters in the buffer, 0 if the EOS has been reached
 	 */
-	protected int currentLine = 1, currentColumn = 0, previousLastColumn = -1;
+	protected abstract int fillBuffer();
+
+	/**
+	 * Stops counting the lines of each buffer. The {@link #line()} and {@link #column()} become
+	 * -1 after the first buffer, but the {@link #offset()} is still known. This doesn't change
+	 * anything for an {@link ArrayInput}, whose buffer is the whole data.
+	 * <p>
+	 * The parsers apply this with a
+	 * {@link com.electronwill.nightconfig.core.io.UntrackedConfigParser}, which finds the line
+	 * and column of an error by reading the data again when it can.
+	 */
+	public void disablePositionTracking() {
+		trackPosition = false;
+	}
+
+	/**
+	 * Counts the lines of the buffer if needed, and refills it.
+	 *
+	 * @return the number of characters in the buffer, 0 if the EOS has been reached
+	 */
+	private int refill() {
+		if (wholeData) {
+			return 0;// keeps the data and its position
+		}
+		final char[] buf = buffer;
+		final int start = bufferStart, end = bufferEnd;
+		if (trackPosition) {
+			for (int i = start; i < end; i++) {
+				if (buf[i] == '\n') {
+					linesBefore++;
+					lineStartOffset = bufferOffset + (i - start) + 1;
+				}
+			}
+		}
+		bufferOffset += end - start;
+		final int read = fillBuffer();
+		bufferStart = bufferPos;
+		return read;
+	}
 
 	/**
 	 * Tries to parse the next character without taking care of the peek deque.
 	 *
 	 * @return the next character, or -1 if the EOS has been reached
 	 */
-	protected abstract int directRead();
+	protected final int directRead() {
+		if (bufferPos == bufferEnd && refill() <= 0) {
+			return -1;
+		}
+		return buffer[bufferPos++];
+	}
+
+	@Override
+	public long offset() {
+		return bufferOffset + (bufferPos - bufferStart) - deque.size();
+	}
 
 	@Override
 	public int line() {
-		return currentLine;
+		if (!trackPosition && bufferOffset > 0) {
+			return -1;
+		}
+		final int end = positionInBuffer();
+		int line = linesBefore + 1;
+		for (int i = bufferStart; i < end; i++) {
+			if (buffer[i] == '\n') {
+				line++;
+			}
+		}
+		return line;
 	}
 
 	@Override
 	public int column() {
-		return currentColumn;
+		if (!trackPosition && bufferOffset > 0) {
+			return -1;
+		}
+		final int end = positionInBuffer();
+		for (int i = end - 1; i >= bufferStart; i--) {
+			if (buffer[i] == '\n') {
+				return end - 1 - i;
+			}
+		}
+		return (int)(bufferOffset + (end - bufferStart) - lineStartOffset);
 	}
 
-	private void updatePosition(char read) {
-		if (read == '\n') {
-			currentLine += 1;
-			previousLastColumn = currentColumn;
-			currentColumn = 0;
-		} else {
-			currentColumn += 1;
+	/**
+	 * @return the index, in the buffer, of the next char to read, or bufferStart if it belongs to
+	 * the previous buffer (peeked before a refill)
+	 */
+	private int positionInBuffer() {
+		return Math.max(bufferStart, bufferPos - deque.size());
+	}
+
+	@Override
+	public int read() {
+		if (deque.isEmpty()) {
+			return (bufferPos < bufferEnd) ? buffer[bufferPos++] : directRead();
+		}
+		return deque.removeFirst();
+	}
+
+	@Override
+	public Charray readAtMost(int n) {
+		final char[] dst = new char[n];
+		return new Charray(dst, 0, readChars(dst, n));
+	}
+
+	@Override
+	public Charray readExactly(int n) {
+		final char[] dst = new char[n];
+		if (readChars(dst, n) != n) {
+			throw ParsingException.notEnoughData();
+		}
+		return new Charray(dst);
+	}
+
+	/**
+	 * Reads at most n characters, from the peek deque first and then from the buffer.
+	 *
+	 * @return the number of chars actually read
+	 */
+	private int readChars(char[] dst, int n) {
+		final int dequeSize = deque.size();
+		if (dequeSize >= n) {
+			deque.consumeQueue(dst, 0, n);
+			return n;
 		}
+		int read = 0;
+		if (dequeSize > 0) {
+			deque.consumeAllNonEmptyQueue(dst);
+			read = dequeSize;
+		}
+		while (read < n) {
+			if (bufferPos == bufferEnd && refill() <= 0) {
+				break;
+			}
+			final int count = Math.min(n - read, bufferEnd - bufferPos);
+			System.arraycopy(buffer, bufferPos, dst, read, count);
+			bufferPos += count;
+			read += count;
+		}
+		return read;
 	}
 
-	private void rollbackPosition(char pushedBack) {
-		if (pushedBack == '\n') {
-			currentLine -= 1;
-			currentColumn = previousLastColumn;
-			previousLastColumn = -1;
-		} else {
-			currentColumn -= 1;
+	@Override
+	public Charray scanUntil(char a, char b) {
+		if (!deque.isEmpty()) {
+			return CharacterInput.super.scanUntil(a, b);
+		}
+		Charray copy = null;
+		while (true) {
+			final char[] buf = buffer;
+			final int start = bufferPos, end = bufferEnd;
+			int i = start;
+			while (i < end && buf[i] != a && buf[i] != b) {
+				i++;
+			}
+			bufferPos = i;
+			if (i < end) {
+				// Found a stop char: returns the chars before it, without copying them if possible
+				return (copy == null) ? new Charray(buf, start, i) : copy.append(buf, start, i);
+			}
+			// Reached the end of the buffer: keeps the chars and reads more
+			if (copy == null) {
+				copy = new Charray(Math.max(Charray.DEFAULT_CAPACITY, 2 * (i - start)));
+			}
+			copy.append(buf, start, i);
+			if (refill() <= 0) {
+				return copy;
+			}
 		}
 	}
 
 	@Override
-	public int read() {
+	public Charray scanUntilAny(Charray stops) {
 		if (!deque.isEmpty()) {
-			char next = deque.removeFirst();
-			updatePosition(next);
-			return next;
+			return CharacterInput.super.scanUntilAny(stops);
+		}
+		Charray copy = null;
+		while (true) {
+			final char[] buf = buffer;
+			final int start = bufferPos, end = bufferEnd;
+			int i = start;
+			while (i < end && !stops.contains(buf[i])) {
+				i++;
+			}
+			bufferPos = i;
+			if (i < end) {
+				return (copy == null) ? new Charray(buf, start, i) : copy.append(buf, start, i);
+			}
+			if (copy == null) {
+				copy = new Charray(Math.max(Charray.DEFAULT_CAPACITY, 2 * (i - start)));
+			}
+			copy.append(buf, start, i);
+			if (refill() <= 0) {
+				return copy;
+			}
 		}
-		return directRead();
 	}
 
 	@Override
@@ -106,16 +295,7 @@ public abstract class AbstractInput implements CharacterInput {
 
 	@Override
 	public void skipPeeks() {
-		// Read the deque from the head and take each peeked char into account
-		final char[] data = deque.data;
-		final int mask = deque.mask;
-		final int head = deque.head;
-		final int end = head + deque.size();
-		for (int i = head; i < end; i++) {
-			updatePosition(data[i & mask]);
-		}
-		// Mark the deque as empty
-		deque.tail = head;
+		deque.tail = deque.head;// marks the deque as empty
 	}
 
 	@Override
@@ -126,6 +306,5 @@ public abstract class AbstractInput implements CharacterInput {
 	@Override
 	public void pushBack(char c) {
 		deque.addFirst(c);
-		rollbackPosition(c);
 	}
 }
@@ -1,17 +1,11 @@
 package com.electronwill.nightconfig.core.impl;
 
-import com.electronwill.nightconfig.core.io.ParsingException;
-
 /**
  * An implementation of {@link CharacterInput} based on an array of characters.
  *
  * @author TheElectronWill
  */
 public final class ArrayInput extends AbstractInput {
-	private final char[] chars;
-	private final int limit;
-	private int cursor;
-
 	/**
 	 * Creates a new ArrayInput based on the underlying array of the specified CharsWrapper. Any
 	 * modification to the wrapper is reflected in the input.
@@ -41,47 +35,32 @@ public final class ArrayInput extends AbstractInput {
 	 * @param end   the index to stop at (exclusive index)
 	 */
 	public ArrayInput(char[] chars, int start, int end) {
-		this.chars = chars;
-		this.cursor = start;
-		this.limit = end;
+		super(true);
+		this.buffer = chars;// the array is the buffer, there's nothing more to read
+		this.bufferStart = start;
+		this.bufferPos = start;
+		this.bufferEnd = end;
 	}
 
-	@Override
-	protected int directRead() {
-		if (cursor >= limit) {
-			return -1;
-		}
-		return chars[cursor++];
+	/**
+	 * @return the underlying array
+	 */
+	public char[] array() {
+		return buffer;
 	}
 
-	@Override
-	public Charray readAtMost(int n) {
-		final int dequeSize = deque.size();
-		final int available = limit - cursor + dequeSize;
-		final int toRead = Math.min(available, n);
-		return readCharray(toRead, dequeSize);
+	/**
+	 * Returns the position of the next char to read in the array. The chars before it have
+	 * been read, and aren't part of the peek deque.
+	 *
+	 * @return the index of the next char to read
+	 */
+	public int position() {
+		return bufferPos - deque.size();
 	}
 
 	@Override
-	public Charray readExactly(final int n) {
-		final int dequeSize = deque.size();
-		if (limit - cursor + dequeSize < n) {
-			throw ParsingException.notEnoughData();
-		}
-		return readCharray(n, dequeSize);
-	}
-
-	private Charray readCharray(int n, int dequeSize) {
-		char[] dst = new char[n];
-		if (dequeSize == 0) {
-			System.arraycopy(chars, cursor, dst, 0, n);
-		} else if (dequeSize <= n) {
-			deque.consumeAllNonEmptyQueue(dst);
-			System.arraycopy(chars, cursor, dst, dequeSize, n - dequeSize);
-		} else { // dequeSize > n
-			deque.consumeQueue(dst, 0, n);
-		}
-		cursor += n;
-		return new Charray(dst);
+	protected int fillBuffer() {
+		return 0;
 	}
 }
@@ -0,0 +1,335 @@
+package com.electronwill.nightconfig.core.impl;
+
+import com.electronwill.nightconfig.core.io.ParsingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An implementation of {@link CharacterInput} that decodes bytes by itself, without any Reader
+ * or CharsetDecoder. It supports UTF-8, US-ASCII and ISO-8859-1 (Latin-1), which are the
+ * encodings of almost all the configuration files. The bytes may come from an array, from a
+ * {@link ByteBuffer}, from an {@link InputStream} or from a file mapped in memory.
+ * <p>
+ * The characters are decoded in batches into a small window, which avoids the synchronized
+ * per-character calls of {@code InputStreamReader}, and has a fast path for ASCII text. Like
+ * InputStreamReader, the malformed sequences are replaced by U+FFFD.
+ *
+ * @author TheElectronWill
+ */
+public final class ByteInput extends AbstractInput {
+	private static final int WINDOW_SIZE = 4096, CHUNK_SIZE = 8192;
+	private static final int MAPPING_SIZE = 1 << 26;// 64 MiB
+	private static final char REPLACEMENT = '\uFFFD';
+
+	private final boolean utf8, ascii;
+	private final InputStream stream;// null if there is no stream
+	private ByteBuffer byteBuffer;// null if there is no buffer to copy the bytes from
+
+	/** The mapped file, null if there is none */
+	private final FileChannel channel;
+	private final int mappingSize;
+	private long mappedEnd, fileSize;
+
+	/** The bytes to decode, at indexes [bytePos, byteEnd) */
+	private byte[] bytes;
+	private int bytePos, byteEnd;
+	/** true if no more bytes can be obtained from the stream or the buffer */
+	private boolean endOfBytes;
+
+	/**
+	 * Creates a new ByteInput that decodes the given array.
+	 *
+	 * @param bytes the bytes to decode
+	 * @param cs    the charset, see {@link #supports(Charset)}
+	 */
+	public ByteInput(byte[] bytes, Charset cs) {
+		this(bytes, 0, bytes.length, cs);
+	}
+
+	/**
+	 * Creates a new ByteInput that decodes a part of the given array.
+	 *
+	 * @param bytes the bytes to decode
+	 * @param start the index to start at (inclusive index)
+	 * @param end   the index to stop at (exclusive index)
+	 * @param cs    the charset, see {@link #supports(Charset)}
+	 */
+	public ByteInput(byte[] bytes, int start, int end, Charset cs) {
+		this(cs, null, null);
+		this.bytes = bytes;
+		this.bytePos = start;
+		this.byteEnd = end;
+		this.endOfBytes = true;
+	}
+
+	/**
+	 * Creates a new ByteInput that decodes the remaining bytes of the given buffer. The
+	 * buffer's position is moved as the bytes are decoded. If the buffer is backed by an
+	 * array, the bytes are decoded directly from it.
+	 *
+	 * @param buffer the buffer to decode
+	 * @param cs     the charset, see {@link #supports(Charset)}
+	 */
+	public ByteInput(ByteBuffer buffer, Charset cs) {
+		this(cs, null, buffer.hasArray() ? null : buffer);
+		if (buffer.hasArray()) {
+			this.bytes = buffer.array();
+			this.bytePos = buffer.arrayOffset() + buffer.position();
+			this.byteEnd = buffer.arrayOffset() + buffer.limit();
+			this.endOfBytes = true;
+			buffer.position(buffer.limit());
+		} else {
+			this.bytes = new byte[CHUNK_SIZE];
+		}
+	}
+
+	/**
+	 * Creates a new ByteInput that decodes the bytes of the given stream. The stream isn't
+	 * closed by the ByteInput.
+	 *
+	 * @param stream the stream to decode
+	 * @param cs     the charset, see {@link #supports(Charset)}
+	 */
+	public ByteInput(InputStream stream, Charset cs) {
+		this(cs, stream, null);
+		this.bytes = new byte[CHUNK_SIZE];
+	}
+
+	/**
+	 * Creates a new ByteInput that decodes a file by mapping it in memory, with
+	 * {@link FileChannel#map(MapMode, long, long)}. The bytes are read from the mapped memory,
+	 * without going through a stream. The big files are mapped in several parts of 64 MiB, one
+	 * after the other, as the reading progresses.
+	 * <p>
+	 * The channel must stay open until the end of the reading. It isn't closed by the
+	 * ByteInput.
+	 *
+	 * @param channel the channel of the file to decode, from its beginning
+	 * @param cs      the charset, see {@link #supports(Charset)}
+	 */
+	public ByteInput(FileChannel channel, Charset cs) {
+		this(channel, cs, MAPPING_SIZE);
+	}
+
+	ByteInput(FileChannel channel, Charset cs, int mappingSize) {
+		this(cs, null, ByteBuffer.allocate(0), channel, mappingSize);
+		this.bytes = new byte[CHUNK_SIZE];
+		try {
+			this.fileSize = channel.size();
+		} catch (IOException e) {
+			throw ParsingException.readFailed(e);
+		}
+		this.endOfBytes = (fileSize == 0);
+	}
+
+	private ByteInput(Charset cs, InputStream stream, ByteBuffer byteBuffer) {
+		this(cs, stream, byteBuffer, null, 0);
+	}
+
+	private ByteInput(Charset cs, InputStream stream, ByteBuffer byteBuffer, FileChannel channel,
+					  int mappingSize) {
+		if (!supports(cs)) {
+			throw new IllegalArgumentException("Unsupported charset " + cs);
+		}
+		this.utf8 = cs.equals(StandardCharsets.UTF_8);
+		this.ascii = cs.equals(StandardCharsets.US_ASCII);
+		this.stream = stream;
+		this.byteBuffer = byteBuffer;
+		this.channel = channel;
+		this.buffer = new char[WINDOW_SIZE];
+		this.mappingSize = mappingSize;
+	}
+
+	/**
+	 * Checks if a charset is supported by ByteInput.
+	 *
+	 * @param cs the charset, may be null
+	 * @return true if it's UTF-8, US-ASCII or ISO-8859-1
+	 */
+	public static boolean supports(Charset cs) {
+		return StandardCharsets.UTF_8.equals(cs)
+			   || StandardCharsets.US_ASCII.equals(cs)
+			   || StandardCharsets.ISO_8859_1.equals(cs);
+	}
+
+	// --- DECODING ---
+
+	@Override
+	protected int fillBuffer() {
+		final int decoded = utf8 ? decodeUtf8() : decodeSingleByte();
+		bufferPos = 0;
+		bufferEnd = decoded;
+		return decoded;
+	}
+
+	/** Decodes ISO-8859-1 or US-ASCII bytes: each byte gives one char. */
+	private int decodeSingleByte() {
+		if (bytePos == byteEnd && !readMoreBytes()) {
+			return 0;
+		}
+		final byte[] b = bytes;
+		final char[] w = buffer;
+		final int count = Math.min(w.length, byteEnd - bytePos);
+		final int start = bytePos;
+		for (int i = 0; i < count; i++) {
+			int c = b[start + i] & 0xFF;
+			w[i] = (ascii && c > 127) ? REPLACEMENT : (char)c;
+		}
+		bytePos += count;
+		return count;
+	}
+
+	/** Decodes UTF-8 bytes, with a fast path for the ASCII characters. */
+	private int decodeUtf8() {
+		final char[] w = buffer;
+		final int max = w.length - 1;// keeps some room for a surrogate pair
+		int out = 0;
+		while (out < max) {
+			// Ensures that a complete sequence is available, unless the data ends here
+			if (byteEnd - bytePos < 4 && !endOfBytes) {
+				readMoreBytes();
+			}
+			if (bytePos == byteEnd) {
+				break;
+			}
+			final byte[] b = bytes;
+			int p = bytePos;
+			// ASCII fast path: most characters of a config file are ASCII
+			final int asciiEnd = Math.min(byteEnd, p + (max - out));
+			while (p < asciiEnd && b[p] >= 0) {
+				w[out++] = (char)b[p++];
+			}
+			bytePos = p;
+			if (p < asciiEnd) {
+				if (byteEnd - p < 4 && !endOfBytes) {
+					continue;// the sequence may be incomplete: reads more bytes first
+				}
+				out += decodeUtf8Sequence(w, out);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Decodes the multi-bytes UTF-8 sequence at bytePos into one char or a surrogate pair, and
+	 * moves bytePos after it. Like the JDK's decoder, a malformed sequence is replaced by a
+	 * single replacement char, and decoding resumes at the first byte that isn't a valid part of
+	 * the sequence.
+	 *
+	 * @return the number of chars written to the buffer
+	 */
+	private int decodeUtf8Sequence(char[] w, int out) {
+		final byte[] b = bytes;
+		final int p = bytePos;
+		final int b0 = b[p] & 0xFF;
+		final int length, min, max;// expected length and valid range of the second byte
+		if (b0 >= 0xC2 && b0 <= 0xDF) {
+			length = 2;
+			min = 0x80;
+			max = 0xBF;
+		} else if (b0 >= 0xE0 && b0 <= 0xEF) {
+			length = 3;
+			min = (b0 == 0xE0) ? 0xA0 : 0x80;// rejects the overlong forms
+			max = 0xBF;
+		} else if (b0 >= 0xF0 && b0 <= 0xF4) {
+			length = 4;
+			min = (b0 == 0xF0) ? 0x90 : 0x80;
+			max = (b0 == 0xF4) ? 0x8F : 0xBF;// rejects the code points above U+10FFFF
+		} else {
+			return replace(w, out, 1);
+		}
+		// Counts the bytes that form a valid beginning of sequence
+		final int available = byteEnd - p;
+		int valid = 1;
+		if (available > 1 && (b[p + 1] & 0xFF) >= min && (b[p + 1] & 0xFF) <= max) {
+			valid = 2;
+			while (valid < length && valid < available && isContinuation(b[p + valid])) {
+				valid++;
+			}
+		}
+		if (valid < length) {
+			return replace(w, out, valid);
+		}
+		bytePos = p + length;
+		switch (length) {
+			case 2:
+				w[out] = (char)(((b0 & 0x1F) << 6) | (b[p + 1] & 0x3F));
+				return 1;
+			case 3:
+				char c = (char)(((b0 & 0x0F) << 12) | ((b[p + 1] & 0x3F) << 6) | (b[p + 2] & 0x3F));
+				w[out] = Character.isSurrogate(c) ? REPLACEMENT : c;
+				return 1;
+			default:
+				int cp = ((b0 & 0x07) << 18) | ((b[p + 1] & 0x3F) << 12)
+						 | ((b[p + 2] & 0x3F) << 6) | (b[p + 3] & 0x3F);
+				w[out] = Character.highSurrogate(cp);
+				w[out + 1] = Character.lowSurrogate(cp);
+				return 2;
+		}
+	}
+
+	private int replace(char[] w, int out, int malformedLength) {
+		w[out] = REPLACEMENT;
+		bytePos += malformedLength;
+		return 1;
+	}
+
+	private static boolean isContinuation(byte b) {
+		return (b & 0xC0) == 0x80;
+	}
+
+	/**
+	 * Moves the remaining bytes to the beginning of the array and reads more bytes after them.
+	 *
+	 * @return true if some bytes are available
+	 */
+	private boolean readMoreBytes() {
+		if (endOfBytes) {
+			return bytePos < byteEnd;
+		}
+		final int remaining = byteEnd - bytePos;
+		System.arraycopy(bytes, bytePos, bytes, 0, remaining);
+		bytePos = 0;
+		byteEnd = remaining;
+		final int space = bytes.length - remaining;
+		if (stream != null) {
+			try {
+				int read = stream.read(bytes, remaining, space);
+				if (read == -1) {
+					endOfBytes = true;
+				} else {
+					byteEnd += read;
+				}
+			} catch (IOException e) {
+				throw ParsingException.readFailed(e);
+			}
+		} else {
+			if (!byteBuffer.hasRemaining() && channel != null) {
+				mapNextPart();
+			}
+			// Copies a small chunk, that stays in the CPU cache while it's decoded
+			final int count = Math.min(space, byteBuffer.remaining());
+			byteBuffer.get(bytes, remaining, count);
+			byteEnd += count;
+			endOfBytes = !byteBuffer.hasRemaining() && (channel == null || mappedEnd == fileSize);
+		}
+		return bytePos < byteEnd;
+	}
+
+	/** Maps the next part of the file. */
+	private void mapNextPart() {
+		final long size = Math.min(mappingSize, fileSize - mappedEnd);
+		try {
+			byteBuffer = channel.map(MapMode.READ_ONLY, mappedEnd, size);
+		} catch (IOException e) {
+			throw ParsingException.readFailed(e);
+		}
+		mappedEnd += size;
+	}
+}
@@ -12,7 +12,7 @@ public interface CharacterInput {
 	 * Gets the number of the line of the last character read. Peeks don't count.
 	 * The numbers start at one.
 	 *
-	 * @return the current line.
+	 * @return the current line, or -1 if it isn't known
 	 */
 	int line();
 
@@ -20,10 +20,19 @@ public interface CharacterInput {
 	 * Gets the number of the column of the last character read. Peeks don't count.
 	 * The numbers start at one.
 	 *
-	 * @return the current column.
+	 * @return the current column, or -1 if it isn't known
 	 */
 	int column();
 
+	/**
+	 * Gets the number of characters that have been read. Peeks don't count.
+	 *
+	 * @return the offset of the next character to read, or -1 if it isn't known
+	 */
+	default long offset() {
+		return -1;
+	}
+
 	/**
 	 * Reads the next character.
 	 *
@@ -165,6 +174,67 @@ public interface CharacterInput {
 		}
 	}
 
+	/**
+	 * Reads the characters until one of the two given chars, which isn't consumed: it's returned
+	 * by the next read operation. If the end of the data is reached, returns all the remaining
+	 * characters.
+	 * <p>
+	 * This is the fast way to read a token that ends with a delimiter: the inputs that use a
+	 * buffer search the delimiters directly in it, and return a slice of the buffer when
+	 * possible. <b>Thus, the returned Charray is only valid until the next operation on this
+	 * input, and must not be modified.</b> The only exception is the reading of the stop char,
+	 * which never invalidates the slice. Copy it (with {@code toString()} for instance) to keep
+	 * its content.
+	 *
+	 * @param a a char to stop at, for instance the end of a string
+	 * @param b another char to stop at, for instance the beginning of an escape sequence
+	 * @return the characters before the first stop char, not null
+	 */
+	default Charray scanUntil(char a, char b) {
+		Charray dst = new Charray();
+		int c;
+		while ((c = read()) != -1) {
+			if (c == a || c == b) {
+				pushBack((char)c);
+				break;
+			}
+			dst.append((char)c);
+		}
+		return dst;
+	}
+
+	/**
+	 * Reads the characters until the given char, which isn't consumed. This is equivalent to
+	 * {@code scanUntil(c, c)}, see {@link #scanUntil(char, char)}.
+	 *
+	 * @param c the char to stop at
+	 * @return the characters before the stop char, not null
+	 */
+	default Charray scanUntil(char c) {
+		return scanUntil(c, c);
+	}
+
+	/**
+	 * Reads the characters until one of the given chars, which isn't consumed. Like
+	 * {@link #scanUntil(char, char)}, this may return a slice of the input's buffer, which is
+	 * only valid until the next operation on this input.
+	 *
+	 * @param stops the chars to stop at
+	 * @return the characters before the first stop char, not null
+	 */
+	default Charray scanUntilAny(Charray stops) {
+		Charray dst = new Charray();
+		int c;
+		while ((c = read()) != -1) {
+			if (stops.contains((char)c)) {
+				pushBack((char)c);
+				break;
+			}
+			dst.append((char)c);
+		}
+		return dst;
+	}
+
 	/**
 	 * Returns the next character, without moving the reading position forward. After a call to
 	 * {@code peek()}, the method {@link #read()} will return the exact same character.
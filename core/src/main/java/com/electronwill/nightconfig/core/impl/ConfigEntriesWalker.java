@@ -0,0 +1,50 @@
+package com.electronwill.nightconfig.core.impl;
+
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Walks through the entries of a config. The sub-configs are broken down.
+ *
+ * @author TheElectronWill
+ */
+public final class ConfigEntriesWalker implements EntriesWalker {
+	private final Iterator<Map.Entry<String, Object>> iterator;
+	private Object value;
+
+	public ConfigEntriesWalker(UnmodifiableConfig config) {
+		this.iterator = config.valueMap().entrySet().iterator();
+	}
+
+	@Override
+	public String nextKey() {
+		Map.Entry<String, Object> entry = iterator.next();
+		value = entry.getValue();
+		return entry.getKey();
+	}
+
+	@Override
+	public Object nextValue() {
+		return value;
+	}
+
+	@Override
+	public Class<?> nextClass() {
+		return (value == null) ? null : value.getClass();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return iterator.hasNext();
+	}
+
+	@Override
+	public EntriesWalker breakdown() {
+		if (value instanceof UnmodifiableConfig) {
+			return new ConfigEntriesWalker((UnmodifiableConfig)value);
+		}
+		return null;
+	}
+}
@@ -1,9 +1,106 @@
 package com.electronwill.nightconfig.core.impl;
 
+import com.electronwill.nightconfig.core.Config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Walks through the entries of something that can be written as a config: a config, a Java
+ * object, etc. This allows the {@link com.electronwill.nightconfig.core.io.ConfigWriter}s to
+ * write the entries directly, without building a config first.
+ * <p>
+ * The entries are read like this:
+ * <pre>
+ * while (walker.hasNext()) {
+ *     String key = walker.nextKey();
+ *     EntriesWalker sub = walker.breakdown();
+ *     if (sub != null) {
+ *         // the value is an object: writes its entries with sub
+ *     } else {
+ *         Object value = walker.nextValue();// simple value or list
+ *     }
+ * }
+ * </pre>
+ * The lists returned by {@link #nextValue()} may contain EntriesWalkers, which represent
+ * objects.
+ *
+ * @author TheElectronWill
+ */
 public interface EntriesWalker {
+	/**
+	 * Moves to the next entry and returns its key.
+	 *
+	 * @return the key of the next entry
+	 */
 	String nextKey();
+
+	/**
+	 * @return the value of the current entry, that is, the entry of the last key returned by
+	 * {@link #nextKey()}
+	 */
 	Object nextValue();
+
+	/**
+	 * @return the class of the value of the current entry, or null if the value is null
+	 */
 	Class<?> nextClass();
+
+	/**
+	 * @return true if there is an other entry
+	 */
 	boolean hasNext();
+
+	/**
+	 * Breaks down the value of the current entry, if it's an object. The returned walker is
+	 * independent of this one: it can be used after this walker has moved to other entries.
+	 *
+	 * @return a walker of the entries of the current value, or null if the value isn't an object
+	 */
 	EntriesWalker breakdown();
+
+	/**
+	 * Reads the remaining entries and puts them into a config. The objects are converted to
+	 * sub-configs.
+	 *
+	 * @param dst where to put the entries
+	 */
+	default void readInto(Config dst) {
+		while (hasNext()) {
+			final String[] path = {nextKey()};
+			final EntriesWalker sub = breakdown();
+			if (sub != null) {
+				Config subConfig = dst.createSubConfig();
+				sub.readInto(subConfig);
+				dst.set(path, subConfig);
+			} else {
+				dst.set(path, materialize(nextValue(), dst));
+			}
+		}
+	}
+
+	/**
+	 * Converts the EntriesWalkers that a value contains to configs.
+	 *
+	 * @param value  the value
+	 * @param parent the config that contains the value, used to create the sub-configs
+	 * @return the converted value, or the value itself if it doesn't contain any walker
+	 */
+	static Object materialize(Object value, Config parent) {
+		if (value instanceof EntriesWalker) {
+			Config config = parent.createSubConfig();
+			((EntriesWalker)value).readInto(config);
+			return config;
+		}
+		if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>)value;
+			List<Object> list = new ArrayList<>(collection.size());
+			for (Object element : collection) {
+				list.add(materialize(element, parent));
+			}
+			return list;
+		}
+		return value;
+	}
 }
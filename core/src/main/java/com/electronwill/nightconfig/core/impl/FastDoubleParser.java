@@ -0,0 +1,223 @@
+package com.electronwill.nightconfig.core.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Converts decimal numbers to doubles, without creating any String in most cases. The result is
+ * always the double that is the nearest to the decimal number, like with
+ * {@link Double#parseDouble(String)}.
+ * <p>
+ * The conversion tries, in that order:
+ * <ol>
+ * <li>Clinger's fast path, when the significand and the power of ten are exact doubles.</li>
+ * <li>The Eisel-Lemire algorithm, which multiplies the significand by a 128-bit approximation of
+ * the power of ten. It gives the right result for almost all the numbers, and detects the rare
+ * cases where the approximation isn't precise enough.</li>
+ * <li>{@code Double.parseDouble}, for the numbers that the Eisel-Lemire algorithm can't handle
+ * (subnormal numbers, ambiguous roundings, more than 19 significant digits).</li>
+ * </ol>
+ *
+ * @author TheElectronWill
+ * @see <a href="https://arxiv.org/abs/2101.11408">Number Parsing at a Gigabyte per Second</a>
+ */
+final class FastDoubleParser {
+	private FastDoubleParser() {}
+
+	private static final int MIN_EXPONENT = -342, MAX_EXPONENT = 308;
+	private static final int MAX_DIGITS = 19;// 10^19 - 1 < 2^64
+
+	/** The powers of ten that are exactly represented by a double. */
+	private static final double[] EXACT_POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+		1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/**
+	 * 128-bit approximations of the powers of five from 5^-342 to 5^308, normalized so that the
+	 * most significant bit is set. Contains the high 64 bits and the low 64 bits of each power,
+	 * one after the other.
+	 */
+	private static final long[] POWERS_OF_FIVE = computePowersOfFive();
+
+	private static long[] computePowersOfFive() {
+		final long[] powers = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+		final BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+		final BigInteger five = BigInteger.valueOf(5);
+		int i = 0;
+		for (int q = MIN_EXPONENT; q < 0; q++) {
+			// Inverse of 5^-q, rounded up
+			final BigInteger power5 = five.pow(-q);
+			final int z = power5.subtract(BigInteger.ONE).bitLength();// smallest z with 2^z >= 5^-q
+			final int b = (q >= -27) ? z + 127 : 2 * z + 128;
+			BigInteger c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+			while (c.compareTo(two128) >= 0) {
+				c = c.shiftRight(1);
+			}
+			powers[i++] = c.shiftRight(64).longValue();
+			powers[i++] = c.longValue();
+		}
+		for (int q = 0; q <= MAX_EXPONENT; q++) {
+			// 5^q, truncated
+			final BigInteger power5 = five.pow(q);
+			final int shift = 128 - power5.bitLength();
+			final BigInteger c = (shift >= 0) ? power5.shiftLeft(shift) : power5.shiftRight(-shift);
+			powers[i++] = c.shiftRight(64).longValue();
+			powers[i++] = c.longValue();
+		}
+		return powers;
+	}
+
+	/**
+	 * Parses a decimal number like {@code -12.5e-3}. The numbers that don't have this simple form
+	 * are given to {@link Double#parseDouble(String)}.
+	 *
+	 * @throws NumberFormatException if the chars aren't a valid number
+	 */
+	static double parse(char[] chars, int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = (chars[i] == '-');
+			i++;
+		}
+		long significand = 0;
+		int significantDigits = 0, exponent = 0;
+		final int digitsStart = i;
+		for (; i < end && isDigit(chars[i]); i++) {
+			if (significand != 0 || chars[i] != '0') {// ignores the leading zeros
+				significand = 10 * significand + (chars[i] - '0');
+				significantDigits++;
+			}
+		}
+		boolean hasDigits = (i > digitsStart);
+		if (i < end && chars[i] == '.') {
+			i++;
+			final int fractionStart = i;
+			for (; i < end && isDigit(chars[i]); i++) {
+				if (significand != 0 || chars[i] != '0') {
+					significand = 10 * significand + (chars[i] - '0');
+					significantDigits++;
+				}
+				exponent--;
+			}
+			hasDigits |= (i > fractionStart);
+		}
+		if (hasDigits && i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+				negativeExponent = (chars[i] == '-');
+				i++;
+			}
+			final int exponentStart = i;
+			int explicitExponent = 0;
+			for (; i < end && isDigit(chars[i]); i++) {
+				if (explicitExponent < 100_000) {// bigger exponents give 0 or infinity anyway
+					explicitExponent = 10 * explicitExponent + (chars[i] - '0');
+				}
+			}
+			hasDigits = (i > exponentStart);
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if (!hasDigits || i != end || significantDigits > MAX_DIGITS) {
+			// Not a simple decimal number, or too many digits
+			return Double.parseDouble(new String(chars, start, end - start));
+		}
+		return toDouble(significand, exponent, negative);
+	}
+
+	/**
+	 * Computes the double that is the nearest to {@code significand * 10^exponent}.
+	 *
+	 * @param significand the significand, as an unsigned long
+	 * @param exponent    the power of ten
+	 * @param negative    true to return a negative double
+	 */
+	static double toDouble(long significand, int exponent, boolean negative) {
+		final double value = toPositiveDouble(significand, exponent);
+		return negative ? -value : value;
+	}
+
+	private static double toPositiveDouble(long w, int q) {
+		if (w == 0 || q < MIN_EXPONENT) {
+			return 0.0;// w * 10^q < 2^64 * 10^-343 is less than half the smallest double
+		}
+		if (q > MAX_EXPONENT) {
+			return Double.POSITIVE_INFINITY;
+		}
+		// Clinger's fast path: both numbers are exact doubles, so there is only one rounding
+		if (w > 0 && w <= (1L << 53) && q >= -22 && q <= 22) {
+			final double d = (double)w;
+			return (q < 0) ? d / EXACT_POWERS_OF_TEN[-q] : d * EXACT_POWERS_OF_TEN[q];
+		}
+		final double d = eiselLemire(w, q);
+		if (Double.isNaN(d)) {
+			// The exact conversion is needed: the decimal number is exact, so the JDK gives
+			// the nearest double.
+			return Double.parseDouble(Long.toUnsignedString(w) + 'E' + q);
+		}
+		return d;
+	}
+
+	/**
+	 * @return the nearest double, or NaN if the algorithm can't determine it
+	 */
+	private static double eiselLemire(long w, int q) {
+		final int index = 2 * (q - MIN_EXPONENT);
+		final long powerHigh = POWERS_OF_FIVE[index], powerLow = POWERS_OF_FIVE[index + 1];
+
+		// Normalizes the significand and multiplies it by the power's high bits
+		final int lz = Long.numberOfLeadingZeros(w);
+		w <<= lz;
+		long high = unsignedMultiplyHigh(w, powerHigh);
+		long low = w * powerHigh;
+
+		// If the product may not be precise enough, uses the power's low bits too
+		if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + w, w) < 0) {
+			final long high2 = unsignedMultiplyHigh(w, powerLow);
+			final long low2 = w * powerLow;
+			long mergedHigh = high;
+			final long mergedLow = low + high2;
+			if (Long.compareUnsigned(mergedLow, low) < 0) {
+				mergedHigh++;
+			}
+			if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow + 1 == 0
+				&& Long.compareUnsigned(low2 + w, w) < 0) {
+				return Double.NaN;
+			}
+			high = mergedHigh;
+			low = mergedLow;
+		}
+
+		// Keeps 54 bits, to round to 53 bits
+		final long msb = high >>> 63;
+		long mantissa = high >>> (msb + 9);
+		long binaryExponent = ((217706L * q) >> 16) + 64 + 1023 - lz - (1 ^ msb);
+		if (low == 0 && (high & 0x1FF) == 0 && (mantissa & 3) == 1) {
+			return Double.NaN;// exactly halfway between two doubles: can't decide
+		}
+		mantissa += (mantissa & 1);
+		mantissa >>>= 1;
+		if ((mantissa >>> 53) != 0) {
+			mantissa >>>= 1;
+			binaryExponent++;
+		}
+		if (binaryExponent <= 0 || binaryExponent >= 0x7FF) {
+			return Double.NaN;// subnormal or infinite
+		}
+		return Double.longBitsToDouble((binaryExponent << 52) | (mantissa & 0xF_FFFF_FFFF_FFFFL));
+	}
+
+	/** @return the high 64 bits of the unsigned 128-bit product x*y */
+	private static long unsignedMultiplyHigh(long x, long y) {
+		final long x0 = x & 0xFFFF_FFFFL, x1 = x >>> 32;
+		final long y0 = y & 0xFFFF_FFFFL, y1 = y >>> 32;
+		final long p01 = x0 * y1;
+		final long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFF_FFFFL);
+		return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
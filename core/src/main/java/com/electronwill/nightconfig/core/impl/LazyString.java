@@ -0,0 +1,130 @@
+package com.electronwill.nightconfig.core.impl;
+
+/**
+ * A string that hasn't been decoded yet. It refers to the characters of the parsed data, with
+ * their escape sequences, and creates the String the first time it's needed.
+ * <p>
+ * The parsers that support it put LazyStrings in the configs, which replace them by the decoded
+ * Strings when the values are read, see
+ * {@link com.electronwill.nightconfig.core.UnmodifiableConfig.Entry#getRawValue()}. Therefore the
+ * strings that are never read aren't decoded at all. A writer of the same format can copy the
+ * raw characters with {@link #writeRaw(CharacterOutput)}, without decoding them.
+ * <p>
+ * The source array is shared, not copied: it must not be modified, and it's kept in memory as
+ * long as one of its LazyStrings is referenced.
+ *
+ * @author TheElectronWill
+ */
+public final class LazyString implements CharSequence {
+	/**
+	 * Decodes the escape sequences of a string. Each format has its own decoder, which also
+	 * identifies the syntax of the raw characters.
+	 */
+	@FunctionalInterface
+	public interface Decoder {
+		/**
+		 * Decodes the characters of a string, between its delimiters.
+		 *
+		 * @param chars the source array
+		 * @param start the index of the first char (inclusive index)
+		 * @param end   the end of the string (exclusive index)
+		 * @return the decoded string
+		 */
+		String decode(char[] chars, int start, int end);
+	}
+
+	private final char[] source;
+	private final int start, end;
+	private final Decoder decoder;
+	private final boolean escaped;
+	private String decoded;// racy but safe: two threads would create equal Strings
+
+	/**
+	 * Creates a new LazyString.
+	 *
+	 * @param source  the source array, which must not be modified afterwards
+	 * @param start   the index of the first char (inclusive index)
+	 * @param end     the end of the string (exclusive index)
+	 * @param decoder the decoder of the format
+	 * @param escaped true if the string contains escape sequences, false if its chars can be
+	 *                copied as they are
+	 */
+	public LazyString(char[] source, int start, int end, Decoder decoder, boolean escaped) {
+		this.source = source;
+		this.start = start;
+		this.end = end;
+		this.decoder = decoder;
+		this.escaped = escaped;
+	}
+
+	/**
+	 * @return the decoder of the format that produced this string
+	 */
+	public Decoder decoder() {
+		return decoder;
+	}
+
+	/**
+	 * @return true if the raw characters contain escape sequences
+	 */
+	public boolean isEscaped() {
+		return escaped;
+	}
+
+	/**
+	 * @return true if the String has already been created
+	 */
+	public boolean isDecoded() {
+		return decoded != null;
+	}
+
+	/**
+	 * Writes the raw characters, that is, the string as it's written in the parsed data, with
+	 * its escape sequences but without its delimiters.
+	 *
+	 * @param output where to write the characters
+	 */
+	public void writeRaw(CharacterOutput output) {
+		output.write(source, start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		String s = decoded;
+		if (s == null) {
+			if (escaped) {
+				s = decoder.decode(source, start, end);
+			} else {
+				s = new String(source, start, end - start);
+			}
+			decoded = s;
+		}
+		return s;
+	}
+
+	@Override
+	public int length() {
+		return escaped ? toString().length() : end - start;
+	}
+
+	@Override
+	public char charAt(int index) {
+		return toString().charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return toString().subSequence(start, end);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this
+			   || (obj instanceof LazyString && toString().equals(obj.toString()));
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+}
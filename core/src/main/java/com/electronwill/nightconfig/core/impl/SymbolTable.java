@@ -0,0 +1,197 @@
+package com.electronwill.nightconfig.core.impl;
+
+/**
+ * A table of canonical Strings, used by the parsers to deduplicate the keys. When a document
+ * contains the same key many times, for instance in a big array of tables, all the occurrences
+ * share the same String instance. This saves a lot of memory in the resulting configs.
+ * <p>
+ * The symbols are looked up directly from their characters, without creating a temporary
+ * String: the tokenizers give the slice of the input's buffer that contains the key. Only the
+ * first occurrence of a key creates a String.
+ * <p>
+ * A SymbolTable isn't thread-safe. To share the symbols between several parsings, possibly
+ * concurrent, create a root table and call {@link #child()} at the beginning of each parsing.
+ * The child starts with the symbols of its parent, without copying them, and gives its new
+ * symbols back to its parent when {@link #release()} is called. The number of symbols is
+ * bounded: when the table is full, the new keys are still returned, but aren't stored.
+ *
+ * @author TheElectronWill
+ */
+public final class SymbolTable {
+	private static final int DEFAULT_MAX_SIZE = 4096, INITIAL_CAPACITY = 64;
+
+	/** The table that created this one with child(), null if this is a root table */
+	private final SymbolTable parent;
+	private final int maxSize;
+
+	/** The symbols, stored with open addressing and linear probing. The length is a power of 2. */
+	private String[] symbols;
+	private int size;
+	/** true if the array is also used by another table, and must be copied before modification */
+	private boolean sharedArray;
+
+	/**
+	 * Creates a new root SymbolTable that can contain up to 4096 symbols.
+	 */
+	public SymbolTable() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a new root SymbolTable.
+	 *
+	 * @param maxSize the maximum number of symbols to store
+	 */
+	public SymbolTable(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Invalid maximum size " + maxSize);
+		}
+		this.parent = null;
+		this.maxSize = maxSize;
+		this.symbols = new String[INITIAL_CAPACITY];
+	}
+
+	private SymbolTable(SymbolTable parent, String[] symbols, int size) {
+		this.parent = parent;
+		this.maxSize = parent.maxSize;
+		this.symbols = symbols;
+		this.size = size;
+		this.sharedArray = true;
+	}
+
+	/**
+	 * Creates a table that starts with the current symbols of this table. It should be used by
+	 * one parsing only, and then be released with {@link #release()}.
+	 *
+	 * @return a new child table
+	 */
+	public SymbolTable child() {
+		synchronized (this) {
+			sharedArray = true;
+			return new SymbolTable(this, symbols, size);
+		}
+	}
+
+	/**
+	 * Gives the symbols of this table back to its parent, so that they can be used by the next
+	 * children. Does nothing if this table isn't a child. This table must not be used after
+	 * being released.
+	 */
+	public void release() {
+		if (parent != null && !sharedArray) {
+			parent.merge(this);
+		}
+	}
+
+	private void merge(SymbolTable child) {
+		synchronized (this) {
+			// The array of the child contains the symbols that it got from this table, and
+			// probably more: keeps it if it's bigger than the current one.
+			if (child.size > size) {
+				symbols = child.symbols;
+				size = child.size;
+				sharedArray = false;
+			}
+		}
+	}
+
+	/**
+	 * @return the number of symbols in the table
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the canonical String that contains the given characters.
+	 *
+	 * @param chars the characters
+	 * @return a String equal to the characters, always the same one if the table isn't full
+	 */
+	public String get(Charray chars) {
+		return get(chars.chars, chars.offset, chars.limit);
+	}
+
+	/**
+	 * Gets the canonical String that contains the characters of a part of an array.
+	 *
+	 * @param chars the array
+	 * @param start the index of the first char, inclusive
+	 * @param end   the index of the last char, exclusive
+	 * @return a String equal to the characters, always the same one if the table isn't full
+	 */
+	public String get(char[] chars, int start, int end) {
+		// Uses the same hash as String, which caches it: the comparisons are quick
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		final String[] table = symbols;
+		final int mask = table.length - 1;
+		int index = spread(hash) & mask;
+		String symbol;
+		while ((symbol = table[index]) != null) {
+			if (symbol.hashCode() == hash && contentEquals(symbol, chars, start, end)) {
+				return symbol;
+			}
+			index = (index + 1) & mask;
+		}
+		symbol = new String(chars, start, end - start);
+		if (size < maxSize) {
+			add(symbol, hash, index);
+		}
+		return symbol;
+	}
+
+	private void add(String symbol, int hash, int freeIndex) {
+		final int length = symbols.length;
+		if (4 * (size + 1) > 3 * length) {
+			// Keeps the load factor below 0.75
+			symbols = rehash(symbols, 2 * length);
+			sharedArray = false;
+			insert(symbols, symbol, hash);
+		} else {
+			if (sharedArray) {
+				symbols = symbols.clone();
+				sharedArray = false;
+			}
+			symbols[freeIndex] = symbol;
+		}
+		size++;
+	}
+
+	private static String[] rehash(String[] table, int newLength) {
+		final String[] newTable = new String[newLength];
+		for (String symbol : table) {
+			if (symbol != null) {
+				insert(newTable, symbol, symbol.hashCode());
+			}
+		}
+		return newTable;
+	}
+
+	private static void insert(String[] table, String symbol, int hash) {
+		final int mask = table.length - 1;
+		int index = spread(hash) & mask;
+		while (table[index] != null) {
+			index = (index + 1) & mask;
+		}
+		table[index] = symbol;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean contentEquals(String str, char[] chars, int start, int end) {
+		if (str.length() != end - start) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			if (str.charAt(i - start) != chars[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
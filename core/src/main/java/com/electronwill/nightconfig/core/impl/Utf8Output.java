@@ -0,0 +1,233 @@
+package com.electronwill.nightconfig.core.impl;
+
+import com.electronwill.nightconfig.core.io.WritingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes the characters in UTF-8, directly into a byte array. There is no intermediate array
+ * of chars, and no {@link java.nio.charset.CharsetEncoder}.
+ * <p>
+ * Without an OutputStream, the array grows as needed and contains the whole data. It can be
+ * reused with {@link #reset()}, which keeps the array unless it's much bigger than the previous
+ * data. With an OutputStream, the array is a fixed-size buffer, sent to the stream when it's
+ * full and by {@link #flush()}.
+ * <p>
+ * Like the JDK's encoder, the invalid surrogate characters are replaced by '?'.
+ *
+ * @author TheElectronWill
+ */
+public final class Utf8Output implements CharacterOutput {
+	private final OutputStream sink;
+	private final int initialCapacity;
+	private byte[] bytes;
+	private int size;
+	/** The high surrogate waiting for the next char, or 0 */
+	private char highSurrogate;
+
+	/**
+	 * Creates a new Utf8Output that stores the bytes in an array of 512 bytes, which grows as
+	 * needed.
+	 */
+	public Utf8Output() {
+		this(512);
+	}
+
+	/**
+	 * Creates a new Utf8Output that stores the bytes in an array, which grows as needed.
+	 *
+	 * @param initialCapacity the initial size of the array, at least 4
+	 */
+	public Utf8Output(int initialCapacity) {
+		this(null, initialCapacity);
+	}
+
+	/**
+	 * Creates a new Utf8Output that writes the bytes to an OutputStream, with a buffer of the
+	 * given size. Don't forget to call {@link #flush()} at the end.
+	 *
+	 * @param sink       the stream to write to
+	 * @param bufferSize the size of the buffer, at least 4
+	 */
+	public Utf8Output(OutputStream sink, int bufferSize) {
+		if (bufferSize < 4) {
+			throw new IllegalArgumentException("Buffer too small: " + bufferSize);
+		}
+		this.sink = sink;
+		this.initialCapacity = bufferSize;
+		this.bytes = new byte[bufferSize];
+	}
+
+	@Override
+	public void write(char c) {
+		if (c < 0x80 && highSurrogate == 0) {
+			if (size == bytes.length) {
+				makeRoom(1);
+			}
+			bytes[size++] = (byte)c;
+		} else {
+			encode(c);
+		}
+	}
+
+	@Override
+	public void write(char[] chars, int offset, int length) {
+		final int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			final char c = chars[i];
+			if (c < 0x80 && highSurrogate == 0) {
+				if (size == bytes.length) {
+					makeRoom(end - i);
+				}
+				bytes[size++] = (byte)c;
+			} else {
+				encode(c);
+			}
+		}
+	}
+
+	@Override
+	public void write(String s, int offset, int length) {
+		final int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			final char c = s.charAt(i);
+			if (c < 0x80 && highSurrogate == 0) {
+				if (size == bytes.length) {
+					makeRoom(end - i);
+				}
+				bytes[size++] = (byte)c;
+			} else {
+				encode(c);
+			}
+		}
+	}
+
+	private void encode(char c) {
+		if (size + 4 > bytes.length) {
+			makeRoom(4);
+		}
+		if (highSurrogate != 0) {
+			final char high = highSurrogate;
+			highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				final int codePoint = Character.toCodePoint(high, c);
+				bytes[size++] = (byte)(0xF0 | (codePoint >> 18));
+				bytes[size++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+				bytes[size++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+				bytes[size++] = (byte)(0x80 | (codePoint & 0x3F));
+				return;
+			}
+			bytes[size++] = '?';// unpaired high surrogate, there is still room for 3 bytes
+		}
+		if (c < 0x80) {
+			bytes[size++] = (byte)c;
+		} else if (c < 0x800) {
+			bytes[size++] = (byte)(0xC0 | (c >> 6));
+			bytes[size++] = (byte)(0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;// waits for the low surrogate
+		} else if (Character.isLowSurrogate(c)) {
+			bytes[size++] = '?';// unpaired low surrogate
+		} else {
+			bytes[size++] = (byte)(0xE0 | (c >> 12));
+			bytes[size++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			bytes[size++] = (byte)(0x80 | (c & 0x3F));
+		}
+	}
+
+	/**
+	 * Makes room for at least {@code needed} bytes, or 4 bytes with an OutputStream.
+	 */
+	private void makeRoom(int needed) {
+		if (sink != null) {
+			writeBuffer();
+		} else {
+			int newCapacity = Math.max(bytes.length * 2, size + needed);
+			byte[] newBytes = new byte[newCapacity];
+			System.arraycopy(bytes, 0, newBytes, 0, size);
+			bytes = newBytes;
+		}
+	}
+
+	private void writeBuffer() {
+		try {
+			sink.write(bytes, 0, size);
+			size = 0;
+		} catch (IOException e) {
+			throw new WritingException(e);
+		}
+	}
+
+	/** Writes the '?' that replaces a high surrogate at the end of the data. */
+	private void finish() {
+		if (highSurrogate != 0) {
+			highSurrogate = 0;
+			if (size == bytes.length) {
+				makeRoom(1);
+			}
+			bytes[size++] = '?';
+		}
+	}
+
+	/**
+	 * Writes the remaining bytes to the OutputStream, and flushes it.
+	 *
+	 * @throws IllegalStateException if this Utf8Output doesn't have an OutputStream
+	 */
+	public void flush() {
+		if (sink == null) {
+			throw new IllegalStateException("No OutputStream to flush");
+		}
+		finish();
+		writeBuffer();
+		try {
+			sink.flush();
+		} catch (IOException e) {
+			throw new WritingException(e);
+		}
+	}
+
+	/**
+	 * @return the number of bytes written since the creation or the last reset
+	 */
+	public int size() {
+		finish();
+		return size;
+	}
+
+	/**
+	 * Returns the internal array, which contains the bytes from 0 to {@link #size()}. It's
+	 * reused after {@link #reset()}.
+	 *
+	 * @return the internal array of bytes
+	 */
+	public byte[] bytes() {
+		finish();
+		return bytes;
+	}
+
+	/**
+	 * Returns a ByteBuffer that wraps the internal array, from 0 to {@link #size()}. It's
+	 * reused after {@link #reset()}.
+	 *
+	 * @return a ByteBuffer that wraps the written bytes
+	 */
+	public ByteBuffer toByteBuffer() {
+		finish();
+		return ByteBuffer.wrap(bytes, 0, size);
+	}
+
+	/**
+	 * Clears the data, to reuse the array. If the array is much bigger than the previous data,
+	 * it's replaced by a smaller one, so that one big document doesn't keep a big array forever.
+	 */
+	public void reset() {
+		if (sink == null && bytes.length > 4 * Math.max(size, initialCapacity)) {
+			bytes = new byte[Math.max(size + size / 4, initialCapacity)];
+		}
+		size = 0;
+		highSurrogate = 0;
+	}
+}
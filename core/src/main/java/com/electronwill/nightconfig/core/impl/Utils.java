@@ -93,12 +93,44 @@ public final class Utils {
 	}
 
 	/**
-	 * Parses a CharsWrapper that represents a double value.
+	 * Parses a CharsWrapper that represents a double value. The result is the same as with
+	 * {@link Double#parseDouble(String)}, but the simple decimal numbers are converted without
+	 * creating a String.
 	 *
 	 * @param chars the CharsWrapper representing a double
 	 * @return the double value represented by the CharsWrapper
+	 * @throws NumberFormatException if the chars don't represent a double
 	 */
 	public static double parseDouble(Charray chars) {
-		return Double.parseDouble(chars.toString());
+		return FastDoubleParser.parse(chars.chars, chars.offset, chars.limit);
+	}
+
+	/**
+	 * Parses a part of an array that represents a double value. The result is the same as with
+	 * {@link Double#parseDouble(String)}, but the simple decimal numbers are converted without
+	 * creating a String.
+	 *
+	 * @param chars the array
+	 * @param start the index of the first char, inclusive
+	 * @param end   the index of the last char, exclusive
+	 * @return the double value represented by the chars
+	 * @throws NumberFormatException if the chars don't represent a double
+	 */
+	public static double parseDouble(char[] chars, int start, int end) {
+		return FastDoubleParser.parse(chars, start, end);
+	}
+
+	/**
+	 * Computes the double that is the nearest to {@code significand * 10^exponent}. This is
+	 * useful to the parsers that read the digits of a number by themselves: they don't have to
+	 * read them again to get the value.
+	 *
+	 * @param significand the significand, with at most 19 digits, as an unsigned long
+	 * @param exponent    the power of ten
+	 * @param negative    true to return a negative number
+	 * @return the nearest double
+	 */
+	public static double toDouble(long significand, int exponent, boolean negative) {
+		return FastDoubleParser.toDouble(significand, exponent, negative);
 	}
 }
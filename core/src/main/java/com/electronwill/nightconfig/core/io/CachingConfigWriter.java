@@ -0,0 +1,223 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.AbstractConfig;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+import com.electronwill.nightconfig.core.utils.UnmodifiableConfigWrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A ConfigWriter that remembers the output of the last written configs. If a config is written
+ * again, with the same settings, and hasn't been modified in the meantime, the output is copied
+ * from memory instead of walking the config again. The outputs are keyed by the identity of the
+ * config, its modification count (see {@link AbstractConfig#modificationCount()}) and the
+ * settings of the writer. The {@value #CAPACITY} most recently written configs are cached.
+ * <p>
+ * The modifications are detected as follows:
+ * <ul>
+ * <li>Only the {@link AbstractConfig}s and their wrappers (like the FileConfigs) are cached. The
+ * other configs are always written by the underlying writer.</li>
+ * <li>The modifications of the config, of its sub-configs and of the configs in its lists are
+ * detected, whether they are made through the config, its views ({@code valueMap()},
+ * {@code entries()}) or its entries.</li>
+ * <li>The lists that are modified in place (like a list obtained from the config and then
+ * modified), and the other mutable values, aren't detected. The configs added to such a list
+ * aren't tracked either, until the list is set again. Call {@link #invalidate()} after such a
+ * modification, or set the value again.</li>
+ * <li>The configs that modify their storage directly, without calling
+ * {@link AbstractConfig#modified()}, aren't detected either.</li>
+ * </ul>
+ * <p>
+ * The settings of the underlying writer (indentation, newlines, etc.) are identified by the
+ * value returned by the {@code settings} supplier given to the constructor, which is compared
+ * with {@link Object#equals(Object)} on each write. Without a supplier, the settings are assumed
+ * to never change: call {@link #invalidate()} after changing them.
+ *
+ * @author TheElectronWill
+ */
+public final class CachingConfigWriter implements ConfigWriter {
+	/** The maximum number of cached outputs. */
+	public static final int CAPACITY = 4;
+
+	private final ConfigWriter writer;
+	private final Supplier<?> settings;
+	private final Cached[] cache = new Cached[CAPACITY];// guarded by itself
+	private int nextEviction = 0;// index of the entry to replace when the cache is full
+
+	/**
+	 * Creates a new CachingConfigWriter for a writer whose settings don't change.
+	 *
+	 * @param writer the writer that writes the configs that aren't in the cache
+	 */
+	public CachingConfigWriter(ConfigWriter writer) {
+		this(writer, () -> null);
+	}
+
+	/**
+	 * Creates a new CachingConfigWriter for a writer whose settings may change. For instance,
+	 * {@code () -> Arrays.asList(indent, newline)}, where {@code indent} and {@code newline}
+	 * hold the settings that are currently given to the writer.
+	 *
+	 * @param writer   the writer that writes the configs that aren't in the cache
+	 * @param settings returns a value that identifies the current settings of the writer, which
+	 *                 must be comparable with {@link Object#equals(Object)}
+	 */
+	public CachingConfigWriter(ConfigWriter writer, Supplier<?> settings) {
+		this.writer = writer;
+		this.settings = settings;
+	}
+
+	/**
+	 * Forgets the cached outputs. The next writes use the underlying writer.
+	 */
+	public void invalidate() {
+		synchronized (cache) {
+			Arrays.fill(cache, null);
+		}
+	}
+
+	@Override
+	public void write(UnmodifiableConfig config, CharacterOutput output) {
+		output.write(writeToString(config));
+	}
+
+	/**
+	 * Writes the entries with the underlying writer. The entries of an EntriesWalker can't be
+	 * identified, so they're never cached.
+	 */
+	@Override
+	public void write(EntriesWalker entries, CharacterOutput output) {
+		writer.write(entries, output);
+	}
+
+	@Override
+	public void write(UnmodifiableConfig config, OutputStream output, Charset cs) {
+		try {
+			output.write(writeToBytes(config, cs));
+			output.flush();
+		} catch (IOException e) {
+			throw new WritingException("An I/O error occured", e);
+		}
+	}
+
+	@Override
+	public String writeToString(UnmodifiableConfig config) {
+		return cachedOutput(config).text;
+	}
+
+	/**
+	 * Writes a configuration to a byte array, using the specified encoding. The encoded output
+	 * is cached too, for the last used charset.
+	 *
+	 * @param config the config to write
+	 * @param cs     text encoding
+	 * @return an array containing the encoded output, which must not be modified
+	 * @throws WritingException if an error occurs
+	 */
+	public byte[] writeToBytes(UnmodifiableConfig config, Charset cs) {
+		Cached output = cachedOutput(config);
+		Encoded encoded = output.encoded;
+		if (encoded == null || !encoded.charset.equals(cs)) {
+			encoded = new Encoded(cs, output.text.getBytes(cs));
+			output.encoded = encoded;
+		}
+		return encoded.bytes;
+	}
+
+	/**
+	 * Writes a configuration <b>in UTF-8</b> to a byte array.
+	 *
+	 * @param config the config to write
+	 * @return an array containing the encoded output, which must not be modified
+	 * @throws WritingException if an error occurs
+	 */
+	public byte[] writeToBytes(UnmodifiableConfig config) {
+		return writeToBytes(config, StandardCharsets.UTF_8);
+	}
+
+	/** @return the cached output of the config, after updating it if needed */
+	private Cached cachedOutput(UnmodifiableConfig config) {
+		// The count is read before writing, so that a modification made during the write
+		// invalidates the output
+		long modifications = modificationCount(config);
+		Object currentSettings = settings.get();
+		if (modifications == -1) {
+			return new Cached(config, modifications, currentSettings,
+							  writer.writeToString(config));
+		}
+		synchronized (cache) {
+			for (Cached cached : cache) {
+				if (cached != null && cached.config.get() == config
+					&& cached.modifications == modifications
+					&& Objects.equals(cached.settings, currentSettings)) {
+					return cached;
+				}
+			}
+		}
+		String text = writer.writeToString(config);// not locked, may be long
+		Cached output = new Cached(config, modifications, currentSettings, text);
+		synchronized (cache) {
+			// Replaces the old output of the same config, or a free entry, or the oldest one
+			int index = -1;
+			for (int i = 0; i < cache.length; i++) {
+				Cached cached = cache[i];
+				UnmodifiableConfig cachedConfig = (cached == null) ? null : cached.config.get();
+				if (cachedConfig == config) {
+					index = i;
+					break;
+				} else if (cachedConfig == null && index == -1) {
+					index = i;// empty, or the config has been collected
+				}
+			}
+			if (index == -1) {
+				index = nextEviction;
+				nextEviction = (nextEviction + 1) % cache.length;
+			}
+			cache[index] = output;
+		}
+		return output;
+	}
+
+	private static long modificationCount(UnmodifiableConfig config) {
+		if (config instanceof AbstractConfig) {
+			return ((AbstractConfig)config).modificationCount();
+		} else if (config instanceof UnmodifiableConfigWrapper) {
+			return ((UnmodifiableConfigWrapper<?>)config).modificationCount();
+		}
+		return -1;
+	}
+
+	private static final class Cached {
+		final WeakReference<UnmodifiableConfig> config;// doesn't prevent the config's collection
+		final long modifications;
+		final Object settings;
+		final String text;
+		volatile Encoded encoded;// the text encoded with the last used charset
+
+		Cached(UnmodifiableConfig config, long modifications, Object settings, String text) {
+			this.config = new WeakReference<>(config);
+			this.modifications = modifications;
+			this.settings = settings;
+			this.text = text;
+		}
+	}
+
+	private static final class Encoded {
+		final Charset charset;
+		final byte[] bytes;
+
+		Encoded(Charset charset, byte[] bytes) {
+			this.charset = charset;
+			this.bytes = bytes;
+		}
+	}
+}
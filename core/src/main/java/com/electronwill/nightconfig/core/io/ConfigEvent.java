@@ -0,0 +1,23 @@
+package com.electronwill.nightconfig.core.io;
+
+/**
+ * The events produced by a {@link ConfigEventReader}.
+ *
+ * @author TheElectronWill
+ */
+public enum ConfigEvent {
+	/** The beginning of an object, that is, a config or a table. */
+	START_OBJECT,
+	/** The end of an object. */
+	END_OBJECT,
+	/** The beginning of an array. */
+	START_ARRAY,
+	/** The end of an array. */
+	END_ARRAY,
+	/** The key of an entry, given by {@link ConfigEventReader#key()}. Its value follows. */
+	KEY,
+	/** A simple value, given by {@link ConfigEventReader#value()} and the primitive getters. */
+	VALUE,
+	/** The end of the data. */
+	END_OF_DATA
+}
@@ -0,0 +1,191 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.AbstractConfig;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.impl.LazyString;
+
+import java.util.List;
+
+/**
+ * A pull-based reader of configuration data. Instead of building a whole {@link Config}, it
+ * produces a sequence of {@link ConfigEvent}s, one at a time, when {@link #next()} is called.
+ * This allows to read only some parts of big documents, to skip the others without creating
+ * their values, and to give the entries to something else than a Config.
+ * <p>
+ * A document is represented like this:
+ * <pre>
+ * START_OBJECT
+ *   KEY "name"  VALUE
+ *   KEY "table" START_OBJECT ... END_OBJECT
+ *   KEY "list"  START_ARRAY VALUE VALUE START_OBJECT ... END_OBJECT END_ARRAY
+ * END_OBJECT
+ * END_OF_DATA
+ * </pre>
+ * The formats that can declare an object in several parts, like TOML, repeat its key in the
+ * enclosing object: see {@link #mergesRepeatedKeys()}.
+ * <p>
+ * The parsers use the default methods {@link #readObject(Config, ParsingMode)} and
+ * {@link #readValue(Config)} to build configs from the events.
+ *
+ * @author TheElectronWill
+ */
+public interface ConfigEventReader {
+	/**
+	 * The types of the simple values.
+	 */
+	enum ValueType {
+		NULL, BOOLEAN, INT, LONG, DOUBLE, STRING,
+		/** Any other type, only available with {@link #value()} */
+		OTHER
+	}
+
+	/**
+	 * Reads the next event.
+	 *
+	 * @return the next event, END_OF_DATA if there is no more data
+	 * @throws ParsingException if the data is invalid
+	 */
+	ConfigEvent next();
+
+	/**
+	 * @return the last event returned by {@link #next()}, or null if next() hasn't been called
+	 */
+	ConfigEvent current();
+
+	/**
+	 * @return the key, if the current event is KEY
+	 */
+	String key();
+
+	/**
+	 * @return the type of the value, if the current event is VALUE
+	 */
+	ValueType valueType();
+
+	/**
+	 * @return the value, if the current event is VALUE
+	 */
+	Object value();
+
+	/**
+	 * @return the value, if the current event is a VALUE of type BOOLEAN
+	 */
+	boolean booleanValue();
+
+	/**
+	 * @return the value, if the current event is a VALUE of type INT
+	 */
+	int intValue();
+
+	/**
+	 * @return the value, if the current event is a VALUE of type INT or LONG
+	 */
+	long longValue();
+
+	/**
+	 * @return the value, if the current event is a VALUE of type DOUBLE, INT or LONG
+	 */
+	double doubleValue();
+
+	/**
+	 * @return the value, if the current event is a VALUE of type STRING
+	 */
+	CharSequence textValue();
+
+	/**
+	 * @return the value, if the current event is a VALUE of type STRING
+	 */
+	default String stringValue() {
+		return textValue().toString();
+	}
+
+	/**
+	 * Returns the current string without decoding it, if possible. The readers that support it
+	 * return a {@link LazyString}, the others return the same thing as {@link #stringValue()}.
+	 *
+	 * @return the value, if the current event is a VALUE of type STRING
+	 */
+	default CharSequence lazyStringValue() {
+		return stringValue();
+	}
+
+	/**
+	 * Skips the content of the current object or array. If the current event is START_OBJECT
+	 * (resp. START_ARRAY), reads the events until the matching END_OBJECT (resp. END_ARRAY),
+	 * which becomes the current event. Otherwise, does nothing.
+	 * <p>
+	 * The implementations should skip the data without creating the values.
+	 */
+	default void skipChildren() {
+		ConfigEvent event = current();
+		if (event != ConfigEvent.START_OBJECT && event != ConfigEvent.START_ARRAY) {
+			return;
+		}
+		int depth = 1;
+		while (depth > 0) {
+			event = next();
+			if (event == ConfigEvent.START_OBJECT || event == ConfigEvent.START_ARRAY) {
+				depth++;
+			} else if (event == ConfigEvent.END_OBJECT || event == ConfigEvent.END_ARRAY) {
+				depth--;
+			} else if (event == ConfigEvent.END_OF_DATA) {
+				throw ParsingException.notEnoughData();
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the same key may appear several times in an object, to declare a value in
+	 * several parts. This is the case of TOML, where {@code [a.b]} adds a table to {@code a}
+	 * and {@code [[list]]} adds an element to {@code list}. The default implementation returns
+	 * false: a repeated key simply replaces the previous value.
+	 *
+	 * @return true if the objects and arrays declared several times must be merged
+	 */
+	default boolean mergesRepeatedKeys() {
+		return false;
+	}
+
+	/**
+	 * Reads the entries of the current object and puts them into a config. The current event
+	 * must be START_OBJECT. After this method, the current event is the matching END_OBJECT.
+	 * <p>
+	 * Each value is put with the parsing mode. If {@link #mergesRepeatedKeys()} returns true,
+	 * the objects that have the same key are merged, and the arrays are concatenated, but only
+	 * if they have been created by this method: the existing values of the config are never
+	 * modified in place. The ints, longs and doubles are stored without boxing, unless the mode
+	 * is {@link ParsingMode#ADD}. Similarly, if dst is an {@link AbstractConfig}, which decodes
+	 * the {@link LazyString}s when they are read, the strings are given by
+	 * {@link #lazyStringValue()}. The elements of the arrays are always decoded Strings.
+	 *
+	 * @param dst  where to put the entries
+	 * @param mode the parsing mode, that determines what to do with the existing values
+	 */
+	default void readObject(Config dst, ParsingMode mode) {
+		EventValues.readObject(this, dst, mode, mergesRepeatedKeys() ? EventValues.parts() : null);
+	}
+
+	/**
+	 * Reads the elements of the current array and adds them to a list. The current event must
+	 * be START_ARRAY. After this method, the current event is the matching END_ARRAY.
+	 *
+	 * @param dst    where to add the elements
+	 * @param parent the config that contains the array, used to create the sub-configs
+	 */
+	default void readArray(List<Object> dst, Config parent) {
+		EventValues.readArray(this, dst, parent, mergesRepeatedKeys() ? EventValues.parts() : null);
+	}
+
+	/**
+	 * Reads the current value. If the current event is VALUE, returns {@link #value()}. If it's
+	 * START_OBJECT or START_ARRAY, reads the whole object (into a new config created by
+	 * {@code parent.createSubConfig()}) or the whole array (into a new list).
+	 *
+	 * @param parent the config that contains the value, used to create the sub-configs
+	 * @return the value
+	 */
+	default Object readValue(Config parent) {
+		return EventValues.readValue(this, parent,
+									 mergesRepeatedKeys() ? EventValues.parts() : null);
+	}
+}
@@ -11,10 +11,12 @@ import com.electronwill.nightconfig.core.impl.FastStringReader;
 import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Converts text data to {@link Config} objects.
@@ -82,10 +84,19 @@ public interface ConfigParser {
 	 * @throws ParsingException if an error occurs
 	 */
 	default Config parse(InputStream input, Charset cs) {
-		CharacterInput ci = new ReaderInput(new BufferedReader(new InputStreamReader(input, cs)));
-		if (cs == StandardCharsets.UTF_8)
-			IOUtils.consumeUTF8BOM(ci);
-		return parse(ci);
+		return parse(IOUtils.newInput(input, cs));
+	}
+
+	/**
+	 * Parses data and puts the result in a new configuration.
+	 *
+	 * @param input data source
+	 * @param cs data encoding
+	 * @return a new config
+	 * @throws ParsingException if an error occurs
+	 */
+	default Config parse(byte[] input, Charset cs) {
+		return parse(IOUtils.newInput(input, cs));
 	}
 
 	/**
@@ -218,10 +229,20 @@ public interface ConfigParser {
 	 * @throws ParsingException if an error occurs
 	 */
 	default void parse(InputStream input, Charset cs, Config dst, ParsingMode mode) {
-		CharacterInput ci = new ReaderInput(new BufferedReader(new InputStreamReader(input, cs)));
-		if (cs == StandardCharsets.UTF_8)
-			IOUtils.consumeUTF8BOM(ci);
-		parse(ci, dst, mode);
+		parse(IOUtils.newInput(input, cs), dst, mode);
+	}
+
+	/**
+	 * Parses data and puts the result in an existing configuration.
+	 *
+	 * @param input data source
+	 * @param cs data encoding
+	 * @param dst existing config
+	 * @param mode how to deal with existing entries, see {@link ParsingMode} docs.
+	 * @throws ParsingException if an error occurs
+	 */
+	default void parse(byte[] input, Charset cs, Config dst, ParsingMode mode) {
+		parse(IOUtils.newInput(input, cs), dst, mode);
 	}
 
 	/**
@@ -329,4 +350,51 @@ public interface ConfigParser {
 	default void parse(URL url, Config dst, ParsingMode mode) {
 		parse(url, null, dst, mode);
 	}
+
+	// --- PARSING A FILE MAPPED IN MEMORY ---
+
+	/**
+	 * Parses a file by mapping it in memory, and puts the result in a new configuration. The
+	 * bytes are decoded directly from the mapped memory, without going through an InputStream.
+	 * This is faster for big files, but mapping a file has a fixed cost: the other parse
+	 * methods are better for small files.
+	 *
+	 * @param path data source
+	 * @param cs encoding
+	 * @param notFoundAction how to deal with missing file
+	 * @return a new config
+	 * @throws ParsingException if an error occurs
+	 */
+	default Config parseMapped(Path path, Charset cs, FileNotFoundAction notFoundAction) {
+		Config config = new MemoryConfig();
+		parseMapped(path, cs, config, ParsingMode.REPLACE, notFoundAction);
+		return config;
+	}
+
+	/**
+	 * Parses a file by mapping it in memory, and puts the result in an existing configuration.
+	 * The bytes are decoded directly from the mapped memory, without going through an
+	 * InputStream. This is faster for big files, but mapping a file has a fixed cost: the other
+	 * parse methods are better for small files.
+	 *
+	 * @param path data source
+	 * @param cs encoding
+	 * @param dst existing config
+	 * @param mode how to deal with existing entries, see {@link ParsingMode} docs.
+	 * @param notFoundAction how to deal with missing file
+	 * @throws ParsingException if an error occurs
+	 */
+	default void parseMapped(Path path, Charset cs, Config dst, ParsingMode mode,
+							 FileNotFoundAction notFoundAction) {
+		try {
+			if (Files.notExists(path) && !notFoundAction.run(path, getFormat())) {
+				return; // nothing to parse
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				parse(IOUtils.newInput(channel, cs), dst, mode);
+			}
+		} catch (IOException e) {
+			throw new ParsingException("An I/O error occured", e);
+		}
+	}
 }
@@ -1,8 +1,12 @@
 package com.electronwill.nightconfig.core.io;
 
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
 import com.electronwill.nightconfig.core.impl.CharrayWriter;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+import com.electronwill.nightconfig.core.impl.Utf8Output;
 import com.electronwill.nightconfig.core.impl.WriterOutput;
 
 import java.io.*;
@@ -42,6 +46,127 @@ public interface ConfigWriter {
 		write(config, new WriterOutput(writer));
 	}
 
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration. This allows to write
+	 * objects that aren't configs, like plain Java objects, without converting them to configs.
+	 * <p>
+	 * The default implementation puts the entries in a new config and writes it. The writers
+	 * should override it to write the entries directly: all the other methods that write an
+	 * EntriesWalker end up calling this one.
+	 *
+	 * @param entries the entries to write
+	 * @param output  where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, CharacterOutput output) {
+		Config config = new MemoryConfig();
+		entries.readInto(config);
+		write(config, output);
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration.
+	 *
+	 * @param entries the entries to write
+	 * @param writer  where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, Writer writer) {
+		write(entries, new WriterOutput(writer));
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration, using the specified
+	 * encoding.
+	 *
+	 * @param entries the entries to write
+	 * @param output  where to write
+	 * @param cs      text encoding
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, OutputStream output, Charset cs) {
+		if (StandardCharsets.UTF_8.equals(cs)) {
+			Utf8Output utf8 = new Utf8Output(output, 8192);
+			write(entries, utf8);
+			utf8.flush();
+			return;
+		}
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, cs));
+		write(entries, writer);
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new WritingException("Failed to flush the writer", e);
+		}
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration, <b>in UTF-8</b>.
+	 *
+	 * @param entries the entries to write
+	 * @param output  where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, OutputStream output) {
+		write(entries, output, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration, using the specified
+	 * encoding.
+	 *
+	 * @param entries the entries to write
+	 * @param file    where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, Path file, Charset cs, WritingMode mode) {
+		StandardOpenOption[] options;
+		if (mode == WritingMode.APPEND) {
+			options = new StandardOpenOption[] { WRITE, CREATE, APPEND };
+		} else {
+			options = new StandardOpenOption[] { WRITE, CREATE, TRUNCATE_EXISTING };
+		}
+		try (OutputStream output = Files.newOutputStream(file, options)) {
+			write(entries, output, cs);
+		} catch (IOException e) {
+			throw new WritingException("An I/O error occured", e);
+		}
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration, <b>in UTF-8</b>.
+	 *
+	 * @param entries the entries to write
+	 * @param file    where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, Path file, WritingMode mode) {
+		write(entries, file, StandardCharsets.UTF_8, mode);
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration, using the specified
+	 * encoding.
+	 *
+	 * @param entries the entries to write
+	 * @param file    where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, File file, Charset cs, WritingMode mode) {
+		write(entries, file.toPath(), cs, mode);
+	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker, as a configuration, <b>in UTF-8</b>.
+	 *
+	 * @param entries the entries to write
+	 * @param file    where to write
+	 * @throws WritingException if an error occurs
+	 */
+	default void write(EntriesWalker entries, File file, WritingMode mode) {
+		write(entries, file, StandardCharsets.UTF_8, mode);
+	}
+
 	/**
 	 * Writes a configuration using the specified encoding.
 	 *
@@ -51,6 +176,13 @@ public interface ConfigWriter {
 	 * @throws WritingException if an error occurs
 	 */
 	default void write(UnmodifiableConfig config, OutputStream output, Charset cs) {
+		if (StandardCharsets.UTF_8.equals(cs)) {
+			// Encodes the chars directly, without a Writer and its buffers
+			Utf8Output utf8 = new Utf8Output(output, 8192);
+			write(config, utf8);
+			utf8.flush();
+			return;
+		}
 		Writer writer = new BufferedWriter(new OutputStreamWriter(output, cs));
 		write(config, writer);
 		try {
@@ -151,4 +283,17 @@ public interface ConfigWriter {
 		write(config, (CharacterOutput)writer);
 		return writer.toString();
 	}
+
+	/**
+	 * Writes the entries given by an EntriesWalker to a String.
+	 *
+	 * @param entries the entries to write
+	 * @return a new String
+	 * @throws WritingException if an error occurs
+	 */
+	default String writeToString(EntriesWalker entries) {
+		CharrayWriter writer = new CharrayWriter();
+		write(entries, (CharacterOutput)writer);
+		return writer.toString();
+	}
 }
@@ -0,0 +1,132 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.AbstractConfig;
+import com.electronwill.nightconfig.core.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds configs and lists from the events of a {@link ConfigEventReader}, see its methods
+ * {@code readObject}, {@code readArray} and {@code readValue}.
+ * <p>
+ * When the repeated keys are merged, the configs and lists created while reading are remembered
+ * in a set (compared by identity), because only them can receive the next parts of a value.
+ *
+ * @author TheElectronWill
+ */
+final class EventValues {
+	private EventValues() {}
+
+	/** @return a new set for the values that can be merged */
+	static Set<Object> parts() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Reads an object into a config.
+	 *
+	 * @param parts the values created by this reading, null if the repeated keys aren't merged
+	 */
+	static void readObject(ConfigEventReader events, Config dst, ParsingMode mode,
+						   Set<Object> parts) {
+		if (events.current() != ConfigEvent.START_OBJECT) {
+			throw new ParsingException("Expected the beginning of an object, got "
+									   + events.current());
+		}
+		ConfigEvent event;
+		while ((event = events.next()) == ConfigEvent.KEY) {
+			final String[] path = {events.key()};
+			final ConfigEvent valueEvent = events.next();
+			if (parts != null && valueEvent != ConfigEvent.VALUE) {
+				Object existing = dst.get(path);
+				if (valueEvent == ConfigEvent.START_OBJECT && existing instanceof List
+					&& parts.contains(existing) && !((List<?>)existing).isEmpty()) {
+					// TOML: [array.sub] declares a table in the last element of the array
+					List<?> list = (List<?>)existing;
+					existing = list.get(list.size() - 1);
+				}
+				if (parts.contains(existing)) {
+					if (valueEvent == ConfigEvent.START_OBJECT && existing instanceof Config) {
+						readObject(events, (Config)existing, mode, parts);
+						continue;
+					} else if (valueEvent == ConfigEvent.START_ARRAY
+							   && existing instanceof ArrayList) {
+						@SuppressWarnings("unchecked")
+						List<Object> list = (List<Object>)existing;
+						readArray(events, list, dst, parts);
+						continue;
+					}
+				}
+			} else if (valueEvent == ConfigEvent.VALUE && mode != ParsingMode.ADD) {
+				switch (events.valueType()) {
+					case INT:
+						dst.setInt(path, events.intValue());
+						continue;
+					case LONG:
+						dst.setLong(path, events.longValue());
+						continue;
+					case DOUBLE:
+						dst.setDouble(path, events.doubleValue());
+						continue;
+					case STRING:
+						if (dst instanceof AbstractConfig) {
+							mode.put(dst, path, events.lazyStringValue());
+							continue;
+						}
+				}
+			}
+			mode.put(dst, path, readValue(events, dst, parts));
+		}
+		if (event != ConfigEvent.END_OBJECT) {
+			throw new ParsingException("Unexpected " + event + " in an object");
+		}
+	}
+
+	/**
+	 * Reads an array into a list.
+	 *
+	 * @param parts the values created by this reading, null if the repeated keys aren't merged
+	 */
+	static void readArray(ConfigEventReader events, List<Object> dst, Config parent,
+						  Set<Object> parts) {
+		if (events.current() != ConfigEvent.START_ARRAY) {
+			throw new ParsingException("Expected the beginning of an array, got "
+									   + events.current());
+		}
+		while (events.next() != ConfigEvent.END_ARRAY) {
+			dst.add(readValue(events, parent, parts));
+		}
+	}
+
+	/**
+	 * Reads a value, which may be an object or an array.
+	 *
+	 * @param parts the values created by this reading, null if the repeated keys aren't merged
+	 */
+	static Object readValue(ConfigEventReader events, Config parent, Set<Object> parts) {
+		switch (events.current()) {
+			case VALUE:
+				return events.value();
+			case START_OBJECT:
+				Config config = parent.createSubConfig();
+				readObject(events, config, ParsingMode.MERGE, parts);
+				if (parts != null) {
+					parts.add(config);
+				}
+				return config;
+			case START_ARRAY:
+				List<Object> list = new ArrayList<>();
+				readArray(events, list, parent, parts);
+				if (parts != null) {
+					parts.add(list);
+				}
+				return list;
+			default:
+				throw new ParsingException("Expected a value, got " + events.current());
+		}
+	}
+}
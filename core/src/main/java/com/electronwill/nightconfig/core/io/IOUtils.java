@@ -1,12 +1,16 @@
 package com.electronwill.nightconfig.core.io;
 
+import com.electronwill.nightconfig.core.impl.ArrayInput;
+import com.electronwill.nightconfig.core.impl.ByteInput;
 import com.electronwill.nightconfig.core.impl.CharacterInput;
+import com.electronwill.nightconfig.core.impl.ReaderInput;
 import com.electronwill.nightconfig.core.utils.ExFunction;
 
-import java.io.Closeable;
-import java.io.IOException;
+import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
@@ -16,6 +20,80 @@ import java.util.function.BiFunction;
 final class IOUtils {
 	private IOUtils() {}
 
+	/**
+	 * Creates a CharacterInput that decodes a stream. The charsets supported by {@link ByteInput}
+	 * are decoded by it, the others by an InputStreamReader. The UTF-8 BOM is skipped.
+	 */
+	static CharacterInput newInput(InputStream input, Charset cs) {
+		CharacterInput ci;
+		if (ByteInput.supports(cs)) {
+			ci = new ByteInput(input, cs);
+		} else {
+			ci = new ReaderInput(new BufferedReader(new InputStreamReader(input, cs)));
+		}
+		if (StandardCharsets.UTF_8.equals(cs))
+			consumeUTF8BOM(ci);
+		return ci;
+	}
+
+	/**
+	 * Creates a CharacterInput that decodes an array of bytes. The charsets supported by
+	 * {@link ByteInput} are decoded by it, the others with {@code new String(bytes, cs)}. The
+	 * UTF-8 BOM is skipped.
+	 */
+	static CharacterInput newInput(byte[] input, Charset cs) {
+		CharacterInput ci;
+		if (ByteInput.supports(cs)) {
+			ci = new ByteInput(input, cs);
+		} else {
+			ci = new ArrayInput(new String(input, cs).toCharArray());
+		}
+		if (StandardCharsets.UTF_8.equals(cs))
+			consumeUTF8BOM(ci);
+		return ci;
+	}
+
+	/**
+	 * Creates a CharacterInput that decodes a file mapped in memory. The charsets supported by
+	 * {@link ByteInput} are decoded by it, the others by a Reader on the channel. The UTF-8 BOM
+	 * is skipped.
+	 */
+	static CharacterInput newInput(FileChannel channel, Charset cs) {
+		CharacterInput ci;
+		if (ByteInput.supports(cs)) {
+			ci = new ByteInput(channel, cs);
+		} else {
+			ci = new ReaderInput(new BufferedReader(Channels.newReader(channel, cs.name())));
+		}
+		if (StandardCharsets.UTF_8.equals(cs))
+			consumeUTF8BOM(ci);
+		return ci;
+	}
+
+	/**
+	 * Finds the line and column of an error detected by an input that doesn't track its
+	 * position, by reading the same data again, with a tracking input, up to the error's offset.
+	 *
+	 * @param e      the error, whose offset is known
+	 * @param rescan a new input on the same data, created like the one that was parsed
+	 * @return the error
+	 */
+	static ParsingException locate(ParsingException e, CharacterInput rescan) {
+		final long offset = e.getOffset();
+		if (offset == -1 || e.getLine() != -1) {
+			return e;// unknown offset, or already located
+		}
+		long position;
+		while ((position = rescan.offset()) < offset) {
+			int n = (int)Math.min(8192, offset - position);
+			if (rescan.readAtMost(n).length() == 0) {
+				return e;// the data has changed
+			}
+		}
+		e.setPosition(rescan.line(), rescan.column());
+		return e;
+	}
+
 	static void consumeUTF8BOM(CharacterInput input) {
 		int read = input.read();
 		if (read != -1 && read != '\uFEFF')
@@ -1,11 +1,16 @@
 package com.electronwill.nightconfig.core.io;
 
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+
 /**
  * Thrown when a parsing operation fails.
  *
  * @author TheElectronWill
  */
 public class ParsingException extends RuntimeException {
+	private long offset = -1;
+	private int line = -1, column = -1;
+
 	public ParsingException(String message) {
 		super(message);
 	}
@@ -21,4 +26,62 @@ public class ParsingException extends RuntimeException {
 	public static ParsingException notEnoughData() {
 		return new ParsingException("Unexpected end of document: not enough data available");
 	}
+
+	/**
+	 * Records the position of the input where the error has been detected, unless a position
+	 * has already been recorded. The parsers call this method when the exception reaches them,
+	 * so that the inputs don't have to track the line and column of each character: they are
+	 * only computed here.
+	 *
+	 * @param input the input that was being parsed
+	 * @return this exception
+	 */
+	public ParsingException at(CharacterInput input) {
+		if (offset == -1) {
+			offset = input.offset();
+			line = input.line();
+			column = input.column();
+		}
+		return this;
+	}
+
+	/**
+	 * Sets the line and column of the error, once they have been found from its offset.
+	 */
+	void setPosition(int line, int column) {
+		this.line = line;
+		this.column = column;
+	}
+
+	/**
+	 * @return the number of characters read before the error, or -1 if it isn't known
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return the line of the error, or -1 if it isn't known
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * @return the column of the error, or -1 if it isn't known
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	@Override
+	public String getMessage() {
+		String message = super.getMessage();
+		if (line != -1 && column != -1) {
+			return message + " (line " + line + ", column " + column + ")";
+		} else if (offset != -1) {
+			return message + " (after " + offset + " characters)";
+		}
+		return message;
+	}
 }
\ No newline at end of file
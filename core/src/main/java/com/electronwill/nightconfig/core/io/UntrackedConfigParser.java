@@ -0,0 +1,97 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.file.FileNotFoundAction;
+import com.electronwill.nightconfig.core.impl.AbstractInput;
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A ConfigParser that parses without tracking the position of the inputs (see
+ * {@link AbstractInput#disablePositionTracking()}): the lines of each decoded buffer aren't
+ * counted, which makes the parsing of big machine-generated data a bit faster.
+ * <p>
+ * When an error occurs, the {@link ParsingException} only knows its offset. If the data can be
+ * read again, that is when it comes from an array of bytes or from a file, it's scanned again
+ * up to that offset to find the line and column of the error. The other sources only report the
+ * offset.
+ *
+ * @author TheElectronWill
+ */
+public final class UntrackedConfigParser implements ConfigParser {
+	private final ConfigParser parser;
+
+	/**
+	 * Creates a new UntrackedConfigParser.
+	 *
+	 * @param parser the parser that parses the inputs
+	 */
+	public UntrackedConfigParser(ConfigParser parser) {
+		this.parser = parser;
+	}
+
+	@Override
+	public ConfigFormat getFormat() {
+		return parser.getFormat();
+	}
+
+	@Override
+	public void parse(CharacterInput input, Config dst, ParsingMode mode) {
+		if (input instanceof AbstractInput) {
+			((AbstractInput)input).disablePositionTracking();
+		}
+		try {
+			parser.parse(input, dst, mode);
+		} catch (ParsingException e) {
+			throw e.at(input);
+		}
+	}
+
+	@Override
+	public Config parse(byte[] input, Charset cs) {
+		Config config = new MemoryConfig();
+		parse(input, cs, config, ParsingMode.REPLACE);
+		return config;
+	}
+
+	@Override
+	public void parse(byte[] input, Charset cs, Config dst, ParsingMode mode) {
+		try {
+			parse(IOUtils.newInput(input, cs), dst, mode);
+		} catch (ParsingException e) {
+			throw IOUtils.locate(e, IOUtils.newInput(input, cs));
+		}
+	}
+
+	@Override
+	public Config parse(Path path, Charset cs, FileNotFoundAction notFoundAction) {
+		Config config = new MemoryConfig();
+		parse(path, cs, config, ParsingMode.REPLACE, notFoundAction);
+		return config;
+	}
+
+	@Override
+	public void parse(Path path, Charset cs, Config dst, ParsingMode mode,
+					  FileNotFoundAction notFoundAction) {
+		try {
+			ConfigParser.super.parse(path, cs, dst, mode, notFoundAction);
+		} catch (ParsingException e) {
+			if (e.getOffset() == -1 || e.getLine() != -1) {
+				throw e;// nothing to locate
+			}
+			try (InputStream input = Files.newInputStream(path)) {
+				throw IOUtils.locate(e, IOUtils.newInput(input, cs));
+			} catch (IOException ioe) {
+				e.addSuppressed(ioe);
+				throw e;// the file can't be read again, keeps the offset only
+			}
+		}
+	}
+}
@@ -33,7 +33,7 @@ public final class ObservedSet<K> extends AbstractObserved implements Set<K> {
 
 	@Override
 	public Iterator<K> iterator() {
-		return set.iterator();
+		return new ObservedIterator<>(set.iterator(), callback);
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package com.electronwill.nightconfig.core.utils;
 
+import com.electronwill.nightconfig.core.AbstractConfig;
 import com.electronwill.nightconfig.core.AttributeType;
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 
@@ -17,6 +18,21 @@ public abstract class UnmodifiableConfigWrapper<C extends UnmodifiableConfig>
 		this.config = Objects.requireNonNull(config, "The wrapped config must not be null");
 	}
 
+	/**
+	 * Returns the modification count of the wrapped config, see
+	 * {@link AbstractConfig#modificationCount()}. The wrappers of wrappers are supported.
+	 *
+	 * @return the modification count, or -1 if the wrapped config doesn't count its modifications
+	 */
+	public long modificationCount() {
+		if (config instanceof AbstractConfig) {
+			return ((AbstractConfig)config).modificationCount();
+		} else if (config instanceof UnmodifiableConfigWrapper) {
+			return ((UnmodifiableConfigWrapper<?>)config).modificationCount();
+		}
+		return -1;
+	}
+
 	@Override
 	public UnmodifiableConfig.Entry getEntry(String[] path) {
 		return config.getEntry(path);
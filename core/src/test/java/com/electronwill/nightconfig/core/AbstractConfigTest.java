@@ -232,4 +232,83 @@ public class AbstractConfigTest {
 			assertEquals(input.get(i), output.get(i), "Map values mismatched at index: " + i);
 		}
 	}
+
+	@Test
+	public void modificationCount() {
+		MemoryConfig config = new MemoryConfig();
+		long count = config.modificationCount();
+		config.set("a", 1);
+		assertTrue(config.modificationCount() > count);
+
+		count = config.modificationCount();
+		config.get("a");
+		config.getInt("a");
+		config.valueMap().get("a");
+		assertEquals(count, config.modificationCount());// reading doesn't modify
+
+		// The modifications of the sub-configs are propagated
+		config.set("sub.sub.b", 2);
+		AbstractConfig sub = config.get("sub.sub");
+		count = config.modificationCount();
+		sub.setInt("b", 3);
+		assertTrue(config.modificationCount() > count);
+
+		// Even if the sub-config has been created elsewhere
+		MemoryConfig external = new MemoryConfig();
+		config.set("external", external);
+		count = config.modificationCount();
+		external.set("c", "c");
+		assertTrue(config.modificationCount() > count);
+
+		// The views, the entries and the attributes are tracked too
+		count = config.modificationCount();
+		config.valueMap().remove("a");
+		assertTrue(config.modificationCount() > count);
+
+		count = config.modificationCount();
+		config.getEntry("external").set(StandardAttributes.COMMENT, "comment");
+		assertTrue(config.modificationCount() > count);
+
+		count = config.modificationCount();
+		config.entries().iterator().next().setValue(null);
+		assertTrue(config.modificationCount() > count);
+
+		count = config.modificationCount();
+		config.clear();
+		assertTrue(config.modificationCount() > count);
+	}
+
+	@Test
+	public void modificationCountOfRemovedConfigs() {
+		MemoryConfig config = new MemoryConfig();
+		MemoryConfig sub = new MemoryConfig();
+
+		// The configs in lists are tracked
+		List<Config> servers = new ArrayList<>();
+		servers.add(sub);
+		config.set("servers", servers);
+		long count = config.modificationCount();
+		config.<List<Config>>get("servers").get(0).set("port", 2);
+		assertTrue(config.modificationCount() > count);
+
+		// A config that has been replaced doesn't modify its former parent anymore
+		config.set("servers", null);
+		count = config.modificationCount();
+		sub.set("port", 3);
+		assertEquals(count, config.modificationCount());
+
+		// Nor a config that has been removed by a view
+		config.set("sub", sub);
+		config.valueMap().remove("sub");
+		count = config.modificationCount();
+		sub.set("port", 4);
+		assertEquals(count, config.modificationCount());
+
+		// Nor a config that has been removed by clear()
+		config.set("sub", sub);
+		config.clear();
+		count = config.modificationCount();
+		sub.set("port", 5);
+		assertEquals(count, config.modificationCount());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.electronwill.nightconfig.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class ConcurrentConfigTest {
+	private static final int THREADS = 8, KEYS_PER_THREAD = 2000;
+
+	@Test
+	public void basicTest() {
+		ConcurrentConfig config = new ConcurrentConfig();
+		config.set("a.b.c", 1);
+		config.setComment("a.b.c", "comment");
+		assertEquals(1, config.getInt("a.b.c"));
+		assertEquals("comment", config.getComment("a.b.c"));
+		assertTrue(config.get("a") instanceof ConcurrentConfig);
+		assertNull(config.add("a.b.d", 2));
+		assertEquals(2, config.add("a.b.d", 3));
+		assertEquals(2, config.<Integer>remove("a.b.d"));
+		assertNull(config.get("a.b.d"));
+	}
+
+	@Test
+	public void copy() {
+		Config memory = new MemoryConfig();
+		memory.set("a.b", "value");
+		memory.setComment("a.b", "comment");
+		ConcurrentConfig copy = new ConcurrentConfig(memory);
+		assertTrue(copy.get("a") instanceof ConcurrentConfig);
+		assertEquals("value", copy.get("a.b"));
+		assertEquals("comment", copy.getComment("a.b"));
+	}
+
+	/**
+	 * Several threads write to the same sub-configurations, which don't exist at the beginning:
+	 * no write must be lost.
+	 */
+	@RepeatedTest(10)
+	public void concurrentWritesInNewSubConfigs() throws Exception {
+		ConcurrentConfig config = new ConcurrentConfig();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			final String threadKey = "t" + t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < KEYS_PER_THREAD; i++) {
+					// All the threads create the same intermediate sub-configs at the same time
+					config.set(new String[] {"sub" + i, "nested", threadKey}, i);
+					config.setComment(new String[] {"sub" + i}, threadKey);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		assertEquals(KEYS_PER_THREAD, config.size());
+		for (int i = 0; i < KEYS_PER_THREAD; i++) {
+			Config nested = config.get(new String[] {"sub" + i, "nested"});
+			assertTrue(nested instanceof ConcurrentConfig);
+			assertEquals(THREADS, nested.size(), "lost writes in sub" + i);
+			assertNotNull(config.getComment(new String[] {"sub" + i}));
+			for (int t = 0; t < THREADS; t++) {
+				assertEquals(i, nested.getInt("t" + t));
+			}
+		}
+	}
+
+	/**
+	 * Several threads try to add a value at the same path: exactly one of them must succeed.
+	 */
+	@RepeatedTest(10)
+	public void concurrentAdd() throws Exception {
+		ConcurrentConfig config = new ConcurrentConfig();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Object>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			final int thread = t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				return config.add("a.b.value", thread);
+			}));
+		}
+		start.countDown();
+		int successes = 0;
+		for (Future<Object> future : futures) {
+			if (future.get() == null) {
+				successes++;
+			}
+		}
+		executor.shutdown();
+		assertEquals(1, successes);
+		assertNotNull(config.get("a.b.value"));
+	}
+}
@@ -0,0 +1,94 @@
+package com.electronwill.nightconfig.core;
+
+import com.electronwill.nightconfig.core.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class ConfigPathTest {
+	private static final String[] PATHS = {
+		"a", "a.b.c", "", ".", "..", ".a", "a.", ".a...b.", "a\\.b", "a\\\\.b", " a . b "
+	};
+
+	@Test
+	public void sameAsListPaths() {
+		for (String path : PATHS) {
+			List<String> list = new ArrayList<>();
+			StringUtils.split(path, '.', list);
+			ConfigPath compiled = ConfigPath.of(path);
+			assertEquals(list, Arrays.asList(compiled.toArray()), path);
+			assertEquals(list.size(), compiled.length(), path);
+			for (int i = 0; i < list.size(); i++) {
+				assertEquals(list.get(i), compiled.get(i), path);
+			}
+			assertEquals(path, compiled.toString());
+			assertEquals(compiled, ConfigPath.of(list.toArray(new String[0])), path);
+		}
+	}
+
+	@Test
+	public void sameValuesAsListPaths() {
+		for (String path : PATHS) {
+			// one config per path, since some paths are prefixes of the others
+			Config config = new MemoryConfig();
+			List<String> list = new ArrayList<>();
+			StringUtils.split(path, '.', list);
+			String[] parts = list.toArray(new String[0]);
+			config.set(parts, path);
+			assertEquals(path, config.<String>get(ConfigPath.of(path)), path);
+			assertEquals(path, config.<String>get(path), path);
+			assertTrue(config.contains(ConfigPath.of(parts)), path);
+		}
+	}
+
+	@Test
+	public void equalsAndHashCode() {
+		ConfigPath dotted = ConfigPath.of("a.b");
+		ConfigPath parts = ConfigPath.of("a", "b");
+		assertEquals(dotted, parts);
+		assertEquals(parts, dotted);
+		assertEquals(dotted.hashCode(), parts.hashCode());
+		assertEquals(Arrays.hashCode(new String[] {"a", "b"}), dotted.hashCode());
+
+		// a part that contains a dot isn't split
+		ConfigPath single = ConfigPath.of(new String[] {"a.b"});
+		assertEquals(1, single.length());
+		assertNotEquals(dotted, single);
+		assertNotEquals(dotted, ConfigPath.of("a.b.c"));
+		assertNotEquals(dotted, ConfigPath.of("a"));
+		assertNotEquals(dotted, "a.b");
+	}
+
+	@Test
+	public void partsAreCopied() {
+		String[] parts = {"a", "b"};
+		ConfigPath path = ConfigPath.of(parts);
+		parts[1] = "c";
+		assertEquals("b", path.get(1));
+		path.toArray()[0] = "c";
+		assertEquals("a", path.get(0));
+	}
+
+	@Test
+	public void cacheCollisions() {
+		// "Aa" and "BB" have the same hash code, so these paths use the same slot of the cache
+		assertEquals("Aa.x".hashCode(), "BB.x".hashCode());
+		for (int i = 0; i < 3; i++) {
+			ConfigPath a = ConfigPath.of("Aa.x");
+			assertArrayEquals(new String[] {"Aa", "x"}, a.toArray());
+			assertSame(a, ConfigPath.of("Aa.x"));// cached
+			ConfigPath b = ConfigPath.of("BB.x");
+			assertArrayEquals(new String[] {"BB", "x"}, b.toArray());
+			assertEquals(a.hashCode(), b.hashCode());
+			assertNotEquals(a, b);
+		}
+	}
+}
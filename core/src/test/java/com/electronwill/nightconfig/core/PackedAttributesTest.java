@@ -0,0 +1,68 @@
+package com.electronwill.nightconfig.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static com.electronwill.nightconfig.core.StandardAttributes.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class PackedAttributesTest {
+
+	@Test
+	public void sortedArrays() {
+		AttributeType<String> a = new AttributeType<>("a");
+		AttributeType<String> b = new AttributeType<>("b");
+		AttributeType<String> c = new AttributeType<>("c");
+		assertTrue(a.getIndex() < b.getIndex() && b.getIndex() < c.getIndex());
+
+		Object[] packed = PackedAttributes.with(null, c, "c");
+		packed = PackedAttributes.with(packed, a, "a");
+		packed = PackedAttributes.with(packed, b, "b");
+		assertArrayEquals(new Object[] {a, "a", b, "b", c, "c"}, packed);
+		assertSame(packed, PackedAttributes.with(packed, b, "b"));
+		assertEquals("b", PackedAttributes.get(packed, b));
+		assertFalse(PackedAttributes.has(packed, COMMENT));
+
+		Object[] removed = PackedAttributes.without(packed, b);
+		assertArrayEquals(new Object[] {a, "a", c, "c"}, removed);
+		assertEquals(3, PackedAttributes.size(packed), "the arrays must never be modified");
+		assertSame(removed, PackedAttributes.without(removed, b));
+		assertNull(PackedAttributes.without(PackedAttributes.without(removed, a), c));
+	}
+
+	@Test
+	public void entryAttributes() {
+		Config config = new MemoryConfig();
+		config.set("key", 1);
+		config.setComment("key", "comment");
+		config.set(NUMBER_BASE, new String[] {"key"}, 16);
+		Config.Entry entry = config.getEntry("key");
+
+		List<AttributeType<?>> types = new ArrayList<>();
+		entry.forEachExtraAttribute((type, value) -> types.add(type));
+		assertEquals(2, types.size());
+		assertTrue(types.contains(COMMENT) && types.contains(NUMBER_BASE));
+		int count = 0;
+		for (Config.Attribute<?> attribute : entry.attributes()) {
+			count++;
+		}
+		assertEquals(3, count, "attributes() must include the value");
+
+		Config other = new MemoryConfig();
+		other.set("key", 1);
+		other.set(NUMBER_BASE, new String[] {"key"}, 16);
+		other.setComment("key", "comment");
+		assertEquals(config, other, "the order of insertion must not matter");
+		assertEquals(config.hashCode(), other.hashCode());
+
+		assertNull(entry.remove(FORCE_MULTILINE));
+		assertEquals("comment", entry.remove(COMMENT));
+		assertEquals(16, (int)entry.remove(NUMBER_BASE));
+		entry.forEachExtraAttribute((type, value) -> fail("no attribute expected"));
+	}
+}
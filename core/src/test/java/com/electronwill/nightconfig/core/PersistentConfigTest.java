@@ -0,0 +1,105 @@
+package com.electronwill.nightconfig.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class PersistentConfigTest {
+
+	@Test
+	public void basicTest() {
+		PersistentConfig empty = PersistentConfig.empty();
+		PersistentConfig config = empty.with("a.b.c", 1).with("a.d", "str");
+		assertEquals(0, empty.size());
+		assertEquals(1, config.size());
+		assertEquals(1, config.getInt("a.b.c"));
+		assertEquals("str", config.get("a.d"));
+		assertTrue(config.get("a") instanceof PersistentConfig);
+
+		PersistentConfig commented = config.with(StandardAttributes.COMMENT, "a.d", "comment");
+		assertEquals("comment", commented.getComment("a.d"));
+		assertNull(config.getComment("a.d"));
+		PersistentConfig modified = commented.with("a.d", "other");
+		assertEquals("comment", modified.getComment("a.d"), "attributes must be kept");
+
+		PersistentConfig removed = modified.without("a.b.c");
+		assertFalse(removed.contains("a.b.c"));
+		assertTrue(removed.contains("a.b"));
+		assertTrue(modified.contains("a.b.c"));
+		assertSame(removed, removed.without("a.b.c"));
+		assertSame(removed, removed.without("x.y"));
+		assertNull(modified.without(StandardAttributes.COMMENT, "a.d").getComment("a.d"));
+		assertThrows(WrongPathException.class, () -> config.with("a.d.e", 0));
+	}
+
+	@Test
+	public void structuralSharing() {
+		PersistentConfig config = PersistentConfig.empty().with("big.x", 0).with("small.y", 0);
+		PersistentConfig modified = config.with("small.y", 1);
+		assertSame(config.get("big"), modified.get("big"));
+		assertNotSame(config.get("small"), modified.get("small"));
+		assertSame(config, config.with("big.x", config.get("big.x")));
+	}
+
+	/**
+	 * Compares the trie with a HashMap, with enough keys to create several levels and collisions.
+	 */
+	@Test
+	public void randomOperations() {
+		Random random = new Random(42);
+		Map<String, Integer> expected = new HashMap<>();
+		PersistentConfig config = PersistentConfig.empty();
+		for (int i = 0; i < 20000; i++) {
+			// "Aa" and "BB" have the same hash code, so do their concatenations
+			String key = (random.nextBoolean() ? "Aa" : "BB") + (random.nextBoolean() ? "Aa" : "BB")
+						 + random.nextInt(3000);
+			if (random.nextInt(3) == 0) {
+				expected.remove(key);
+				config = config.without(new String[]{key});
+			} else {
+				expected.put(key, i);
+				config = config.with(new String[]{key}, i);
+			}
+		}
+		assertEquals(expected.size(), config.size());
+		assertEquals(expected, config.valueMap());
+		int count = 0;
+		for (UnmodifiableConfig.Entry entry : config.entries()) {
+			assertEquals(expected.get(entry.getKey()), entry.getValue());
+			count++;
+		}
+		assertEquals(expected.size(), count);
+		assertEquals(config, PersistentConfig.copyOf(config.toMemoryConfig()));
+	}
+
+	@Test
+	public void conversions() {
+		Config memory = new MemoryConfig();
+		for (int i = 0; i < 1000; i++) {
+			memory.set(new String[]{"sub" + (i % 10), "key" + i}, i);
+		}
+		memory.setComment("sub0", "comment");
+		PersistentConfig config = PersistentConfig.copyOf(memory);
+		assertEquals(10, config.size());
+		assertEquals(999, config.getInt("sub9.key999"));
+		assertEquals("comment", config.getComment("sub0"));
+		assertTrue(config.get("sub0") instanceof PersistentConfig);
+		assertSame(config, PersistentConfig.copyOf(config));
+
+		MemoryConfig copy = config.toMemoryConfig();
+		assertEquals(memory, copy);
+		assertEquals("comment", copy.getComment("sub0"));
+
+		memory.set("sub0.key0", -1);
+		assertEquals(0, config.getInt("sub0.key0"), "the copy must be independent");
+		PersistentConfig withConfig = PersistentConfig.empty().with("c", memory);
+		assertTrue(withConfig.get("c") instanceof PersistentConfig);
+	}
+}
@@ -0,0 +1,105 @@
+package com.electronwill.nightconfig.core;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class PrimitiveValuesTest {
+
+	@Test
+	public void unboxedValues() {
+		Config config = new MemoryConfig();
+		config.setInt("a.int", 123);
+		config.setLong("a.long", 1L << 40);
+		config.setDouble("a.double", 0.5);
+		assertEquals(123, config.getInt("a.int"));
+		assertEquals(123L, config.getLong("a.int"));
+		assertEquals(1L << 40, config.getLong("a.long"));
+		assertEquals(0.5, config.getDouble("a.double"));
+		assertEquals(0, config.getInt("a.double"));
+
+		// Boxed when read as an Object
+		assertEquals(Integer.valueOf(123), config.get("a.int"));
+		assertEquals(Long.valueOf(1L << 40), config.get("a.long"));
+		assertEquals(Double.valueOf(0.5), config.get("a.double"));
+		assertEquals(config.get("a.int"), config.<Integer>set("a.int", "replaced"));
+		assertEquals("replaced", config.get("a.int"));
+
+		config.set("a.boxed", 7.0f);
+		assertEquals(7, config.getInt("a.boxed"));
+		assertEquals(7.0, config.getDouble("a.boxed"));
+		assertEquals(42, config.getIntOrElse("a.missing", 42));
+		assertEquals(-1.0, config.getDoubleOrElse("missing.path", -1.0));
+		config.remove("a.long");
+		assertEquals(5L, config.getLongOrElse("a.long", 5L));
+		assertThrows(NullPointerException.class, () -> config.getLong("a.long"));
+	}
+
+	@Test
+	public void entryCopies() {
+		Config config = new MemoryConfig();
+		config.setInt("int", 1);
+		config.setDouble("double", 2.0);
+		Config copy = new ConcurrentConfig(config);
+		assertEquals(1, copy.getInt("int"));
+		assertEquals(2.0, copy.<Double>get("double"));
+		assertEquals(Integer.valueOf(1), copy.get("int"));
+	}
+
+	@Test
+	public void primitiveRewrites() {
+		MemoryConfig config = new MemoryConfig();
+		config.setInt("a", 1);
+		long count = config.modificationCount();
+		config.setDouble("a", 2.5);// updates the unboxed value in place
+		assertEquals(count + 1, config.modificationCount());
+		assertEquals(2.5, config.getDouble("a"));
+		assertEquals(2, config.getInt("a"));
+		assertEquals(Double.valueOf(2.5), config.get("a"));
+
+		config.set("a", "text");
+		assertEquals("text", config.get("a"));
+		config.setLong("a", 3L);
+		assertEquals(Long.valueOf(3L), config.get("a"));
+		assertEquals(Long.valueOf(3L), config.getEntry(new String[] {"a"}).getRawValue());
+		assertEquals(count + 3, config.modificationCount());
+	}
+
+	/**
+	 * A reader never sees a mix of two primitive values of different types.
+	 */
+	@Test
+	public void concurrentTypeChanges() throws Exception {
+		Config config = new ConcurrentConfig();
+		config.setInt("v", 1);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Object> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			while (running.get()) {
+				Object value = config.get("v");
+				if (!value.equals(1) && !value.equals(1L << 62) && !value.equals(2.5)) {
+					failure.set(value);
+				}
+				double d = config.getDouble("v");
+				if (d != 1.0 && d != (double)(1L << 62) && d != 2.5) {
+					failure.set(d);
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < 300_000; i++) {
+			config.setInt("v", 1);
+			config.setLong("v", 1L << 62);
+			config.setDouble("v", 2.5);
+		}
+		running.set(false);
+		reader.join();
+		assertNull(failure.get());
+	}
+}
@@ -0,0 +1,92 @@
+package com.electronwill.nightconfig.core.conversion;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectEntriesWalkerTest {
+	static class Point {
+		int x = 1, y = 2;
+	}
+
+	static class MyObject {
+		String name = "obj";
+		transient int ignored = 3;
+		@Path("renamed")
+		double value = 0.5;
+		Point point = new Point();
+		List<Point> points = Arrays.asList(new Point(), null);
+		List<Integer> ints = Arrays.asList(1, 2);
+		@Conversion(IntToString.class)
+		int converted = 4;
+	}
+
+	static class IntToString implements Converter<Integer, String> {
+		@Override
+		public Integer convertToField(String value) {
+			return Integer.parseInt(value);
+		}
+
+		@Override
+		public String convertFromField(Integer value) {
+			return String.valueOf(value);
+		}
+	}
+
+	private static boolean isSupported(Class<?> type) {
+		return type.isPrimitive() || type == String.class || Number.class.isAssignableFrom(type)
+			   || List.class.isAssignableFrom(type);
+	}
+
+	@Test
+	void walk() {
+		EntriesWalker walker = new ObjectEntriesWalker(new MyObject(),
+													   ObjectEntriesWalkerTest::isSupported, false);
+		assertEquals("name", walker.nextKey());
+		assertEquals(String.class, walker.nextClass());
+		assertNull(walker.breakdown());
+		assertEquals("obj", walker.nextValue());
+
+		assertEquals("renamed", walker.nextKey());
+		assertEquals(0.5, walker.nextValue());
+
+		assertEquals("point", walker.nextKey());
+		EntriesWalker point = walker.breakdown();
+		assertNotNull(point);
+
+		assertEquals("points", walker.nextKey());
+		List<?> points = (List<?>)walker.nextValue();
+		assertTrue(points.get(0) instanceof EntriesWalker);
+		assertNull(points.get(1));
+
+		// The walker of the point can be used after the parent walker has moved
+		assertEquals("x", point.nextKey());
+		assertEquals(1, point.nextValue());
+		assertEquals("y", point.nextKey());
+		assertFalse(point.hasNext());
+
+		assertEquals("ints", walker.nextKey());
+		assertEquals(Arrays.asList(1, 2), walker.nextValue());
+		assertEquals("converted", walker.nextKey());
+		assertEquals("4", walker.nextValue());
+		assertFalse(walker.hasNext());
+	}
+
+	@Test
+	void readInto() {
+		Config config = new MemoryConfig();
+		new ObjectEntriesWalker(new MyObject(), ObjectEntriesWalkerTest::isSupported, true)
+			.readInto(config);
+		assertEquals("obj", config.get("name"));
+		assertEquals(3, config.<Integer>get("ignored").intValue());// bypassTransient
+		assertEquals(2, config.<Integer>get("point.y").intValue());
+		List<?> points = config.get("points");
+		assertEquals(1, ((Config)points.get(0)).<Integer>get("x").intValue());
+	}
+}
@@ -0,0 +1,185 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.io.KeyValueLines;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import com.electronwill.nightconfig.core.io.WritingException;
+import com.electronwill.nightconfig.core.io.WritingMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author TheElectronWill
+ */
+public class AtomicSaveTest {
+	private static final KeyValueLines.Writer WRITER = new KeyValueLines.Writer();
+
+	@TempDir
+	Path dir;
+	private Path file;
+
+	@BeforeEach
+	public void setup() {
+		file = dir.resolve("config.txt");
+	}
+
+	@Test
+	public void replacesTheFile() throws IOException {
+		AtomicSave.write(file, utf8("first"), FsyncPolicy.NONE);
+		assertEquals("first", read());
+		AtomicSave.write(file, utf8("second"), FsyncPolicy.DATA_AND_METADATA);
+		assertEquals("second", read());
+		assertNoTempFile();
+	}
+
+	@Test
+	public void keepsOtherFiles() throws IOException {
+		// a file of the user that looks like a temporary file
+		Path userFile = dir.resolve("config.txt.tmp");
+		Files.write(userFile, "user data".getBytes(StandardCharsets.UTF_8));
+		AtomicSave.write(file, utf8("content"), FsyncPolicy.NONE);
+		assertEquals("content", read());
+		assertEquals("user data", new String(Files.readAllBytes(userFile), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void keepsPermissions() throws IOException {
+		assumeTrue(Files.getFileStore(dir).supportsFileAttributeView(PosixFileAttributeView.class));
+		Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+		Files.setPosixFilePermissions(file, permissions);
+		AtomicSave.write(file, utf8("new"), FsyncPolicy.NONE);
+		assertEquals(permissions, Files.getPosixFilePermissions(file));
+	}
+
+	@Test
+	public void concurrentSaves() throws Exception {
+		// Two savers of the same file don't share a temporary file
+		String a = "first saver", b = "second saver";
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<?>> saves = new ArrayList<>();
+			for (String content : new String[] {a, b}) {
+				saves.add(executor.submit(() -> {
+					for (int i = 0; i < 100; i++) {
+						AtomicSave.write(file, utf8(content), FsyncPolicy.NONE);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> save : saves) {
+				save.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		String content = read();
+		assertTrue(content.equals(a) || content.equals(b), content);
+		assertNoTempFile();
+	}
+
+	@Test
+	public void syncSave() throws IOException {
+		Files.write(file, "old content that is longer".getBytes(StandardCharsets.UTF_8));
+		Config config = new MemoryConfig();
+		WriteSyncFileConfig<Config> fileConfig = new WriteSyncFileConfig<>(config, file,
+			StandardCharsets.UTF_8, WRITER, WritingMode.REPLACE, true, FsyncPolicy.DATA, false,
+			null, ParsingMode.REPLACE, FileNotFoundAction.CREATE_EMPTY);
+		fileConfig.set("a", 1);
+		fileConfig.save();
+		assertEquals("a=1\n", read());
+		assertNoTempFile();
+	}
+
+	@Test
+	public void asyncSave() throws IOException {
+		Config config = new MemoryConfig();
+		WriteAsyncFileConfig<Config> fileConfig = new WriteAsyncFileConfig<>(config, file,
+			StandardCharsets.UTF_8, WRITER, WritingMode.REPLACE, true, FsyncPolicy.DATA, false,
+			AsyncSaveExecutor.defaultInstance(), 0, null, ParsingMode.REPLACE,
+			FileNotFoundAction.CREATE_EMPTY);
+		fileConfig.set("a", 1);
+		fileConfig.save();
+		fileConfig.set("b", 2);
+		fileConfig.save();
+		fileConfig.close();// waits for the saves
+		assertEquals("a=1\nb=2\n", read());
+		assertNoTempFile();
+	}
+
+	@Test
+	public void asyncFailedSave() throws IOException {
+		// The temporary file can't replace a non-empty directory
+		Files.createDirectory(file);
+		Files.createFile(file.resolve("child"));
+		WriteAsyncFileConfig<Config> fileConfig = new WriteAsyncFileConfig<>(new MemoryConfig(),
+			file, StandardCharsets.UTF_8, WRITER, WritingMode.REPLACE, true, FsyncPolicy.NONE,
+			false, AsyncSaveExecutor.defaultInstance(), 0, null, ParsingMode.REPLACE,
+			FileNotFoundAction.CREATE_EMPTY);
+		fileConfig.set("a", 1);
+		// close() doesn't wait forever, and the error of the I/O thread is reported by save(),
+		// if the write has already failed, or by close()
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			assertThrows(WritingException.class, () -> {
+				fileConfig.save();
+				fileConfig.close();
+			});
+			fileConfig.close();
+		});
+		assertNoTempFile();
+	}
+
+	@Test
+	public void asyncFailedOpening() {
+		// The file can't be opened in a missing directory
+		Path missing = dir.resolve("missing").resolve("config.txt");
+		WriteAsyncFileConfig<Config> fileConfig = new WriteAsyncFileConfig<>(new MemoryConfig(),
+			missing, StandardCharsets.UTF_8, WRITER, WritingMode.REPLACE, false, FsyncPolicy.NONE,
+			false, AsyncSaveExecutor.defaultInstance(), 0, null, ParsingMode.REPLACE,
+			FileNotFoundAction.CREATE_EMPTY);
+		fileConfig.set("a", 1);
+		assertThrows(WritingException.class, fileConfig::save);
+		assertTimeoutPreemptively(Duration.ofSeconds(10), fileConfig::close);
+	}
+
+	private void assertNoTempFile() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(Collections.emptyList(), files.filter(f -> f.toString().endsWith(".tmp"))
+													   .collect(Collectors.toList()));
+		}
+	}
+
+	private String read() throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	private static ByteBuffer utf8(String s) {
+		return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+	}
+}
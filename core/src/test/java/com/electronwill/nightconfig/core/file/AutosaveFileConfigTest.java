@@ -0,0 +1,141 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.ConcurrentConfig;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.io.KeyValueLines;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import com.electronwill.nightconfig.core.io.WritingMode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class AutosaveFileConfigTest {
+	private final KeyValueLines.Writer writer = new KeyValueLines.Writer();
+
+	@TempDir
+	Path dir;
+	private FileConfig fileConfig;
+
+	@BeforeEach
+	public void setup() {
+		FileConfig base = new WriteSyncFileConfig<>(new MemoryConfig(), dir.resolve("config.txt"),
+			StandardCharsets.UTF_8, writer, WritingMode.REPLACE, false, FsyncPolicy.NONE, false,
+			null, ParsingMode.REPLACE, FileNotFoundAction.CREATE_EMPTY);
+		fileConfig = new AutosaveFileConfig(base);
+	}
+
+	@AfterEach
+	public void cleanup() {
+		fileConfig.close();
+	}
+
+	@Test
+	public void savesEachModification() {
+		for (int i = 0; i < 10; i++) {
+			fileConfig.set("key" + i, i);
+		}
+		fileConfig.valueMap().put("map", true);
+		assertEquals(11, writer.writes());
+	}
+
+	@Test
+	public void batchSavesOnce() throws IOException {
+		fileConfig.batch(config -> {
+			for (int i = 0; i < 5000; i++) {
+				config.set("key" + i, i);
+			}
+			config.valueMap().put("map", true);
+			config.getEntry("key1").setValue(-1);
+		});
+		assertEquals(1, writer.writes());
+		assertEquals(5001, fileConfig.size());
+		String saved = new String(Files.readAllBytes(fileConfig.getNioPath()),
+			StandardCharsets.UTF_8);
+		assertTrue(saved.contains("key1=-1\n"));
+		assertTrue(saved.contains("map=true\n"));
+		assertTrue(saved.contains("key4999=4999\n"));
+	}
+
+	@Test
+	public void nestedBatches() {
+		fileConfig.batch(config -> {
+			config.set("a", 1);
+			config.batch(inner -> inner.set("b", 2));
+			assertEquals(0, writer.writes());// still in the outer batch
+			config.set("c", 3);
+		});
+		assertEquals(1, writer.writes());
+	}
+
+	@Test
+	public void concurrentBatchEnd() throws Exception {
+		// A modification made while another thread ends its batch is saved by one of them
+		FileConfig base = new WriteSyncFileConfig<>(new ConcurrentConfig(),
+			dir.resolve("concurrent.txt"), StandardCharsets.UTF_8, writer, WritingMode.REPLACE,
+			false, FsyncPolicy.NONE, false, null, ParsingMode.REPLACE,
+			FileNotFoundAction.CREATE_EMPTY);
+		FileConfig concurrent = new AutosaveFileConfig(base);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 2000; i++) {
+				final int value = i;
+				final int delay = ThreadLocalRandom.current().nextInt(2000);
+				AtomicBoolean inBatch = new AtomicBoolean();
+				Future<?> batch = executor.submit(() -> concurrent.batch(config -> {
+					config.set("batch", value);
+					inBatch.set(true);
+					spin(delay);// varies the end of the batch around the other modification
+				}));
+				Future<?> single = executor.submit(() -> {
+					while (!inBatch.get()) {// starts right after the batch's set
+						Thread.yield();
+					}
+					concurrent.set("single", value);
+				});
+				batch.get(10, TimeUnit.SECONDS);
+				single.get(10, TimeUnit.SECONDS);
+				String saved = new String(Files.readAllBytes(concurrent.getNioPath()),
+					StandardCharsets.UTF_8);
+				assertTrue(saved.contains("batch=" + value + "\n"), saved);
+				assertTrue(saved.contains("single=" + value + "\n"), saved);
+			}
+		} finally {
+			executor.shutdownNow();
+			concurrent.close();
+		}
+	}
+
+	private static volatile int spinSink;
+
+	private static void spin(int iterations) {
+		for (int i = 0; i < iterations; i++) {
+			spinSink++;
+		}
+	}
+
+	@Test
+	public void unmodifiedBatchDoesntSave() {
+		fileConfig.batch(config -> config.get("a"));
+		assertEquals(0, writer.writes());
+		fileConfig.set("a", 1);// the autosave works again after the batch
+		assertEquals(1, writer.writes());
+	}
+}
@@ -0,0 +1,81 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.io.KeyValueLines;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import com.electronwill.nightconfig.core.io.WritingMode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class DelayedSaveTest {
+	private final KeyValueLines.Writer writer = new KeyValueLines.Writer();
+
+	private ScheduledExecutorService executor;
+	@TempDir
+	Path dir;
+	private Path file;
+
+	@BeforeEach
+	public void setup() {
+		executor = AsyncSaveExecutor.create(1);
+		file = dir.resolve("config.txt");
+	}
+
+	@AfterEach
+	public void cleanup() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void savesAreCoalesced() throws Exception {
+		WriteAsyncFileConfig<Config> fileConfig = newFileConfig(TimeUnit.MILLISECONDS.toNanos(200));
+		for (int i = 0; i < 100; i++) {
+			fileConfig.set("a", i);
+			fileConfig.save();
+		}
+		assertEquals(0, writer.writes());// nothing before the end of the delay
+		Thread.sleep(600);
+		assertEquals(1, writer.writes());
+		assertEquals("a=99\n", read());
+		fileConfig.close();
+		assertEquals(1, writer.writes());
+	}
+
+	@Test
+	public void closeFlushesThePendingSave() throws IOException {
+		WriteAsyncFileConfig<Config> fileConfig = newFileConfig(TimeUnit.HOURS.toNanos(1));
+		fileConfig.set("a", 1);
+		fileConfig.save();
+		fileConfig.set("b", 2);
+		fileConfig.save();
+		fileConfig.close();
+		assertEquals(1, writer.writes());
+		assertEquals("a=1\nb=2\n", read());
+	}
+
+	private WriteAsyncFileConfig<Config> newFileConfig(long saveDelay) {
+		return new WriteAsyncFileConfig<>(new MemoryConfig(), file, StandardCharsets.UTF_8, writer,
+			WritingMode.REPLACE, false, FsyncPolicy.NONE, false, executor, saveDelay, null,
+			ParsingMode.REPLACE, FileNotFoundAction.CREATE_EMPTY);
+	}
+
+	private String read() throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,110 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.AttributeType;
+import com.electronwill.nightconfig.core.ConcurrentConfig;
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.check.ConfigChecker;
+import com.electronwill.nightconfig.core.io.ConfigParser;
+import com.electronwill.nightconfig.core.io.ConfigWriter;
+import com.electronwill.nightconfig.core.utils.WriterSupplier;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class FileConfigBuilderTest {
+	/** A format that isn't used to read or write anything */
+	private static final ConfigFormat FORMAT = new ConfigFormat() {
+		@Override
+		public ConfigWriter writer() {
+			return null;
+		}
+
+		@Override
+		public ConfigParser parser() {
+			return null;
+		}
+
+		@Override
+		public ConfigChecker checker() {
+			return null;
+		}
+
+		@Override
+		public boolean supportsAttribute(AttributeType<?> attribute) {
+			return true;
+		}
+
+		@Override
+		public boolean supportsComments() {
+			return false;
+		}
+
+		@Override
+		public boolean supportsValue(Object value) {
+			return true;
+		}
+
+		@Override
+		public boolean supportsType(Class<?> type) {
+			return true;
+		}
+
+		@Override
+		public void initEmptyFile(WriterSupplier ws) {}
+	};
+
+	private static FileConfigBuilder builder() {
+		return new FileConfigBuilder(Paths.get("config.txt"), FORMAT);
+	}
+
+	@Test
+	public void concurrent() {
+		assertTrue(builder().concurrent().getConfig() instanceof ConcurrentConfig);
+	}
+
+	@Test
+	public void concurrentKeepsTheChosenSupplier() {
+		Config base = new MemoryConfig();
+		assertSame(base, builder().baseSupplier(() -> base).concurrent().getConfig());
+		assertSame(base, builder().concurrent().baseSupplier(() -> base).getConfig());
+	}
+
+	@Test
+	public void concurrentInsertionOrder() {
+		// The ordered configs aren't thread-safe
+		assertThrows(IllegalArgumentException.class,
+			() -> builder().preserveInsertionOrder().concurrent().getConfig());
+		assertThrows(IllegalArgumentException.class,
+			() -> builder().concurrent().preserveInsertionOrder().getConfig());
+		assertThrows(IllegalArgumentException.class,
+			() -> builder().preserveInsertionOrder().autoreload().build());
+		// unless the reloads are atomic
+		Config config = builder().preserveInsertionOrder().concurrent().atomicReload().getConfig();
+		assertTrue(config instanceof SnapshotConfig);
+		assertOrdered(config);
+		// a supplier chosen afterwards replaces the ordered one
+		Config base = new MemoryConfig();
+		assertSame(base,
+			builder().preserveInsertionOrder().baseSupplier(() -> base).concurrent().getConfig());
+		assertOrdered(builder().preserveInsertionOrder().getConfig());
+	}
+
+	private static void assertOrdered(Config config) {
+		List<String> keys = Arrays.asList("z", "y", "x", "w");
+		for (String key : keys) {
+			config.set(key, key);
+		}
+		assertEquals(keys, new ArrayList<>(config.valueMap().keySet()));
+	}
+}
@@ -0,0 +1,69 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.io.KeyValueLines;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import com.electronwill.nightconfig.core.io.WritingMode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class FileFingerprintTest {
+	private final KeyValueLines.Parser parser = new KeyValueLines.Parser();
+	private final KeyValueLines.Writer writer = new KeyValueLines.Writer();
+
+	@TempDir
+	Path dir;
+	private Path file;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		file = dir.resolve("config.txt");
+		Files.write(file, "a=1\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void unchangedFile() {
+		checkLoads(new MemoryConfig());
+	}
+
+	@Test
+	public void unchangedFileOfSnapshot() {
+		checkLoads(new SnapshotConfig(new MemoryConfig()));
+	}
+
+	private void checkLoads(Config base) {
+		FileConfig fileConfig = new WriteSyncFileConfig<>(base, file, StandardCharsets.UTF_8,
+			writer, WritingMode.REPLACE, false, FsyncPolicy.NONE, false, parser,
+			ParsingMode.REPLACE, FileNotFoundAction.CREATE_EMPTY);
+		fileConfig.load();
+		fileConfig.load();
+		assertEquals(1, parser.parses());
+		assertEquals("1", fileConfig.get("a"));
+
+		// The file hasn't changed, but the config doesn't match it anymore
+		fileConfig.set("a", "2");
+		fileConfig.load();
+		assertEquals(2, parser.parses());
+		assertEquals("1", fileConfig.get("a"));
+
+		// The saved content isn't parsed again
+		fileConfig.set("a", "3");
+		fileConfig.save();
+		fileConfig.load();
+		assertEquals(2, parser.parses());
+		assertEquals("3", fileConfig.get("a"));
+	}
+}
@@ -0,0 +1,80 @@
+package com.electronwill.nightconfig.core.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class FileWatcherTest {
+	private final FileWatcher watcher = new FileWatcher();
+	@TempDir
+	Path dir;
+	private Path file;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		file = dir.resolve("config.txt");
+		Files.write(file, "a=1\n".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@AfterEach
+	public void cleanup() throws IOException {
+		watcher.stop();
+	}
+
+	@Test
+	public void atomicSave() throws Exception {
+		CountDownLatch changed = new CountDownLatch(1);
+		watcher.addWatch(file, changed::countDown);
+		// Replaces the file by renaming a temporary file, which creates a new entry
+		AtomicSave.write(file, ByteBuffer.wrap("a=2\n".getBytes(StandardCharsets.UTF_8)),
+						 FsyncPolicy.NONE);
+		assertTrue(changed.await(10, TimeUnit.SECONDS), "The replacement hasn't been detected");
+	}
+
+	@Test
+	public void debouncedModifications() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		watcher.addWatch(file, calls::incrementAndGet, 500, 5000, TimeUnit.MILLISECONDS);
+		// Several modifications in the quiet period: one call
+		for (int i = 0; i < 5; i++) {
+			write("a=" + i + "\n");
+			Thread.sleep(20);
+		}
+		awaitCalls(calls, 1);
+		Thread.sleep(1000);// more than the quiet period: no other call is coming
+		assertEquals(1, calls.get());
+
+		// A modification after the quiet period: another call
+		write("b=2\n");
+		awaitCalls(calls, 2);
+		Thread.sleep(1000);
+		assertEquals(2, calls.get());
+	}
+
+	private void write(String content) throws IOException {
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void awaitCalls(AtomicInteger calls, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (calls.get() < expected && System.nanoTime() - deadline < 0) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, calls.get(), "Unexpected number of handler calls");
+	}
+}
@@ -0,0 +1,189 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class SnapshotConfigTest {
+	private static final int VALUES = 1000;
+
+	@Test
+	public void modificationsDontAffectSnapshots() {
+		SnapshotConfig config = new SnapshotConfig(new MemoryConfig());
+		config.set("a.b.c", 1);
+		config.setComment("a.b.c", "comment");
+		UnmodifiableConfig snapshot = config.snapshot();
+
+		config.set("a.b.c", 2);
+		config.set("a.d", "new");
+		assertEquals(2, config.getInt("a.b.c"));
+		assertEquals("comment", config.getComment("a.b.c"));
+		assertEquals(1, snapshot.getInt("a.b.c"));
+		assertFalse(snapshot.contains("a.d"));
+	}
+
+	@Test
+	public void subConfigViews() {
+		SnapshotConfig config = new SnapshotConfig(new MemoryConfig());
+		config.set("a.b", 1);
+		UnmodifiableConfig snapshot = config.snapshot();
+		Config a = config.get("a");
+		a.set("c", 2);
+		assertEquals(2, config.getInt("a.c"));
+		assertFalse(snapshot.contains("a.c"));
+
+		Config external = new MemoryConfig();
+		external.set("x", "value");
+		config.set("ext", external);
+		external.set("x", "modified");
+		assertEquals("value", config.get("ext.x"));
+
+		config.getEntry("a.b").setValue(3);
+		assertEquals(3, config.getInt("a.b"));
+		assertEquals(1, snapshot.getInt("a.b"));
+		config.valueMap().clear();// the views write through
+		assertEquals(0, config.size());
+		assertEquals(1, snapshot.getInt("a.b"));
+	}
+
+	/**
+	 * A reader never sees a config that is being filled by a reload.
+	 */
+	@Test
+	public void atomicReplaceReload() throws Exception {
+		SnapshotConfig config = new SnapshotConfig(new MemoryConfig());
+		fill(config, 0);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<String> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			while (running.get()) {
+				UnmodifiableConfig snapshot = config.snapshot();
+				int size = snapshot.size();
+				int first = snapshot.getInt("v0");
+				int last = snapshot.getInt("v" + (VALUES - 1));
+				if (size != VALUES || first != last) {
+					failure.set("size " + size + ", first " + first + ", last " + last);
+				}
+			}
+		});
+		reader.start();
+		for (int i = 1; i <= 50; i++) {
+			final int generation = i;
+			SnapshotConfig.parseInto(config, ParsingMode.REPLACE, c -> {
+				c.clear();
+				fill(c, generation);
+			});
+		}
+		running.set(false);
+		reader.join();
+		assertNull(failure.get());
+		assertEquals(50, config.getInt("v0"));
+	}
+
+	@Test
+	public void mergeReload() {
+		SnapshotConfig config = new SnapshotConfig(new MemoryConfig());
+		config.set("a.kept", true);
+		UnmodifiableConfig snapshot = config.snapshot();
+		SnapshotConfig.parseInto(config, ParsingMode.MERGE, c -> c.set("a.added", 1));
+		assertTrue(config.<Boolean>get("a.kept"));
+		assertEquals(1, config.getInt("a.added"));
+		assertFalse(snapshot.contains("a.added"));
+	}
+
+	@Test
+	public void writableViews() {
+		SnapshotConfig config = new SnapshotConfig(new MemoryConfig());
+		config.set("a", 1);
+		UnmodifiableConfig snapshot = config.snapshot();
+		long count = config.modificationCount();
+
+		Config other = new MemoryConfig();
+		other.set("b", 2);
+		other.set("c", 3);
+		config.putAll(other);
+		assertEquals(count + 1, config.modificationCount());// one snapshot for all the values
+		assertEquals(3, config.getInt("c"));
+
+		Map<String, Object> map = config.valueMap();
+		map.put("d", 4);
+		map.remove("a");
+		assertNull(config.get("a"));
+		map.entrySet().iterator().next().setValue(5);
+		assertTrue(config.valueMap().containsValue(5));
+
+		config.set("sub.x", 1);
+		config.<Config>get("sub").valueMap().put("y", 2);
+		assertEquals(2, config.getInt("sub.y"));
+
+		config.entries().removeIf(e -> e.getKey().equals("d"));
+		assertNull(config.get("d"));
+		config.removeAll(other);
+		assertNull(config.get("b"));
+		assertNull(config.get("c"));
+
+		config.valueMap().clear();
+		assertEquals(0, config.size());
+		assertEquals(1, snapshot.getInt("a"));// the snapshots aren't affected
+		assertEquals(1, snapshot.size());
+	}
+
+	@Test
+	public void listsAreIsolated() {
+		SnapshotConfig config = new SnapshotConfig(new MemoryConfig());
+		Config server = new MemoryConfig();
+		List<String> ports = new ArrayList<>(Arrays.asList("80", "443"));
+		server.set("ports", ports);
+		List<Object> list = new ArrayList<>(Arrays.asList(server, new ArrayList<>(ports)));
+		config.set("servers", list);
+		config.set("sub.servers", list);
+
+		// modifying the originals doesn't affect the config
+		ports.add("8080");
+		server.set("name", "a");
+		list.add("other");
+		for (String path : new String[] {"servers", "sub.servers"}) {
+			List<Object> stored = config.get(path);
+			assertEquals(2, stored.size());
+			Config storedServer = (Config)stored.get(0);
+			assertFalse(storedServer.contains("name"));
+			assertEquals(Arrays.asList("80", "443"), storedServer.get("ports"));
+			assertEquals(Arrays.asList("80", "443"), stored.get(1));
+
+			// and the stored lists, even in copied configs, are unmodifiable
+			assertThrows(UnsupportedOperationException.class, () -> stored.add("x"));
+			List<String> storedPorts = storedServer.get("ports");
+			assertThrows(UnsupportedOperationException.class, () -> storedPorts.add("x"));
+			List<?> nested = (List<?>)stored.get(1);
+			assertThrows(UnsupportedOperationException.class, nested::clear);
+		}
+
+		// a merge reload can modify the lists without affecting the snapshots
+		UnmodifiableConfig snapshot = config.snapshot();
+		SnapshotConfig.parseInto(config, ParsingMode.MERGE,
+			c -> c.<List<Object>>get("servers").add("parsed"));
+		assertEquals(3, config.<List<Object>>get("servers").size());
+		assertEquals(2, snapshot.<List<Object>>get("servers").size());
+	}
+
+	private static void fill(Config config, int generation) {
+		for (int i = 0; i < VALUES; i++) {
+			config.set("v" + i, generation);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.electronwill.nightconfig.core.file;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.io.KeyValueLines;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import com.electronwill.nightconfig.core.io.WritingMode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class UnmodifiedSaveTest {
+	private final KeyValueLines.Writer writer = new KeyValueLines.Writer();
+
+	@TempDir
+	Path dir;
+	private Path file;
+
+	@BeforeEach
+	public void setup() {
+		file = dir.resolve("config.txt");
+	}
+
+	@Test
+	public void syncSave() {
+		FileConfig fileConfig = newSync(true);
+		fileConfig.set("a", 1);
+		fileConfig.save();
+		fileConfig.save();
+		fileConfig.save();
+		assertEquals(1, writer.writes());
+
+		fileConfig.set("sub.b", 2);
+		fileConfig.save();
+		fileConfig.save();
+		assertEquals(2, writer.writes());
+
+		fileConfig.<Config>get("sub").set("b", 3);// modifies a sub-config
+		fileConfig.save();
+		assertEquals(3, writer.writes());
+
+		Config server = fileConfig.createSubConfig();
+		fileConfig.set("servers", new ArrayList<>(Collections.singletonList(server)));
+		fileConfig.save();
+		fileConfig.<List<Config>>get("servers").get(0).set("port", 2);// modifies a config in a list
+		fileConfig.save();
+		assertEquals(5, writer.writes());
+	}
+
+	@Test
+	public void syncDefaultSave() {
+		FileConfig fileConfig = newSync(false);
+		fileConfig.set("a", 1);
+		fileConfig.save();
+		fileConfig.save();
+		assertEquals(2, writer.writes());
+	}
+
+	@Test
+	public void asyncSkippedSave() throws IOException {
+		WriteAsyncFileConfig<Config> fileConfig = new WriteAsyncFileConfig<>(new MemoryConfig(),
+			file, StandardCharsets.UTF_8, writer, WritingMode.REPLACE, false, FsyncPolicy.NONE,
+			true, AsyncSaveExecutor.defaultInstance(), 0, null, ParsingMode.REPLACE,
+			FileNotFoundAction.CREATE_EMPTY);
+		fileConfig.set("a", 1);
+		fileConfig.save();
+		waitForWrites(fileConfig);
+		fileConfig.save();
+		fileConfig.save();
+		fileConfig.set("a", 2);
+		fileConfig.save();
+		fileConfig.close();
+		assertEquals(2, writer.writes());
+		assertEquals("a=2\n", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+	}
+
+	/** Waits until the file contains the last save */
+	private void waitForWrites(FileConfig fileConfig) throws IOException {
+		String expected = "a=" + fileConfig.getInt("a") + "\n";
+		for (int i = 0; i < 500; i++) {
+			if (Files.exists(file)
+				&& expected.equals(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))) {
+				return;
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		fail("The file hasn't been written");
+	}
+
+	private FileConfig newSync(boolean skipUnmodified) {
+		return new WriteSyncFileConfig<>(new MemoryConfig(), file, StandardCharsets.UTF_8, writer,
+			WritingMode.REPLACE, false, FsyncPolicy.NONE, skipUnmodified, null, ParsingMode.REPLACE,
+			FileNotFoundAction.CREATE_EMPTY);
+	}
+}
@@ -0,0 +1,113 @@
+package com.electronwill.nightconfig.core.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteInputTest {
+
+	@Test
+	void decodeUtf8() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("key").append(i).append(" = \"é ü € 𝄞 日本\"\n");
+		}
+		String text = sb.toString();
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		assertEquals(text, readAll(new ByteInput(bytes, StandardCharsets.UTF_8)));
+		assertEquals(text, readAll(new ByteInput(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8)));
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+		assertEquals(text, readAll(new ByteInput(direct, StandardCharsets.UTF_8)));
+		// The sequences must be decoded correctly even if they are split between two reads
+		assertEquals(text, readAll(new ByteInput(slowStream(bytes), StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void malformedUtf8() {
+		byte[] bytes = {'a', (byte)0xC3, 'b', (byte)0xE2, (byte)0x82, (byte)0xED, (byte)0xA0,
+						(byte)0x80, 'c', (byte)0xFF, (byte)0xE2};
+		String expected = new String(bytes, StandardCharsets.UTF_8);
+		assertEquals(expected, readAll(new ByteInput(bytes, StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void singleByteCharsets() {
+		byte[] bytes = new byte[256];
+		for (int i = 0; i < 256; i++) {
+			bytes[i] = (byte)i;
+		}
+		for (Charset cs : new Charset[] {StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII}) {
+			String expected = new String(bytes, cs);
+			assertEquals(expected, readAll(new ByteInput(bytes, cs)));
+			assertEquals(expected, readAll(new ByteInput(slowStream(bytes), cs)));
+		}
+		assertFalse(ByteInput.supports(StandardCharsets.UTF_16));
+		assertThrows(IllegalArgumentException.class,
+					 () -> new ByteInput(bytes, StandardCharsets.UTF_16));
+	}
+
+	@Test
+	void mappedFile() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 3000; i++) {
+			sb.append("€𝄞").append(i);
+		}
+		String text = sb.toString();
+		Path file = Files.createTempFile("nightconfig-test", ".txt");
+		try {
+			Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				// Maps the file in small parts, which cut some sequences in the middle
+				assertEquals(text, readAll(new ByteInput(channel, StandardCharsets.UTF_8, 1001)));
+			}
+			Files.write(file, new byte[0]);
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				assertEquals(-1, new ByteInput(channel, StandardCharsets.UTF_8).read());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void bulkReads() {
+		byte[] bytes = "0123456789".getBytes(StandardCharsets.UTF_8);
+		ByteInput input = new ByteInput(bytes, StandardCharsets.UTF_8);
+		assertEquals('0', input.peek());
+		assertEquals('1', input.peekAfter(1));
+		assertEquals("0123", input.readExactly(4).toString());
+		assertEquals("456789", input.readAtMost(100).toString());
+		assertEquals(-1, input.read());
+	}
+
+	private static String readAll(CharacterInput input) {
+		StringBuilder sb = new StringBuilder();
+		int c;
+		while ((c = input.read()) != -1) {
+			sb.append((char)c);
+		}
+		return sb.toString();
+	}
+
+	/** @return a stream that gives at most 3 bytes per read */
+	private static InputStream slowStream(byte[] bytes) {
+		return new ByteArrayInputStream(bytes) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 3));
+			}
+		};
+	}
+}
@@ -1,5 +1,11 @@
 package com.electronwill.nightconfig.core.impl;
 
+import com.electronwill.nightconfig.core.io.ParsingException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,4 +77,83 @@ class CharacterInputTest {
 		assertEquals("", input.readWhileRange(0, 'b').toString());
 		assertEquals("", input.readUntilRange(0, 'b').toString());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void scan() {
+		String str = "\"a long string value, with an \\escape\" # comment\nend";
+		testScan(new ArrayInput(new Charray(str)));
+		testScan(new ReaderInput(new FastStringReader(str)));
+		// The token is cut between several refills of the buffer
+		testScan(new ReaderInput(new StringReader(str) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 3));
+			}
+		}));
+	}
+
+	@Test
+	void position() {
+		String str = "first line\nsecond\n\nfourth: error here";
+		Reader smallReads = new StringReader(str) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 3));
+			}
+		};
+		testPosition(new ArrayInput(new Charray(str)), true);
+		testPosition(new ReaderInput(smallReads), true);
+
+		ReaderInput untracked = new ReaderInput(new StringReader(str) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 3));
+			}
+		});
+		untracked.disablePositionTracking();
+		testPosition(untracked, false);
+
+		ArrayInput untrackedArray = new ArrayInput(new Charray(str));
+		untrackedArray.disablePositionTracking();
+		testPosition(untrackedArray, true);
+	}
+
+	private void testPosition(AbstractInput input, boolean knowsLines) {
+		assertEquals("first line", input.scanUntil('\n').toString());
+		assertEquals(10, input.offset());
+		input.skipWhitespaces();
+		assertEquals("econd", input.scanUntil('\n').toString());
+		input.skipWhitespaces();
+		assertEquals("ourth: ", input.scanUntil('e').toString());
+		assertEquals('e', input.peek());
+		assertEquals(27, input.offset());
+		ParsingException e = new ParsingException("Invalid").at(input);
+		assertEquals(27, e.getOffset());
+		if (knowsLines) {
+			assertEquals(4, e.getLine());
+			assertEquals(8, e.getColumn());
+			assertEquals("Invalid (line 4, column 8)", e.getMessage());
+		} else {
+			assertEquals(-1, e.getLine());
+			assertEquals("Invalid (after 27 characters)", e.getMessage());
+		}
+		input.read();
+		input.pushBack('e');
+		assertEquals(27, input.offset());
+	}
+
+	private void testScan(CharacterInput input) {
+		assertEquals('"', input.read());
+		assertEquals("a long string value, with an ", input.scanUntil('"', '\\').toString());
+		assertEquals('\\', input.read());
+		assertEquals("escape", input.scanUntil('"', '\\').toString());
+		assertEquals('"', input.read());
+		assertEquals(" ", input.scanUntilAny(new Charray('#', '\n')).toString());
+		assertEquals('#', input.peek());
+		assertEquals("# comment", input.scanUntil('\n').toString());
+		assertEquals('\n', input.read());
+		assertEquals("end", input.scanUntil('\n').toString());
+		assertEquals(-1, input.read());
+		assertEquals("", input.scanUntil('\n').toString());
+	}
+}
@@ -0,0 +1,60 @@
+package com.electronwill.nightconfig.core.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+
+	@Test
+	void deduplicate() {
+		SymbolTable table = new SymbolTable();
+		char[] buffer = "id name id value name".toCharArray();
+		String id = table.get(buffer, 0, 2);
+		String name = table.get(buffer, 3, 7);
+		assertEquals("id", id);
+		assertEquals("name", name);
+		assertSame(id, table.get(buffer, 8, 10));
+		assertSame(name, table.get(new Charray("name")));
+		assertEquals("value", table.get(buffer, 11, 16));
+		assertEquals("", table.get(buffer, 0, 0));
+		assertEquals(4, table.size());
+	}
+
+	@Test
+	void growAndBound() {
+		SymbolTable table = new SymbolTable(1000);
+		String[] keys = new String[2000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = table.get(new Charray("key" + i));
+		}
+		assertEquals(1000, table.size());
+		for (int i = 0; i < keys.length; i++) {
+			String key = table.get(new Charray("key" + i));
+			assertEquals("key" + i, key);
+			// Only the first keys have been stored
+			assertEquals(i < 1000, key == keys[i]);
+		}
+	}
+
+	@Test
+	void children() {
+		SymbolTable root = new SymbolTable();
+		String a = root.get(new Charray("a"));
+
+		SymbolTable child1 = root.child(), child2 = root.child();
+		assertSame(a, child1.get(new Charray("a")));
+		String b = child1.get(new Charray("b"));
+		assertEquals(2, child1.size());
+		assertNotSame(b, child2.get(new Charray("b")));// the children are independent
+		assertEquals(1, root.size());
+
+		child1.release();
+		assertEquals(2, root.size());
+		SymbolTable child3 = root.child();
+		assertSame(a, child3.get(new Charray("a")));
+		assertSame(b, child3.get(new Charray("b")));
+		child2.release();// not bigger than the root's table: ignored
+		assertSame(b, root.get(new Charray("b")));
+	}
+}
@@ -0,0 +1,65 @@
+package com.electronwill.nightconfig.core.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Utf8OutputTest {
+	@Test
+	void encode() {
+		String[] strings = {"", "ascii", "é€ ü", "😀 emoji", "unpaired \uD83D!",
+							"\uDE00 low", "end \uD83D"};
+		for (String s : strings) {
+			byte[] expected = s.getBytes(StandardCharsets.UTF_8);
+			Utf8Output output = new Utf8Output(4);
+			output.write(s);
+			assertArrayEquals(expected, Arrays.copyOf(output.bytes(), output.size()), s);
+
+			ByteArrayOutputStream stream = new ByteArrayOutputStream();
+			Utf8Output streamOutput = new Utf8Output(stream, 4);
+			for (char c : s.toCharArray()) {
+				streamOutput.write(c);// surrogate pairs split between two writes
+			}
+			streamOutput.flush();
+			assertArrayEquals(expected, stream.toByteArray(), s);
+		}
+	}
+
+	@Test
+	void random() {
+		Random random = new Random(42);
+		Utf8Output output = new Utf8Output();
+		for (int i = 0; i < 1000; i++) {
+			char[] chars = new char[random.nextInt(200)];
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = (char)(random.nextBoolean() ? random.nextInt(128) : random.nextInt());
+			}
+			output.reset();
+			output.write(chars, 0, chars.length);
+			ByteBuffer expected = StandardCharsets.UTF_8.encode(new String(chars));
+			assertEquals(expected, output.toByteBuffer());
+		}
+	}
+
+	@Test
+	void reset() {
+		Utf8Output output = new Utf8Output(16);
+		char[] big = new char[1000];
+		Arrays.fill(big, 'a');
+		output.write(big);
+		assertEquals(1000, output.size());
+		byte[] array = output.bytes();
+		output.reset();
+		output.write("small");
+		assertSame(array, output.bytes());// kept for the next data
+		output.reset();
+		assertNotSame(array, output.bytes());// shrunk after a small document
+		assertEquals(0, output.size());
+	}
+}
@@ -1,8 +1,11 @@
 package com.electronwill.nightconfig.core.impl;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class UtilsTest {
 
@@ -13,4 +16,32 @@ class UtilsTest {
 		assertEquals(-123456789L, Utils.parseLong(new Charray("-123456789"), 10));
 		assertEquals(0xff, Utils.parseLong(new Charray("ff"), 16));
 	}
+
+	@Test
+	void parseDouble() {
+		String[] values = {"0", "-0.0", "1.5", "0.1", "1e23", "9007199254740993", "4.9e-324",
+						   "2.2250738585072011e-308", "1.7976931348623157e308", "1e400", "1e-400",
+						   "123456789012345678901234567890", "NaN", "-Infinity", "1.", ".5"};
+		for (String value : values) {
+			assertParsedLikeJdk(value);
+		}
+		// Random doubles and random decimal numbers
+		Random random = new Random(2021);
+		for (int i = 0; i < 100_000; i++) {
+			double d = Double.longBitsToDouble(random.nextLong() & 0x7FEF_FFFF_FFFF_FFFFL);
+			assertParsedLikeJdk(Double.toString(d));
+			long significand = random.nextLong() >>> random.nextInt(64);
+			assertParsedLikeJdk(significand + "e" + (random.nextInt(700) - 350));
+		}
+		assertThrows(NumberFormatException.class, () -> Utils.parseDouble(new Charray("1e")));
+		assertThrows(NumberFormatException.class, () -> Utils.parseDouble(new Charray("-")));
+		assertEquals(-2.5e-3, Utils.toDouble(25, -4, true));
+	}
+
+	private static void assertParsedLikeJdk(String value) {
+		double expected = Double.parseDouble(value);
+		double actual = Utils.parseDouble(new Charray(value));
+		assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+					 value);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class CachingConfigWriterTest {
+	private final KeyValueLines.Writer lines = new KeyValueLines.Writer();
+	private final CachingConfigWriter writer = new CachingConfigWriter(lines);
+
+	@Test
+	public void unmodifiedConfig() {
+		Config config = new MemoryConfig();
+		config.set("a", 1);
+		assertEquals("a=1\n", writer.writeToString(config));
+		assertEquals("a=1\n", writer.writeToString(config));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writer.write(config, bytes);
+		assertEquals("a=1\n", new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+		assertSame(writer.writeToBytes(config), writer.writeToBytes(config));
+		assertEquals(1, lines.writes());
+	}
+
+	@Test
+	public void modifiedConfig() {
+		Config config = new MemoryConfig();
+		config.set("a", 1);
+		writer.writeToString(config);
+		config.set("a", 2);
+		assertEquals("a=2\n", writer.writeToString(config));
+		assertEquals(2, lines.writes());
+
+		config.set("sub.b", 3);
+		writer.writeToString(config);
+		config.<Config>get("sub").set("b", 4);// modifies a sub-config
+		writer.writeToString(config);
+		assertEquals(4, lines.writes());
+
+		writer.invalidate();
+		writer.writeToString(config);
+		assertEquals(5, lines.writes());
+	}
+
+	@Test
+	public void configInList() {
+		Config config = new MemoryConfig();
+		Config server = new MemoryConfig();
+		config.set("servers", new ArrayList<>(Collections.singletonList(server)));
+		writer.writeToString(config);
+		server.set("port", 2);
+		writer.writeToString(config);
+		assertEquals(2, lines.writes());
+	}
+
+	@Test
+	public void severalConfigs() {
+		Config a = new MemoryConfig(), b = new MemoryConfig();
+		a.set("a", 1);
+		b.set("b", 2);
+		assertEquals("a=1\n", writer.writeToString(a));
+		assertEquals("b=2\n", writer.writeToString(b));
+		assertEquals("a=1\n", writer.writeToString(a));
+		assertEquals("b=2\n", writer.writeToString(b));
+		assertEquals(2, lines.writes());
+	}
+
+	@Test
+	public void changedSettings() {
+		CachingConfigWriter writer = new CachingConfigWriter(lines, lines::separator);
+		Config config = new MemoryConfig();
+		config.set("a", 1);
+		assertEquals("a=1\n", writer.writeToString(config));
+		lines.setSeparator(": ");
+		assertEquals("a: 1\n", writer.writeToString(config));
+		assertEquals("a: 1\n", writer.writeToString(config));
+		assertEquals(2, lines.writes());
+	}
+}
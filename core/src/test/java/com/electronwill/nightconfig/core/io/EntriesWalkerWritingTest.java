@@ -0,0 +1,95 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.impl.ConfigEntriesWalker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class EntriesWalkerWritingTest {
+	private final KeyValueLines.Writer lines = new KeyValueLines.Writer();
+	private final Config config = new MemoryConfig();
+	private String expected;
+
+	@BeforeEach
+	public void fill() {
+		config.set("a", 1);
+		config.set("b", "é");
+		config.set("c", true);
+		expected = lines.writeToString(config);
+		assertEquals(1, lines.writes());
+	}
+
+	private ConfigEntriesWalker walker() {
+		return new ConfigEntriesWalker(config);
+	}
+
+	@Test
+	public void writeToString() {
+		assertEquals(expected, lines.writeToString(walker()));
+		assertEquals(1, lines.walkerWrites());
+		assertEquals(1, lines.writes());// no config was built
+	}
+
+	@Test
+	public void writeToOutputStream() {
+		ByteArrayOutputStream utf8 = new ByteArrayOutputStream();
+		lines.write(walker(), utf8);
+		assertEquals(expected, new String(utf8.toByteArray(), StandardCharsets.UTF_8));
+
+		ByteArrayOutputStream utf16 = new ByteArrayOutputStream();
+		lines.write(walker(), utf16, StandardCharsets.UTF_16);
+		assertEquals(expected, new String(utf16.toByteArray(), StandardCharsets.UTF_16));
+
+		assertEquals(2, lines.walkerWrites());
+		assertEquals(1, lines.writes());
+	}
+
+	@Test
+	public void writeToFile(@TempDir Path dir) throws IOException {
+		Path path = dir.resolve("walker.txt");
+		lines.write(walker(), path, WritingMode.REPLACE);
+		assertEquals(expected, new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+
+		File file = dir.resolve("walker-file.txt").toFile();
+		lines.write(walker(), file, WritingMode.REPLACE);
+		lines.write(walker(), file, WritingMode.APPEND);
+		assertEquals(expected + expected,
+					 new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+		assertEquals(3, lines.walkerWrites());
+		assertEquals(1, lines.writes());
+	}
+
+	@Test
+	public void cachingWriterDelegates() {
+		CachingConfigWriter caching = new CachingConfigWriter(lines);
+		assertEquals(expected, caching.writeToString(walker()));
+		assertEquals(expected, caching.writeToString(walker()));
+		assertEquals(2, lines.walkerWrites());
+		assertEquals(1, lines.writes());
+	}
+
+	@Test
+	public void defaultBuildsConfig() {
+		// a writer that doesn't override the EntriesWalker methods
+		ConfigWriter writer = (written, output) -> lines.write(written, output);
+		assertEquals(expected, writer.writeToString(walker()));
+		assertEquals(0, lines.walkerWrites());
+		assertEquals(2, lines.writes());
+	}
+}
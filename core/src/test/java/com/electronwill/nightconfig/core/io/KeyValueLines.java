@@ -0,0 +1,105 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.ConfigFormat;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A minimal format for the tests: each entry of the first level of the config is a "key=value"
+ * line. The writer and the parser count how many times they are called, to check that an
+ * operation has been skipped or merged.
+ *
+ * @author TheElectronWill
+ */
+public final class KeyValueLines {
+	private KeyValueLines() {}
+
+	/**
+	 * Writes the entries as "key=value" lines, and counts the writes.
+	 */
+	public static final class Writer implements ConfigWriter {
+		private final AtomicInteger writes = new AtomicInteger();
+		private final AtomicInteger walkerWrites = new AtomicInteger();
+		private volatile String separator = "=";
+
+		/** @return the number of configs written so far */
+		public int writes() {
+			return writes.get();
+		}
+
+		/** @return the number of EntriesWalkers written so far, without building a config */
+		public int walkerWrites() {
+			return walkerWrites.get();
+		}
+
+		/** @return the separator between the keys and the values */
+		public String separator() {
+			return separator;
+		}
+
+		/** Changes the separator between the keys and the values, like a writer setting. */
+		public void setSeparator(String separator) {
+			this.separator = separator;
+		}
+
+		@Override
+		public void write(UnmodifiableConfig config, CharacterOutput output) {
+			writes.incrementAndGet();
+			for (UnmodifiableConfig.Entry entry : config.entries()) {
+				output.write(entry.getKey() + separator + entry.getValue() + "\n");
+			}
+		}
+
+		@Override
+		public void write(EntriesWalker entries, CharacterOutput output) {
+			walkerWrites.incrementAndGet();
+			while (entries.hasNext()) {
+				String key = entries.nextKey();
+				output.write(key + separator + entries.nextValue() + "\n");
+			}
+		}
+	}
+
+	/**
+	 * Reads "key=value" lines, with String values, and counts the parsings. A line without '='
+	 * is an error, detected after its line break.
+	 */
+	public static final class Parser implements ConfigParser {
+		private final AtomicInteger parses = new AtomicInteger();
+
+		/** @return the number of inputs parsed so far */
+		public int parses() {
+			return parses.get();
+		}
+
+		@Override
+		public ConfigFormat getFormat() {
+			return null;
+		}
+
+		@Override
+		public void parse(CharacterInput input, Config dst, ParsingMode mode) {
+			parses.incrementAndGet();
+			mode.prepareParsing(dst);
+			StringBuilder line = new StringBuilder();
+			int c;
+			while ((c = input.read()) != -1) {
+				if (c == '\n') {
+					String[] kv = line.toString().split("=", 2);
+					if (kv.length != 2) {
+						throw new ParsingException("Missing '='").at(input);
+					}
+					mode.put(dst, new String[] {kv[0]}, kv[1]);
+					line.setLength(0);
+				} else {
+					line.append((char)c);
+				}
+			}
+		}
+	}
+}
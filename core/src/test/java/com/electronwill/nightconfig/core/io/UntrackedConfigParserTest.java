@@ -0,0 +1,90 @@
+package com.electronwill.nightconfig.core.io;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.file.FileNotFoundAction;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author TheElectronWill
+ */
+public class UntrackedConfigParserTest {
+	private final KeyValueLines.Parser lines = new KeyValueLines.Parser();
+	private final UntrackedConfigParser untracked = new UntrackedConfigParser(lines);
+
+	/** Many lines, so that the inputs refill their buffers, with an error near the end. */
+	private static byte[] data(Charset cs) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("key").append(i).append("=value é ").append(i).append('\n');
+		}
+		sb.append("no separator\n");
+		sb.append("last=value\n");
+		return sb.toString().getBytes(cs);
+	}
+
+	private ParsingException parseError(ConfigParser parser, byte[] data, Charset cs) {
+		Config config = new MemoryConfig();
+		return assertThrows(ParsingException.class,
+							() -> parser.parse(data, cs, config, ParsingMode.REPLACE));
+	}
+
+	@Test
+	public void validData() {
+		byte[] data = "a=1\nb=2\n".getBytes(StandardCharsets.UTF_8);
+		Config config = untracked.parse(data, StandardCharsets.UTF_8);
+		assertEquals("1", config.get("a"));
+		assertEquals("2", config.get("b"));
+		assertEquals(1, lines.parses());
+	}
+
+	@Test
+	public void errorInBytes() {
+		for (Charset cs : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.UTF_16LE}) {
+			byte[] data = data(cs);
+			ParsingException expected = parseError(lines, data, cs);
+			assertEquals(5002, expected.getLine());
+			ParsingException e = parseError(untracked, data, cs);
+			assertEquals(expected.getOffset(), e.getOffset());
+			assertEquals(expected.getLine(), e.getLine());
+			assertEquals(expected.getColumn(), e.getColumn());
+			assertEquals(expected.getMessage(), e.getMessage());
+		}
+	}
+
+	@Test
+	public void errorInFile(@TempDir Path dir) throws IOException {
+		byte[] data = data(StandardCharsets.UTF_8);
+		Path file = dir.resolve("untracked.txt");
+		Files.write(file, data);
+		ParsingException expected = parseError(lines, data, StandardCharsets.UTF_8);
+		ParsingException e = assertThrows(ParsingException.class,
+			() -> untracked.parse(file, StandardCharsets.UTF_8, FileNotFoundAction.THROW_ERROR));
+		assertEquals(expected.getOffset(), e.getOffset());
+		assertEquals(expected.getLine(), e.getLine());
+		assertEquals(expected.getColumn(), e.getColumn());
+	}
+
+	@Test
+	public void errorInStream() {
+		// a stream can't be read again: only the offset is known
+		byte[] data = data(StandardCharsets.UTF_8);
+		ParsingException expected = parseError(lines, data, StandardCharsets.UTF_8);
+		ParsingException e = assertThrows(ParsingException.class,
+			() -> untracked.parse(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
+		assertEquals(expected.getOffset(), e.getOffset());
+		assertEquals(-1, e.getLine());
+		assertEquals(-1, e.getColumn());
+	}
+}
@@ -3,6 +3,7 @@ package com.electronwill.nightconfig.hocon;
 import com.electronwill.nightconfig.core.UnmodifiableCommentedConfig;
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
 import com.electronwill.nightconfig.core.impl.Utils;
 import com.electronwill.nightconfig.core.impl.WriterOutput;
 import com.electronwill.nightconfig.core.io.*;
@@ -60,6 +61,16 @@ public final class HoconWriter implements ConfigWriter {
 		writeObject(commentedConfig, new WriterOutput(writer), true);
 	}
 
+	/**
+	 * Writes some entries as a HOCON document, without building a configuration. The
+	 * indentObjectElements predicate doesn't apply to the entries, which are always indented.
+	 */
+	@Override
+	public void write(EntriesWalker entries, CharacterOutput output) {
+		currentIndentLevel = -1;
+		writeObject(entries, output, true);
+	}
+
 	private void writeObject(UnmodifiableCommentedConfig config, CharacterOutput output, boolean root) {
 		if (config.isEmpty()) {
 			output.write(EMPTY_OBJECT);
@@ -114,6 +125,39 @@ public final class HoconWriter implements ConfigWriter {
 		}
 	}
 
+	private void writeObject(EntriesWalker entries, CharacterOutput output, boolean root) {
+		if (!entries.hasNext()) {
+			output.write(EMPTY_OBJECT);
+			return;
+		}
+		if (!root) {
+			output.write('{');// HOCON allows to omit the root braces
+		}
+		if (newlineAfterObjectStart) {
+			output.write(newline);
+		}
+		output.write(newline);
+		increaseIndentLevel();
+		do {
+			writeIndent(output);// Indents the line
+			writeString(entries.nextKey(), output);// key
+			EntriesWalker sub = entries.breakdown();
+			if (sub == null) {
+				output.write(kvSeparator);
+				writeValue(entries.nextValue(), output);// value
+			} else {
+				output.write(' ');// HOCON allows to omit the separator if the value is an object
+				writeObject(sub, output, false);
+			}
+			output.write(newline);
+		} while (entries.hasNext());
+		decreaseIndentLevel();
+		writeIndent(output);
+		if (!root) {
+			output.write('}');// HOCON allows to omit the root braces
+		}
+	}
+
 	private void writeValue(Object v, CharacterOutput output) {
 		if (v == null || v == NULL_OBJECT) {
 			output.write(NULL_CHARS);
@@ -127,6 +171,8 @@ public final class HoconWriter implements ConfigWriter {
 			writeObject((UnmodifiableCommentedConfig)v, output, false);
 		} else if (v instanceof UnmodifiableConfig) {
 			writeObject(new FakeUnmodifiableCommentedConfig((UnmodifiableConfig)v), output, false);
+		} else if (v instanceof EntriesWalker) {
+			writeObject((EntriesWalker)v, output, false);
 		} else if (v instanceof Collection) {
 			writeArray((Collection<?>)v, output);
 		} else if (v instanceof Boolean) { writeBoolean((boolean)v, output); } else {
@@ -2,6 +2,8 @@ package com.electronwill.nightconfig.json;
 
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+import com.electronwill.nightconfig.core.impl.LazyString;
 import com.electronwill.nightconfig.core.impl.Utils;
 import com.electronwill.nightconfig.core.impl.WriterOutput;
 import com.electronwill.nightconfig.core.io.*;
@@ -37,12 +39,22 @@ public final class FancyJsonWriter implements ConfigWriter {
 		writeObject(config, new WriterOutput(writer));
 	}
 
+	/**
+	 * Writes some entries as a JSON object, without building a configuration. The
+	 * indentObjectElements predicate doesn't apply to the entries, which are always indented.
+	 */
+	@Override
+	public void write(EntriesWalker entries, CharacterOutput output) {
+		currentIndentLevel = 0;
+		writeObject(entries, output);
+	}
+
 	private void writeObject(UnmodifiableConfig config, CharacterOutput output) {
 		if (config.isEmpty()) {
 			output.write(EMPTY_OBJECT);
 			return;
 		}
-		Iterator<Map.Entry<String, Object>> it = config.valueMap().entrySet().iterator();
+		Iterator<? extends UnmodifiableConfig.Entry> it = config.entries().iterator();
 		output.write('{');
 		if (newlineAfterObjectStart) {
 			output.write(newline);
@@ -53,9 +65,9 @@ public final class FancyJsonWriter implements ConfigWriter {
 			increaseIndentLevel();
 		}
 		while (true) {
-			final Map.Entry<String, Object> entry = it.next();
+			final UnmodifiableConfig.Entry entry = it.next();
 			final String key = entry.getKey();
-			final Object value = entry.getValue();
+			final Object value = entry.getRawValue();
 
 			if (indentElements) {
 				writeIndent(output);// Indents the line
@@ -82,6 +94,40 @@ public final class FancyJsonWriter implements ConfigWriter {
 		output.write('}');
 	}
 
+	private void writeObject(EntriesWalker entries, CharacterOutput output) {
+		if (!entries.hasNext()) {
+			output.write(EMPTY_OBJECT);
+			return;
+		}
+		output.write('{');
+		if (newlineAfterObjectStart) {
+			output.write(newline);
+		}
+		output.write(newline);
+		increaseIndentLevel();
+		while (true) {
+			writeIndent(output);// Indents the line
+			writeString(entries.nextKey(), output);// key
+			output.write(ENTRY_SEPARATOR);// separator
+			EntriesWalker sub = entries.breakdown();
+			if (sub == null) {
+				writeValue(entries.nextValue(), output);// value
+			} else {
+				writeObject(sub, output);// object value
+			}
+			if (entries.hasNext()) {
+				output.write(',');
+				output.write(newline);
+			} else {
+				output.write(newline);
+				break;
+			}
+		}
+		decreaseIndentLevel();
+		writeIndent(output);
+		output.write('}');
+	}
+
 	/**
 	 * Writes some value in the JSON format.
 	 *
@@ -91,6 +137,8 @@ public final class FancyJsonWriter implements ConfigWriter {
 	private void writeValue(Object v, CharacterOutput output) {
 		if (v == null || v == NULL_OBJECT) {
 			output.write(NULL_CHARS);
+		} else if (isJsonLazyString(v)) {
+			writeRawString((LazyString)v, output);// copied without decoding it
 		} else if (v instanceof CharSequence) {
 			writeString((CharSequence)v, output);
 		} else if (v instanceof Enum) {
@@ -99,6 +147,8 @@ public final class FancyJsonWriter implements ConfigWriter {
 			output.write(v.toString());
 		} else if (v instanceof UnmodifiableConfig) {
 			writeObject((UnmodifiableConfig)v, output);
+		} else if (v instanceof EntriesWalker) {
+			writeObject((EntriesWalker)v, output);
 		} else if (v instanceof Collection) {
 			writeArray((Collection<?>)v, output);
 		} else if (v instanceof Boolean) {
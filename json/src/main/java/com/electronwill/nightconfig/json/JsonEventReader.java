@@ -0,0 +1,286 @@
+package com.electronwill.nightconfig.json;
+
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+import com.electronwill.nightconfig.core.impl.LazyString;
+import com.electronwill.nightconfig.core.impl.ReaderInput;
+import com.electronwill.nightconfig.core.impl.SymbolTable;
+import com.electronwill.nightconfig.core.io.ConfigEvent;
+import com.electronwill.nightconfig.core.io.ConfigEventReader;
+import com.electronwill.nightconfig.core.io.ParsingException;
+
+import java.io.Reader;
+import java.util.Arrays;
+
+import static com.electronwill.nightconfig.json.JsonToken.*;
+
+/**
+ * Reads JSON data as a sequence of events, with a {@link JsonTokenizer}. The document is a
+ * single JSON value, usually an object. The syntax is checked while reading, except in the
+ * parts skipped by {@link #skipChildren()}, where only the nesting of the objects and arrays is
+ * checked.
+ *
+ * @author TheElectronWill
+ */
+public final class JsonEventReader implements ConfigEventReader {
+	/** What the reader expects next */
+	private static final int EXPECT_VALUE = 0, EXPECT_KEY = 1, EXPECT_KEY_OR_END = 2,
+		EXPECT_VALUE_OR_END = 3, EXPECT_SEPARATOR_OR_END = 4, EXPECT_END_OF_DATA = 5, ENDED = 6;
+
+	private final JsonTokenizer tokenizer;
+	private final boolean allowEmptyDoc;
+	private int state = EXPECT_VALUE;
+
+	/** The open objects (true) and arrays (false) */
+	private boolean[] stack = new boolean[16];
+	private int depth;
+
+	private ConfigEvent current;
+	private JsonToken valueToken;
+	private String key;
+
+	/**
+	 * Creates a new JsonEventReader that reads the data of a Reader.
+	 *
+	 * @param reader the reader to read the JSON data from
+	 */
+	public JsonEventReader(Reader reader) {
+		this(new JsonTokenizer(new ReaderInput(reader), new SymbolTable()), false);
+	}
+
+	/**
+	 * Creates a new JsonEventReader that reads a CharacterInput and deduplicates the keys with
+	 * a SymbolTable.
+	 *
+	 * @param input         the input to read
+	 * @param symbols       the table of the keys, or null to create a new String for each key
+	 * @param allowEmptyDoc true to accept an empty document: the first event is END_OF_DATA
+	 */
+	public JsonEventReader(CharacterInput input, SymbolTable symbols, boolean allowEmptyDoc) {
+		this(new JsonTokenizer(input, symbols), allowEmptyDoc);
+	}
+
+	/**
+	 * Creates a new JsonEventReader that gets its tokens from a JsonTokenizer.
+	 *
+	 * @param tokenizer     the tokenizer to use
+	 * @param allowEmptyDoc true to accept an empty document: the first event is END_OF_DATA
+	 */
+	public JsonEventReader(JsonTokenizer tokenizer, boolean allowEmptyDoc) {
+		this.tokenizer = tokenizer;
+		this.allowEmptyDoc = allowEmptyDoc;
+	}
+
+	@Override
+	public ConfigEvent next() {
+		return current = readEvent();
+	}
+
+	private ConfigEvent readEvent() {
+		JsonToken token;
+		switch (state) {
+			case EXPECT_VALUE:
+				token = tokenizer.next();
+				if (token == END_OF_DATA && depth == 0 && allowEmptyDoc) {
+					state = ENDED;
+					return ConfigEvent.END_OF_DATA;
+				}
+				return readValue(token);
+			case EXPECT_VALUE_OR_END:
+				token = tokenizer.next();
+				return (token == ARRAY_END) ? close(token) : readValue(token);
+			case EXPECT_KEY_OR_END:
+				token = tokenizer.nextKey();
+				return (token == OBJECT_END) ? close(token) : readKey(token);
+			case EXPECT_KEY:
+				return readKey(tokenizer.nextKey());
+			case EXPECT_SEPARATOR_OR_END:
+				token = tokenizer.next();
+				if (token == ELEMENT_SEPARATOR) {
+					if (stack[depth - 1]) {
+						return readKey(tokenizer.nextKey());
+					}
+					return readValue(tokenizer.next());
+				}
+				return close(token);
+			case EXPECT_END_OF_DATA:
+				token = tokenizer.next();
+				if (token != END_OF_DATA) {
+					throw new ParsingException("Invalid JSON data: unexpected " + token
+											   + " after the end of the document.");
+				}
+				state = ENDED;
+				return ConfigEvent.END_OF_DATA;
+			default:
+				return ConfigEvent.END_OF_DATA;
+		}
+	}
+
+	private ConfigEvent readKey(JsonToken token) {
+		if (token != VALUE_STRING) {
+			throw new ParsingException("Invalid JSON data: expected a key, got " + token);
+		}
+		key = tokenizer.textValue().toString();
+		JsonToken separator = tokenizer.next();
+		if (separator != KV_SEPARATOR) {
+			throw new ParsingException("Invalid JSON data: expected ':' after the key \"" + key
+									   + "\", got " + separator);
+		}
+		state = EXPECT_VALUE;
+		return ConfigEvent.KEY;
+	}
+
+	private ConfigEvent readValue(JsonToken token) {
+		switch (token) {
+			case OBJECT_START:
+				push(true);
+				state = EXPECT_KEY_OR_END;
+				return ConfigEvent.START_OBJECT;
+			case ARRAY_START:
+				push(false);
+				state = EXPECT_VALUE_OR_END;
+				return ConfigEvent.START_ARRAY;
+			case VALUE_STRING:
+			case VALUE_INTEGER:
+			case VALUE_LONG:
+			case VALUE_BIG_INTEGER:
+			case VALUE_FLOATING:
+			case VALUE_TRUE:
+			case VALUE_FALSE:
+			case VALUE_NULL:
+				valueToken = token;
+				state = (depth == 0) ? EXPECT_END_OF_DATA : EXPECT_SEPARATOR_OR_END;
+				return ConfigEvent.VALUE;
+			default:
+				throw new ParsingException("Invalid JSON data: expected a value, got " + token);
+		}
+	}
+
+	private ConfigEvent close(JsonToken token) {
+		final boolean object = stack[depth - 1];
+		if (token != (object ? OBJECT_END : ARRAY_END)) {
+			String expected = object ? "',' or '}'" : "',' or ']'";
+			throw new ParsingException("Invalid JSON data: expected " + expected + ", got "
+									   + token);
+		}
+		depth--;
+		state = (depth == 0) ? EXPECT_END_OF_DATA : EXPECT_SEPARATOR_OR_END;
+		return object ? ConfigEvent.END_OBJECT : ConfigEvent.END_ARRAY;
+	}
+
+	private void push(boolean object) {
+		if (depth == stack.length) {
+			stack = Arrays.copyOf(stack, depth * 2);
+		}
+		stack[depth++] = object;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The skipped strings aren't created, and the skipped keys aren't looked up in the
+	 * SymbolTable.
+	 */
+	@Override
+	public void skipChildren() {
+		if (current != ConfigEvent.START_OBJECT && current != ConfigEvent.START_ARRAY) {
+			return;
+		}
+		int level = 1;
+		JsonToken token = null;
+		while (level > 0) {
+			token = tokenizer.skip();
+			if (token == OBJECT_START || token == ARRAY_START) {
+				level++;
+			} else if (token == OBJECT_END || token == ARRAY_END) {
+				level--;
+			} else if (token == END_OF_DATA) {
+				throw ParsingException.notEnoughData();
+			}
+		}
+		current = close(token);
+	}
+
+	@Override
+	public ConfigEvent current() {
+		return current;
+	}
+
+	@Override
+	public String key() {
+		return key;
+	}
+
+	@Override
+	public ValueType valueType() {
+		switch (valueToken) {
+			case VALUE_STRING:
+				return ValueType.STRING;
+			case VALUE_INTEGER:
+				return ValueType.INT;
+			case VALUE_LONG:
+				return ValueType.LONG;
+			case VALUE_FLOATING:
+				return ValueType.DOUBLE;
+			case VALUE_TRUE:
+			case VALUE_FALSE:
+				return ValueType.BOOLEAN;
+			case VALUE_NULL:
+				return ValueType.NULL;
+			default:
+				return ValueType.OTHER;
+		}
+	}
+
+	@Override
+	public Object value() {
+		switch (valueToken) {
+			case VALUE_STRING:
+				return tokenizer.textValue().toString();
+			case VALUE_INTEGER:
+				return tokenizer.intValue();
+			case VALUE_LONG:
+				return tokenizer.longValue();
+			case VALUE_BIG_INTEGER:
+				return tokenizer.bigIntegerValue();
+			case VALUE_FLOATING:
+				return tokenizer.doubleValue();
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public boolean booleanValue() {
+		return valueToken == VALUE_TRUE;
+	}
+
+	@Override
+	public int intValue() {
+		return tokenizer.intValue();
+	}
+
+	@Override
+	public long longValue() {
+		return tokenizer.longValue();
+	}
+
+	@Override
+	public double doubleValue() {
+		return tokenizer.doubleValue();
+	}
+
+	@Override
+	public CharSequence textValue() {
+		return tokenizer.textValue();
+	}
+
+	@Override
+	public CharSequence lazyStringValue() {
+		CharSequence text = tokenizer.textValue();
+		return (text instanceof LazyString) ? text : text.toString();
+	}
+}
@@ -2,99 +2,118 @@ package com.electronwill.nightconfig.json;
 
 import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.impl.ArrayInput;
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.LazyString;
 import com.electronwill.nightconfig.core.impl.ReaderInput;
+import com.electronwill.nightconfig.core.impl.SymbolTable;
+import com.electronwill.nightconfig.core.io.ConfigEvent;
 import com.electronwill.nightconfig.core.io.ConfigParser;
 import com.electronwill.nightconfig.core.io.ParsingException;
 import com.electronwill.nightconfig.core.io.ParsingMode;
 
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.List;
-
-import static com.electronwill.nightconfig.core.utils.StringUtils.single;
-import static com.electronwill.nightconfig.json.JsonToken.*;
 
 /**
- * Produces data structures from json tokens ({@link com.electronwill.nightconfig.json.JsonToken},
- * produced by {@link JsonTokenizer}).
+ * Produces data structures from json events, produced by {@link JsonEventReader}.
  *
  * @author TheElectronWill
  */
 public final class JsonParser implements ConfigParser {
 	private final boolean allowEmptyDoc;
+	private final SymbolTable sharedSymbols;
+	private final boolean lazyStrings;
 
 	public JsonParser() {
 		this(false);
 	}
 
 	public JsonParser(boolean alllowEmptyDoc) {
-		this.allowEmptyDoc = alllowEmptyDoc;
+		this(alllowEmptyDoc, null);
 	}
 
-	public Object parseElement(Reader reader) {
-		JsonTokenizer tokenizer = new JsonTokenizer(new ReaderInput(reader));
-		return parseValue(tokenizer, tokenizer.next());
+	/**
+	 * Creates a new JsonParser. The keys of the parsed objects are deduplicated with a
+	 * {@link SymbolTable}: all the occurrences of a key share the same String. By default, each
+	 * parsing uses a new table. With a shared table, the keys are also deduplicated between the
+	 * parsings, and the known keys don't create any String.
+	 *
+	 * @param alllowEmptyDoc true to accept empty documents
+	 * @param sharedSymbols  the table to share between the parsings, or null to use a new table
+	 *                       for each parsing
+	 */
+	public JsonParser(boolean alllowEmptyDoc, SymbolTable sharedSymbols) {
+		this(alllowEmptyDoc, sharedSymbols, false);
 	}
 
-	private Config parseConfigContent(JsonTokenizer tokenizer, Config dst) {
-		JsonToken token = tokenizer.next();
-		if (token == OBJECT_END)
-			return dst;
-		parseKeyValue(tokenizer, token, dst);
-		while ((token = tokenizer.next()) == ELEMENT_SEPARATOR) {
-			parseKeyValue(tokenizer, tokenizer.next(), dst);
-		}
-		if (token != OBJECT_END)
-			throw new ParsingException("");
-		return dst;
+	/**
+	 * Creates a new JsonParser that may keep the string values as {@link LazyString}s. They
+	 * refer to the parsed characters and are decoded the first time they are read from the
+	 * config. The JSON writers copy the strings that haven't been read without decoding them.
+	 * <p>
+	 * The data is kept in memory as long as one of its lazy strings is in the config. An
+	 * {@link ArrayInput} is used directly, and its array must not be modified afterwards. The
+	 * other inputs are read entirely in a new array before the parsing.
+	 *
+	 * @param alllowEmptyDoc true to accept empty documents
+	 * @param sharedSymbols  the table to share between the parsings, or null to use a new table
+	 *                       for each parsing
+	 * @param lazyStrings    true to keep the string values as lazy strings
+	 */
+	public JsonParser(boolean alllowEmptyDoc, SymbolTable sharedSymbols, boolean lazyStrings) {
+		this.allowEmptyDoc = alllowEmptyDoc;
+		this.sharedSymbols = sharedSymbols;
+		this.lazyStrings = lazyStrings;
 	}
 
-	private void parseKeyValue(JsonTokenizer tokenizer, JsonToken keyToken, Config dst) {
-		if (keyToken != VALUE_STRING)
-			throw new ParsingException("");
-
-		CharSequence key = tokenizer.textValue();
-		JsonToken separator = tokenizer.next();
-		if (separator != KV_SEPARATOR)
-			throw new ParsingException("");
-
-		Object value = parseValue(tokenizer, tokenizer.next());
-		dst.set(single(key.toString()), value);
+	public Object parseElement(Reader reader) {
+		SymbolTable symbols = (sharedSymbols == null) ? new SymbolTable() : sharedSymbols.child();
+		CharacterInput input = new ReaderInput(reader);
+		try {
+			JsonEventReader events = new JsonEventReader(input, symbols, false);
+			events.next();
+			return events.readValue(new MemoryConfig());// creates the top-level objects
+		} catch (ParsingException e) {
+			throw e.at(input);
+		} finally {
+			symbols.release();
+		}
 	}
 
-	private List<?> parseListContent(JsonTokenizer tokenizer, List<Object> dst) {
-		JsonToken token = tokenizer.next();
-		if (token == ARRAY_END)
-			return dst;
-		dst.add(parseValue(tokenizer, token));
-		while ((token = tokenizer.next()) == ELEMENT_SEPARATOR) {
-			dst.add(parseValue(tokenizer, tokenizer.next()));
+	@Override
+	public void parse(CharacterInput input, Config dst, ParsingMode mode) {
+		SymbolTable symbols = (sharedSymbols == null) ? new SymbolTable() : sharedSymbols.child();
+		try {
+			if (lazyStrings && !(input instanceof ArrayInput)) {
+				input = readAll(input);
+			}
+			JsonTokenizer tokenizer = new JsonTokenizer(input, symbols, lazyStrings);
+			JsonEventReader events = new JsonEventReader(tokenizer, allowEmptyDoc);
+			ConfigEvent first = events.next();
+			if (first == ConfigEvent.END_OF_DATA) {
+				return;// empty document, accepted by the reader
+			}
+			if (first != ConfigEvent.START_OBJECT) {
+				throw new ParsingException("Invalid JSON data: expected an object, got " + first);
+			}
+			mode.prepareParsing(dst);
+			events.readObject(dst, mode);
+			events.next();// checks that there is nothing after the object
+		} catch (ParsingException e) {
+			throw e.at(input);
+		} finally {
+			symbols.release();
 		}
-		if (token != ARRAY_END)
-			throw new ParsingException("");
-		return dst;
 	}
 
-	private Object parseValue(JsonTokenizer tokenizer, JsonToken token) {
-		switch (token) {
-			case VALUE_STRING:
-				return tokenizer.textValue();
-			case VALUE_INTEGER:
-				return tokenizer.intValue();
-			case VALUE_FLOATING:
-				return tokenizer.doubleValue();
-			case VALUE_TRUE:
-				return Boolean.TRUE;
-			case VALUE_FALSE:
-				return Boolean.FALSE;
-			case VALUE_NULL:
-				return null;
-			case ARRAY_START:
-				return parseListContent(tokenizer, new ArrayList<>());
-			case OBJECT_START:
-				return parseConfigContent(tokenizer, new MemoryConfig());
-			default:
-				throw new ParsingException("");
+	/** Reads all the chars of an input, to keep them for the lazy strings */
+	private static ArrayInput readAll(CharacterInput input) {
+		Charray all = new Charray(4096);
+		Charray chars;
+		while ((chars = input.readAtMost(4096)).length() > 0) {
+			all.append(chars);
 		}
+		return new ArrayInput(all);
 	}
 }
\ No newline at end of file
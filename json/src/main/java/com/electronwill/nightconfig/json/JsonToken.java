@@ -12,6 +12,8 @@ public enum JsonToken {
 
 	VALUE_STRING,
 	VALUE_INTEGER,
+	VALUE_LONG,
+	VALUE_BIG_INTEGER,
 	VALUE_FLOATING,
 	VALUE_TRUE,
 	VALUE_FALSE,
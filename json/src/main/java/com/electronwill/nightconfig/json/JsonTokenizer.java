@@ -1,11 +1,17 @@
 package com.electronwill.nightconfig.json;
 
+import com.electronwill.nightconfig.core.impl.ArrayInput;
 import com.electronwill.nightconfig.core.impl.CharacterInput;
 import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.LazyString;
+import com.electronwill.nightconfig.core.impl.SymbolTable;
 import com.electronwill.nightconfig.core.impl.Tokenizer;
 import com.electronwill.nightconfig.core.impl.Utils;
 import com.electronwill.nightconfig.core.io.ParsingException;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
 import static com.electronwill.nightconfig.json.JsonToken.*;
 
 /**
@@ -15,19 +21,86 @@ public final class JsonTokenizer implements Tokenizer<JsonToken> {
 	private static final char[] TRUE_TAIL = {'r', 'u', 'e'},
 								FALSE_TAIL = {'a', 'l', 's', 'e'},
 								NULL_TAIL = {'u', 'l', 'l'};
-	private static final Charray VALID_NUMBER_END = new Charray(" \t\n,:");
+	private static final int MAX_LONG_DIGITS = 19;
+	/** What to do with the strings: create them, look them up in the SymbolTable, or skip them */
+	private static final int STRING_VALUE = 0, STRING_KEY = 1, STRING_SKIP = 2;
+
+	/** Decodes the JSON strings, and identifies the {@link LazyString}s created by JSON parsers */
+	static final LazyString.Decoder STRING_DECODER = JsonTokenizer::decode;
 
 	private final CharacterInput input;
+	private final SymbolTable symbols;
+	/** The input, if the values can be lazy strings that refer to its array */
+	private final ArrayInput lazyInput;
 	private long integerValue;
 	private double floatingValue;
+	private BigInteger bigIntegerValue;
 	private CharSequence stringValue;
 
+	/** The chars of the last number, kept for the numbers that have too many digits */
+	private char[] numberChars = new char[32];
+	private int numberLength;
+
 	public JsonTokenizer(CharacterInput input) {
+		this(input, null);
+	}
+
+	/**
+	 * Creates a new JsonTokenizer that uses the given table to deduplicate the keys, see
+	 * {@link #nextKey()}.
+	 *
+	 * @param input   the input to read
+	 * @param symbols the table of the keys, or null to create a new String for each key
+	 */
+	public JsonTokenizer(CharacterInput input, SymbolTable symbols) {
+		this(input, symbols, false);
+	}
+
+	/**
+	 * Creates a new JsonTokenizer that may produce {@link LazyString}s. In that case, the
+	 * {@link #textValue()} of the strings read by {@link #next()} is a LazyString that refers to
+	 * the input's array, and the escape sequences are only checked. It requires an
+	 * {@link ArrayInput}, whose array must not be modified afterwards. With another input, the
+	 * strings are decoded immediately, like with the other constructors.
+	 *
+	 * @param input       the input to read
+	 * @param symbols     the table of the keys, or null to create a new String for each key
+	 * @param lazyStrings true to produce lazy strings if possible
+	 */
+	public JsonTokenizer(CharacterInput input, SymbolTable symbols, boolean lazyStrings) {
 		this.input = input;
+		this.symbols = symbols;
+		this.lazyInput = (lazyStrings && input instanceof ArrayInput) ? (ArrayInput)input : null;
 	}
 
 	@Override
 	public JsonToken next() {
+		return next(STRING_VALUE);
+	}
+
+	/**
+	 * Reads the next token, which is expected to be a key. It's like {@link #next()}, except
+	 * that a string is looked up in the SymbolTable, directly from the input's buffer. Thus,
+	 * the {@link #textValue()} of all the occurrences of a key is the same String.
+	 *
+	 * @return the next token
+	 */
+	public JsonToken nextKey() {
+		return next((symbols == null) ? STRING_VALUE : STRING_KEY);
+	}
+
+	/**
+	 * Reads the next token without creating its value if it's a string: the string is only
+	 * scanned to find its end. This is useful to skip some parts of the data quickly. After
+	 * this method, {@link #textValue()} returns null.
+	 *
+	 * @return the next token
+	 */
+	public JsonToken skip() {
+		return next(STRING_SKIP);
+	}
+
+	private JsonToken next(int stringMode) {
 		int c = input.skipWhitespaces();
 		switch (c) {
 			case -1:
@@ -54,12 +127,17 @@ public final class JsonTokenizer implements Tokenizer<JsonToken> {
 				checkNextChars(NULL_TAIL, 'n');
 				return VALUE_NULL;
 			case '"':
-				stringValue = readString();
+				if (stringMode == STRING_SKIP) {
+					skipString();
+					stringValue = null;
+				} else if (stringMode == STRING_VALUE && lazyInput != null) {
+					stringValue = readLazyString();
+				} else {
+					stringValue = readString(stringMode == STRING_KEY);
+				}
 				return VALUE_STRING;
 			default:
-				input.pushBack((char)c);
-				return detectNumberType(input);
-
+				return readNumber(c);
 		}
 	}
 
@@ -83,27 +161,128 @@ public final class JsonTokenizer implements Tokenizer<JsonToken> {
 		return floatingValue;
 	}
 
+	/**
+	 * @return the value of the last VALUE_BIG_INTEGER token
+	 */
+	public BigInteger bigIntegerValue() {
+		return bigIntegerValue;
+	}
+
 	@Override
 	public int line() {
-		return 0;
+		return input.line();
 	}
 
 	@Override
 	public int column() {
-		return 0;
+		return input.column();
 	}
 
-	private JsonToken detectNumberType(CharacterInput input) {
-		Charray chars = input.readUntilAny(VALID_NUMBER_END);
-		try {
-			integerValue = Utils.parseLong(chars, 10);
-			floatingValue = (double)integerValue;
-			return VALUE_INTEGER;
-		} catch (Exception ex) {
-			floatingValue = Utils.parseDouble(chars);
+	/**
+	 * Reads a number in one pass: the digits are accumulated and the type of the number is
+	 * determined while reading them, without any exception or temporary String.
+	 *
+	 * @param first the first char of the number, already read
+	 */
+	private JsonToken readNumber(int first) {
+		numberLength = 0;
+		int c = first;
+		final boolean negative = (c == '-');
+		if (negative) {
+			c = readNumberChar(c);
+		}
+		if (!isDigit(c)) {
+			throw invalidNumber(c);
+		}
+		long significand = 0;
+		int significantDigits = 0, exponent = 0;
+		boolean floating = false;
+		do {
+			if (significand != 0 || c != '0') {// ignores the leading zeros
+				significand = 10 * significand + (c - '0');
+				significantDigits++;
+			}
+			c = readNumberChar(c);
+		} while (isDigit(c));
+		if (c == '.') {
+			floating = true;
+			c = readNumberChar(c);
+			if (!isDigit(c)) {
+				throw invalidNumber(c);
+			}
+			do {
+				if (significand != 0 || c != '0') {
+					significand = 10 * significand + (c - '0');
+					significantDigits++;
+				}
+				exponent--;
+				c = readNumberChar(c);
+			} while (isDigit(c));
+		}
+		if (c == 'e' || c == 'E') {
+			floating = true;
+			c = readNumberChar(c);
+			final boolean negativeExponent = (c == '-');
+			if (c == '-' || c == '+') {
+				c = readNumberChar(c);
+			}
+			if (!isDigit(c)) {
+				throw invalidNumber(c);
+			}
+			int explicitExponent = 0;
+			do {
+				if (explicitExponent < 100_000) {// bigger exponents give 0 or infinity anyway
+					explicitExponent = 10 * explicitExponent + (c - '0');
+				}
+				c = readNumberChar(c);
+			} while (isDigit(c));
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if (c != -1) {
+			input.pushBack((char)c);
+		}
+
+		// Determines the type of the number
+		if (floating) {
+			floatingValue = (significantDigits <= MAX_LONG_DIGITS)
+							? Utils.toDouble(significand, exponent, negative)
+							: Utils.parseDouble(numberChars, 0, numberLength);
 			integerValue = (long)floatingValue;
 			return VALUE_FLOATING;
 		}
+		// The significand is an unsigned long that holds up to 19 digits
+		final long limit = negative ? Long.MIN_VALUE : Long.MAX_VALUE;
+		final boolean fitsInLong = (significantDigits < MAX_LONG_DIGITS)
+								   || (significantDigits == MAX_LONG_DIGITS
+									   && Long.compareUnsigned(significand, limit) <= 0);
+		if (fitsInLong) {
+			integerValue = negative ? -significand : significand;
+			floatingValue = (double)integerValue;
+			return ((int)integerValue == integerValue) ? VALUE_INTEGER : VALUE_LONG;
+		}
+		bigIntegerValue = new BigInteger(new String(numberChars, 0, numberLength));
+		integerValue = bigIntegerValue.longValue();
+		floatingValue = bigIntegerValue.doubleValue();
+		return VALUE_BIG_INTEGER;
+	}
+
+	/** Stores the current char of the number and reads the next one. */
+	private int readNumberChar(int current) {
+		if (numberLength == numberChars.length) {
+			numberChars = Arrays.copyOf(numberChars, numberLength * 2);
+		}
+		numberChars[numberLength++] = (char)current;
+		return input.read();
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private ParsingException invalidNumber(int c) {
+		String read = (numberLength == 0) ? "" : " " + new String(numberChars, 0, numberLength);
+		String found = (c == -1) ? "the end of the data" : "'" + (char)c + "'";
+		return new ParsingException("Invalid value" + read + ": unexpected " + found);
 	}
 
 	private void checkNextChars(char[] expected, char c) {
@@ -113,27 +292,84 @@ public final class JsonTokenizer implements Tokenizer<JsonToken> {
 		}
 	}
 
-	private CharSequence readString() {
-		Charray cha = new Charray();
-		boolean escape = false;
-		int c;
-		while ((c = input.read()) != '"' || escape) {
+	private CharSequence readString(boolean key) {
+		Charray chars = input.scanUntil('"', '\\');
+		int c = input.read();
+		if (c == '"') {
+			// common case: no escape sequence, only one copy (or none for a known key)
+			return key ? symbols.get(chars) : chars.toString();
+		}
+		Charray cha = new Charray(Math.max(16, chars.length() * 2));
+		while (true) {
+			cha.append(chars);
 			if (c == -1) {
 				throw ParsingException.notEnoughData();
 			}
-			if (escape) {
-				cha.append(escape(c, input));
-				escape = false;
-			} else if (c == '\\') {
-				escape = true;
-			} else {
-				cha.append(c);
+			if (c == '"') {
+				return key ? symbols.get(cha) : cha;
+			}
+			int escaped = input.read();
+			if (escaped == -1) {
+				throw ParsingException.notEnoughData();
+			}
+			cha.append(escape(escaped, input));
+			chars = input.scanUntil('"', '\\');
+			c = input.read();
+		}
+	}
+
+	private LazyString readLazyString() {
+		final int start = lazyInput.position();
+		boolean escaped = false;
+		while (true) {
+			input.scanUntil('"', '\\');
+			int c = input.read();
+			if (c == '"') {
+				break;
+			}
+			if (c == -1) {
+				throw ParsingException.notEnoughData();
+			}
+			int escapedChar = input.read();
+			if (escapedChar == -1) {
+				throw ParsingException.notEnoughData();
+			}
+			escape(escapedChar, input);// checks the escape sequence
+			escaped = true;
+		}
+		final int end = lazyInput.position() - 1;// before the closing quote
+		return new LazyString(lazyInput.array(), start, end, STRING_DECODER, escaped);
+	}
+
+	/** Decodes the chars of a string that contains escape sequences, see {@link LazyString} */
+	private static String decode(char[] chars, int start, int end) {
+		ArrayInput input = new ArrayInput(chars, start, end);
+		StringBuilder sb = new StringBuilder(end - start);
+		int c;
+		while ((c = input.read()) != -1) {
+			sb.append((c == '\\') ? escape(input.read(), input) : (char)c);
+		}
+		return sb.toString();
+	}
+
+	private void skipString() {
+		int c;
+		do {
+			input.scanUntil('"', '\\');
+			c = input.read();
+			if (c == '\\') {
+				c = input.read();// the escaped char, which may be a quote
+				if (c != -1) {
+					c = 0;
+				}
 			}
+		} while (c != '"' && c != -1);
+		if (c == -1) {
+			throw ParsingException.notEnoughData();
 		}
-		return cha;
 	}
 
-	private char escape(int c, CharacterInput more) {
+	private static char escape(int c, CharacterInput more) {
 		switch (c) {
 			case '"':
 			case '\\':
@@ -2,6 +2,8 @@ package com.electronwill.nightconfig.json;
 
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
+import com.electronwill.nightconfig.core.impl.LazyString;
 import com.electronwill.nightconfig.core.impl.Utils;
 import com.electronwill.nightconfig.core.impl.WriterOutput;
 import com.electronwill.nightconfig.core.io.*;
@@ -33,6 +35,14 @@ public final class MinimalJsonWriter implements ConfigWriter {
 		writeConfig(config, new WriterOutput(writer));
 	}
 
+	/**
+	 * Writes some entries in the JSON object format, without building a configuration.
+	 */
+	@Override
+	public void write(EntriesWalker entries, CharacterOutput output) {
+		writeConfig(entries, output);
+	}
+
 	/**
 	 * Writes a Collection in the JSON array format.
 	 */
@@ -59,12 +69,12 @@ public final class MinimalJsonWriter implements ConfigWriter {
 			output.write(EMPTY_OBJECT);
 			return;
 		}
-		Iterator<Map.Entry<String, Object>> it = config.valueMap().entrySet().iterator();
+		Iterator<? extends UnmodifiableConfig.Entry> it = config.entries().iterator();
 		output.write('{');
 		while (true) {
-			final Map.Entry<String, Object> entry = it.next();
+			final UnmodifiableConfig.Entry entry = it.next();
 			final String key = entry.getKey();
-			final Object value = entry.getValue();
+			final Object value = entry.getRawValue();// doesn't decode the lazy strings
 			writeString(key, output);// key
 			output.write(':');// separator
 			writeValue(value, output);// value
@@ -77,9 +87,31 @@ public final class MinimalJsonWriter implements ConfigWriter {
 		output.write('}');
 	}
 
+	private void writeConfig(EntriesWalker entries, CharacterOutput output) {
+		output.write('{');
+		boolean first = true;
+		while (entries.hasNext()) {
+			if (!first) {
+				output.write(',');
+			}
+			first = false;
+			writeString(entries.nextKey(), output);// key
+			output.write(':');// separator
+			EntriesWalker sub = entries.breakdown();
+			if (sub == null) {
+				writeValue(entries.nextValue(), output);// value
+			} else {
+				writeConfig(sub, output);// object value
+			}
+		}
+		output.write('}');
+	}
+
 	private void writeValue(Object v, CharacterOutput output) {
 		if (v == null || v == NULL_OBJECT) {
 			output.write(NULL_CHARS);
+		} else if (isJsonLazyString(v)) {
+			writeRawString((LazyString)v, output);
 		} else if (v instanceof CharSequence) {
 			writeString((CharSequence)v, output);
 		} else if (v instanceof Enum) {
@@ -88,6 +120,8 @@ public final class MinimalJsonWriter implements ConfigWriter {
 			output.write(v.toString());
 		} else if (v instanceof UnmodifiableConfig) {
 			writeConfig((UnmodifiableConfig)v, output);
+		} else if (v instanceof EntriesWalker) {
+			writeConfig((EntriesWalker)v, output);
 		} else if (v instanceof Collection) {
 			writeCollection((Collection<?>)v, output);
 		} else if (v instanceof Boolean) {
@@ -150,6 +184,24 @@ public final class MinimalJsonWriter implements ConfigWriter {
 		}
 	}
 
+	/**
+	 * @return true if the value is a lazy string that has been parsed from JSON data, whose raw
+	 * characters are valid in a JSON string
+	 */
+	static boolean isJsonLazyString(Object v) {
+		return v instanceof LazyString
+			   && ((LazyString)v).decoder() == JsonTokenizer.STRING_DECODER;
+	}
+
+	/**
+	 * Writes a lazy string parsed from JSON data, with its original escape sequences.
+	 */
+	static void writeRawString(LazyString lazy, CharacterOutput output) {
+		output.write('"');
+		lazy.writeRaw(output);
+		output.write('"');
+	}
+
 	private void writeString(CharSequence csq, CharacterOutput output) {
 		output.write('"');
 		final int length = csq.length();
@@ -0,0 +1,154 @@
+package com.electronwill.nightconfig.json;
+
+import com.electronwill.nightconfig.core.Config;
+import com.electronwill.nightconfig.core.MemoryConfig;
+import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.CharrayWriter;
+import com.electronwill.nightconfig.core.impl.LazyString;
+import com.electronwill.nightconfig.core.io.ConfigEventReader.ValueType;
+import com.electronwill.nightconfig.core.io.ParsingException;
+import com.electronwill.nightconfig.core.io.ParsingMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.electronwill.nightconfig.core.io.ConfigEvent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonEventReaderTest {
+	private static JsonEventReader reader(String json) {
+		return new JsonEventReader(new Charray(json).asInput(), null, false);
+	}
+
+	@Test
+	void events() {
+		JsonEventReader events = reader("{\"a\": 1, \"b\": [true, \"s\", null], \"c\": {\"d\": 2.5}}");
+		assertEquals(START_OBJECT, events.next());
+		assertEquals(KEY, events.next());
+		assertEquals("a", events.key());
+		assertEquals(VALUE, events.next());
+		assertEquals(ValueType.INT, events.valueType());
+		assertEquals(1, events.intValue());
+
+		assertEquals(KEY, events.next());
+		assertEquals("b", events.key());
+		assertEquals(START_ARRAY, events.next());
+		assertEquals(VALUE, events.next());
+		assertTrue(events.booleanValue());
+		assertEquals(VALUE, events.next());
+		assertEquals(ValueType.STRING, events.valueType());
+		assertEquals("s", events.stringValue());
+		assertEquals(VALUE, events.next());
+		assertEquals(ValueType.NULL, events.valueType());
+		assertEquals(END_ARRAY, events.next());
+
+		assertEquals(KEY, events.next());
+		assertEquals(START_OBJECT, events.next());
+		assertEquals(KEY, events.next());
+		assertEquals("d", events.key());
+		assertEquals(VALUE, events.next());
+		assertEquals(2.5, events.doubleValue());
+		assertEquals(END_OBJECT, events.next());
+		assertEquals(END_OBJECT, events.next());
+		assertEquals(END_OF_DATA, events.next());
+	}
+
+	@Test
+	void skipChildren() {
+		JsonEventReader events = reader("{\"big\": {\"x\": [1, {\"y\": \"\\\"}\"}], \"z\": {}}, \"k\": 3}");
+		events.next();
+		assertEquals(KEY, events.next());
+		assertEquals(START_OBJECT, events.next());
+		events.skipChildren();
+		assertEquals(END_OBJECT, events.current());
+		assertEquals(KEY, events.next());
+		assertEquals("k", events.key());
+		assertEquals(VALUE, events.next());
+		assertEquals(3, events.intValue());
+		assertEquals(END_OBJECT, events.next());
+		assertEquals(END_OF_DATA, events.next());
+	}
+
+	@Test
+	void readObject() {
+		JsonEventReader events = reader("{\"a\": 1, \"l\": [1, [2], {\"b\": false}], \"t\": {\"c\": \"d\"}}");
+		Config config = new MemoryConfig();
+		events.next();
+		events.readObject(config, ParsingMode.REPLACE);
+		assertEquals(END_OF_DATA, events.next());
+		assertEquals(1, config.<Integer>get("a").intValue());
+		assertEquals("d", config.get("t.c"));
+		Config b = new MemoryConfig();
+		b.set("b", false);
+		assertEquals(Arrays.asList(1, Arrays.asList(2), b), config.get("l"));
+	}
+
+	@Test
+	void readObjectModes() {
+		Config config = new MemoryConfig();
+		List<Object> list = new ArrayList<>(Arrays.asList(1, 2));
+		config.set("list", list);
+		config.set("obj.x", 1);
+		read("{\"list\": [3], \"obj\": {\"y\": 2}}", config, ParsingMode.MERGE);
+		assertEquals(Arrays.asList(3), config.get("list"));// the parsed values win
+		assertNull(config.get("obj.x"));
+		assertEquals(2, config.<Integer>get("obj.y").intValue());
+		assertEquals(Arrays.asList(1, 2), list);// not modified in place
+
+		read("{\"list\": [9], \"new\": 0}", config, ParsingMode.ADD);
+		assertEquals(Arrays.asList(3), config.get("list"));// never changed by ADD
+		assertEquals(0, config.<Integer>get("new").intValue());
+
+		read("{\"a\": [1], \"a\": [2]}", config, ParsingMode.MERGE);
+		assertEquals(Arrays.asList(2), config.get("a"));// a repeated key replaces the value
+	}
+
+	private static void read(String json, Config config, ParsingMode mode) {
+		JsonEventReader events = reader(json);
+		events.next();
+		events.readObject(config, mode);
+	}
+
+	@Test
+	void lazyStrings() {
+		Charray json = new Charray("{\"a\": \"plain\", \"b\": \"esc\\\"aped\\u0021\", \"l\": [\"x\"]}");
+		JsonTokenizer tokenizer = new JsonTokenizer(json.asInput(), null, true);
+		JsonEventReader events = new JsonEventReader(tokenizer, false);
+		Config config = new MemoryConfig();
+		events.next();
+		events.readObject(config, ParsingMode.REPLACE);
+
+		Object rawB = config.getEntry("b").getRawValue();
+		assertTrue(rawB instanceof LazyString);
+		assertTrue(((LazyString)rawB).isEscaped());
+		assertFalse(((LazyString)rawB).isDecoded());
+		CharrayWriter raw = new CharrayWriter();
+		((LazyString)rawB).writeRaw(raw);
+		assertEquals("esc\\\"aped\\u0021", raw.toString());
+
+		assertEquals("esc\"aped!", config.get("b"));
+		assertEquals("esc\"aped!", config.getEntry("b").getRawValue());// replaced by the String
+		assertEquals("plain", config.get("a"));
+		assertEquals(Arrays.asList("x"), config.get("l"));// the lists contain Strings
+		assertEquals(String.class, config.<List<?>>get("l").get(0).getClass());
+
+		assertThrows(ParsingException.class, () -> {
+			JsonTokenizer t = new JsonTokenizer(new Charray("\"\\x\"").asInput(), null, true);
+			t.next();
+		});
+	}
+
+	@Test
+	void invalid() {
+		assertThrows(ParsingException.class, () -> drain(reader("{\"a\": 1,}")));
+		assertThrows(ParsingException.class, () -> drain(reader("{\"a\" 1}")));
+		assertThrows(ParsingException.class, () -> drain(reader("[1, 2}")));
+		assertThrows(ParsingException.class, () -> drain(reader("{} {}")));
+	}
+
+	private static void drain(JsonEventReader events) {
+		while (events.next() != END_OF_DATA) {}
+	}
+}
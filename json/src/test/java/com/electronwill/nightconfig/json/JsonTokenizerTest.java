@@ -1,10 +1,14 @@
 package com.electronwill.nightconfig.json;
 
 import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.io.ParsingException;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+
 import static com.electronwill.nightconfig.json.JsonToken.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class JsonTokenizerTest {
 	@Test
@@ -56,4 +60,49 @@ class JsonTokenizerTest {
 		assertEquals(END_OF_DATA, jt.next());
 		assertEquals(END_OF_DATA, jt.next());
 	}
+
+	@Test
+	void numbers() {
+		Charray cha = new Charray("[0, -12, 2147483648, -9223372036854775808, 9223372036854775808,"
+								  + "1.5, -0.0, 2.5e-3, 1E400, 0.1234567890123456789012345]");
+		JsonTokenizer jt = new JsonTokenizer(cha.asInput());
+		assertEquals(ARRAY_START, jt.next());
+		assertEquals(VALUE_INTEGER, jt.next());
+		assertEquals(0, jt.intValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_INTEGER, jt.next());
+		assertEquals(-12, jt.intValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_LONG, jt.next());
+		assertEquals(2147483648L, jt.longValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_LONG, jt.next());
+		assertEquals(Long.MIN_VALUE, jt.longValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_BIG_INTEGER, jt.next());
+		assertEquals(new BigInteger("9223372036854775808"), jt.bigIntegerValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_FLOATING, jt.next());
+		assertEquals(1.5, jt.doubleValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_FLOATING, jt.next());
+		assertEquals(-0.0, jt.doubleValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_FLOATING, jt.next());
+		assertEquals(2.5e-3, jt.doubleValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_FLOATING, jt.next());
+		assertEquals(Double.POSITIVE_INFINITY, jt.doubleValue());
+		assertEquals(ELEMENT_SEPARATOR, jt.next());
+		assertEquals(VALUE_FLOATING, jt.next());
+		assertEquals(0.1234567890123456789012345, jt.doubleValue());
+		assertEquals(ARRAY_END, jt.next());
+
+		assertThrows(ParsingException.class, () -> tokenizer("1.e5").next());
+		assertThrows(ParsingException.class, () -> tokenizer("-").next());
+	}
+
+	private static JsonTokenizer tokenizer(String str) {
+		return new JsonTokenizer(new Charray(str).asInput());
+	}
 }
\ No newline at end of file
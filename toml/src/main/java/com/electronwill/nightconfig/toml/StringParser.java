@@ -2,6 +2,7 @@ package com.electronwill.nightconfig.toml;
 
 import com.electronwill.nightconfig.core.impl.CharacterInput;
 import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.SymbolTable;
 import com.electronwill.nightconfig.core.io.ParsingException;
 import com.electronwill.nightconfig.core.impl.Utils;
 
@@ -10,27 +11,40 @@ import com.electronwill.nightconfig.core.impl.Utils;
  * @see <a href="https://github.com/toml-lang/toml#user-content-string">TOML specification - Strings</a>
  */
 final class StringParser {
-	private static final char[] SINGLE_QUOTE = {'\''};
-
 	/**
 	 * Parses a basic string (surrounded by "). The opening quote must be parse before calling this
 	 * method.
 	 */
 	static String parseBasic(CharacterInput input, TomlParser parser) {
-		Charray.Builder builder = parser.createBuilder();
-		boolean escape = false;
-		char c;
-		while ((c = input.readChar()) != '\"' || escape) {
-			if (escape) {
-				builder.write(escape(c, input));
-				escape = false;
-			} else if (c == '\\') {
-				escape = true;
-			} else {
-				builder.write(c);
+		return parseBasic(input, (SymbolTable)null);
+	}
+
+	/**
+	 * Parses a basic string that is a key, and deduplicates it with the parser's SymbolTable.
+	 */
+	static String parseBasicKey(CharacterInput input, TomlParser parser) {
+		return parseBasic(input, parser.getSymbols());
+	}
+
+	private static String parseBasic(CharacterInput input, SymbolTable symbols) {
+		Charray chars = input.scanUntil('"', '\\');
+		int c = input.read();
+		if (c == '"') {
+			return toString(chars, symbols);// no escape sequence: no intermediate copy
+		}
+		Charray str = new Charray(Math.max(16, chars.length() * 2));
+		while (true) {
+			str.append(chars);
+			if (c == -1) {
+				throw ParsingException.notEnoughData();
+			}
+			if (c == '"') {
+				return toString(str, symbols);
 			}
+			str.append(escape(readChar(input), input));
+			chars = input.scanUntil('"', '\\');
+			c = input.read();
 		}
-		return builder.toString();
 	}
 
 	/**
@@ -38,38 +52,59 @@ final class StringParser {
 	 * this method.
 	 */
 	static String parseLiteral(CharacterInput input, TomlParser parser) {
-		String str = input.readCharsUntil(SINGLE_QUOTE).toString();
-		input.readChar();// skips the last single quote
+		return parseLiteral(input, (SymbolTable)null);
+	}
+
+	/**
+	 * Parses a literal string that is a key, and deduplicates it with the parser's SymbolTable.
+	 */
+	static String parseLiteralKey(CharacterInput input, TomlParser parser) {
+		return parseLiteral(input, parser.getSymbols());
+	}
+
+	private static String parseLiteral(CharacterInput input, SymbolTable symbols) {
+		String str = toString(input.scanUntil('\''), symbols);
+		readChar(input);// skips the last single quote
 		return str;
 	}
 
+	private static String toString(Charray chars, SymbolTable symbols) {
+		return (symbols == null) ? chars.toString() : symbols.get(chars);
+	}
+
 	/**
 	 * Parses a multiline basic string (surrounded by """). The 3 opening quotes must be read
 	 * before calling this method.
 	 */
 	static String parseMultiBasic(CharacterInput input, TomlParser parser) {
-		Charray.Builder builder = parser.createBuilder();
-		char c;
-		while ((c = input.readChar()) != '\"' || input.peek() != '\"' || input.peekAfter(1) != '\"') {
-			if (c == '\\') {
-				final char next = input.readChar();
-				if (next == '\n'
-					|| (next == '\r' && input.peekChar() == '\n')
-					|| (next == '\t' || next == ' ') && isWhitespace(Toml.readLine(input))) {
-					// Goes to the next non-space char (skips newlines too)
-					char nextNonSpace = Toml.readNonSpaceChar(input, true);
-					input.pushBack(nextNonSpace);
-					continue;
-				} else if (next == '\t' || next == ' ') {
-					throw new ParsingException("Invalid escapement: \\" + next);
+		Charray str = new Charray();
+		while (true) {
+			str.append(input.scanUntil('"', '\\'));
+			final char c = readChar(input);
+			if (c == '"') {
+				if (input.peek() == '"' && input.peekAfter(1) == '"') {
+					break;
+				}
+				str.append(c);
+				continue;
+			}
+			final char next = readChar(input);
+			if (next == '\n'
+				|| (next == '\r' && input.peek() == '\n')
+				|| (next == '\t' || next == ' ') && isWhitespace(Toml.readLine(input))) {
+				// Goes to the next non-space char (skips newlines too)
+				int nextNonSpace = Toml.readNonSpace(input, true);
+				if (nextNonSpace != -1) {
+					input.pushBack((char)nextNonSpace);
 				}
-				builder.write(escape(next, input));
-			} else {
-				builder.write(c);
+				continue;
+			} else if (next == '\t' || next == ' ') {
+				throw new ParsingException("Invalid escapement: \\" + next);
 			}
+			str.append(escape(next, input));
 		}
 		input.skipPeeks();// Don't include the closing quotes in the String
-		return buildMultilineString(builder);
+		return buildMultilineString(str);
 	}
 
 	/**
@@ -77,27 +112,42 @@ final class StringParser {
 	 * before calling this method.
 	 */
 	static String parseMultiLiteral(CharacterInput input, TomlParser parser) {
-		Charray.Builder builder = parser.createBuilder();
-		char c;
-		while ((c = input.readChar()) != '\'' || input.peek() != '\'' || input.peekAfter(1) != '\'') {
-			builder.append(c);
+		Charray str = new Charray();
+		while (true) {
+			str.append(input.scanUntil('\''));
+			final char c = readChar(input);
+			if (input.peek() == '\'' && input.peekAfter(1) == '\'') {
+				break;
+			}
+			str.append(c);
 		}
 		input.skipPeeks();// Don't include the closing quotes in the String
-		return buildMultilineString(builder);
+		return buildMultilineString(str);
 	}
 
 	/**
-	 * Builds a multiline string with the content of a Builder. Trims the first line break if it's
+	 * Builds a multiline string with the content of a Charray. Trims the first line break if it's
 	 * at the beginning of the string.
 	 */
-	private static String buildMultilineString(Charray.Builder builder) {
-		if (builder.get(0) == '\n') {
-			return builder.toString(1);
+	private static String buildMultilineString(Charray str) {
+		if (str.length() > 0 && str.get(0) == '\n') {
+			return str.sub(1).toString();
+		}
+		if (str.length() > 1 && str.get(0) == '\r' && str.get(1) == '\n') {
+			return str.sub(2).toString();
 		}
-		if (builder.get(0) == '\r' && builder.get(1) == '\n') {
-			return builder.toString(2);
+		return str.toString();
+	}
+
+	/**
+	 * Reads the next character, and throws an exception if the end of the data is reached.
+	 */
+	private static char readChar(CharacterInput input) {
+		int c = input.read();
+		if (c == -1) {
+			throw ParsingException.notEnoughData();
 		}
-		return builder.toString();
+		return (char)c;
 	}
 
 	/**
@@ -15,7 +15,7 @@ import java.util.List;
  */
 final class TableParser {
 
-	private static final char[] KEY_END = {'\t', ' ', '=', '.', '\n', '\r', ']', ':'};
+	private static final Charray KEY_END = new Charray('\t', ' ', '=', '.', '\n', '\r', ']', ':');
 
 	static CommentedConfig parseInline(CharacterInput input, TomlParser parser) {
 		CommentedConfig config = TomlFormat.instance().createConfig();
@@ -159,14 +159,13 @@ final class TableParser {
 		// Note that a key can't be multiline
 		// Empty keys are allowed if and only if they are quoted (with double or single quotes)
 		if (firstChar == '\"') {
-			return StringParser.parseBasic(input, parser);
+			return StringParser.parseBasicKey(input, parser);
 		} else if (firstChar == '\'') {
-			return StringParser.parseLiteral(input, parser);
+			return StringParser.parseLiteralKey(input, parser);
 		} else {
-			Charray restOfKey = input.readCharsUntil(KEY_END);
-			String bareKey = new Charray.Builder(restOfKey.length() + 1).append(firstChar)
-																		.append(restOfKey)
-																		.toString();
+			Charray restOfKey = input.scanUntilAny(KEY_END);
+			Charray bareKey = new Charray(restOfKey.length() + 1).append(firstChar);
+			bareKey.append(restOfKey);
 			// Checks that the bare key is conform to the specification
 			if (bareKey.isEmpty()) {
 				throw new ParsingException("Empty bare keys aren't allowed.");
@@ -174,7 +173,7 @@ final class TableParser {
 			if (!Toml.isValidBareKey(bareKey, parser.isLenientWithBareKeys())) {
 				throw new ParsingException("Invalid bare key: " + bareKey);
 			}
-			return bareKey;
+			return parser.getSymbols().get(bareKey);
 		}
 	}
 
@@ -4,6 +4,7 @@ import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.UnmodifiableCommentedConfig;
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
 import com.electronwill.nightconfig.core.io.WritingException;
 import com.electronwill.nightconfig.core.utils.FakeUnmodifiableCommentedConfig;
 import java.util.ArrayList;
@@ -37,6 +38,22 @@ final class TableWriter {
 		output.write('}');
 	}
 
+	static void writeInline(EntriesWalker entries, CharacterOutput output, TomlWriter writer) {
+		output.write('{');
+		while (entries.hasNext()) {
+			writer.writeKey(entries.nextKey(), output);
+			output.write(KEY_VALUE_SEPARATOR);
+			EntriesWalker sub = entries.breakdown();
+			if (sub == null) {
+				ValueWriter.write(entries.nextValue(), output, writer);
+			} else {
+				writeInline(sub, output, writer);
+			}
+			output.write(INLINE_ENTRY_SEPARATOR);
+		}
+		output.write('}');
+	}
+
 	static void writeNormal(UnmodifiableConfig config, List<String> configPath,
 							CharacterOutput output, TomlWriter writer) {
 		UnmodifiableCommentedConfig commentedConfig = UnmodifiableCommentedConfig.fake(config);
@@ -107,6 +124,70 @@ final class TableWriter {
 		writer.decreaseIndentLevel();// Indent--
 	}
 
+	/**
+	 * Writes a table from an EntriesWalker. The simple values are written first, while the
+	 * walkers of the sub-tables are kept to write the sub-tables afterwards.
+	 */
+	static void writeNormal(EntriesWalker entries, List<String> configPath,
+							CharacterOutput output, TomlWriter writer) {
+		List<String> tablesKeys = new ArrayList<>(), tableArraysKeys = new ArrayList<>();
+		List<EntriesWalker> tables = new ArrayList<>();
+		List<List<?>> tableArrays = new ArrayList<>();
+
+		// Writes the "simple" values:
+		writer.increaseIndentLevel();// Indent++
+		while (entries.hasNext()) {
+			final String key = entries.nextKey();
+			final EntriesWalker sub = entries.breakdown();
+			final Object value;
+			if (sub != null) {
+				if (sub.hasNext()) {
+					tablesKeys.add(key);
+					tables.add(sub);
+					continue;
+				}
+				value = sub;// empty table, written inline
+			} else {
+				value = entries.nextValue();
+				if (value instanceof List) {
+					List<?> list = (List<?>)value;
+					if (!list.isEmpty() && list.get(0) instanceof EntriesWalker) {
+						tableArraysKeys.add(key);
+						tableArrays.add(list);
+						continue;
+					}
+				}
+			}
+			writer.writeIndent(output);// Indents the line.
+			writer.writeKey(key, output);
+			output.write(KEY_VALUE_SEPARATOR);
+			ValueWriter.write(value, output, writer);
+			writer.writeNewline(output);
+		}
+		writer.writeNewline(output);
+
+		// Writes the tables:
+		for (int i = 0; i < tables.size(); i++) {
+			configPath.add(tablesKeys.get(i));// path level ++
+			writeTableName(configPath, output, writer);
+			writer.writeNewline(output);
+			writeNormal(tables.get(i), configPath, output, writer);
+			configPath.remove(configPath.size() - 1);// path level --
+		}
+
+		// Writes the arrays of tables:
+		for (int i = 0; i < tableArrays.size(); i++) {
+			configPath.add(tableArraysKeys.get(i));// path level ++
+			for (Object table : tableArrays.get(i)) {
+				writeTableArrayName(configPath, output, writer);
+				writer.writeNewline(output);
+				writeNormal((EntriesWalker)table, configPath, output, writer);
+			}
+			configPath.remove(configPath.size() - 1);// path level --
+		}
+		writer.decreaseIndentLevel();// Indent--
+	}
+
 	private static void writeTableArrayName(List<String> name, CharacterOutput output,
 											TomlWriter writer) {
 		writeTableName(name, output, writer, ARRAY_OF_TABLES_NAME_BEGIN, ARRAY_OF_TABLES_NAME_END);
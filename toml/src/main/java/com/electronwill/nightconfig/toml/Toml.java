@@ -12,7 +12,6 @@ final class Toml {
 
 	private static final char[] WHITESPACE_OR_NEWLINE = {'\t', ' ', '\n', '\r'};
 	private static final char[] WHITESPACE = {'\t', ' '};
-	private static final char[] NEWLINE = {'\n'};
 	private static final char[] FORBIDDEN_IN_ALL_BARE_KEYS = {'.', '[', ']', '#', '='};
 
 	/**
@@ -21,7 +20,7 @@ final class Toml {
 	static char readUsefulChar(CharacterInput input) {
 		char next = input.readCharSkipping(WHITESPACE_OR_NEWLINE);
 		while (next == '#') {
-			input.readCharsUntil(NEWLINE);
+			input.scanUntil('\n');// skips the comment without copying it
 			next = input.readCharSkipping(WHITESPACE_OR_NEWLINE);
 		}
 		return next;
@@ -60,12 +59,12 @@ final class Toml {
 	 * Reads all the characters before the next newline or the end of the data.
 	 */
 	static Charray readLine(CharacterInput input) {
-		Charray chars = input.readUntil(NEWLINE);
+		Charray chars = input.scanUntil('\n');
 		int lastIndex = chars.length() - 1;
 		if (lastIndex >= 0 && chars.get(lastIndex) == '\r') {
-			return chars.sub(0, lastIndex);
+			return chars.subSequence(0, lastIndex);
 		}
-		return chars;
+		return chars.clone();// the scanned chars may be a slice of the input's buffer
 	}
 
 	static boolean isValidInBareKey(char c, boolean lenient) {
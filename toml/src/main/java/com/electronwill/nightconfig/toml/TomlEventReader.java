@@ -0,0 +1,252 @@
+package com.electronwill.nightconfig.toml;
+
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.impl.CharacterInput;
+import com.electronwill.nightconfig.core.impl.Charray;
+import com.electronwill.nightconfig.core.impl.ReaderInput;
+import com.electronwill.nightconfig.core.io.ConfigEvent;
+import com.electronwill.nightconfig.core.io.ConfigEventReader;
+import com.electronwill.nightconfig.core.io.ParsingException;
+
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads TOML data as a sequence of events. The tables declared with {@code [a.b]} and the
+ * dotted keys like {@code a.b = value} produce nested objects, and the elements of arrays of
+ * tables declared with {@code [[a.b]]} produce arrays that contain one object. Therefore the
+ * same key may appear several times in an object: the objects must be merged and the arrays
+ * concatenated, as {@link #readObject} does because {@link #mergesRepeatedKeys()} is true.
+ * <p>
+ * The comments are ignored, and the entries aren't checked for duplicates: use a
+ * {@link TomlParser} to get a config with its comments.
+ *
+ * @author TheElectronWill
+ */
+public final class TomlEventReader implements ConfigEventReader {
+	private final CharacterInput input;
+	private final TomlParser parser;
+
+	/** The events that have been read but not returned yet */
+	private final ArrayDeque<Event> pending = new ArrayDeque<>();
+	/** The events that close the current table: END_OBJECT and END_ARRAY */
+	private final ArrayDeque<ConfigEvent> tableClosers = new ArrayDeque<>();
+	private final List<Charray> comments = new ArrayList<>(2);
+	private boolean started, ended;
+
+	private ConfigEvent current;
+	private String key;
+	private Object value;
+
+	/**
+	 * Creates a new TomlEventReader that reads the data of a Reader, with the default settings.
+	 *
+	 * @param reader the reader to read the TOML data from
+	 */
+	public TomlEventReader(Reader reader) {
+		this(new ReaderInput(reader), new TomlParser());
+	}
+
+	/**
+	 * Creates a new TomlEventReader that reads the data of a CharacterInput, with the settings
+	 * of a TomlParser.
+	 */
+	TomlEventReader(CharacterInput input, TomlParser parser) {
+		this.input = input;
+		this.parser = parser;
+	}
+
+	@Override
+	public boolean mergesRepeatedKeys() {
+		return true;
+	}
+
+	@Override
+	public ConfigEvent next() {
+		if (pending.isEmpty()) {
+			readMore();
+		}
+		Event event = pending.poll();
+		if (event == null) {
+			return current = ConfigEvent.END_OF_DATA;
+		}
+		key = event.key;
+		value = event.value;
+		return current = event.type;
+	}
+
+	/**
+	 * Reads a table declaration or an entry, and adds its events to the pending queue.
+	 */
+	private void readMore() {
+		if (ended) {
+			return;
+		}
+		if (!started) {
+			started = true;
+			add(ConfigEvent.START_OBJECT);
+		}
+		comments.clear();
+		final int first = Toml.readUseful(input, comments);
+		if (first == -1) {
+			closeTable();
+			add(ConfigEvent.END_OBJECT);
+			ended = true;
+		} else if (first == '[') {
+			closeTable();
+			final boolean array = (input.peek() == '[');
+			if (array) {
+				input.skipPeeks();
+			}
+			final List<String> path = TableParser.parseTableName(input, parser, array);
+			parser.consumeComment();// the comment after the declaration, if any
+			final int last = path.size() - 1;
+			for (int i = 0; i < last; i++) {
+				addKey(path.get(i));
+				add(ConfigEvent.START_OBJECT);
+				tableClosers.push(ConfigEvent.END_OBJECT);
+			}
+			addKey(path.get(last));
+			if (array) {
+				add(ConfigEvent.START_ARRAY);
+				tableClosers.push(ConfigEvent.END_ARRAY);
+			}
+			add(ConfigEvent.START_OBJECT);
+			tableClosers.push(ConfigEvent.END_OBJECT);
+		} else {
+			final List<String> path = TableParser.parseDottedKey(input, (char)first, parser);
+			final Object entryValue = ValueParser.parse(input, parser);
+			final int last = path.size() - 1;
+			for (int i = 0; i < last; i++) {
+				addKey(path.get(i));
+				add(ConfigEvent.START_OBJECT);
+			}
+			addKey(path.get(last));
+			addValue(entryValue);
+			for (int i = 0; i < last; i++) {
+				add(ConfigEvent.END_OBJECT);
+			}
+			final int after = Toml.readNonSpace(input, false);
+			if (after == '#') {
+				Toml.readLine(input);
+			} else if (after != -1 && after != '\n' && after != '\r') {
+				throw new ParsingException("Invalid character '"
+										   + (char)after
+										   + "' after table entry \""
+										   + path
+										   + "\" = "
+										   + entryValue);
+			}
+		}
+	}
+
+	private void closeTable() {
+		while (!tableClosers.isEmpty()) {
+			add(tableClosers.pop());
+		}
+	}
+
+	private void add(ConfigEvent type) {
+		pending.add(new Event(type, null, null));
+	}
+
+	private void addKey(String key) {
+		pending.add(new Event(ConfigEvent.KEY, key, null));
+	}
+
+	/**
+	 * Adds the events of a value. The arrays and inline tables have already been parsed, so
+	 * their content is replayed as events.
+	 */
+	private void addValue(Object v) {
+		if (v instanceof UnmodifiableConfig) {
+			add(ConfigEvent.START_OBJECT);
+			for (Map.Entry<String, Object> entry : ((UnmodifiableConfig)v).valueMap().entrySet()) {
+				addKey(entry.getKey());
+				addValue(entry.getValue());
+			}
+			add(ConfigEvent.END_OBJECT);
+		} else if (v instanceof List) {
+			add(ConfigEvent.START_ARRAY);
+			for (Object element : (List<?>)v) {
+				addValue(element);
+			}
+			add(ConfigEvent.END_ARRAY);
+		} else {
+			pending.add(new Event(ConfigEvent.VALUE, null, v));
+		}
+	}
+
+	@Override
+	public ConfigEvent current() {
+		return current;
+	}
+
+	@Override
+	public String key() {
+		return key;
+	}
+
+	@Override
+	public ValueType valueType() {
+		if (value == null) {
+			return ValueType.NULL;
+		} else if (value instanceof Integer) {
+			return ValueType.INT;
+		} else if (value instanceof Long) {
+			return ValueType.LONG;
+		} else if (value instanceof Double) {
+			return ValueType.DOUBLE;
+		} else if (value instanceof Boolean) {
+			return ValueType.BOOLEAN;
+		} else if (value instanceof CharSequence) {
+			return ValueType.STRING;
+		}
+		return ValueType.OTHER;// dates and times
+	}
+
+	@Override
+	public Object value() {
+		return value;
+	}
+
+	@Override
+	public boolean booleanValue() {
+		return (Boolean)value;
+	}
+
+	@Override
+	public int intValue() {
+		return ((Number)value).intValue();
+	}
+
+	@Override
+	public long longValue() {
+		return ((Number)value).longValue();
+	}
+
+	@Override
+	public double doubleValue() {
+		return ((Number)value).doubleValue();
+	}
+
+	@Override
+	public CharSequence textValue() {
+		return (CharSequence)value;
+	}
+
+	private static final class Event {
+		final ConfigEvent type;
+		final String key;
+		final Object value;
+
+		Event(ConfigEvent type, String key, Object value) {
+			this.type = type;
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
@@ -6,6 +6,7 @@ import com.electronwill.nightconfig.core.ConfigFormat;
 import com.electronwill.nightconfig.core.impl.CharacterInput;
 import com.electronwill.nightconfig.core.impl.Charray;
 import com.electronwill.nightconfig.core.impl.ReaderInput;
+import com.electronwill.nightconfig.core.impl.SymbolTable;
 import com.electronwill.nightconfig.core.io.*;
 
 import java.io.Reader;
@@ -23,7 +24,8 @@ public final class TomlParser implements ConfigParser<CommentedConfig> {
 	private boolean lenientBareKeys = false;
 	private boolean lenientSeparators = false;
 	private boolean configWasEmpty = false;
-	private ParsingMode parsingMode;
+	private ParsingMode parsingMode = ParsingMode.REPLACE;
+	private SymbolTable sharedSymbols, symbols;
 
 	// --- Parser's methods ---
 	@Override
@@ -40,7 +42,30 @@ public final class TomlParser implements ConfigParser<CommentedConfig> {
 		parse(new ReaderInput(reader), destination, parsingMode);
 	}
 
+	/**
+	 * Creates a reader of TOML events that uses the settings of this parser.
+	 *
+	 * @param reader the reader to read the TOML data from
+	 * @return a new TomlEventReader
+	 */
+	public TomlEventReader eventReader(Reader reader) {
+		return new TomlEventReader(new ReaderInput(reader), this);
+	}
+
 	private <T extends Config> T parse(CharacterInput input, T destination, ParsingMode parsingMode) {
+		symbols = (sharedSymbols == null) ? new SymbolTable() : sharedSymbols.child();
+		try {
+			return parseDocument(input, destination, parsingMode);
+		} catch (ParsingException e) {
+			throw e.at(input);
+		} finally {
+			symbols.release();
+			symbols = null;
+		}
+	}
+
+	private <T extends Config> T parseDocument(CharacterInput input, T destination,
+											   ParsingMode parsingMode) {
 		this.parsingMode = parsingMode;
 		parsingMode.prepareParsing(destination);
 		CommentedConfig commentedConfig = CommentedConfig.fake(destination);
@@ -79,6 +104,8 @@ public final class TomlParser implements ConfigParser<CommentedConfig> {
 					parentMap.put(lastKey, arrayOfTables);
 				}
 				arrayOfTables.add(table);
+				// Sets the list again so that the parent tracks the modifications of the new table
+				parentConfig.set(Collections.singletonList(lastKey), arrayOfTables);
 			} else {// It's a table
 				if (parentMap == null) {
 					throw new ParsingException("Cannot create entry "
@@ -186,6 +213,19 @@ public final class TomlParser implements ConfigParser<CommentedConfig> {
 		return this;
 	}
 
+	/**
+	 * Sets the table that deduplicates the keys between the parsings. By default, each parsing
+	 * uses a new {@link SymbolTable}, and the keys are only deduplicated in the same document.
+	 * With a shared table, the known keys don't create any String.
+	 *
+	 * @param sharedSymbols the table to share, or null to use a new table for each parsing
+	 * @return this parser
+	 */
+	public TomlParser setSharedSymbolTable(SymbolTable sharedSymbols) {
+		this.sharedSymbols = sharedSymbols;
+		return this;
+	}
+
 	@Override
 	public ConfigFormat<CommentedConfig> getFormat() {
 		return TomlFormat.instance();
@@ -199,6 +239,13 @@ public final class TomlParser implements ConfigParser<CommentedConfig> {
 		return parsingMode;
 	}
 
+	SymbolTable getSymbols() {
+		if (symbols == null) {// used outside of parse(), by a TomlEventReader
+			symbols = (sharedSymbols == null) ? new SymbolTable() : sharedSymbols.child();
+		}
+		return symbols;
+	}
+
 	// --- Configured objects creation ---
 	<T> List<T> createList() {
 		return new ArrayList<>(initialListCapacity);
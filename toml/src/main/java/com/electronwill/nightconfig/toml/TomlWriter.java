@@ -2,6 +2,7 @@ package com.electronwill.nightconfig.toml;
 
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
 import com.electronwill.nightconfig.core.impl.WriterOutput;
 import com.electronwill.nightconfig.core.io.*;
 import com.electronwill.nightconfig.core.utils.StringUtils;
@@ -32,6 +33,17 @@ public final class TomlWriter implements ConfigWriter {
 		TableWriter.writeNormal(config, new ArrayList<>(), output, this);
 	}
 
+	/**
+	 * Writes some entries as a TOML document, without building a configuration. The
+	 * writeTableInline predicate doesn't apply to the entries: only the empty tables are written
+	 * inline.
+	 */
+	@Override
+	public void write(EntriesWalker entries, CharacterOutput output) {
+		currentIndentLevel = -1;//-1 to make the root entries not indented
+		TableWriter.writeNormal(entries, new ArrayList<>(), output, this);
+	}
+
 	// --- Getters/setters for the settings ---
 	public boolean isLenientWithBareKeys() {
 		return lenientBareKeys;
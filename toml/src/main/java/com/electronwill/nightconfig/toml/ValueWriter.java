@@ -2,6 +2,7 @@ package com.electronwill.nightconfig.toml;
 
 import com.electronwill.nightconfig.core.Config;
 import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
 import com.electronwill.nightconfig.core.io.WritingException;
 
 import java.time.temporal.Temporal;
@@ -26,6 +27,8 @@ final class ValueWriter {
 	static void write(Object value, CharacterOutput output, TomlWriter writer) {
 		if (value instanceof Config) {
 			TableWriter.writeInline((Config)value, output, writer);
+		} else if (value instanceof EntriesWalker) {
+			TableWriter.writeInline((EntriesWalker)value, output, writer);
 		} else if (value instanceof List) {
 			List<?> list = (List<?>)value;
 			if (!list.isEmpty() && list.get(0) instanceof Config) {// Array of tables
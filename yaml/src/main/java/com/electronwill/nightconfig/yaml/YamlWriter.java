@@ -1,6 +1,8 @@
 package com.electronwill.nightconfig.yaml;
 
 import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.impl.CharacterOutput;
+import com.electronwill.nightconfig.core.impl.EntriesWalker;
 import com.electronwill.nightconfig.core.io.ConfigWriter;
 import com.electronwill.nightconfig.core.io.WritingException;
 import com.electronwill.nightconfig.core.utils.TransformingMap;
@@ -8,6 +10,10 @@ import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.electronwill.nightconfig.core.NullObject.NULL_OBJECT;
@@ -42,6 +48,61 @@ public final class YamlWriter implements ConfigWriter {
 		}
 	}
 
+	/**
+	 * Writes some entries as a YAML document. SnakeYaml only dumps maps, so the entries are put
+	 * in plain maps, but no configuration is built.
+	 */
+	@Override
+	public void write(EntriesWalker entries, Writer writer) {
+		try {
+			yaml.dump(unwrap(entries), writer);
+		} catch (Exception e) {
+			throw new WritingException("YAML writing failed", e);
+		}
+	}
+
+	/**
+	 * Writes some entries as a YAML document. SnakeYaml needs a Writer, so the document is
+	 * dumped to a String first if the output isn't a Writer.
+	 */
+	@Override
+	public void write(EntriesWalker entries, CharacterOutput output) {
+		if (output instanceof Writer) {
+			write(entries, (Writer)output);
+			return;
+		}
+		try {
+			output.write(yaml.dump(unwrap(entries)));
+		} catch (Exception e) {
+			throw new WritingException("YAML writing failed", e);
+		}
+	}
+
+	private static Map<String, Object> unwrap(EntriesWalker entries) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		while (entries.hasNext()) {
+			String key = entries.nextKey();
+			EntriesWalker sub = entries.breakdown();
+			map.put(key, (sub == null) ? unwrapWalked(entries.nextValue()) : unwrap(sub));
+		}
+		return map;
+	}
+
+	private static Object unwrapWalked(Object value) {
+		if (value instanceof EntriesWalker) {
+			return unwrap((EntriesWalker)value);
+		}
+		if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>)value;
+			List<Object> list = new ArrayList<>(collection.size());
+			for (Object element : collection) {
+				list.add(unwrapWalked(element));
+			}
+			return list;
+		}
+		return unwrap(value);
+	}
+
 	private static Map<String, Object> unwrap(UnmodifiableConfig config) {
 		return new TransformingMap<>(config.valueMap(), YamlWriter::unwrap, v -> v, v -> v);
 	}